@@ -2,7 +2,7 @@
 
 CREATE TABLE IF NOT EXISTS `inventories` (
   `id` bigint NOT NULL AUTO_INCREMENT,
-  `product_id` int DEFAULT NULL,
+  `product_id` bigint NOT NULL,
   `quantity` int DEFAULT NULL,
   `created_at` timestamp NOT NULL,
   `updated_at` timestamp,
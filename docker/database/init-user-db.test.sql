@@ -1,6 +1,6 @@
 -- payment_db.users definition
 
-CREATE TABLE `users` (
+CREATE TABLE IF NOT EXISTS `users` (
   `id` bigint NOT NULL AUTO_INCREMENT,
   `balance` decimal(38,2) DEFAULT NULL,
   `name` varchar(255) DEFAULT NULL,
@@ -0,0 +1,101 @@
+package com.market.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares two JMH result files written with {@code -rf json} and fails when a
+ * benchmark got slower, or allocates more per operation, than the tolerance allows.
+ *
+ * <pre>
+ * java -cp target/benchmarks.jar com.market.benchmark.ResultDiff base.json head.json [tolerance-percent]
+ * </pre>
+ *
+ * Exits with 1 if any regression was found, so it can gate a build.
+ */
+public final class ResultDiff {
+
+    private static final String ALLOCATION = "gc.alloc.rate.norm";
+    private static final double ALLOCATION_NOISE_BYTES = 16;
+
+    private ResultDiff() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: ResultDiff <base.json> <head.json> [tolerance-percent]");
+            System.exit(2);
+        }
+        var tolerance = (args.length > 2 ? Double.parseDouble(args[2]) : 10) / 100;
+        var base = read(new File(args[0]));
+        var head = read(new File(args[1]));
+
+        var regressions = 0;
+        System.out.printf("%-90s %14s %14s %9s%n", "Benchmark", "Base", "Head", "Change");
+        for (var entry : head.entrySet()) {
+            var before = base.get(entry.getKey());
+            var after = entry.getValue();
+            if (before == null) {
+                System.out.printf("%-90s %14s %14.3f %9s%n", entry.getKey(), "-", score(after), "new");
+                continue;
+            }
+            var higherIsBetter = "thrpt".equals(after.path("mode").asText());
+            regressions += compare(entry.getKey() + " [" + after.path("primaryMetric").path("scoreUnit").asText() + "]",
+                    score(before), score(after), higherIsBetter, tolerance, 0);
+
+            var allocationBefore = before.path("secondaryMetrics").path(ALLOCATION);
+            var allocationAfter = after.path("secondaryMetrics").path(ALLOCATION);
+            if (!allocationBefore.isMissingNode() && !allocationAfter.isMissingNode()) {
+                regressions += compare(entry.getKey() + " [B/op]", allocationBefore.path("score").asDouble(),
+                        allocationAfter.path("score").asDouble(), false, tolerance, ALLOCATION_NOISE_BYTES);
+            }
+        }
+        for (var key : base.keySet()) {
+            if (!head.containsKey(key)) {
+                System.out.printf("%-90s %14.3f %14s %9s%n", key, score(base.get(key)), "-", "removed");
+            }
+        }
+
+        System.out.printf("%n%d regression(s) beyond %.0f%%.%n", regressions, tolerance * 100);
+        System.exit(regressions == 0 ? 0 : 1);
+    }
+
+    private static int compare(String name, double before, double after, boolean higherIsBetter, double tolerance,
+                               double noise) {
+        var change = before == 0 ? 0 : (after - before) / before;
+        var worse = higherIsBetter ? change < -tolerance : change > tolerance && after - before > noise;
+        System.out.printf("%-90s %14.3f %14.3f %+8.1f%%%s%n", name, before, after, change * 100, worse ? "  REGRESSION" : "");
+        return worse ? 1 : 0;
+    }
+
+    private static double score(JsonNode result) {
+        return result.path("primaryMetric").path("score").asDouble();
+    }
+
+    private static Map<String, JsonNode> read(File file) throws IOException {
+        Map<String, JsonNode> results = new LinkedHashMap<>();
+        for (var result : new ObjectMapper().readTree(file)) {
+            results.put(key(result), result);
+        }
+        return results;
+    }
+
+    private static String key(JsonNode result) {
+        var key = new StringBuilder(result.path("benchmark").asText());
+        Map<String, String> params = new TreeMap<>();
+        for (Iterator<Map.Entry<String, JsonNode>> it = result.path("params").fields(); it.hasNext(); ) {
+            var param = it.next();
+            params.put(param.getKey(), param.getValue().asText());
+        }
+        if (!params.isEmpty()) {
+            key.append(params);
+        }
+        return key.toString();
+    }
+}
@@ -0,0 +1,130 @@
+package com.market.benchmark.inventory;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Debit throughput of a single hot product against MySQL, with its stock spread
+ * over {@code buckets} rows. Every thread runs the same conditional update the
+ * inventory-service issues per debit, picking the bucket from a hash of the sale id,
+ * so {@code buckets=1} is the unbucketed baseline.
+ *
+ * <pre>
+ * java -jar target/benchmarks.jar InventoryBucketContentionBenchmark \
+ *   -p jdbcUrl=jdbc:mysql://localhost:3309/inventory_db -t 32
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+@Threads(32)
+public class InventoryBucketContentionBenchmark {
+
+    private static final long PRODUCT_ID = 1L;
+
+    @Param({"1", "4", "16"})
+    public int buckets;
+
+    @Param("jdbc:mysql://localhost:3309/inventory_db")
+    public String jdbcUrl;
+
+    @Param("root")
+    public String user;
+
+    @Param("root")
+    public String password;
+
+    private final AtomicLong saleIds = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void createBuckets() throws SQLException {
+        try (var connection = this.connect(); var statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS bench_inventory_buckets");
+            statement.execute("CREATE TABLE bench_inventory_buckets (product_id bigint NOT NULL, "
+                    + "bucket_no int NOT NULL, quantity int NOT NULL, PRIMARY KEY (product_id, bucket_no)) ENGINE=InnoDB");
+            try (var insert = connection.prepareStatement(
+                    "INSERT INTO bench_inventory_buckets (product_id, bucket_no, quantity) VALUES (?, ?, ?)")) {
+                for (int bucketNo = 0; bucketNo < this.buckets; bucketNo++) {
+                    insert.setLong(1, PRODUCT_ID);
+                    insert.setInt(2, bucketNo);
+                    insert.setInt(3, Integer.MAX_VALUE);
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void dropBuckets() throws SQLException {
+        try (var connection = this.connect(); var statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS bench_inventory_buckets");
+        }
+    }
+
+    @Benchmark
+    public int debit(Session session) throws SQLException {
+        var saleId = this.saleIds.incrementAndGet();
+        var first = bucketOf(saleId, this.buckets);
+        for (int i = 0; i < this.buckets; i++) {
+            session.debit.setInt(3, (first + i) % this.buckets);
+            if (session.debit.executeUpdate() > 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    Connection connect() throws SQLException {
+        return DriverManager.getConnection(this.jdbcUrl, this.user, this.password);
+    }
+
+    static int bucketOf(long saleId, int count) {
+        var h = saleId * 0x9E3779B97F4A7C15L;
+
+        return Math.floorMod((int) (h ^ (h >>> 32)), count);
+    }
+
+    @State(Scope.Thread)
+    public static class Session {
+
+        private Connection connection;
+        private PreparedStatement debit;
+
+        @Setup(Level.Trial)
+        public void open(InventoryBucketContentionBenchmark benchmark) throws SQLException {
+            this.connection = benchmark.connect();
+            this.debit = this.connection.prepareStatement("UPDATE bench_inventory_buckets SET quantity = quantity - ? "
+                    + "WHERE product_id = ? AND bucket_no = ? AND quantity >= ?");
+            this.debit.setInt(1, 1);
+            this.debit.setLong(2, PRODUCT_ID);
+            this.debit.setInt(4, 1);
+        }
+
+        @TearDown(Level.Trial)
+        public void close() throws SQLException {
+            this.connection.close();
+        }
+    }
+}
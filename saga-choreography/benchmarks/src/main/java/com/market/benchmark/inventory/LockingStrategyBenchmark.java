@@ -0,0 +1,222 @@
+package com.market.benchmark.inventory;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Read-modify-write throughput of the two strategies offered by
+ * {@code UpdateInventoryAdapter}/{@code UpdateUserAdapter}, against MySQL, across key
+ * skew. Keys are drawn from a Zipf distribution over {@code keys} rows: {@code skew=0}
+ * is uniform, larger exponents concentrate the writes on a few hot rows.
+ *
+ * <p>{@code optimistic} reads the row, writes it back with a version check and retries
+ * with full jitter on conflict (same attempts and backoff as the adapters);
+ * {@code pessimistic} reads it with {@code SELECT ... FOR UPDATE}. The secondary
+ * results {@code conflicts} and {@code gaveUp} give the retry rate per operation.
+ *
+ * <pre>
+ * java -jar target/benchmarks.jar LockingStrategyBenchmark \
+ *   -p jdbcUrl=jdbc:mysql://localhost:3309/inventory_db -t 32
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+@Threads(32)
+public class LockingStrategyBenchmark {
+
+    private static final int MAX_ATTEMPTS = 5;
+    private static final long BASE_BACKOFF_MILLIS = 5;
+    private static final long MAX_BACKOFF_MILLIS = 100;
+
+    @Param({"optimistic", "pessimistic"})
+    public String strategy;
+
+    @Param({"0", "0.8", "1.2"})
+    public double skew;
+
+    @Param("1000")
+    public int keys;
+
+    @Param("jdbc:mysql://localhost:3309/inventory_db")
+    public String jdbcUrl;
+
+    @Param("root")
+    public String user;
+
+    @Param("root")
+    public String password;
+
+    private double[] cumulative;
+
+    @Setup(Level.Trial)
+    public void createRows() throws SQLException {
+        this.cumulative = zipfCumulative(this.keys, this.skew);
+        try (var connection = this.connect(); var statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS bench_locking_rows");
+            statement.execute("CREATE TABLE bench_locking_rows (id bigint NOT NULL, quantity int NOT NULL, "
+                    + "version bigint NOT NULL, PRIMARY KEY (id)) ENGINE=InnoDB");
+            try (var insert = connection.prepareStatement(
+                    "INSERT INTO bench_locking_rows (id, quantity, version) VALUES (?, ?, 0)")) {
+                for (int id = 0; id < this.keys; id++) {
+                    insert.setLong(1, id);
+                    insert.setInt(2, Integer.MAX_VALUE);
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void dropRows() throws SQLException {
+        try (var connection = this.connect(); var statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS bench_locking_rows");
+        }
+    }
+
+    @Benchmark
+    public boolean update(Session session, Retries retries) throws SQLException, InterruptedException {
+        var id = this.nextKey();
+        if ("pessimistic".equals(this.strategy)) {
+            return session.updateForUpdate(id);
+        }
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            if (session.updateVersioned(id)) {
+                return true;
+            }
+            retries.conflicts++;
+            var cap = Math.min(MAX_BACKOFF_MILLIS, BASE_BACKOFF_MILLIS << (attempt - 1));
+            Thread.sleep(ThreadLocalRandom.current().nextLong(cap + 1));
+        }
+        retries.gaveUp++;
+        return false;
+    }
+
+    Connection connect() throws SQLException {
+        return DriverManager.getConnection(this.jdbcUrl, this.user, this.password);
+    }
+
+    private long nextKey() {
+        var u = ThreadLocalRandom.current().nextDouble();
+        int low = 0;
+        int high = this.cumulative.length - 1;
+        while (low < high) {
+            var mid = (low + high) >>> 1;
+            if (this.cumulative[mid] < u) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    static double[] zipfCumulative(int keys, double exponent) {
+        var cumulative = new double[keys];
+        var sum = 0.0;
+        for (int rank = 1; rank <= keys; rank++) {
+            sum += 1.0 / Math.pow(rank, exponent);
+            cumulative[rank - 1] = sum;
+        }
+        for (int i = 0; i < keys; i++) {
+            cumulative[i] /= sum;
+        }
+        return cumulative;
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Retries {
+
+        public long conflicts;
+        public long gaveUp;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            this.conflicts = 0;
+            this.gaveUp = 0;
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Session {
+
+        private Connection connection;
+        private PreparedStatement select;
+        private PreparedStatement selectForUpdate;
+        private PreparedStatement versionedUpdate;
+        private PreparedStatement update;
+
+        @Setup(Level.Trial)
+        public void open(LockingStrategyBenchmark benchmark) throws SQLException {
+            this.connection = benchmark.connect();
+            this.connection.setAutoCommit(false);
+            this.select = this.connection.prepareStatement("SELECT quantity, version FROM bench_locking_rows WHERE id = ?");
+            this.selectForUpdate = this.connection.prepareStatement(
+                    "SELECT quantity, version FROM bench_locking_rows WHERE id = ? FOR UPDATE");
+            this.versionedUpdate = this.connection.prepareStatement(
+                    "UPDATE bench_locking_rows SET quantity = ?, version = version + 1 WHERE id = ? AND version = ?");
+            this.update = this.connection.prepareStatement(
+                    "UPDATE bench_locking_rows SET quantity = ?, version = version + 1 WHERE id = ?");
+        }
+
+        boolean updateVersioned(long id) throws SQLException {
+            this.select.setLong(1, id);
+            int quantity;
+            long version;
+            try (var rs = this.select.executeQuery()) {
+                rs.next();
+                quantity = rs.getInt(1);
+                version = rs.getLong(2);
+            }
+            this.versionedUpdate.setInt(1, quantity - 1);
+            this.versionedUpdate.setLong(2, id);
+            this.versionedUpdate.setLong(3, version);
+            var updated = this.versionedUpdate.executeUpdate() > 0;
+            this.connection.commit();
+            return updated;
+        }
+
+        boolean updateForUpdate(long id) throws SQLException {
+            this.selectForUpdate.setLong(1, id);
+            int quantity;
+            try (var rs = this.selectForUpdate.executeQuery()) {
+                rs.next();
+                quantity = rs.getInt(1);
+            }
+            this.update.setInt(1, quantity - 1);
+            this.update.setLong(2, id);
+            this.update.executeUpdate();
+            this.connection.commit();
+            return true;
+        }
+
+        @TearDown(Level.Trial)
+        public void close() throws SQLException {
+            this.connection.close();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.market.benchmark.kafka;
+
+import com.market.sale.adapters.out.message.SaleMessageDTO;
+import com.market.sale.application.core.domain.SaleItemVO;
+import com.market.sale.application.core.domain.SaleVO;
+import com.market.sale.application.core.domain.enums.SaleEventEnum;
+import com.market.sale.application.core.domain.enums.SaleStatusEnum;
+import com.market.sale.config.kafka.CustomDeserializer;
+import com.market.sale.config.kafka.CustomSerializer;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Kafka value (de)serialization of a three-line sale with the services'
+ * {@code CustomSerializer}/{@code CustomDeserializer}. The three services share the
+ * same implementation, so the sale-service one stands for all of them.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SaleMessageSerdeBenchmark {
+
+    private CustomSerializer serializer;
+    private CustomDeserializer deserializer;
+    private SaleMessageDTO message;
+    private byte[] payload;
+
+    @Setup
+    public void createMessage() {
+        this.serializer = new CustomSerializer();
+        this.deserializer = new CustomDeserializer();
+        var saleVO = new SaleVO(42L, 7L, 3L, new BigDecimal("159.90"), SaleStatusEnum.PENDING, 3,
+                LocalDateTime.of(2024, 6, 1, 12, 30));
+        saleVO.setItems(List.of(new SaleItemVO(7L, 1), new SaleItemVO(8L, 1), new SaleItemVO(9L, 1)));
+        this.message = new SaleMessageDTO(saleVO, SaleEventEnum.CREATED_SALE);
+        this.payload = this.serializer.serialize("tp-saga-market", this.message);
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return this.serializer.serialize("tp-saga-market", this.message);
+    }
+
+    @Benchmark
+    public SaleMessageDTO deserialize() {
+        return this.deserializer.deserialize("tp-saga-market", this.payload);
+    }
+}
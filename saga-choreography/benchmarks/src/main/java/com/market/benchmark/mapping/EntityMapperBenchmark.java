@@ -0,0 +1,82 @@
+package com.market.benchmark.mapping;
+
+import com.market.inventory.adapters.out.repository.entity.InventoryEntity;
+import com.market.inventory.adapters.out.repository.mapper.InventoryEntityMapper;
+import com.market.inventory.adapters.out.repository.mapper.InventoryEntityMapperImpl;
+import com.market.inventory.application.core.domain.InventoryVO;
+import com.market.payment.adapters.out.repository.entity.UserEntity;
+import com.market.payment.adapters.out.repository.mapper.UserEntityMapper;
+import com.market.payment.adapters.out.repository.mapper.UserEntityMapperImpl;
+import com.market.payment.application.core.domain.UserVO;
+import com.market.sale.adapters.out.repository.entity.SaleEntity;
+import com.market.sale.adapters.out.repository.mapper.SaleEntityMapper;
+import com.market.sale.adapters.out.repository.mapper.SaleEntityMapperImpl;
+import com.market.sale.application.core.domain.SaleItemVO;
+import com.market.sale.application.core.domain.SaleVO;
+import com.market.sale.application.core.domain.enums.SaleStatusEnum;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The MapStruct entity mappers that every repository adapter goes through, in both
+ * directions. The generated implementations are instantiated directly, without Spring.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EntityMapperBenchmark {
+
+    private final SaleEntityMapper saleEntityMapper = new SaleEntityMapperImpl();
+    private final InventoryEntityMapper inventoryEntityMapper = new InventoryEntityMapperImpl();
+    private final UserEntityMapper userEntityMapper = new UserEntityMapperImpl();
+
+    private SaleVO saleVO;
+    private SaleEntity saleEntity;
+    private InventoryEntity inventoryEntity;
+    private UserEntity userEntity;
+
+    @Setup
+    public void createObjects() {
+        var now = LocalDateTime.of(2024, 6, 1, 12, 30);
+        this.saleVO = new SaleVO(42L, 7L, 3L, new BigDecimal("159.90"), SaleStatusEnum.PENDING, 3, now);
+        this.saleVO.setItems(List.of(new SaleItemVO(7L, 1), new SaleItemVO(8L, 1), new SaleItemVO(9L, 1)));
+        this.saleEntity = this.saleEntityMapper.saleVOToSaleEntity(this.saleVO);
+        this.inventoryEntity = new InventoryEntity(1L, 7L, 100, now, now, 3L);
+        this.userEntity = new UserEntity(3L, "Maria", new BigDecimal("1500.00"), now, now, 5L);
+    }
+
+    @Benchmark
+    public SaleEntity saleVOToSaleEntity() {
+        return this.saleEntityMapper.saleVOToSaleEntity(this.saleVO);
+    }
+
+    @Benchmark
+    public SaleVO saleEntityToSaleVO() {
+        return this.saleEntityMapper.saleEntityToSaleVO(this.saleEntity);
+    }
+
+    @Benchmark
+    public InventoryVO inventoryEntityToInventoryVO() {
+        return this.inventoryEntityMapper.inventoryEntityToInventoryVO(this.inventoryEntity);
+    }
+
+    @Benchmark
+    public UserVO userEntityToUserVO() {
+        return this.userEntityMapper.userEntityToUserVO(this.userEntity);
+    }
+}
@@ -0,0 +1,71 @@
+package com.market.benchmark.payment;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Cost of the payment hot path arithmetic (funds check, then debit) over a batch of
+ * sale values, with {@link BigDecimal} balances as before and with {@code long} minor
+ * units as in the payment-service {@code Money} type. Run with {@code -prof gc} to see
+ * the allocation difference.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MoneyArithmeticBenchmark {
+
+    private static final int SALES = 1024;
+
+    private BigDecimal[] decimalValues;
+    private long[] minorUnitValues;
+    private BigDecimal decimalBalance;
+    private long minorUnitBalance;
+
+    @Setup
+    public void createValues() {
+        this.decimalValues = new BigDecimal[SALES];
+        this.minorUnitValues = new long[SALES];
+        for (int i = 0; i < SALES; i++) {
+            this.decimalValues[i] = BigDecimal.valueOf(100 + i * 37L % 9_900, 2);
+            this.minorUnitValues[i] = 100 + i * 37L % 9_900;
+        }
+        this.decimalBalance = BigDecimal.valueOf(Long.MAX_VALUE / 4, 2);
+        this.minorUnitBalance = Long.MAX_VALUE / 4;
+    }
+
+    @Benchmark
+    public void bigDecimal(Blackhole blackhole) {
+        var balance = this.decimalBalance;
+        for (var value : this.decimalValues) {
+            if (balance.compareTo(value) >= 0) {
+                balance = balance.subtract(value);
+            }
+        }
+        blackhole.consume(balance);
+    }
+
+    @Benchmark
+    public void minorUnits(Blackhole blackhole) {
+        var balance = this.minorUnitBalance;
+        for (var value : this.minorUnitValues) {
+            if (balance >= value) {
+                balance = Math.subtractExact(balance, value);
+            }
+        }
+        blackhole.consume(balance);
+    }
+}
@@ -0,0 +1,243 @@
+package com.market.benchmark.payment;
+
+import com.market.payment.adapters.out.DebitBalanceAdapter;
+import com.market.payment.adapters.out.jdbc.JdbcSavePaymentAdapter;
+import com.market.payment.adapters.out.ledger.LedgerRepository;
+import com.market.payment.adapters.out.repository.PaymentBatchRepository;
+import com.market.payment.adapters.out.repository.UserRepository;
+import com.market.payment.adapters.out.repository.entity.UserEntity;
+import com.market.payment.application.core.domain.Money;
+import com.market.payment.application.ports.out.DebitBalanceOutputPort;
+import com.market.payment.config.ledger.LedgerConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.sql.DataSource;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.context.support.PropertySourcesPlaceholderConfigurer;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Concurrent payments of one user through the real {@link DebitBalanceOutputPort}:
+ * {@code store=row} is {@code DebitBalanceAdapter} (conditional {@code UPDATE} plus the
+ * payment insert in one transaction), {@code store=ledger} is
+ * {@code LedgerDebitBalanceAdapter} (CAS on the in-memory available balance, then two
+ * ledger entries and the payment). Both run in one small Spring context wired like
+ * the service.
+ *
+ * <p>The balance only covers a fraction of the attempts, and the trial fails unless
+ * the final balance (materialized plus unfolded entries) equals the initial one minus
+ * the accepted payments and never went negative, there is one payment row per accepted
+ * payment and the ledger entries sum to zero.
+ *
+ * <pre>
+ * java -jar target/benchmarks.jar SingleUserDebitBenchmark -t 32
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+@Threads(32)
+public class SingleUserDebitBenchmark {
+
+    private static final long USER_ID = 1L;
+    private static final Money AMOUNT = Money.of(new BigDecimal("1.00"));
+
+    @Param({"row", "ledger"})
+    public String store;
+
+    @Param("200000.00")
+    public String initialBalance;
+
+    @Param("jdbc:mysql://localhost:3310/single_user_debit_bench?createDatabaseIfNotExist=true")
+    public String jdbcUrl;
+
+    @Param("root")
+    public String user;
+
+    @Param("root")
+    public String password;
+
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong saleIds = new AtomicLong();
+    private AnnotationConfigApplicationContext context;
+    private DebitBalanceOutputPort debitBalanceOutputPort;
+
+    @Setup(Level.Trial)
+    public void start() throws SQLException {
+        this.createTables();
+
+        this.context = new AnnotationConfigApplicationContext();
+        this.context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("benchmark", Map.of(
+                "application-config.payment.balance-store", this.store,
+                "application-config.persistence", "jdbc",
+                "benchmark.jdbc-url", this.jdbcUrl,
+                "benchmark.user", this.user,
+                "benchmark.password", this.password)));
+        // Both stores are offered; their @ConditionalOnProperty keeps one
+        this.context.register(DebitConfig.class, JdbcSavePaymentAdapter.class, DebitBalanceAdapter.class,
+                LedgerRepository.class, PaymentBatchRepository.class, LedgerConfig.class);
+        this.context.refresh();
+
+        this.debitBalanceOutputPort = this.context.getBean(DebitBalanceOutputPort.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void verifyBalance() throws SQLException {
+        this.context.close();
+        try (var connection = this.connect(); var statement = connection.createStatement()) {
+            Money balance;
+            long payments;
+            long allEntries;
+            try (var rs = statement.executeQuery("SELECT u.balance, (SELECT COALESCE(SUM(e.amount_minor), 0) "
+                    + "FROM ledger_entries e WHERE e.account_type = 'USER' AND e.account_id = u.id) "
+                    + "FROM users u WHERE u.id = " + USER_ID)) {
+                rs.next();
+                balance = Money.of(rs.getBigDecimal(1)).plus(Money.ofMinorUnits(rs.getLong(2)));
+            }
+            try (var rs = statement.executeQuery("SELECT COUNT(*) FROM payments")) {
+                rs.next();
+                payments = rs.getLong(1);
+            }
+            try (var rs = statement.executeQuery("SELECT COALESCE(SUM(amount_minor), 0) FROM ledger_entries")) {
+                rs.next();
+                allEntries = rs.getLong(1);
+            }
+            var expected = Money.of(new BigDecimal(this.initialBalance))
+                    .minus(Money.ofMinorUnits(Math.multiplyExact(AMOUNT.getMinorUnits(), this.accepted.get())));
+            this.dropTables(statement);
+            if (balance.isNegative() || !balance.equals(expected) || payments != this.accepted.get() || allEntries != 0) {
+                throw new IllegalStateException("Inconsistent balance: " + balance + ", expected " + expected
+                        + " after " + this.accepted.get() + " accepted payments, " + payments + " payment rows, "
+                        + "ledger entries summing to " + allEntries);
+            }
+        }
+    }
+
+    @Benchmark
+    public boolean pay() {
+        var debited = this.debitBalanceOutputPort.debit(USER_ID, this.saleIds.incrementAndGet(), AMOUNT);
+        if (debited) {
+            this.accepted.incrementAndGet();
+        }
+        return debited;
+    }
+
+    private void createTables() throws SQLException {
+        try (var connection = this.connect(); var statement = connection.createStatement()) {
+            this.dropTables(statement);
+            statement.execute("CREATE TABLE users (id bigint NOT NULL AUTO_INCREMENT, balance decimal(38,2), "
+                    + "name varchar(255), created_at timestamp NOT NULL, updated_at timestamp NULL, "
+                    + "version bigint NOT NULL DEFAULT 0, PRIMARY KEY (id))");
+            statement.execute("CREATE TABLE payments (id bigint NOT NULL AUTO_INCREMENT, user_id bigint, sale_id bigint, "
+                    + "value decimal(38,2), created_at timestamp NOT NULL, PRIMARY KEY (id))");
+            statement.execute("CREATE TABLE ledger_entries (id bigint NOT NULL AUTO_INCREMENT, "
+                    + "transaction_id bigint NOT NULL, account_type varchar(16) NOT NULL, account_id bigint NOT NULL, "
+                    + "amount_minor bigint NOT NULL, created_at timestamp NOT NULL DEFAULT CURRENT_TIMESTAMP, "
+                    + "folded_at timestamp NULL, PRIMARY KEY (id))");
+            statement.execute("INSERT INTO users (id, name, balance, created_at) VALUES ("
+                    + USER_ID + ", 'bench', " + this.initialBalance + ", CURRENT_TIMESTAMP)");
+        }
+    }
+
+    private void dropTables(java.sql.Statement statement) throws SQLException {
+        statement.execute("DROP TABLE IF EXISTS ledger_entries");
+        statement.execute("DROP TABLE IF EXISTS payments");
+        statement.execute("DROP TABLE IF EXISTS users");
+    }
+
+    private Connection connect() throws SQLException {
+        return DriverManager.getConnection(this.jdbcUrl, this.user, this.password);
+    }
+
+    @Configuration
+    @EnableJpaRepositories(
+            basePackageClasses = UserRepository.class,
+            includeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, classes = UserRepository.class))
+    public static class DebitConfig {
+
+        @Bean
+        public static PropertySourcesPlaceholderConfigurer propertySourcesPlaceholderConfigurer() {
+            return new PropertySourcesPlaceholderConfigurer();
+        }
+
+        @Bean(destroyMethod = "close")
+        public HikariDataSource dataSource(Environment environment) {
+            var dataSource = new HikariDataSource();
+            dataSource.setJdbcUrl(environment.getRequiredProperty("benchmark.jdbc-url"));
+            dataSource.setUsername(environment.getRequiredProperty("benchmark.user"));
+            dataSource.setPassword(environment.getRequiredProperty("benchmark.password"));
+            dataSource.setMaximumPoolSize(10);
+            dataSource.setMinimumIdle(2);
+            return dataSource;
+        }
+
+        @Bean
+        public LocalContainerEntityManagerFactoryBean entityManagerFactory(DataSource dataSource) {
+            var factory = new LocalContainerEntityManagerFactoryBean();
+            factory.setDataSource(dataSource);
+            factory.setPackagesToScan(UserEntity.class.getPackageName());
+            factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+            factory.setJpaPropertyMap(Map.of(
+                    "hibernate.physical_naming_strategy", CamelCaseToUnderscoresNamingStrategy.class.getName()));
+            return factory;
+        }
+
+        @Bean
+        public JpaTransactionManager transactionManager(EntityManagerFactory entityManagerFactory) {
+            return new JpaTransactionManager(entityManagerFactory);
+        }
+
+        @Bean
+        public TransactionTemplate transactionTemplate(PlatformTransactionManager transactionManager) {
+            return new TransactionTemplate(transactionManager);
+        }
+
+        @Bean
+        public JdbcTemplate jdbcTemplate(DataSource dataSource) {
+            return new JdbcTemplate(dataSource);
+        }
+
+        @Bean
+        public NamedParameterJdbcTemplate namedParameterJdbcTemplate(DataSource dataSource) {
+            return new NamedParameterJdbcTemplate(dataSource);
+        }
+    }
+}
@@ -0,0 +1,324 @@
+package com.market.benchmark.persistence;
+
+import com.market.inventory.adapters.out.UpdateInventoryAdapter;
+import com.market.inventory.adapters.out.cache.InventoryNearCache;
+import com.market.inventory.adapters.out.jdbc.JdbcUpdateInventoryAdapter;
+import com.market.inventory.adapters.out.repository.InventoryRepository;
+import com.market.inventory.adapters.out.repository.entity.InventoryEntity;
+import com.market.inventory.adapters.out.repository.mapper.InventoryEntityMapperImpl;
+import com.market.inventory.adapters.out.snapshot.StockSnapshotPublisher;
+import com.market.inventory.application.ports.out.UpdateInventoryOutputPort;
+import com.market.payment.adapters.out.SavePaymentAdapter;
+import com.market.payment.adapters.out.UpdateUserAdapter;
+import com.market.payment.adapters.out.jdbc.JdbcSavePaymentAdapter;
+import com.market.payment.adapters.out.jdbc.JdbcUpdateUserAdapter;
+import com.market.payment.adapters.out.repository.PaymentRepository;
+import com.market.payment.adapters.out.repository.UserRepository;
+import com.market.payment.adapters.out.repository.entity.UserEntity;
+import com.market.payment.adapters.out.repository.mapper.PaymentMapperImpl;
+import com.market.payment.adapters.out.repository.mapper.UserEntityMapperImpl;
+import com.market.payment.application.core.domain.Money;
+import com.market.payment.application.core.domain.PaymentVO;
+import com.market.payment.application.ports.out.SavePaymentOutputPort;
+import com.market.payment.application.ports.out.UpdateUserOutputPort;
+import com.market.sale.adapters.out.SaveSaleAdapter;
+import com.market.sale.adapters.out.id.SnowflakeIdGenerator;
+import com.market.sale.adapters.out.jdbc.JdbcSaveSaleAdapter;
+import com.market.sale.adapters.out.repository.SaleRepository;
+import com.market.sale.adapters.out.repository.entity.SaleEntity;
+import com.market.sale.adapters.out.repository.mapper.SaleEntityMapperImpl;
+import com.market.sale.application.core.domain.SaleItemVO;
+import com.market.sale.application.core.domain.SaleVO;
+import com.market.sale.application.core.domain.enums.SaleStatusEnum;
+import com.market.sale.application.ports.out.SaveSaleOutputPort;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.context.support.PropertySourcesPlaceholderConfigurer;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * One write of each saga step through the real output adapters, with
+ * {@code persistence=jpa} (Spring Data, MapStruct, persistence context) or
+ * {@code persistence=jdbc} (the {@code Jdbc*} adapters). Both run in one small Spring
+ * context wired like the services, with the same Hikari pool and Connector/J
+ * statement cache. Run with {@code -prof gc} to compare allocation per write.
+ *
+ * <p>The tables are created in their own database, and the trial fails unless the
+ * stored stock, balance and row counts match the writes that were made.
+ *
+ * <pre>
+ * java -jar target/benchmarks.jar PersistenceAdapterBenchmark -prof gc
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+public class PersistenceAdapterBenchmark {
+
+    private static final SnowflakeIdGenerator ID_GENERATOR =
+            new SnowflakeIdGenerator(0, Instant.parse("2024-01-01T00:00:00Z"));
+    private static final long PRODUCT_ID = 6L;
+    private static final long USER_ID = 1L;
+    private static final int INITIAL_QUANTITY = 1_000_000_000;
+    private static final BigDecimal INITIAL_BALANCE = new BigDecimal("1000000000.00");
+    private static final Money AMOUNT = Money.of(new BigDecimal("0.01"));
+
+    @Param({"jpa", "jdbc"})
+    public String persistence;
+
+    @Param("jdbc:mysql://localhost:3308/persistence_bench?createDatabaseIfNotExist=true")
+    public String jdbcUrl;
+
+    @Param("root")
+    public String user;
+
+    @Param("root")
+    public String password;
+
+    private AnnotationConfigApplicationContext context;
+    private SaveSaleOutputPort saveSaleOutputPort;
+    private UpdateInventoryOutputPort updateInventoryOutputPort;
+    private UpdateUserOutputPort updateUserOutputPort;
+    private SavePaymentOutputPort savePaymentOutputPort;
+    private SaleVO existingSale;
+    private long salesSaved;
+    private long inventoryUpdates;
+    private long userUpdates;
+    private long paymentsSaved;
+
+    @Setup(Level.Trial)
+    public void start() throws SQLException {
+        this.createTables();
+
+        this.context = new AnnotationConfigApplicationContext();
+        this.context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("benchmark", Map.ofEntries(
+                Map.entry("application-config.persistence", this.persistence),
+                Map.entry("application-config.inventory.locking.strategy", "optimistic"),
+                Map.entry("application-config.inventory.locking.max-attempts", "5"),
+                Map.entry("application-config.inventory.locking.base-backoff-ms", "5"),
+                Map.entry("application-config.inventory.locking.max-backoff-ms", "100"),
+                Map.entry("application-config.payment.locking.strategy", "optimistic"),
+                Map.entry("application-config.payment.locking.max-attempts", "5"),
+                Map.entry("application-config.payment.locking.base-backoff-ms", "5"),
+                Map.entry("application-config.payment.locking.max-backoff-ms", "100"),
+                Map.entry("benchmark.jdbc-url", this.jdbcUrl),
+                Map.entry("benchmark.user", this.user),
+                Map.entry("benchmark.password", this.password))));
+        // Both adapters of every port are offered; their @ConditionalOnProperty keeps one
+        this.context.register(PersistenceConfig.class,
+                SaleEntityMapperImpl.class, InventoryEntityMapperImpl.class, UserEntityMapperImpl.class, PaymentMapperImpl.class,
+                SaveSaleAdapter.class, JdbcSaveSaleAdapter.class,
+                UpdateInventoryAdapter.class, JdbcUpdateInventoryAdapter.class,
+                UpdateUserAdapter.class, JdbcUpdateUserAdapter.class,
+                SavePaymentAdapter.class, JdbcSavePaymentAdapter.class);
+        this.context.registerBean("inventoryRetryWithJitter", com.market.inventory.adapters.out.locking.RetryWithJitter.class);
+        this.context.registerBean("paymentRetryWithJitter", com.market.payment.adapters.out.locking.RetryWithJitter.class);
+        this.context.refresh();
+
+        this.saveSaleOutputPort = this.context.getBean(SaveSaleOutputPort.class);
+        this.updateInventoryOutputPort = this.context.getBean(UpdateInventoryOutputPort.class);
+        this.updateUserOutputPort = this.context.getBean(UpdateUserOutputPort.class);
+        this.savePaymentOutputPort = this.context.getBean(SavePaymentOutputPort.class);
+        this.existingSale = this.saveSaleOutputPort.save(newSale());
+    }
+
+    @TearDown(Level.Trial)
+    public void verify() throws SQLException {
+        this.context.close();
+        try (var connection = this.connect(); var statement = connection.createStatement()) {
+            var checks = new ArrayList<String>();
+            checks.add(check(statement, "SELECT quantity FROM inventories WHERE product_id = " + PRODUCT_ID,
+                    String.valueOf(INITIAL_QUANTITY - this.inventoryUpdates)));
+            checks.add(check(statement, "SELECT balance FROM users WHERE id = " + USER_ID,
+                    INITIAL_BALANCE.subtract(AMOUNT.toBigDecimal().multiply(BigDecimal.valueOf(this.userUpdates))).toPlainString()));
+            checks.add(check(statement, "SELECT COUNT(*) FROM sales", String.valueOf(this.salesSaved + 1)));
+            checks.add(check(statement, "SELECT COUNT(*) FROM sale_items", String.valueOf(this.salesSaved + 1)));
+            checks.add(check(statement, "SELECT COUNT(*) FROM payments", String.valueOf(this.paymentsSaved)));
+            checks.removeIf(String::isEmpty);
+            if (!checks.isEmpty()) {
+                throw new IllegalStateException(this.persistence + " adapters wrote unexpected data: " + checks);
+            }
+        }
+    }
+
+    @Benchmark
+    public SaleVO saveSale() {
+        this.salesSaved++;
+        return this.saveSaleOutputPort.save(newSale());
+    }
+
+    @Benchmark
+    public SaleVO updateSale() {
+        this.existingSale.setSaleStatus(
+                this.existingSale.getSaleStatus() == SaleStatusEnum.PENDING ? SaleStatusEnum.FINALIZED : SaleStatusEnum.PENDING);
+        return this.saveSaleOutputPort.save(this.existingSale);
+    }
+
+    @Benchmark
+    public void updateInventory() {
+        this.inventoryUpdates++;
+        this.updateInventoryOutputPort.update(PRODUCT_ID, inventory -> inventory.debitQuantity(1));
+    }
+
+    @Benchmark
+    public void updateUser() {
+        this.userUpdates++;
+        this.updateUserOutputPort.update(USER_ID, user -> user.debitBalance(AMOUNT));
+    }
+
+    @Benchmark
+    public void savePayment() {
+        this.paymentsSaved++;
+        this.savePaymentOutputPort.save(new PaymentVO(null, USER_ID, this.paymentsSaved, AMOUNT, null));
+    }
+
+    private static SaleVO newSale() {
+        var sale = new SaleVO(ID_GENERATOR.nextId(), PRODUCT_ID, USER_ID, new BigDecimal("10.00"),
+                SaleStatusEnum.PENDING, 1, null);
+        var item = new SaleItemVO(PRODUCT_ID, 1);
+        item.setId(ID_GENERATOR.nextId());
+        sale.setItems(new ArrayList<>(List.of(item)));
+        return sale;
+    }
+
+    private static String check(java.sql.Statement statement, String sql, String expected) throws SQLException {
+        try (var rs = statement.executeQuery(sql)) {
+            rs.next();
+            var actual = rs.getBigDecimal(1).toPlainString();
+            return actual.equals(expected) ? "" : sql + " returned " + actual + ", expected " + expected;
+        }
+    }
+
+    private void createTables() throws SQLException {
+        try (var connection = this.connect(); var statement = connection.createStatement()) {
+            for (var table : List.of("sale_items", "sales", "inventories", "payments", "users")) {
+                statement.execute("DROP TABLE IF EXISTS " + table);
+            }
+            statement.execute("CREATE TABLE sales (id bigint NOT NULL AUTO_INCREMENT, product_id int, user_id int, "
+                    + "value decimal(38,2), sale_status_id int, quantity int, created_at timestamp NOT NULL, "
+                    + "updated_at timestamp NULL, PRIMARY KEY (id))");
+            statement.execute("CREATE TABLE sale_items (id bigint NOT NULL AUTO_INCREMENT, sale_id bigint NOT NULL, "
+                    + "product_id bigint NOT NULL, quantity int NOT NULL, PRIMARY KEY (id), "
+                    + "FOREIGN KEY (sale_id) REFERENCES sales (id))");
+            statement.execute("CREATE TABLE inventories (id bigint NOT NULL AUTO_INCREMENT, product_id bigint NOT NULL, "
+                    + "quantity int, created_at timestamp NOT NULL, updated_at timestamp NULL, "
+                    + "version bigint NOT NULL DEFAULT 0, PRIMARY KEY (id), KEY (product_id))");
+            statement.execute("CREATE TABLE users (id bigint NOT NULL AUTO_INCREMENT, balance decimal(38,2), "
+                    + "name varchar(255), created_at timestamp NOT NULL, updated_at timestamp NULL, "
+                    + "version bigint NOT NULL DEFAULT 0, PRIMARY KEY (id))");
+            statement.execute("CREATE TABLE payments (id bigint NOT NULL AUTO_INCREMENT, user_id bigint, sale_id bigint, "
+                    + "value decimal(38,2), created_at timestamp NOT NULL, PRIMARY KEY (id))");
+            statement.execute("INSERT INTO inventories (product_id, quantity, created_at) VALUES ("
+                    + PRODUCT_ID + ", " + INITIAL_QUANTITY + ", CURRENT_TIMESTAMP)");
+            statement.execute("INSERT INTO users (id, name, balance, created_at) VALUES ("
+                    + USER_ID + ", 'bench', " + INITIAL_BALANCE + ", CURRENT_TIMESTAMP)");
+        }
+    }
+
+    private Connection connect() throws SQLException {
+        return DriverManager.getConnection(this.jdbcUrl, this.user, this.password);
+    }
+
+    @Configuration
+    @EnableJpaRepositories(
+            basePackageClasses = {SaleRepository.class, InventoryRepository.class, UserRepository.class},
+            includeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE,
+                    classes = {SaleRepository.class, InventoryRepository.class, UserRepository.class, PaymentRepository.class}))
+    public static class PersistenceConfig {
+
+        @Bean
+        public static PropertySourcesPlaceholderConfigurer propertySourcesPlaceholderConfigurer() {
+            return new PropertySourcesPlaceholderConfigurer();
+        }
+
+        @Bean(destroyMethod = "close")
+        public HikariDataSource dataSource(Environment environment) {
+            var dataSource = new HikariDataSource();
+            dataSource.setJdbcUrl(environment.getRequiredProperty("benchmark.jdbc-url"));
+            dataSource.setUsername(environment.getRequiredProperty("benchmark.user"));
+            dataSource.setPassword(environment.getRequiredProperty("benchmark.password"));
+            dataSource.setMaximumPoolSize(10);
+            dataSource.setMinimumIdle(2);
+            dataSource.addDataSourceProperty("cachePrepStmts", "true");
+            dataSource.addDataSourceProperty("prepStmtCacheSize", "250");
+            dataSource.addDataSourceProperty("prepStmtCacheSqlLimit", "2048");
+            dataSource.addDataSourceProperty("useServerPrepStmts", "true");
+            return dataSource;
+        }
+
+        @Bean
+        public LocalContainerEntityManagerFactoryBean entityManagerFactory(DataSource dataSource) {
+            var factory = new LocalContainerEntityManagerFactoryBean();
+            factory.setDataSource(dataSource);
+            factory.setPackagesToScan(SaleEntity.class.getPackageName(), InventoryEntity.class.getPackageName(),
+                    UserEntity.class.getPackageName());
+            factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+            // Column names as Spring Boot derives them (productId -> product_id)
+            factory.setJpaPropertyMap(Map.of(
+                    "hibernate.physical_naming_strategy", CamelCaseToUnderscoresNamingStrategy.class.getName()));
+            return factory;
+        }
+
+        @Bean
+        public JpaTransactionManager transactionManager(EntityManagerFactory entityManagerFactory) {
+            return new JpaTransactionManager(entityManagerFactory);
+        }
+
+        @Bean
+        public TransactionTemplate transactionTemplate(PlatformTransactionManager transactionManager) {
+            return new TransactionTemplate(transactionManager);
+        }
+
+        @Bean
+        public NamedParameterJdbcTemplate namedParameterJdbcTemplate(DataSource dataSource) {
+            return new NamedParameterJdbcTemplate(dataSource);
+        }
+
+        @Bean
+        public InventoryNearCache inventoryNearCache(ObjectProvider<StockSnapshotPublisher> stockSnapshotPublisher) {
+            return new InventoryNearCache(100_000, Duration.ofSeconds(2), stockSnapshotPublisher);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.market.benchmark.sale;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.market.sale.adapters.in.admission.SaleAdmissionControl;
+import com.market.sale.adapters.in.admission.TokenBucket;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@code SaleAdmissionControl.tryAdmit} from many request threads, with every thread on
+ * one user ({@code users=1}, all CAS on the same bucket) or spread over many users.
+ * With {@code globalRate=1000} most calls are rejected by the global bucket; each
+ * iteration fails if more sales were admitted than the global bucket allows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class AdmissionControlBenchmark {
+
+    private static final int GLOBAL_BURST = 4000;
+
+    @Param({"1", "100000"})
+    public int users;
+
+    @Param({"1000000000", "1000"})
+    public double globalRate;
+
+    private SaleAdmissionControl saleAdmissionControl;
+    private final LongAdder admitted = new LongAdder();
+    private long iterationStart;
+
+    @State(Scope.Thread)
+    public static class UserState {
+
+        private final SplittableRandom random = new SplittableRandom();
+    }
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        var userBuckets = Caffeine.newBuilder()
+                .maximumSize(1_000_000)
+                .expireAfterAccess(Duration.ofMinutes(1))
+                .<Long, TokenBucket>build();
+        this.saleAdmissionControl = new SaleAdmissionControl(true, new TokenBucket(this.globalRate, GLOBAL_BURST),
+                userBuckets, 1e9, 20, null, 0);
+        this.admitted.reset();
+        this.iterationStart = System.nanoTime();
+    }
+
+    @TearDown(Level.Iteration)
+    public void verify() {
+        var elapsedSeconds = (System.nanoTime() - this.iterationStart) / 1e9;
+        var allowed = GLOBAL_BURST + this.globalRate * elapsedSeconds + 1;
+        if (this.admitted.sum() > allowed) {
+            throw new IllegalStateException("Admitted " + this.admitted.sum() + " sales, at most " + (long) allowed
+                    + " allowed");
+        }
+    }
+
+    @Benchmark
+    public Optional<Duration> tryAdmit(UserState userState) {
+        var retryAfter = this.saleAdmissionControl.tryAdmit((long) userState.random.nextInt(this.users));
+        if (retryAfter.isEmpty()) {
+            this.admitted.increment();
+        }
+        return retryAfter;
+    }
+}
@@ -0,0 +1,159 @@
+package com.market.benchmark.sale;
+
+import com.market.sale.adapters.out.archive.FindArchivedSaleAdapter;
+import com.market.sale.adapters.out.archive.MonthlyPartitions;
+import com.market.sale.adapters.out.archive.SaleArchiver;
+import com.market.sale.application.core.usecase.LookupSaleUseCase;
+import com.zaxxer.hikari.HikariDataSource;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * One {@code SaleArchiver} run over {@code closedSales} finalized and canceled sales past
+ * the retention window, next to old pending sales and recent closed ones that must stay.
+ * Compare the run time across {@code batchSize}. Each iteration fails unless exactly the
+ * old closed sales and their items moved, and an archived sale is still found by id.
+ * The tables are not partitioned here, so the partition upkeep is a no-op on MySQL (and
+ * logs an error on H2, which has no {@code INFORMATION_SCHEMA.PARTITIONS}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class SaleArchiverBenchmark {
+
+    private static final Duration RETENTION = Duration.ofDays(90);
+    private static final int KEPT_SALES = 1000;
+
+    @Param("100000")
+    public int closedSales;
+
+    @Param({"100", "1000"})
+    public int batchSize;
+
+    @Param("jdbc:mysql://localhost:3308/archive_bench?createDatabaseIfNotExist=true")
+    public String jdbcUrl;
+
+    @Param("root")
+    public String user;
+
+    @Param("root")
+    public String password;
+
+    private HikariDataSource dataSource;
+    private NamedParameterJdbcTemplate jdbcTemplate;
+    private SaleArchiver saleArchiver;
+
+    @Setup(Level.Trial)
+    public void start() {
+        this.dataSource = new HikariDataSource();
+        this.dataSource.setJdbcUrl(this.jdbcUrl);
+        this.dataSource.setUsername(this.user);
+        this.dataSource.setPassword(this.password);
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(this.dataSource);
+        var transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(this.dataSource));
+        this.saleArchiver = new SaleArchiver(this.jdbcTemplate, transactionTemplate,
+                new MonthlyPartitions(this.jdbcTemplate.getJdbcTemplate(), "sales", 3), RETENTION, this.batchSize,
+                Integer.MAX_VALUE);
+    }
+
+    @Setup(Level.Iteration)
+    public void fill() throws SQLException {
+        try (var connection = DriverManager.getConnection(this.jdbcUrl, this.user, this.password);
+             var statement = connection.createStatement()) {
+            for (var table : List.of("sale_items", "sales", "sale_items_archive", "sales_archive")) {
+                statement.execute("DROP TABLE IF EXISTS " + table);
+            }
+            statement.execute("CREATE TABLE sales (id bigint NOT NULL, product_id int, user_id int, "
+                    + "value decimal(38,2), sale_status_id int, quantity int, created_at timestamp NOT NULL, "
+                    + "updated_at timestamp NULL, PRIMARY KEY (id, created_at), KEY (sale_status_id, created_at))");
+            statement.execute("CREATE TABLE sale_items (id bigint NOT NULL, sale_id bigint NOT NULL, "
+                    + "product_id bigint NOT NULL, quantity int NOT NULL, PRIMARY KEY (id), KEY (sale_id))");
+            statement.execute("CREATE TABLE sales_archive (id bigint NOT NULL, product_id int, user_id int, "
+                    + "value decimal(38,2), sale_status_id int, quantity int, created_at timestamp NOT NULL, "
+                    + "updated_at timestamp NULL, archived_at timestamp NOT NULL DEFAULT CURRENT_TIMESTAMP, "
+                    + "PRIMARY KEY (id))");
+            statement.execute("CREATE TABLE sale_items_archive (id bigint NOT NULL, sale_id bigint NOT NULL, "
+                    + "product_id bigint NOT NULL, quantity int NOT NULL, PRIMARY KEY (id), KEY (sale_id))");
+        }
+
+        var old = Timestamp.from(Instant.now().minus(RETENTION).minus(Duration.ofDays(30)));
+        var recent = Timestamp.from(Instant.now());
+        List<Object[]> sales = new ArrayList<>();
+        List<Object[]> items = new ArrayList<>();
+        long id = 0;
+        // Old closed sales (to archive), then old pending and recent closed ones (to keep)
+        for (int i = 0; i < this.closedSales + 2 * KEPT_SALES; i++) {
+            var status = i < this.closedSales ? 2 + i % 2 : i < this.closedSales + KEPT_SALES ? 1 : 2;
+            var createdAt = i < this.closedSales + KEPT_SALES ? old : recent;
+            sales.add(new Object[] {++id, 6, 1, "10.00", status, 1, createdAt});
+            items.add(new Object[] {id + 1_000_000_000L, id, 6, 1});
+        }
+        var jdbc = this.jdbcTemplate.getJdbcTemplate();
+        jdbc.batchUpdate("INSERT INTO sales (id, product_id, user_id, value, sale_status_id, quantity, created_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?)", sales);
+        jdbc.batchUpdate("INSERT INTO sale_items (id, sale_id, product_id, quantity) VALUES (?, ?, ?, ?)", items);
+    }
+
+    @TearDown(Level.Iteration)
+    public void verify() {
+        var jdbc = this.jdbcTemplate.getJdbcTemplate();
+        var problems = new ArrayList<String>();
+        expect(problems, "sales", jdbc.queryForObject("SELECT COUNT(*) FROM sales", Long.class), 2L * KEPT_SALES);
+        expect(problems, "sale_items", jdbc.queryForObject("SELECT COUNT(*) FROM sale_items", Long.class),
+                2L * KEPT_SALES);
+        expect(problems, "sales_archive", jdbc.queryForObject("SELECT COUNT(*) FROM sales_archive", Long.class),
+                (long) this.closedSales);
+        expect(problems, "sale_items_archive",
+                jdbc.queryForObject("SELECT COUNT(*) FROM sale_items_archive", Long.class), (long) this.closedSales);
+        var lookup = new LookupSaleUseCase(id -> Optional.empty(), new FindArchivedSaleAdapter(this.jdbcTemplate));
+        var archived = lookup.lookup(1L);
+        if (archived.isEmpty() || archived.get().getItems().size() != 1) {
+            problems.add("archived sale 1 not found with its item");
+        }
+        if (!problems.isEmpty()) {
+            throw new IllegalStateException("Archiving moved the wrong rows: " + problems);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        this.dataSource.close();
+    }
+
+    @Benchmark
+    public void archive() {
+        this.saleArchiver.archive();
+    }
+
+    private static void expect(List<String> problems, String table, Long actual, long expected) {
+        if (actual != expected) {
+            problems.add(table + " has " + actual + " rows, expected " + expected);
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.market.benchmark.sale;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.market.sale.adapters.out.events.EventSourcedSaveSaleAdapter;
+import com.market.sale.adapters.out.events.SaleEventRepository;
+import com.market.sale.adapters.out.events.SaleProjector;
+import com.market.sale.adapters.out.id.SnowflakeIdGenerator;
+import com.market.sale.adapters.out.jdbc.JdbcSaveSaleAdapter;
+import com.market.sale.application.core.domain.SaleItemVO;
+import com.market.sale.application.core.domain.SaleVO;
+import com.market.sale.application.core.domain.enums.SaleStatusEnum;
+import com.market.sale.application.core.usecase.CreateSaleUseCase;
+import com.market.sale.application.ports.out.SaveSaleOutputPort;
+import com.market.sale.application.ports.out.SendCreatedSaleOutputPort;
+import com.zaxxer.hikari.HikariDataSource;
+import java.math.BigDecimal;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Concurrent sagas of the sale side: create a sale, then save it finalized. With
+ * {@code store=table} that is an insert and an in-place update of {@code sales}; with
+ * {@code store=events} two appends to {@code sale_events}. At the end of the trial the
+ * {@code SaleProjector} catches {@code sales} up (its duration is printed), and the trial
+ * fails unless every sale is stored finalized with its item either way.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Threads(16)
+@Fork(1)
+public class SaleEventStoreBenchmark {
+
+    private static final SendCreatedSaleOutputPort NO_SEND = (saleVO, saleEvent) -> { };
+
+    @Param({"table", "events"})
+    public String store;
+
+    @Param("jdbc:mysql://localhost:3308/sale_events_bench?createDatabaseIfNotExist=true")
+    public String jdbcUrl;
+
+    @Param("root")
+    public String user;
+
+    @Param("root")
+    public String password;
+
+    private HikariDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private SaleEventRepository saleEventRepository;
+    private SaveSaleOutputPort saveSaleOutputPort;
+    private CreateSaleUseCase createSaleUseCase;
+    private final LongAdder sagas = new LongAdder();
+
+    @Setup(Level.Trial)
+    public void start() throws SQLException {
+        try (var connection = DriverManager.getConnection(this.jdbcUrl, this.user, this.password);
+             var statement = connection.createStatement()) {
+            for (var table : List.of("sale_items", "sales", "sale_events", "sale_projections",
+                    "sale_projection_gaps")) {
+                statement.execute("DROP TABLE IF EXISTS " + table);
+            }
+            statement.execute("CREATE TABLE sales (id bigint NOT NULL, product_id int, user_id int, "
+                    + "value decimal(38,2), sale_status_id int, quantity int, created_at timestamp NOT NULL, "
+                    + "updated_at timestamp NULL, PRIMARY KEY (id))");
+            statement.execute("CREATE TABLE sale_items (id bigint NOT NULL, sale_id bigint NOT NULL, "
+                    + "product_id bigint NOT NULL, quantity int NOT NULL, PRIMARY KEY (id), KEY (sale_id))");
+            // text instead of json, so the same statements run on H2
+            statement.execute("CREATE TABLE sale_events (id bigint NOT NULL AUTO_INCREMENT, sale_id bigint NOT NULL, "
+                    + "sale_status_id int NOT NULL, payload text NULL, "
+                    + "occurred_at timestamp(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3), PRIMARY KEY (id), "
+                    + "UNIQUE KEY (sale_id, sale_status_id))");
+            statement.execute("CREATE TABLE sale_projections (name varchar(32) NOT NULL, "
+                    + "last_event_id bigint NOT NULL, "
+                    + "updated_at timestamp(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3), PRIMARY KEY (name))");
+            statement.execute("CREATE TABLE sale_projection_gaps (name varchar(32) NOT NULL, "
+                    + "event_id bigint NOT NULL, found_at timestamp(3) NOT NULL, PRIMARY KEY (name, event_id))");
+            statement.execute("INSERT INTO sale_projections (name, last_event_id) VALUES ('sales', 0)");
+        }
+
+        this.dataSource = new HikariDataSource();
+        this.dataSource.setJdbcUrl(this.jdbcUrl);
+        this.dataSource.setUsername(this.user);
+        this.dataSource.setPassword(this.password);
+        this.dataSource.setMaximumPoolSize(10);
+        this.jdbcTemplate = new JdbcTemplate(this.dataSource);
+        this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(this.dataSource));
+        this.saleEventRepository =
+                new SaleEventRepository(this.jdbcTemplate, new ObjectMapper().findAndRegisterModules());
+        this.saveSaleOutputPort = "events".equals(this.store)
+                ? new EventSourcedSaveSaleAdapter(this.saleEventRepository)
+                : new JdbcSaveSaleAdapter(new NamedParameterJdbcTemplate(this.jdbcTemplate), this.transactionTemplate);
+        this.createSaleUseCase = new CreateSaleUseCase(this.saveSaleOutputPort, NO_SEND,
+                new SnowflakeIdGenerator(0, Instant.parse("2024-01-01T00:00:00Z")));
+    }
+
+    @TearDown(Level.Trial)
+    public void verify() {
+        if ("events".equals(this.store)) {
+            var start = System.nanoTime();
+            new SaleProjector(this.saleEventRepository, this.jdbcTemplate, this.transactionTemplate, 1000,
+                    Duration.ofMinutes(5)).project();
+            System.out.printf("%nProjected %d sagas in %d ms%n", this.sagas.sum(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
+        var problems = new ArrayList<String>();
+        var finalized = this.jdbcTemplate.queryForObject("SELECT COUNT(*) FROM sales WHERE sale_status_id = ?",
+                Long.class, SaleStatusEnum.FINALIZED.getId());
+        if (finalized != this.sagas.sum()) {
+            problems.add(finalized + " finalized sales");
+        }
+        var items = this.jdbcTemplate.queryForObject("SELECT COUNT(*) FROM sale_items", Long.class);
+        if (items != this.sagas.sum()) {
+            problems.add(items + " sale items");
+        }
+        this.dataSource.close();
+        if (!problems.isEmpty()) {
+            throw new IllegalStateException("Ran " + this.sagas.sum() + " sagas, but " + problems);
+        }
+    }
+
+    @Benchmark
+    public SaleVO createAndFinalize() {
+        var saleVO = new SaleVO(null, 6L, 1L, new BigDecimal("10.00"), null, 1, null);
+        saleVO.setItems(new ArrayList<>(List.of(new SaleItemVO(6L, 1))));
+        var sale = this.createSaleUseCase.create(saleVO);
+        sale.setSaleStatus(SaleStatusEnum.FINALIZED);
+        this.saveSaleOutputPort.save(sale);
+        this.sagas.increment();
+        return sale;
+    }
+}
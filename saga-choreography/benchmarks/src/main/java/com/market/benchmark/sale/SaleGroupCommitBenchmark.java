@@ -0,0 +1,158 @@
+package com.market.benchmark.sale;
+
+import com.market.sale.adapters.in.groupcommit.GroupCommitSaleCreator;
+import com.market.sale.adapters.out.id.SnowflakeIdGenerator;
+import com.market.sale.adapters.out.jdbc.JdbcSaveSaleAdapter;
+import com.market.sale.adapters.out.jdbc.JdbcSaveSalesAdapter;
+import com.market.sale.application.core.domain.SaleItemVO;
+import com.market.sale.application.core.domain.SaleVO;
+import com.market.sale.application.core.usecase.CreateSaleUseCase;
+import com.market.sale.application.core.usecase.CreateSalesUseCase;
+import com.market.sale.application.ports.out.SendCreatedSaleOutputPort;
+import com.zaxxer.hikari.HikariDataSource;
+import java.math.BigDecimal;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.UnaryOperator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Concurrent sale creations, each with its own insert transaction ({@code mode=direct},
+ * {@code CreateSaleUseCase} with {@code JdbcSaveSaleAdapter}) or grouped by
+ * {@code GroupCommitSaleCreator} into multi-row inserts ({@code mode=group-commit}).
+ * Event sends are left out, and the pool has the service's 10 connections. Compare
+ * throughput across {@code -t} and {@code windowMs}; the trial fails unless every
+ * created sale and item is stored.
+ *
+ * <pre>
+ * java -jar target/benchmarks.jar SaleGroupCommitBenchmark -t 64 -p windowMs=1,5
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Threads(32)
+@Fork(1)
+public class SaleGroupCommitBenchmark {
+
+    private static final SendCreatedSaleOutputPort NO_SEND = (saleVO, saleEvent) -> { };
+
+    @Param({"direct", "group-commit"})
+    public String mode;
+
+    @Param("5")
+    public long windowMs;
+
+    @Param("64")
+    public int maxBatchSize;
+
+    @Param("jdbc:mysql://localhost:3308/group_commit_bench?createDatabaseIfNotExist=true")
+    public String jdbcUrl;
+
+    @Param("root")
+    public String user;
+
+    @Param("root")
+    public String password;
+
+    private HikariDataSource dataSource;
+    private GroupCommitSaleCreator groupCommitSaleCreator;
+    private UnaryOperator<SaleVO> createSale;
+    private final LongAdder created = new LongAdder();
+
+    @Setup(Level.Trial)
+    public void start() throws SQLException {
+        try (var connection = DriverManager.getConnection(this.jdbcUrl, this.user, this.password);
+             var statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS sale_items");
+            statement.execute("DROP TABLE IF EXISTS sales");
+            statement.execute("CREATE TABLE sales (id bigint NOT NULL AUTO_INCREMENT, product_id int, user_id int, "
+                    + "value decimal(38,2), sale_status_id int, quantity int, created_at timestamp NOT NULL, "
+                    + "updated_at timestamp NULL, PRIMARY KEY (id))");
+            statement.execute("CREATE TABLE sale_items (id bigint NOT NULL AUTO_INCREMENT, sale_id bigint NOT NULL, "
+                    + "product_id bigint NOT NULL, quantity int NOT NULL, PRIMARY KEY (id), "
+                    + "FOREIGN KEY (sale_id) REFERENCES sales (id))");
+        }
+
+        this.dataSource = new HikariDataSource();
+        this.dataSource.setJdbcUrl(this.jdbcUrl);
+        this.dataSource.setUsername(this.user);
+        this.dataSource.setPassword(this.password);
+        this.dataSource.setMaximumPoolSize(10);
+        this.dataSource.addDataSourceProperty("cachePrepStmts", "true");
+        this.dataSource.addDataSourceProperty("prepStmtCacheSize", "250");
+        this.dataSource.addDataSourceProperty("prepStmtCacheSqlLimit", "2048");
+        this.dataSource.addDataSourceProperty("useServerPrepStmts", "true");
+        var jdbcTemplate = new NamedParameterJdbcTemplate(this.dataSource);
+        var transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(this.dataSource));
+
+        var idGenerator = new SnowflakeIdGenerator(0, Instant.parse("2024-01-01T00:00:00Z"));
+        if ("direct".equals(this.mode)) {
+            var createSaleUseCase = new CreateSaleUseCase(new JdbcSaveSaleAdapter(jdbcTemplate, transactionTemplate), NO_SEND,
+                    idGenerator);
+            this.createSale = createSaleUseCase::create;
+        } else {
+            var createSalesUseCase = new CreateSalesUseCase(new JdbcSaveSalesAdapter(jdbcTemplate, transactionTemplate),
+                    NO_SEND, idGenerator);
+            this.groupCommitSaleCreator = new GroupCommitSaleCreator(createSalesUseCase, this.maxBatchSize,
+                    Duration.ofMillis(this.windowMs), 10_000, 2, Duration.ofSeconds(10));
+            this.createSale = saleVO -> this.groupCommitSaleCreator.submit(saleVO).join();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void verify() throws Exception {
+        if (this.groupCommitSaleCreator != null) {
+            this.groupCommitSaleCreator.close();
+        }
+        this.dataSource.close();
+        try (var connection = DriverManager.getConnection(this.jdbcUrl, this.user, this.password);
+             var statement = connection.createStatement()) {
+            var problems = new ArrayList<String>();
+            for (var table : List.of("sales", "sale_items")) {
+                try (var rs = statement.executeQuery("SELECT COUNT(*) FROM " + table)) {
+                    rs.next();
+                    if (rs.getLong(1) != this.created.sum()) {
+                        problems.add(table + " has " + rs.getLong(1) + " rows");
+                    }
+                }
+            }
+            if (!problems.isEmpty()) {
+                throw new IllegalStateException("Created " + this.created.sum() + " sales, but " + problems);
+            }
+        }
+    }
+
+    @Benchmark
+    public SaleVO createSale() {
+        var saleVO = new SaleVO(null, 6L, 1L, new BigDecimal("10.00"), null, 1, null);
+        saleVO.setItems(new ArrayList<>(List.of(new SaleItemVO(6L, 1))));
+        var sale = this.createSale.apply(saleVO);
+        this.created.increment();
+        return sale;
+    }
+}
@@ -0,0 +1,55 @@
+package com.market.benchmark.sale;
+
+import com.market.sale.adapters.out.id.SnowflakeIdGenerator;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@code SnowflakeIdGenerator.nextId} from many request threads sharing one generator,
+ * as the sale use cases do. Every thread checks that its ids strictly increase; compare
+ * throughput across {@code -t} to see the cost of the shared CAS.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class SaleIdGeneratorBenchmark {
+
+    private SnowflakeIdGenerator snowflakeIdGenerator;
+
+    @State(Scope.Thread)
+    public static class LastId {
+
+        private long id;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.snowflakeIdGenerator = new SnowflakeIdGenerator(1, Instant.parse("2024-01-01T00:00:00Z"));
+    }
+
+    @Benchmark
+    public long nextId(LastId lastId) {
+        var id = this.snowflakeIdGenerator.nextId();
+        if (id <= lastId.id) {
+            throw new IllegalStateException("Id " + id + " after " + lastId.id);
+        }
+        lastId.id = id;
+        return id;
+    }
+}
@@ -0,0 +1,35 @@
+package com.market.benchmark.sale;
+
+import com.market.sale.application.core.domain.enums.SaleStatusEnum;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@code SaleStatusEnum.findById}, called for every sale read through
+ * {@code SaleEntityMapper}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SaleStatusLookupBenchmark {
+
+    @Param({"1", "2", "3"})
+    public Integer id;
+
+    @Benchmark
+    public SaleStatusEnum findById() {
+        return SaleStatusEnum.findById(this.id);
+    }
+}
@@ -0,0 +1,108 @@
+package com.market.benchmark.sale;
+
+import com.market.sale.adapters.in.snapshot.SnapshotTable;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Lookups in the sale-service's replicated balance snapshot from 7 request threads
+ * while the replica thread keeps updating it, with the {@link SnapshotTable} used by
+ * the edge validation ({@code store=table}) or a {@code ConcurrentHashMap<Long, Long>}
+ * ({@code store=map}). The setup prints the heap the filled store takes per entry.
+ * Every value read is checked against the key it belongs to; a torn read fails the
+ * trial.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SnapshotTableBenchmark {
+
+    @Param({"table", "map"})
+    public String store;
+
+    @Param({"1000000"})
+    public int users;
+
+    private SnapshotTable table;
+    private Map<Long, Long> map;
+
+    @State(Scope.Thread)
+    public static class ThreadState {
+
+        private final SplittableRandom random = new SplittableRandom();
+        private long version;
+    }
+
+    @Setup
+    public void fill() {
+        var before = usedHeap();
+        if ("table".equals(this.store)) {
+            this.table = new SnapshotTable();
+            for (long userId = 0; userId < this.users; userId++) {
+                this.table.put(userId, valueOf(userId, 0));
+            }
+        } else {
+            this.map = new ConcurrentHashMap<>();
+            for (long userId = 0; userId < this.users; userId++) {
+                this.map.put(userId, valueOf(userId, 0));
+            }
+        }
+        System.out.printf("%n%s: %.1f bytes per entry%n", this.store, (usedHeap() - before) / (double) this.users);
+    }
+
+    @Benchmark
+    @Group("replica")
+    @GroupThreads(7)
+    public long read(ThreadState threadState) {
+        long userId = threadState.random.nextInt(this.users);
+        long value = this.table != null ? this.table.get(userId) : this.map.get(userId);
+        if (value / this.users != userId) {
+            throw new IllegalStateException("Read " + value + " for user " + userId);
+        }
+        return value;
+    }
+
+    @Benchmark
+    @Group("replica")
+    @GroupThreads(1)
+    public void write(ThreadState threadState) {
+        long userId = threadState.random.nextInt(this.users);
+        var value = valueOf(userId, ++threadState.version % this.users);
+        if (this.table != null) {
+            this.table.put(userId, value);
+        } else {
+            this.map.put(userId, value);
+        }
+    }
+
+    // Encodes the key, so a value read for the wrong key is detected
+    private long valueOf(long userId, long version) {
+        return userId * this.users + version;
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        var runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
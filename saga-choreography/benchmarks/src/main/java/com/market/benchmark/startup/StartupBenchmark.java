@@ -0,0 +1,216 @@
+package com.market.benchmark.startup;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cold start of one service as a separate process. {@code ready} is the time from launch
+ * until {@code /actuator/health/readiness} answers 200; {@code firstRequest} also waits
+ * for a first full {@code /actuator/health}, which goes through the dispatcher servlet
+ * and borrows a database connection.
+ *
+ * <p>{@code variant} selects how the service is started:
+ * <ul>
+ *   <li>{@code jvm}: {@code java -jar} on the fat jar</li>
+ *   <li>{@code aot}: the same jar with the build-time bean definitions ({@code -Dspring.aot.enabled=true})</li>
+ *   <li>{@code aot-cds}: the extracted jar with a class data sharing archive recorded by a
+ *       training run during trial setup, the way the Dockerfiles start the services</li>
+ *   <li>{@code native}: the executable built with {@code mvn -Pnative native:compile}</li>
+ * </ul>
+ *
+ * <p>The jars must be packaged with {@code -Paot}. The services use their default
+ * database and broker settings, so start the infrastructure of {@code compose.yml}
+ * without the service containers:
+ *
+ * <pre>
+ * docker compose up -d kafka-service sale-db-service inventory-db-service payment-db-service
+ * java -jar target/benchmarks.jar StartupBenchmark -p service=sale-service -p variant=jvm,aot,aot-cds
+ * </pre>
+ *
+ * The output of the last launch is kept in {@code target/startup-<service>-<variant>.log}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(1)
+public class StartupBenchmark {
+
+    private static final String VERSION = "0.0.1-SNAPSHOT";
+    private static final long POLL_INTERVAL_MS = 5;
+
+    @Param({"sale-service", "inventory-service", "payment-service"})
+    public String service;
+
+    @Param({"jvm", "aot", "aot-cds"})
+    public String variant;
+
+    @Param("..")
+    public String servicesDir;
+
+    @Param("60000")
+    public long timeoutMs;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(1))
+            .build();
+    private final String java = ProcessHandle.current().info().command().orElse("java");
+    private Path jar;
+    private Path cdsDir;
+    private Path log;
+    private Process process;
+    private int port;
+
+    @Setup(Level.Trial)
+    public void prepare() throws IOException, InterruptedException {
+        var target = Path.of(this.servicesDir, this.service, "target");
+        this.jar = target.resolve(this.service + "-" + VERSION + ".jar");
+        this.log = Path.of("target", "startup-" + this.service + "-" + this.variant + ".log");
+        Files.createDirectories(this.log.getParent());
+        if ("aot-cds".equals(this.variant)) {
+            this.cdsDir = Files.createTempDirectory("startup-cds-");
+            this.run(this.cdsDir.getParent(), List.of(this.java, "-Djarmode=tools", "-jar",
+                    this.jar.toAbsolutePath().toString(), "extract", "--destination", this.cdsDir.toString(), "--force"));
+            this.run(this.cdsDir, List.of(this.java, "-XX:ArchiveClassesAtExit=application.jsa",
+                    "-Dspring.context.exit=onRefresh", "-Dspring.profiles.active=cds-training",
+                    "-jar", this.jar.getFileName().toString()));
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void choosePort() throws IOException {
+        try (var socket = new ServerSocket(0)) {
+            this.port = socket.getLocalPort();
+        }
+    }
+
+    @Benchmark
+    public int ready() throws IOException, InterruptedException {
+        this.process = this.launch();
+        return this.awaitReady();
+    }
+
+    @Benchmark
+    public int firstRequest() throws IOException, InterruptedException {
+        this.process = this.launch();
+        this.awaitReady();
+        var status = this.get("/actuator/health").statusCode();
+        if (status != 200) {
+            throw new IllegalStateException(this.service + " is not healthy (" + status + "), see " + this.log);
+        }
+        return status;
+    }
+
+    @TearDown(Level.Invocation)
+    public void stop() throws InterruptedException {
+        if (this.process != null) {
+            this.process.destroy();
+            if (!this.process.waitFor(30, TimeUnit.SECONDS)) {
+                this.process.destroyForcibly().waitFor();
+            }
+            this.process = null;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void cleanUp() throws IOException {
+        if (this.cdsDir != null) {
+            try (Stream<Path> paths = Files.walk(this.cdsDir)) {
+                for (var path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.delete(path);
+                }
+            }
+        }
+    }
+
+    private Process launch() throws IOException {
+        List<String> command = new ArrayList<>();
+        var workDir = Path.of(".");
+        switch (this.variant) {
+            case "jvm" -> command.addAll(List.of(this.java, "-jar", this.jar.toString()));
+            case "aot" -> command.addAll(List.of(this.java, "-Dspring.aot.enabled=true", "-jar", this.jar.toString()));
+            case "aot-cds" -> {
+                workDir = this.cdsDir;
+                command.addAll(List.of(this.java, "-XX:SharedArchiveFile=application.jsa",
+                        "-Dspring.aot.enabled=true", "-jar", this.jar.getFileName().toString()));
+            }
+            case "native" -> command.add(this.jar.resolveSibling(this.service).toString());
+            default -> throw new IllegalArgumentException("Unknown variant " + this.variant);
+        }
+        command.add("--server.port=" + this.port);
+
+        return new ProcessBuilder(command)
+                .directory(workDir.toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(this.log.toFile())
+                .start();
+    }
+
+    private int awaitReady() throws IOException, InterruptedException {
+        var deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(this.timeoutMs);
+        while (System.nanoTime() < deadline) {
+            if (!this.process.isAlive()) {
+                throw new IllegalStateException(this.service + " exited with " + this.process.exitValue()
+                        + ", see " + this.log);
+            }
+            try {
+                var status = this.get("/actuator/health/readiness").statusCode();
+                if (status == 200) {
+                    return status;
+                }
+            } catch (ConnectException e) {
+                // not listening yet
+            }
+            Thread.sleep(POLL_INTERVAL_MS);
+        }
+        throw new IllegalStateException(this.service + " was not ready after " + this.timeoutMs + " ms, see " + this.log);
+    }
+
+    private HttpResponse<Void> get(String path) throws IOException, InterruptedException {
+        var request = HttpRequest.newBuilder(URI.create("http://localhost:" + this.port + path))
+                .timeout(Duration.ofSeconds(5))
+                .GET()
+                .build();
+
+        return this.httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+    }
+
+    private void run(Path workDir, List<String> command) throws IOException, InterruptedException {
+        var exitCode = new ProcessBuilder(command)
+                .directory(workDir.toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(this.log.toFile())
+                .start()
+                .waitFor();
+        if (exitCode != 0) {
+            throw new IllegalStateException(String.join(" ", command) + " exited with " + exitCode + ", see " + this.log);
+        }
+    }
+}
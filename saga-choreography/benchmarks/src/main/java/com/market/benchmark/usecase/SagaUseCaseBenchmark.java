@@ -0,0 +1,122 @@
+package com.market.benchmark.usecase;
+
+import com.market.inventory.adapters.out.reservation.UntrackedStockReservationAdapter;
+import com.market.inventory.application.core.usecase.DebitInventoryUseCase;
+import com.market.payment.adapters.out.authorization.ApprovingPaymentAuthorizationAdapter;
+import com.market.payment.application.core.usecase.SalePaymentBatchUseCase;
+import com.market.payment.application.core.usecase.SalePaymentUseCase;
+import com.market.payment.application.ports.out.SendToKafkaOutputPort;
+import com.market.sale.adapters.out.id.SnowflakeIdGenerator;
+import com.market.sale.application.core.usecase.CreateSaleUseCase;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * One step of each service's saga use case, with in-memory output ports that accept
+ * everything and hand what would be persisted or published to the {@link Blackhole}.
+ * This isolates the orchestration and domain cost (sale defaults, item handling,
+ * {@code Money} conversion, batching) from the database and Kafka.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SagaUseCaseBenchmark {
+
+    private static final int BATCH_SIZE = 100;
+
+    private CreateSaleUseCase createSaleUseCase;
+    private DebitInventoryUseCase debitInventoryUseCase;
+    private SalePaymentUseCase salePaymentUseCase;
+    private SalePaymentBatchUseCase salePaymentBatchUseCase;
+
+    private com.market.inventory.application.core.domain.SaleVO inventorySale;
+    private com.market.payment.application.core.domain.SaleVO paymentSale;
+    private List<com.market.payment.application.core.domain.SaleVO> paymentSales;
+
+    @Setup
+    public void createUseCases(Blackhole blackhole) {
+        this.createSaleUseCase = new CreateSaleUseCase(saleVO -> saleVO, (saleVO, event) -> blackhole.consume(saleVO),
+                new SnowflakeIdGenerator(0, Instant.parse("2024-01-01T00:00:00Z")));
+
+        this.debitInventoryUseCase = new DebitInventoryUseCase(
+                (saleId, items) -> true,
+                (saleId, items) -> true,
+                new UntrackedStockReservationAdapter(),
+                (saleVO, event) -> blackhole.consume(event));
+
+        var sendToKafka = new SendToKafkaOutputPort() {
+            @Override
+            public void send(com.market.payment.application.core.domain.SaleVO saleVO,
+                             com.market.payment.application.core.domain.enums.SaleEventEnum saleEvent) {
+                blackhole.consume(saleEvent);
+            }
+
+            @Override
+            public void sendAll(Map<com.market.payment.application.core.domain.enums.SaleEventEnum,
+                    List<com.market.payment.application.core.domain.SaleVO>> saleVOsByEvent) {
+                blackhole.consume(saleVOsByEvent);
+            }
+        };
+        var authorization = new ApprovingPaymentAuthorizationAdapter();
+        this.salePaymentUseCase = new SalePaymentUseCase((userId, saleId, amount) -> true, sendToKafka, authorization);
+        this.salePaymentBatchUseCase = new SalePaymentBatchUseCase(payments -> {
+            var accepted = new HashSet<Long>();
+            payments.forEach(payment -> accepted.add(payment.getSaleId()));
+            return accepted;
+        }, sendToKafka, authorization);
+
+        this.inventorySale = new com.market.inventory.application.core.domain.SaleVO(
+                1L, 7L, 3L, new BigDecimal("159.90"), null, 3, null);
+        this.inventorySale.setItems(List.of(
+                new com.market.inventory.application.core.domain.SaleItemVO(7L, 1),
+                new com.market.inventory.application.core.domain.SaleItemVO(8L, 2)));
+        this.paymentSale = new com.market.payment.application.core.domain.SaleVO(
+                1L, 7L, 3L, new BigDecimal("159.90"), null, 3, null);
+        this.paymentSales = new ArrayList<>(BATCH_SIZE);
+        for (long i = 0; i < BATCH_SIZE; i++) {
+            this.paymentSales.add(new com.market.payment.application.core.domain.SaleVO(
+                    i, 7L, i % 10, BigDecimal.valueOf(1_000 + i * 37, 2), null, 1, null));
+        }
+    }
+
+    @Benchmark
+    public void createSale() {
+        var saleVO = new com.market.sale.application.core.domain.SaleVO(
+                null, 7L, 3L, new BigDecimal("159.90"), null, 3, null);
+        this.createSaleUseCase.create(saleVO);
+    }
+
+    @Benchmark
+    public void debitInventory() {
+        this.debitInventoryUseCase.debit(this.inventorySale);
+    }
+
+    @Benchmark
+    public void payment() {
+        this.salePaymentUseCase.payment(this.paymentSale);
+    }
+
+    @Benchmark
+    public void paymentBatchOf100() {
+        this.salePaymentBatchUseCase.payment(this.paymentSales);
+    }
+}
@@ -0,0 +1,62 @@
+package com.market.inventory.adapters.in.actuator;
+
+import com.market.inventory.adapters.out.fault.FaultInjector;
+import com.market.inventory.adapters.out.fault.FaultRule;
+import java.time.Instant;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+
+/**
+ * {@code /actuator/faults}: lists the decorated output ports with their rule and
+ * counters; {@code POST /actuator/faults/{port}} sets a port's rule ({@code all} for
+ * every port), {@code DELETE} removes it. {@code freezeMs} blocks every call of the
+ * port for that long from now.
+ */
+@RequiredArgsConstructor
+@Endpoint(id = "faults")
+public class FaultsEndpoint {
+
+    private final FaultInjector faultInjector;
+
+    @ReadOperation
+    public Map<String, FaultInjector.PortFaults> faults() {
+        return this.faultInjector.snapshot();
+    }
+
+    @WriteOperation
+    public Map<String, FaultInjector.PortFaults> configure(@Selector String port, @Nullable Double delayMs,
+                                                           @Nullable Double delayP99Ms, @Nullable Double stallRate,
+                                                           @Nullable Long stallMs, @Nullable Double errorRate,
+                                                           @Nullable FaultRule.ErrorType errorType,
+                                                           @Nullable Long freezeMs) {
+        var delay = delayMs == null ? 0 : delayMs;
+        var rule = new FaultRule(delay, delayP99Ms == null ? delay : delayP99Ms, stallRate == null ? 0 : stallRate,
+                stallMs == null ? 0 : stallMs, errorRate == null ? 0 : errorRate,
+                errorType == null ? FaultRule.ErrorType.TRANSIENT : errorType,
+                freezeMs == null ? null : Instant.now().plusMillis(freezeMs));
+        if (!this.faultInjector.configure(port, rule)) {
+            throw unknownPort(port);
+        }
+        return this.faultInjector.snapshot();
+    }
+
+    @DeleteOperation
+    public Map<String, FaultInjector.PortFaults> clear(@Selector String port) {
+        if (!this.faultInjector.configure(port, null)) {
+            throw unknownPort(port);
+        }
+        return this.faultInjector.snapshot();
+    }
+
+    private static InvalidEndpointRequestException unknownPort(String port) {
+        var message = "No output port " + port + " is decorated";
+        return new InvalidEndpointRequestException(message, message);
+    }
+}
@@ -0,0 +1,28 @@
+package com.market.inventory.adapters.in.consumer;
+
+import com.market.inventory.adapters.out.message.SaleMessageDTO;
+import com.market.inventory.application.core.domain.enums.SaleEventEnum;
+import com.market.inventory.application.ports.in.ConfirmStockReservationInputPort;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+@RequiredArgsConstructor
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "application-config.inventory.reservations.enabled", havingValue = "true")
+public class ReceiveSaleToConfirmReservationConsumer {
+
+    private final ConfirmStockReservationInputPort confirmStockReservationInputPort;
+
+    @KafkaListener(topics = "${application-config.kafka.topic}", groupId = "${application-config.kafka.consumer.group-id.confirm}")
+    public void receive(SaleMessageDTO saleMessageDTO) {
+        if (SaleEventEnum.VALIDATED_PAYMENT.equals(saleMessageDTO.getSaleEvent())) {
+            log.info("Beginning of stock reservation confirmation.");
+            this.confirmStockReservationInputPort.confirm(saleMessageDTO.getSaleVO());
+            log.info("End of stock reservation confirmation.");
+        }
+    }
+}
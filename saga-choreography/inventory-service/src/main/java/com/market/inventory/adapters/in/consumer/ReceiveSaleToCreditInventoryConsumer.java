@@ -1,5 +1,6 @@
 package com.market.inventory.adapters.in.consumer;
 
+import com.market.inventory.adapters.out.idempotency.ProcessedEventStore;
 import com.market.inventory.adapters.out.message.SaleMessageDTO;
 import com.market.inventory.application.core.domain.enums.SaleEventEnum;
 import com.market.inventory.application.ports.in.CreditInventoryInputPort;
@@ -14,12 +15,15 @@ import org.springframework.stereotype.Component;
 public class ReceiveSaleToCreditInventoryConsumer {
 
   private final CreditInventoryInputPort creditInventoryInputPort;
+  private final ProcessedEventStore processedEventStore;
 
   @KafkaListener(topics = "${application-config.kafka.topic}", groupId = "${application-config.kafka.consumer.group-id.credit}")
   public void receive(SaleMessageDTO saleMessageDTO) {
     if (SaleEventEnum.FAILED_PAYMENT.equals(saleMessageDTO.getSaleEvent())) {
       log.info("Beginning of merchandise return.");
-      this.creditInventoryInputPort.credit(saleMessageDTO.getSaleVO());
+      var saleVO = saleMessageDTO.getSaleVO();
+      this.processedEventStore.runOnce(saleVO.getId(), SaleEventEnum.FAILED_PAYMENT,
+          () -> this.creditInventoryInputPort.credit(saleVO));
       log.info("End of merchandise return.");
     }
   }
@@ -1,6 +1,7 @@
 package com.market.inventory.adapters.in.consumer;
 
 
+import com.market.inventory.adapters.out.idempotency.ProcessedEventStore;
 import com.market.inventory.adapters.out.message.SaleMessageDTO;
 import com.market.inventory.application.core.domain.enums.SaleEventEnum;
 import com.market.inventory.application.ports.in.DebitInventoryInputPort;
@@ -15,12 +16,15 @@ import org.springframework.stereotype.Component;
 public class ReceiveSaleToDebitInventoryConsumer {
 
     private final DebitInventoryInputPort debitInventoryInputPort;
+    private final ProcessedEventStore processedEventStore;
 
     @KafkaListener(topics = "${application-config.kafka.topic}", groupId = "${application-config.kafka.consumer.group-id.debit}")
     public void receive(SaleMessageDTO saleMessageDTO) {
         if(SaleEventEnum.CREATED_SALE.equals(saleMessageDTO.getSaleEvent())) {
             log.info("Beginning of merchandise separation.");
-            this.debitInventoryInputPort.debit(saleMessageDTO.getSaleVO());
+            var saleVO = saleMessageDTO.getSaleVO();
+            this.processedEventStore.runOnce(saleVO.getId(), SaleEventEnum.CREATED_SALE,
+                    () -> this.debitInventoryInputPort.debit(saleVO));
             log.info("End of merchandise separation.");
         }
     }
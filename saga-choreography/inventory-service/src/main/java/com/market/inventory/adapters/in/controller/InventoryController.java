@@ -0,0 +1,69 @@
+package com.market.inventory.adapters.in.controller;
+
+import com.market.inventory.adapters.in.controller.dto.InventoryBatchRequestDTO;
+import com.market.inventory.adapters.in.controller.dto.InventoryResponseDTO;
+import com.market.inventory.adapters.in.controller.mapper.InventoryResponseMapper;
+import com.market.inventory.application.core.domain.InventoryVO;
+import com.market.inventory.application.ports.in.FindInventoriesByProductIdsInputPort;
+import jakarta.validation.Valid;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * Stock availability for storefronts. Reads go through the near cache, so catalog
+ * traffic does not reach the write-hot {@code inventories} table. The ETag is derived
+ * from the returned quantities, letting clients revalidate with {@code If-None-Match}.
+ */
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/api/v1/inventories")
+public class InventoryController {
+
+    private final FindInventoriesByProductIdsInputPort findInventoriesByProductIdsInputPort;
+    private final InventoryResponseMapper inventoryResponseMapper;
+
+    @GetMapping("/{productId}")
+    public ResponseEntity<InventoryResponseDTO> findInventory(@PathVariable Long productId, WebRequest webRequest) {
+        var inventories = this.findInventoriesByProductIdsInputPort.find(List.of(productId));
+        if (inventories.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        var eTag = eTagOf(inventories);
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .body(this.inventoryResponseMapper.inventoryVOToInventoryResponseDTO(inventories.get(0)));
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<List<InventoryResponseDTO>> findInventories(
+            @Valid @RequestBody InventoryBatchRequestDTO inventoryBatchRequestDTO
+    ) {
+        var inventories = this.findInventoriesByProductIdsInputPort.find(inventoryBatchRequestDTO.getProductIds());
+
+        return ResponseEntity.ok()
+                .eTag(eTagOf(inventories))
+                .body(this.inventoryResponseMapper.inventoryVOsToInventoryResponseDTOs(inventories));
+    }
+
+    private static String eTagOf(List<InventoryVO> inventories) {
+        var hash = 1125899906842597L;
+        for (var inventory : inventories) {
+            hash = 31 * hash + inventory.getProductId();
+            hash = 31 * hash + inventory.getQuantity();
+        }
+
+        return "\"" + Long.toHexString(hash) + "\"";
+    }
+}
@@ -0,0 +1,19 @@
+package com.market.inventory.adapters.in.controller.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class InventoryBatchRequestDTO {
+
+    @NotEmpty
+    @Size(max = 500)
+    private List<@NotNull Long> productIds;
+}
@@ -0,0 +1,14 @@
+package com.market.inventory.adapters.in.controller.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class InventoryResponseDTO {
+
+    private Long productId;
+    private Integer quantity;
+}
@@ -0,0 +1,14 @@
+package com.market.inventory.adapters.in.controller.mapper;
+
+import com.market.inventory.adapters.in.controller.dto.InventoryResponseDTO;
+import com.market.inventory.application.core.domain.InventoryVO;
+import java.util.List;
+import org.mapstruct.Mapper;
+
+@Mapper(componentModel = "spring")
+public interface InventoryResponseMapper {
+
+    InventoryResponseDTO inventoryVOToInventoryResponseDTO(InventoryVO inventoryVO);
+
+    List<InventoryResponseDTO> inventoryVOsToInventoryResponseDTOs(List<InventoryVO> inventoryVOs);
+}
@@ -0,0 +1,53 @@
+package com.market.inventory.adapters.out;
+
+import com.market.inventory.adapters.out.bucket.InventoryBucketRouter;
+import com.market.inventory.adapters.out.cache.InventoryNearCache;
+import com.market.inventory.adapters.out.repository.InventoryBatchRepository;
+import com.market.inventory.adapters.out.repository.InventoryBucketRepository;
+import com.market.inventory.application.core.domain.SaleItemVO;
+import com.market.inventory.application.ports.out.CreditInventoryOutputPort;
+import java.util.List;
+import java.util.TreeMap;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@RequiredArgsConstructor
+@Component
+@ConditionalOnProperty(name = "application-config.inventory.stock-store", havingValue = "database", matchIfMissing = true)
+public class CreditInventoryAdapter implements CreditInventoryOutputPort {
+
+    private final InventoryBatchRepository inventoryBatchRepository;
+    private final InventoryBucketRepository inventoryBucketRepository;
+    private final InventoryBucketRouter inventoryBucketRouter;
+    private final TransactionTemplate transactionTemplate;
+    private final InventoryNearCache inventoryNearCache;
+
+    @Override
+    public boolean credit(Long saleId, List<SaleItemVO> items) {
+        var quantities = InventoryLines.quantitiesByProduct(items);
+
+        var applied = Boolean.TRUE.equals(this.transactionTemplate.execute(status -> {
+            var unbucketed = new TreeMap<Long, Integer>();
+            for (var line : quantities.entrySet()) {
+                if (!this.inventoryBucketRouter.isBucketed(line.getKey())) {
+                    unbucketed.put(line.getKey(), line.getValue());
+                } else if (this.inventoryBucketRepository.addQuantity(
+                        line.getKey(), this.inventoryBucketRouter.bucketOf(saleId), line.getValue()) == 0) {
+                    status.setRollbackOnly();
+                    return false;
+                }
+            }
+            if (!unbucketed.isEmpty() && this.inventoryBatchRepository.creditQuantities(unbucketed) != unbucketed.size()) {
+                status.setRollbackOnly();
+                return false;
+            }
+            return true;
+        }));
+        if (applied) {
+            this.inventoryNearCache.invalidateAll(quantities.keySet());
+        }
+        return applied;
+    }
+}
@@ -0,0 +1,68 @@
+package com.market.inventory.adapters.out;
+
+import com.market.inventory.adapters.out.bucket.InventoryBucketRebalancer;
+import com.market.inventory.adapters.out.bucket.InventoryBucketRouter;
+import com.market.inventory.adapters.out.cache.InventoryNearCache;
+import com.market.inventory.adapters.out.repository.InventoryBatchRepository;
+import com.market.inventory.adapters.out.repository.InventoryBucketRepository;
+import com.market.inventory.adapters.out.repository.InventoryRepository;
+import com.market.inventory.application.core.domain.SaleItemVO;
+import com.market.inventory.application.ports.out.DebitInventoryOutputPort;
+import java.util.List;
+import java.util.TreeMap;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@RequiredArgsConstructor
+@Component
+@ConditionalOnProperty(name = "application-config.inventory.stock-store", havingValue = "database", matchIfMissing = true)
+public class DebitInventoryAdapter implements DebitInventoryOutputPort {
+
+    private final InventoryRepository inventoryRepository;
+    private final InventoryBatchRepository inventoryBatchRepository;
+    private final InventoryBucketRepository inventoryBucketRepository;
+    private final InventoryBucketRouter inventoryBucketRouter;
+    private final InventoryBucketRebalancer inventoryBucketRebalancer;
+    private final TransactionTemplate transactionTemplate;
+    private final InventoryNearCache inventoryNearCache;
+
+    @Override
+    public boolean debit(Long saleId, List<SaleItemVO> items) {
+        var quantities = InventoryLines.quantitiesByProduct(items);
+
+        var applied = Boolean.TRUE.equals(this.transactionTemplate.execute(status -> {
+            var unbucketed = new TreeMap<Long, Integer>();
+            for (var line : quantities.entrySet()) {
+                if (!this.inventoryBucketRouter.isBucketed(line.getKey())) {
+                    unbucketed.put(line.getKey(), line.getValue());
+                } else if (!this.debitBucketed(saleId, line.getKey(), line.getValue())) {
+                    status.setRollbackOnly();
+                    return false;
+                }
+            }
+            if (!unbucketed.isEmpty() && this.inventoryBatchRepository.debitQuantities(unbucketed) != unbucketed.size()) {
+                status.setRollbackOnly();
+                return false;
+            }
+            return true;
+        }));
+        if (applied) {
+            this.inventoryNearCache.invalidateAll(quantities.keySet());
+        }
+        return applied;
+    }
+
+    private boolean debitBucketed(Long saleId, Long productId, Integer quantity) {
+        var count = this.inventoryBucketRouter.getCount();
+        var first = this.inventoryBucketRouter.bucketOf(saleId);
+        for (int i = 0; i < count; i++) {
+            if (this.inventoryBucketRepository.debitQuantity(productId, (first + i) % count, quantity) > 0) {
+                return true;
+            }
+        }
+        return this.inventoryRepository.debitQuantity(productId, quantity) > 0
+                || this.inventoryBucketRebalancer.debitAcrossBuckets(productId, quantity);
+    }
+}
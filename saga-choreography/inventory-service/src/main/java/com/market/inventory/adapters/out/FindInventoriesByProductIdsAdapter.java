@@ -0,0 +1,67 @@
+package com.market.inventory.adapters.out;
+
+import com.market.inventory.adapters.out.bucket.InventoryBucketRouter;
+import com.market.inventory.adapters.out.cache.InventoryNearCache;
+import com.market.inventory.adapters.out.repository.InventoryBucketRepository;
+import com.market.inventory.adapters.out.repository.InventoryRepository;
+import com.market.inventory.adapters.out.repository.mapper.InventoryEntityMapper;
+import com.market.inventory.adapters.out.stock.StripedStockCounters;
+import com.market.inventory.application.core.domain.InventoryVO;
+import com.market.inventory.application.ports.out.FindInventoriesByProductIdsOutputPort;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * Serves stock availability from the {@link InventoryNearCache}. Misses are loaded
+ * with one {@code IN} query on {@code inventories} plus one grouped sum over the
+ * buckets of hot products; with the in-memory store the live counters win over the
+ * not yet flushed database quantity.
+ */
+@RequiredArgsConstructor
+@Component
+public class FindInventoriesByProductIdsAdapter implements FindInventoriesByProductIdsOutputPort {
+
+    private final InventoryNearCache inventoryNearCache;
+    private final InventoryRepository inventoryRepository;
+    private final InventoryBucketRepository inventoryBucketRepository;
+    private final InventoryBucketRouter inventoryBucketRouter;
+    private final InventoryEntityMapper inventoryEntityMapper;
+    private final ObjectProvider<StripedStockCounters> stripedStockCounters;
+
+    @Override
+    public List<InventoryVO> find(Collection<Long> productIds) {
+        var inventories = this.inventoryNearCache.getAll(productIds, this::load);
+
+        return productIds.stream().map(inventories::get).filter(Objects::nonNull).toList();
+    }
+
+    private Map<Long, InventoryVO> load(Set<? extends Long> productIds) {
+        Map<Long, InventoryVO> inventories = new HashMap<>();
+        this.inventoryRepository.findAllByProductIdIn(productIds).forEach(inventoryEntity -> inventories.put(
+                inventoryEntity.getProductId(), this.inventoryEntityMapper.inventoryEntityToInventoryVO(inventoryEntity)));
+
+        var bucketed = productIds.stream().filter(this.inventoryBucketRouter::isBucketed).map(Long.class::cast).toList();
+        if (!bucketed.isEmpty()) {
+            for (var row : this.inventoryBucketRepository.sumQuantityByProductIds(bucketed)) {
+                var inventory = inventories.get((Long) row[0]);
+                if (inventory != null) {
+                    inventory.creditQuantity(((Number) row[1]).intValue());
+                }
+            }
+        }
+
+        var counters = this.stripedStockCounters.getIfAvailable();
+        if (counters != null) {
+            inventories.forEach((productId, inventory) ->
+                    counters.quantity(productId).ifPresent(inventory::setQuantity));
+        }
+        return inventories;
+    }
+}
@@ -1,5 +1,7 @@
 package com.market.inventory.adapters.out;
 
+import com.market.inventory.adapters.out.bucket.InventoryBucketRouter;
+import com.market.inventory.adapters.out.repository.InventoryBucketRepository;
 import com.market.inventory.adapters.out.repository.InventoryRepository;
 import com.market.inventory.adapters.out.repository.mapper.InventoryEntityMapper;
 import com.market.inventory.application.core.domain.InventoryVO;
@@ -14,12 +16,19 @@ import java.util.Optional;
 public class FindInventoryByProductIdAdapter implements FindInventoryByProductIdOutputPort {
 
     private final InventoryRepository inventoryRepository;
+    private final InventoryBucketRepository inventoryBucketRepository;
+    private final InventoryBucketRouter inventoryBucketRouter;
     private final InventoryEntityMapper inventoryEntityMapper;
 
     @Override
     public Optional<InventoryVO> find(Long productId) {
         var inventoryEntity = this.inventoryRepository.findByProductId(productId);
+        var inventoryVO = inventoryEntity.map(this.inventoryEntityMapper::inventoryEntityToInventoryVO);
+        if (this.inventoryBucketRouter.isBucketed(productId)) {
+            inventoryVO.ifPresent(inventory -> inventory.creditQuantity(
+                    (int) this.inventoryBucketRepository.sumQuantityByProductId(productId)));
+        }
 
-        return inventoryEntity.map(this.inventoryEntityMapper::inventoryEntityToInventoryVO);
+        return inventoryVO;
     }
 }
@@ -0,0 +1,22 @@
+package com.market.inventory.adapters.out;
+
+import com.market.inventory.application.core.domain.SaleItemVO;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+final class InventoryLines {
+
+    private InventoryLines() {
+    }
+
+    /**
+     * Sums the quantity of repeated products. Sorting by product id makes every
+     * multi-row update lock the rows in the same order.
+     */
+    static SortedMap<Long, Integer> quantitiesByProduct(List<SaleItemVO> items) {
+        return items.stream().collect(Collectors.toMap(
+                SaleItemVO::getProductId, SaleItemVO::getQuantity, Integer::sum, TreeMap::new));
+    }
+}
@@ -4,11 +4,20 @@ import com.market.inventory.adapters.out.message.SaleMessageDTO;
 import com.market.inventory.application.core.domain.SaleVO;
 import com.market.inventory.application.core.domain.enums.SaleEventEnum;
 import com.market.inventory.application.ports.out.SendToKafkaOutputPort;
+import java.util.ArrayList;
+import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+/**
+ * Never publishes from inside a transaction. Messages sent while {@link #holdUntilDone}
+ * runs are published when it returns and dropped when it throws; otherwise a message
+ * sent in a transaction is published after it commits.
+ */
 @RequiredArgsConstructor
 @Component
 public class SendToKafkaAdapter implements SendToKafkaOutputPort {
@@ -16,10 +25,46 @@ public class SendToKafkaAdapter implements SendToKafkaOutputPort {
     @Value("${application-config.kafka.topic}")
     private String topic;
     private final KafkaTemplate<String, SaleMessageDTO> kafkaTemplate;
+    private final ThreadLocal<List<SaleMessageDTO>> held = new ThreadLocal<>();
 
     @Override
     public void send(SaleVO saleVO, SaleEventEnum event) {
         var saleMessageDTO = new SaleMessageDTO(saleVO, event);
-        this.kafkaTemplate.send(this.topic, saleVO.getId().toString(), saleMessageDTO);
+        var holding = this.held.get();
+        if (holding != null) {
+            holding.add(saleMessageDTO);
+        } else if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish(saleMessageDTO);
+                }
+            });
+        } else {
+            this.publish(saleMessageDTO);
+        }
+    }
+
+    /**
+     * Runs a saga step, which may commit or reject its transaction, and publishes its
+     * messages only once it has completed.
+     */
+    public void holdUntilDone(Runnable step) {
+        if (this.held.get() != null) {
+            step.run();
+            return;
+        }
+        List<SaleMessageDTO> messages = new ArrayList<>();
+        this.held.set(messages);
+        try {
+            step.run();
+        } finally {
+            this.held.remove();
+        }
+        messages.forEach(this::publish);
+    }
+
+    private void publish(SaleMessageDTO saleMessageDTO) {
+        this.kafkaTemplate.send(this.topic, saleMessageDTO.getSaleVO().getId().toString(), saleMessageDTO);
     }
 }
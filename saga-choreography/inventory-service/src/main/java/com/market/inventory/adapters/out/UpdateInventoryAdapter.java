@@ -1,24 +1,63 @@
 package com.market.inventory.adapters.out;
 
+import com.market.inventory.adapters.out.cache.InventoryNearCache;
+import com.market.inventory.adapters.out.locking.RetryWithJitter;
 import com.market.inventory.adapters.out.repository.InventoryRepository;
 import com.market.inventory.adapters.out.repository.mapper.InventoryEntityMapper;
 import com.market.inventory.application.core.domain.InventoryVO;
 import com.market.inventory.application.ports.out.UpdateInventoryOutputPort;
+import java.util.function.Consumer;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+/**
+ * {@code optimistic}: plain read, version-checked write, retried with jitter when
+ * another transaction updated the row first.
+ * {@code pessimistic}: the row is read with {@code SELECT ... FOR UPDATE}, so
+ * concurrent updates queue on the row lock instead of failing. It is also used
+ * whenever the caller already holds a transaction, where a retry could not see the
+ * competing write.
+ */
 @RequiredArgsConstructor
 @Component
+@ConditionalOnProperty(name = "application-config.persistence", havingValue = "jpa", matchIfMissing = true)
 public class UpdateInventoryAdapter implements UpdateInventoryOutputPort {
 
     private final InventoryRepository inventoryRepository;
     private final InventoryEntityMapper inventoryEntityMapper;
+    private final InventoryNearCache inventoryNearCache;
+    private final TransactionTemplate transactionTemplate;
+    private final RetryWithJitter retryWithJitter;
 
+    @Value("${application-config.inventory.locking.strategy}")
+    private String strategy;
 
     @Override
-    public void update(InventoryVO inventoryVO) {
-        var inventoryEntity = this.inventoryEntityMapper.inventoryVOToInventoryEntity(inventoryVO);
+    public void update(Long productId, Consumer<InventoryVO> change) {
+        if ("pessimistic".equals(this.strategy) || TransactionSynchronizationManager.isActualTransactionActive()) {
+            this.apply(productId, change, true);
+        } else {
+            this.retryWithJitter.execute(() -> this.apply(productId, change, false));
+        }
+        this.inventoryNearCache.invalidate(productId);
+    }
+
+    private InventoryVO apply(Long productId, Consumer<InventoryVO> change, boolean forUpdate) {
+        return this.transactionTemplate.execute(status -> {
+            var inventoryEntity = (forUpdate
+                    ? this.inventoryRepository.findByProductIdForUpdate(productId)
+                    : this.inventoryRepository.findByProductId(productId))
+                    .orElseThrow(() -> new RuntimeException("Not found inventory by this product."));
+            var inventoryVO = this.inventoryEntityMapper.inventoryEntityToInventoryVO(inventoryEntity);
+            change.accept(inventoryVO);
+            this.inventoryEntityMapper.updateInventoryEntityFromInventoryVO(inventoryVO, inventoryEntity);
+            this.inventoryRepository.flush();
 
-        this.inventoryRepository.save(inventoryEntity);
+            return inventoryVO;
+        });
     }
 }
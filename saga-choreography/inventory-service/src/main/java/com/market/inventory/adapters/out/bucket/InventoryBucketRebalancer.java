@@ -0,0 +1,100 @@
+package com.market.inventory.adapters.out.bucket;
+
+import com.market.inventory.adapters.out.repository.InventoryBucketRepository;
+import com.market.inventory.adapters.out.repository.InventoryRepository;
+import com.market.inventory.adapters.out.repository.entity.InventoryBucketEntity;
+import java.time.LocalDateTime;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Keeps the buckets of every hot product evenly filled. Each run locks the product
+ * row and its buckets (always in that order), moves the whole available stock into
+ * the buckets and leaves the product row at zero.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+@ConditionalOnProperty(name = "application-config.inventory.stock-store", havingValue = "database", matchIfMissing = true)
+public class InventoryBucketRebalancer {
+
+    private final InventoryBucketRouter inventoryBucketRouter;
+    private final InventoryRepository inventoryRepository;
+    private final InventoryBucketRepository inventoryBucketRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Scheduled(fixedDelayString = "${application-config.inventory.buckets.rebalance-interval-ms}")
+    public void rebalanceAll() {
+        if (this.inventoryBucketRouter.getCount() <= 1) {
+            return;
+        }
+        for (var productId : this.inventoryBucketRouter.getHotProductIds()) {
+            try {
+                this.transactionTemplate.executeWithoutResult(status -> this.rebalance(productId));
+            } catch (Exception e) {
+                log.error("Unable to rebalance the buckets of product {}: {}", productId, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Slow path used when no single bucket can cover the quantity: takes the stock
+     * from the product row and then from the buckets in order.
+     */
+    public boolean debitAcrossBuckets(Long productId, Integer quantity) {
+        return Boolean.TRUE.equals(this.transactionTemplate.execute(status -> {
+            var inventory = this.inventoryRepository.findByProductIdForUpdate(productId).orElse(null);
+            if (inventory == null) {
+                return false;
+            }
+            var buckets = this.inventoryBucketRepository.findAllByProductIdForUpdate(productId);
+            var total = inventory.getQuantity() + buckets.stream().mapToInt(InventoryBucketEntity::getQuantity).sum();
+            if (total < quantity) {
+                return false;
+            }
+            var remaining = quantity;
+            var fromInventory = Math.min(remaining, inventory.getQuantity());
+            inventory.setQuantity(inventory.getQuantity() - fromInventory);
+            remaining -= fromInventory;
+            for (var bucket : buckets) {
+                var fromBucket = Math.min(remaining, bucket.getQuantity());
+                bucket.setQuantity(bucket.getQuantity() - fromBucket);
+                bucket.setUpdatedAt(LocalDateTime.now());
+                remaining -= fromBucket;
+            }
+            return true;
+        }));
+    }
+
+    private void rebalance(Long productId) {
+        var inventory = this.inventoryRepository.findByProductIdForUpdate(productId).orElse(null);
+        if (inventory == null) {
+            return;
+        }
+        var count = this.inventoryBucketRouter.getCount();
+        var buckets = this.inventoryBucketRepository.findAllByProductIdForUpdate(productId).stream()
+                .collect(Collectors.toMap(InventoryBucketEntity::getBucketNo, Function.identity()));
+        var total = inventory.getQuantity() + buckets.values().stream().mapToInt(InventoryBucketEntity::getQuantity).sum();
+        var now = LocalDateTime.now();
+        for (int bucketNo = 0; bucketNo < count; bucketNo++) {
+            var share = total / count + (bucketNo < total % count ? 1 : 0);
+            var bucket = buckets.remove(bucketNo);
+            if (bucket == null) {
+                bucket = new InventoryBucketEntity(null, productId, bucketNo, 0, now);
+            }
+            if (bucket.getId() == null || bucket.getQuantity() != share) {
+                bucket.setQuantity(share);
+                bucket.setUpdatedAt(now);
+                this.inventoryBucketRepository.save(bucket);
+            }
+        }
+        buckets.values().forEach(retired -> retired.setQuantity(0));
+        inventory.setQuantity(0);
+    }
+}
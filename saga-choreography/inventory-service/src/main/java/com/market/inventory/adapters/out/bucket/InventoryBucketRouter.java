@@ -0,0 +1,35 @@
+package com.market.inventory.adapters.out.bucket;
+
+import java.util.Set;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Decides which products keep their stock in {@code inventory_buckets} and which
+ * bucket a sale starts debiting from.
+ */
+@Component
+public class InventoryBucketRouter {
+
+    @Getter
+    @Value("${application-config.inventory.buckets.count}")
+    private Integer count;
+
+    @Getter
+    @Value("${application-config.inventory.buckets.hot-product-ids}")
+    private Set<Long> hotProductIds;
+
+    @Value("${application-config.inventory.stock-store}")
+    private String stockStore;
+
+    public boolean isBucketed(Long productId) {
+        return this.count > 1 && "database".equals(this.stockStore) && this.hotProductIds.contains(productId);
+    }
+
+    public int bucketOf(Long saleId) {
+        var h = saleId * 0x9E3779B97F4A7C15L;
+
+        return Math.floorMod((int) (h ^ (h >>> 32)), this.count);
+    }
+}
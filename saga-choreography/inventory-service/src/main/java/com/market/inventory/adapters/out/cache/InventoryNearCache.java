@@ -0,0 +1,64 @@
+package com.market.inventory.adapters.out.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.market.inventory.adapters.out.snapshot.StockSnapshotPublisher;
+import com.market.inventory.application.core.domain.InventoryVO;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Bounded, process-local copy of the stock availability served by the read API.
+ * Every local stock write invalidates the products it touched, after its transaction
+ * commits when it runs in one; the short expire-after-write bounds how long writes
+ * made by other instances stay invisible. The committed products are also handed to
+ * the {@link StockSnapshotPublisher}, when snapshots are enabled.
+ */
+public class InventoryNearCache {
+
+    private final Cache<Long, InventoryVO> cache;
+    private final ObjectProvider<StockSnapshotPublisher> stockSnapshotPublisher;
+
+    public InventoryNearCache(long maximumSize, Duration ttl,
+                              ObjectProvider<StockSnapshotPublisher> stockSnapshotPublisher) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .build();
+        this.stockSnapshotPublisher = stockSnapshotPublisher;
+    }
+
+    public Map<Long, InventoryVO> getAll(Collection<Long> productIds,
+                                         Function<Set<? extends Long>, Map<Long, InventoryVO>> loader) {
+        return this.cache.getAll(productIds, loader);
+    }
+
+    public void invalidate(Long productId) {
+        this.invalidateAll(Set.of(productId));
+    }
+
+    public void invalidateAll(Collection<Long> productIds) {
+        this.cache.invalidateAll(productIds);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    InventoryNearCache.this.cache.invalidateAll(productIds);
+                    InventoryNearCache.this.markChanged(productIds);
+                }
+            });
+        } else {
+            this.markChanged(productIds);
+        }
+    }
+
+    private void markChanged(Collection<Long> productIds) {
+        this.stockSnapshotPublisher.ifAvailable(publisher -> publisher.markChanged(productIds));
+    }
+}
@@ -0,0 +1,69 @@
+package com.market.inventory.adapters.out.fault;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.Advised;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Wraps every bean that implements an output port in a proxy that runs
+ * {@link FaultInjector#beforeCall} with the port's name before each port method. The
+ * proxy subclasses the bean, so places that inject the adapter class itself get it too;
+ * a bean that is a proxy already gets the advice added instead.
+ */
+public class FaultInjectingPortPostProcessor implements BeanPostProcessor {
+
+    private static final String PORTS_PACKAGE = "com.market.inventory.application.ports.out";
+
+    private final FaultInjector faultInjector;
+
+    public FaultInjectingPortPostProcessor(FaultInjector faultInjector) {
+        this.faultInjector = faultInjector;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        var targetClass = AopUtils.getTargetClass(bean);
+        var ports = ClassUtils.getAllInterfacesForClassAsSet(targetClass).stream()
+                .filter(type -> PORTS_PACKAGE.equals(type.getPackageName()))
+                .toList();
+        if (ports.isEmpty()) {
+            return bean;
+        }
+
+        // Port name by method signature, as the proxy may see the class's own method
+        Map<String, String> portBySignature = new HashMap<>();
+        for (var port : ports) {
+            this.faultInjector.register(port.getSimpleName());
+            for (var method : port.getMethods()) {
+                portBySignature.put(signature(method), port.getSimpleName());
+            }
+        }
+        MethodInterceptor interceptor = invocation -> {
+            var port = portBySignature.get(signature(invocation.getMethod()));
+            if (port != null) {
+                this.faultInjector.beforeCall(port);
+            }
+            return invocation.proceed();
+        };
+        if (bean instanceof Advised advised && !advised.isFrozen()) {
+            advised.addAdvice(0, interceptor);
+            return bean;
+        }
+        var proxyFactory = new ProxyFactory(bean);
+        proxyFactory.setProxyTargetClass(!Modifier.isFinal(targetClass.getModifiers()));
+        proxyFactory.addAdvice(interceptor);
+        return proxyFactory.getProxy(targetClass.getClassLoader());
+    }
+
+    private static String signature(Method method) {
+        return method.getName() + Arrays.toString(method.getParameterTypes());
+    }
+}
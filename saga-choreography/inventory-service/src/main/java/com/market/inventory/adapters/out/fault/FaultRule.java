@@ -0,0 +1,26 @@
+package com.market.inventory.adapters.out.fault;
+
+import java.time.Instant;
+
+/**
+ * What to inject into every call of one output port, checked in this order: wait
+ * while frozen, stall {@code stallRate} of the calls for {@code stallMs}, delay by a
+ * log-normal time with median {@code delayMs} and 99th percentile {@code delayP99Ms}
+ * (a fixed delay if they are equal), then fail {@code errorRate} of the calls.
+ */
+public record FaultRule(
+        double delayMs,
+        double delayP99Ms,
+        double stallRate,
+        long stallMs,
+        double errorRate,
+        ErrorType errorType,
+        Instant frozenUntil
+) {
+
+    /**
+     * The failure thrown: a transient data access error, or a version conflict, which
+     * optimistic-locking retries catch like a real one.
+     */
+    public enum ErrorType { TRANSIENT, CONFLICT }
+}
@@ -0,0 +1,95 @@
+package com.market.inventory.adapters.out.idempotency;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter split into {@code partitions} generations of {@code window} each.
+ * Keys go into the current generation and are looked up in all of them; when a new
+ * window starts the oldest generation is cleared and reused, so the filter only
+ * answers for roughly the last {@code partitions * window} and never saturates.
+ * A negative answer is exact, a positive one has to be confirmed by the caller.
+ */
+public class TimePartitionedBloomFilter {
+
+    private final AtomicLongArray[] generations;
+    private final long windowMillis;
+    private final int bits;
+    private final int hashes;
+    private volatile long currentEpoch;
+
+    public TimePartitionedBloomFilter(int partitions, Duration window, int expectedKeysPerWindow,
+                                      double falsePositiveRate) {
+        var optimalBits = -expectedKeysPerWindow * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2));
+        this.bits = (int) Math.max(64, Math.ceil(optimalBits));
+        this.hashes = Math.max(1, (int) Math.round(optimalBits / expectedKeysPerWindow * Math.log(2)));
+        this.windowMillis = window.toMillis();
+        this.generations = new AtomicLongArray[partitions];
+        for (int i = 0; i < partitions; i++) {
+            this.generations[i] = new AtomicLongArray((this.bits + 63) >>> 6);
+        }
+        this.currentEpoch = System.currentTimeMillis() / this.windowMillis;
+    }
+
+    public void put(long key) {
+        var generation = this.generations[(int) (this.rotate() % this.generations.length)];
+        var hash = mix(key);
+        var h1 = (int) hash;
+        var h2 = (int) (hash >>> 32);
+        for (int i = 0; i < this.hashes; i++) {
+            var bit = Math.floorMod(h1 + i * h2, this.bits);
+            var word = bit >>> 6;
+            var mask = 1L << bit;
+            long current;
+            do {
+                current = generation.get(word);
+            } while ((current & mask) == 0 && !generation.compareAndSet(word, current, current | mask));
+        }
+    }
+
+    public boolean mightContain(long key) {
+        this.rotate();
+        var hash = mix(key);
+        var h1 = (int) hash;
+        var h2 = (int) (hash >>> 32);
+        for (var generation : this.generations) {
+            if (contains(generation, h1, h2)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean contains(AtomicLongArray generation, int h1, int h2) {
+        for (int i = 0; i < this.hashes; i++) {
+            var bit = Math.floorMod(h1 + i * h2, this.bits);
+            if ((generation.get(bit >>> 6) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private long rotate() {
+        var epoch = System.currentTimeMillis() / this.windowMillis;
+        if (epoch != this.currentEpoch) {
+            synchronized (this) {
+                for (var next = this.currentEpoch + 1; next <= epoch && next <= this.currentEpoch + this.generations.length; next++) {
+                    var generation = this.generations[(int) (next % this.generations.length)];
+                    for (int word = 0; word < generation.length(); word++) {
+                        generation.set(word, 0L);
+                    }
+                }
+                this.currentEpoch = Math.max(this.currentEpoch, epoch);
+            }
+        }
+        return epoch;
+    }
+
+    private static long mix(long key) {
+        var h = key * 0x9E3779B97F4A7C15L;
+        h ^= h >>> 32;
+        h *= 0xD6E8FEB86659FD93L;
+        return h ^ (h >>> 32);
+    }
+}
@@ -0,0 +1,85 @@
+package com.market.inventory.adapters.out.jdbc;
+
+import com.market.inventory.adapters.out.cache.InventoryNearCache;
+import com.market.inventory.adapters.out.locking.RetryWithJitter;
+import com.market.inventory.application.core.domain.InventoryVO;
+import com.market.inventory.application.ports.out.UpdateInventoryOutputPort;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.function.Consumer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Same locking rules as {@code UpdateInventoryAdapter}, on plain JDBC. The row is read
+ * straight into an {@link InventoryVO}, and only the quantity is written back, checked
+ * against the version that was read.
+ */
+@RequiredArgsConstructor
+@Component
+@ConditionalOnProperty(name = "application-config.persistence", havingValue = "jdbc")
+public class JdbcUpdateInventoryAdapter implements UpdateInventoryOutputPort {
+
+    private static final String SELECT_INVENTORY = "SELECT id, product_id, quantity, created_at, version "
+            + "FROM inventories WHERE product_id = :productId";
+    private static final String UPDATE_QUANTITY = "UPDATE inventories SET quantity = :quantity, "
+            + "updated_at = CURRENT_TIMESTAMP, version = version + 1 WHERE id = :id AND version = :version";
+    private static final RowMapper<VersionedInventory> ROW_MAPPER = (rs, rowNum) -> new VersionedInventory(
+            new InventoryVO(
+                    rs.getLong("id"),
+                    rs.getInt("product_id"),
+                    rs.getObject("quantity", Integer.class),
+                    rs.getObject("created_at", LocalDateTime.class)),
+            rs.getLong("version"));
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final InventoryNearCache inventoryNearCache;
+    private final TransactionTemplate transactionTemplate;
+    private final RetryWithJitter retryWithJitter;
+
+    @Value("${application-config.inventory.locking.strategy}")
+    private String strategy;
+
+    @Override
+    public void update(Long productId, Consumer<InventoryVO> change) {
+        if ("pessimistic".equals(this.strategy) || TransactionSynchronizationManager.isActualTransactionActive()) {
+            this.apply(productId, change, true);
+        } else {
+            this.retryWithJitter.execute(() -> this.apply(productId, change, false));
+        }
+        this.inventoryNearCache.invalidate(productId);
+    }
+
+    private InventoryVO apply(Long productId, Consumer<InventoryVO> change, boolean forUpdate) {
+        return this.transactionTemplate.execute(status -> {
+            var inventory = this.jdbcTemplate.query(
+                            forUpdate ? SELECT_INVENTORY + " FOR UPDATE" : SELECT_INVENTORY,
+                            Map.of("productId", productId), ROW_MAPPER)
+                    .stream()
+                    .findFirst()
+                    .orElseThrow(() -> new RuntimeException("Not found inventory by this product."));
+            var inventoryVO = inventory.inventoryVO();
+            change.accept(inventoryVO);
+            var updated = this.jdbcTemplate.update(UPDATE_QUANTITY, new MapSqlParameterSource()
+                    .addValue("quantity", inventoryVO.getQuantity())
+                    .addValue("id", inventoryVO.getId())
+                    .addValue("version", inventory.version()));
+            if (updated == 0) {
+                throw new OptimisticLockingFailureException("Inventory of product " + productId + " was updated concurrently.");
+            }
+
+            return inventoryVO;
+        });
+    }
+
+    private record VersionedInventory(InventoryVO inventoryVO, long version) {
+    }
+}
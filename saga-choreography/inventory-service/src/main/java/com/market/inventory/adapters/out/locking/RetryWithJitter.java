@@ -0,0 +1,51 @@
+package com.market.inventory.adapters.out.locking;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+/**
+ * Re-runs a version-checked read-modify-write when it lost the race, sleeping a
+ * random time up to an exponentially growing cap between attempts (full jitter) so
+ * that the writers that collided do not collide again on the next attempt.
+ */
+@Slf4j
+@Component
+public class RetryWithJitter {
+
+    @Value("${application-config.inventory.locking.max-attempts}")
+    private Integer maxAttempts;
+
+    @Value("${application-config.inventory.locking.base-backoff-ms}")
+    private Long baseBackoffMillis;
+
+    @Value("${application-config.inventory.locking.max-backoff-ms}")
+    private Long maxBackoffMillis;
+
+    public <T> T execute(Supplier<T> attempt) {
+        for (int i = 1; ; i++) {
+            try {
+                return attempt.get();
+            } catch (OptimisticLockingFailureException e) {
+                if (i >= this.maxAttempts) {
+                    throw new RuntimeException("Concurrent update, giving up after " + i + " attempts.", e);
+                }
+                log.debug("Version conflict on attempt {}, retrying.", i);
+                this.sleep(i);
+            }
+        }
+    }
+
+    private void sleep(int attempt) {
+        var cap = Math.min(this.maxBackoffMillis, this.baseBackoffMillis << Math.min(attempt - 1, 20));
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(cap + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while retrying a concurrent update.", e);
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.market.inventory.adapters.out.message;
+
+/**
+ * Available stock of one product, keyed by product id on the compacted snapshot topic.
+ * A product that no longer exists is published as a tombstone (null value).
+ */
+public record StockSnapshotDTO(Long productId, Integer quantity) {
+}
@@ -0,0 +1,44 @@
+package com.market.inventory.adapters.out.repository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Applies the quantities of several products with one statement, joining
+ * {@code inventories} to the lines passed as a derived table. The caller compares
+ * the returned row count with the number of products to know whether every line
+ * was applied.
+ */
+@RequiredArgsConstructor
+@Repository
+public class InventoryBatchRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public int debitQuantities(Map<Long, Integer> quantities) {
+        return this.update(quantities, "i.quantity - l.quantity", " WHERE i.quantity >= l.quantity");
+    }
+
+    public int creditQuantities(Map<Long, Integer> quantities) {
+        return this.update(quantities, "i.quantity + l.quantity", "");
+    }
+
+    private int update(Map<Long, Integer> quantities, String newQuantity, String condition) {
+        var sql = new StringBuilder("UPDATE inventories i JOIN (");
+        sql.append(String.join(" UNION ALL ", Collections.nCopies(quantities.size(), "SELECT ? AS product_id, ? AS quantity")));
+        sql.append(") l ON i.product_id = l.product_id SET i.quantity = ").append(newQuantity)
+                .append(", i.updated_at = CURRENT_TIMESTAMP, i.version = i.version + 1").append(condition);
+        List<Object> args = new ArrayList<>(quantities.size() * 2);
+        quantities.forEach((productId, quantity) -> {
+            args.add(productId);
+            args.add(quantity);
+        });
+
+        return this.jdbcTemplate.update(sql.toString(), args.toArray());
+    }
+}
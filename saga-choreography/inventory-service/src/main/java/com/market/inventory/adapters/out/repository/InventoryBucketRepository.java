@@ -0,0 +1,46 @@
+package com.market.inventory.adapters.out.repository;
+
+import com.market.inventory.adapters.out.repository.entity.InventoryBucketEntity;
+import jakarta.persistence.LockModeType;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Bucket rows of hot products. {@link #addQuantity} only creates a bucket for a product
+ * that has an {@code inventories} row and returns 0 otherwise.
+ */
+public interface InventoryBucketRepository extends JpaRepository<InventoryBucketEntity, Long> {
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE inventory_buckets b SET b.quantity = b.quantity - :quantity, b.updatedAt = CURRENT_TIMESTAMP "
+            + "WHERE b.productId = :productId AND b.bucketNo = :bucketNo AND b.quantity >= :quantity")
+    int debitQuantity(@Param("productId") Long productId, @Param("bucketNo") Integer bucketNo,
+                      @Param("quantity") Integer quantity);
+
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO inventory_buckets (product_id, bucket_no, quantity, updated_at) "
+            + "SELECT i.product_id, :bucketNo, :quantity, CURRENT_TIMESTAMP FROM inventories i "
+            + "WHERE i.product_id = :productId "
+            + "ON DUPLICATE KEY UPDATE quantity = quantity + VALUES(quantity), updated_at = CURRENT_TIMESTAMP",
+            nativeQuery = true)
+    int addQuantity(@Param("productId") Long productId, @Param("bucketNo") Integer bucketNo,
+                    @Param("quantity") Integer quantity);
+
+    @Query("SELECT COALESCE(SUM(b.quantity), 0) FROM inventory_buckets b WHERE b.productId = :productId")
+    long sumQuantityByProductId(@Param("productId") Long productId);
+
+    @Query("SELECT b.productId, SUM(b.quantity) FROM inventory_buckets b WHERE b.productId IN :productIds GROUP BY b.productId")
+    List<Object[]> sumQuantityByProductIds(@Param("productIds") Collection<Long> productIds);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM inventory_buckets b WHERE b.productId = :productId ORDER BY b.bucketNo")
+    List<InventoryBucketEntity> findAllByProductIdForUpdate(@Param("productId") Long productId);
+}
@@ -1,10 +1,40 @@
 package com.market.inventory.adapters.out.repository;
 
 import com.market.inventory.adapters.out.repository.entity.InventoryEntity;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface InventoryRepository extends JpaRepository<InventoryEntity, Long> {
     Optional<InventoryEntity> findByProductId(Long productId);
+
+    List<InventoryEntity> findAllByProductIdIn(Collection<? extends Long> productIds);
+
+    @Query("SELECT i.productId FROM inventories i WHERE i.productId > :afterProductId ORDER BY i.productId")
+    List<Long> findProductIdsAfter(@Param("afterProductId") Long afterProductId, Pageable pageable);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM inventories i WHERE i.productId = :productId")
+    Optional<InventoryEntity> findByProductIdForUpdate(@Param("productId") Long productId);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE inventories i SET i.quantity = i.quantity - :quantity, i.updatedAt = CURRENT_TIMESTAMP, i.version = i.version + 1 "
+            + "WHERE i.productId = :productId AND i.quantity >= :quantity")
+    int debitQuantity(@Param("productId") Long productId, @Param("quantity") Integer quantity);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE inventories i SET i.quantity = i.quantity + :quantity, i.updatedAt = CURRENT_TIMESTAMP, i.version = i.version + 1 "
+            + "WHERE i.productId = :productId")
+    int addQuantity(@Param("productId") Long productId, @Param("quantity") Integer quantity);
 }
@@ -0,0 +1,46 @@
+package com.market.inventory.adapters.out.repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.function.BiConsumer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Markers of the events already applied, keyed by {@code (sale_id, event)}. The insert
+ * ignores duplicates instead of failing, so a redelivery never dooms the surrounding
+ * transaction; an affected row count of 0 means the event was seen before.
+ */
+@RequiredArgsConstructor
+@Repository
+public class ProcessedEventRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public boolean insertIfAbsent(Long saleId, String event) {
+        return this.jdbcTemplate.update(
+                "INSERT IGNORE INTO processed_events (sale_id, event, processed_at) VALUES (?, ?, CURRENT_TIMESTAMP)",
+                saleId, event) > 0;
+    }
+
+    public boolean exists(Long saleId, String event) {
+        return Boolean.TRUE.equals(this.jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM processed_events WHERE sale_id = ? AND event = ?)",
+                Boolean.class, saleId, event));
+    }
+
+    public void forEachSince(Instant since, BiConsumer<Long, String> consumer) {
+        this.jdbcTemplate.query(
+                "SELECT sale_id, event FROM processed_events WHERE processed_at >= ?",
+                rs -> {
+                    consumer.accept(rs.getLong("sale_id"), rs.getString("event"));
+                },
+                Timestamp.from(since));
+    }
+
+    public int deleteOlderThan(Instant before, int limit) {
+        return this.jdbcTemplate.update(
+                "DELETE FROM processed_events WHERE processed_at < ? LIMIT ?", Timestamp.from(before), limit);
+    }
+}
@@ -0,0 +1,31 @@
+package com.market.inventory.adapters.out.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Number of the last stock journal segment folded into {@code inventories}. Only ever
+ * moves forward, so advancing it again while replaying an older segment is harmless.
+ */
+@RequiredArgsConstructor
+@Repository
+public class StockJournalCheckpointRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public long findLastSegment(String journal) {
+        return this.jdbcTemplate.query(
+                "SELECT last_segment FROM stock_journal_checkpoints WHERE journal = ?",
+                rs -> rs.next() ? rs.getLong(1) : 0L,
+                journal);
+    }
+
+    public void advance(String journal, long segment) {
+        this.jdbcTemplate.update(
+                "INSERT INTO stock_journal_checkpoints (journal, last_segment, updated_at) VALUES (?, ?, CURRENT_TIMESTAMP) "
+                        + "ON DUPLICATE KEY UPDATE last_segment = GREATEST(last_segment, VALUES(last_segment)), "
+                        + "updated_at = CURRENT_TIMESTAMP",
+                journal, segment);
+    }
+}
@@ -0,0 +1,60 @@
+package com.market.inventory.adapters.out.repository;
+
+import com.market.inventory.application.core.domain.SaleItemVO;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Compact store of the open stock reservations, one row per reserved line. Only the
+ * delete tells whether a reservation was still held, so confirmation, credit and
+ * expiry racing for the same sale are settled by the database.
+ */
+@RequiredArgsConstructor
+@Repository
+public class StockReservationRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insert(Long saleId, Map<Long, Integer> quantities, Instant expiresAt) {
+        var sql = "INSERT INTO stock_reservations (sale_id, product_id, quantity, expires_at) VALUES "
+                + String.join(", ", Collections.nCopies(quantities.size(), "(?, ?, ?, ?)"));
+        var expiry = Timestamp.from(expiresAt);
+        List<Object> args = new ArrayList<>(quantities.size() * 4);
+        quantities.forEach((productId, quantity) -> {
+            args.add(saleId);
+            args.add(productId);
+            args.add(quantity);
+            args.add(expiry);
+        });
+        this.jdbcTemplate.update(sql, args.toArray());
+    }
+
+    public int deleteBySaleId(Long saleId) {
+        return this.jdbcTemplate.update("DELETE FROM stock_reservations WHERE sale_id = ?", saleId);
+    }
+
+    public List<SaleItemVO> findItemsBySaleId(Long saleId) {
+        return this.jdbcTemplate.query(
+                "SELECT product_id, quantity FROM stock_reservations WHERE sale_id = ?",
+                (rs, rowNum) -> new SaleItemVO(rs.getLong("product_id"), rs.getInt("quantity")),
+                saleId);
+    }
+
+    public Map<Long, Instant> findExpiries() {
+        Map<Long, Instant> expiries = new HashMap<>();
+        this.jdbcTemplate.query(
+                "SELECT sale_id, MIN(expires_at) AS expires_at FROM stock_reservations GROUP BY sale_id",
+                rs -> {
+                    expiries.put(rs.getLong("sale_id"), rs.getTimestamp("expires_at").toInstant());
+                });
+        return expiries;
+    }
+}
@@ -0,0 +1,29 @@
+package com.market.inventory.adapters.out.repository.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity(name = "inventory_buckets")
+public class InventoryBucketEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    @Column(nullable = false)
+    private Long productId;
+    @Column(nullable = false)
+    private Integer bucketNo;
+    @Column(nullable = false)
+    private Integer quantity;
+    @Column(columnDefinition = "TIMESTAMP")
+    private LocalDateTime updatedAt;
+}
@@ -3,10 +3,19 @@ package com.market.inventory.adapters.out.repository.mapper;
 import com.market.inventory.adapters.out.repository.entity.InventoryEntity;
 import com.market.inventory.application.core.domain.InventoryVO;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
 
 @Mapper(componentModel = "spring")
 public interface InventoryEntityMapper {
 
     InventoryVO inventoryEntityToInventoryVO(InventoryEntity inventoryEntity);
     InventoryEntity inventoryVOToInventoryEntity(InventoryVO inventoryVO);
+
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "productId", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
+    void updateInventoryEntityFromInventoryVO(InventoryVO inventoryVO, @MappingTarget InventoryEntity inventoryEntity);
 }
@@ -0,0 +1,178 @@
+package com.market.inventory.adapters.out.reservation;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongConsumer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Hashed timing wheel for reservation expiry. Scheduling and cancelling are O(1):
+ * new timeouts are queued lock-free and placed into their bucket by the worker
+ * thread, cancelled ones are only flagged and dropped when their bucket comes round.
+ * Each tick the worker walks a single bucket, so the cost of expiry does not depend
+ * on how many reservations are outstanding.
+ */
+@Slf4j
+public class HashedTimingWheel implements AutoCloseable {
+
+    private static final int MAX_TRANSFERS_PER_TICK = 100_000;
+
+    private final long tickNanos;
+    private final Bucket[] buckets;
+    private final int mask;
+    private final LongConsumer expiryHandler;
+    private final Queue<Timeout> pendingTimeouts = new ConcurrentLinkedQueue<>();
+    private final long startTime;
+    private final Thread worker;
+    private volatile boolean running = true;
+    private long tick;
+
+    public HashedTimingWheel(long tickMillis, int wheelSize, LongConsumer expiryHandler) {
+        var size = Integer.highestOneBit(Math.max(1, wheelSize - 1) << 1);
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMillis);
+        this.buckets = new Bucket[size];
+        for (int i = 0; i < size; i++) {
+            this.buckets[i] = new Bucket();
+        }
+        this.mask = size - 1;
+        this.expiryHandler = expiryHandler;
+        this.startTime = System.nanoTime();
+        this.worker = new Thread(this::run, "reservation-timing-wheel");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    public Timeout schedule(long key, long delayMillis) {
+        var deadline = System.nanoTime() - this.startTime + TimeUnit.MILLISECONDS.toNanos(Math.max(0, delayMillis));
+        var timeout = new Timeout(key, deadline);
+        this.pendingTimeouts.add(timeout);
+        return timeout;
+    }
+
+    @Override
+    public void close() {
+        this.running = false;
+        this.worker.interrupt();
+    }
+
+    private void run() {
+        while (this.running) {
+            var deadline = this.waitForNextTick();
+            if (deadline < 0) {
+                continue;
+            }
+            this.transferPendingTimeouts();
+            this.buckets[(int) (this.tick & this.mask)].expire(deadline);
+            this.tick++;
+        }
+    }
+
+    private long waitForNextTick() {
+        var deadline = this.tickNanos * (this.tick + 1);
+        while (true) {
+            var current = System.nanoTime() - this.startTime;
+            var sleepMillis = TimeUnit.NANOSECONDS.toMillis(deadline - current + 999_999);
+            if (sleepMillis <= 0) {
+                return current;
+            }
+            try {
+                Thread.sleep(sleepMillis);
+            } catch (InterruptedException e) {
+                if (!this.running) {
+                    return -1;
+                }
+            }
+        }
+    }
+
+    private void transferPendingTimeouts() {
+        for (int i = 0; i < MAX_TRANSFERS_PER_TICK; i++) {
+            var timeout = this.pendingTimeouts.poll();
+            if (timeout == null) {
+                return;
+            }
+            if (timeout.cancelled) {
+                continue;
+            }
+            var expiryTick = timeout.deadline / this.tickNanos;
+            timeout.remainingRounds = (expiryTick - this.tick) / this.buckets.length;
+            var ticks = Math.max(expiryTick, this.tick);
+            this.buckets[(int) (ticks & this.mask)].add(timeout);
+        }
+    }
+
+    private void fire(Timeout timeout) {
+        try {
+            this.expiryHandler.accept(timeout.key);
+        } catch (Exception e) {
+            log.error("Expiry handler failed for {}: {}", timeout.key, e.getMessage());
+        }
+    }
+
+    public static final class Timeout {
+
+        private final long key;
+        private final long deadline;
+        private long remainingRounds;
+        private volatile boolean cancelled;
+        private Timeout next;
+        private Timeout prev;
+
+        private Timeout(long key, long deadline) {
+            this.key = key;
+            this.deadline = deadline;
+        }
+
+        public void cancel() {
+            this.cancelled = true;
+        }
+    }
+
+    private final class Bucket {
+
+        private Timeout head;
+        private Timeout tail;
+
+        private void add(Timeout timeout) {
+            if (this.head == null) {
+                this.head = timeout;
+            } else {
+                this.tail.next = timeout;
+                timeout.prev = this.tail;
+            }
+            this.tail = timeout;
+        }
+
+        private void expire(long deadline) {
+            var timeout = this.head;
+            while (timeout != null) {
+                var next = timeout.next;
+                if (timeout.cancelled) {
+                    this.remove(timeout);
+                } else if (timeout.remainingRounds <= 0 && timeout.deadline <= deadline) {
+                    this.remove(timeout);
+                    HashedTimingWheel.this.fire(timeout);
+                } else {
+                    timeout.remainingRounds--;
+                }
+                timeout = next;
+            }
+        }
+
+        private void remove(Timeout timeout) {
+            if (timeout.prev != null) {
+                timeout.prev.next = timeout.next;
+            } else {
+                this.head = timeout.next;
+            }
+            if (timeout.next != null) {
+                timeout.next.prev = timeout.prev;
+            } else {
+                this.tail = timeout.prev;
+            }
+            timeout.next = null;
+            timeout.prev = null;
+        }
+    }
+}
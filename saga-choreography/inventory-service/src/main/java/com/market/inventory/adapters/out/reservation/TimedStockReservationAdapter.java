@@ -0,0 +1,124 @@
+package com.market.inventory.adapters.out.reservation;
+
+import com.market.inventory.adapters.out.repository.StockReservationRepository;
+import com.market.inventory.application.core.domain.SaleItemVO;
+import com.market.inventory.application.core.domain.SaleVO;
+import com.market.inventory.application.ports.in.ExpireStockReservationInputPort;
+import com.market.inventory.application.ports.out.StockReservationOutputPort;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Holds debited stock for a limited time. Reservations are persisted so they survive
+ * a restart, while their expiry is tracked by a {@link HashedTimingWheel}. Expired
+ * sales are handed to a single worker so that releasing stock never stalls the wheel.
+ *
+ * <p>An expiry deletes the reservation, credits the stock and publishes the rollback in
+ * one transaction. Confirmation deletes the same rows, so whichever of the two commits
+ * first wins and the other finds nothing to delete; a payment validated after the
+ * expiry won is refunded by payment-service when it sees the rollback.
+ */
+@Slf4j
+public class TimedStockReservationAdapter implements StockReservationOutputPort, AutoCloseable {
+
+    private final StockReservationRepository stockReservationRepository;
+    private final ObjectProvider<ExpireStockReservationInputPort> expireStockReservationInputPort;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration ttl;
+    private final HashedTimingWheel timingWheel;
+    private final ExecutorService expiryExecutor;
+    private final Map<Long, HashedTimingWheel.Timeout> timeouts = new ConcurrentHashMap<>();
+
+    public TimedStockReservationAdapter(
+            StockReservationRepository stockReservationRepository,
+            ObjectProvider<ExpireStockReservationInputPort> expireStockReservationInputPort,
+            TransactionTemplate transactionTemplate,
+            Duration ttl,
+            long tickMillis,
+            int wheelSize
+    ) {
+        this.stockReservationRepository = stockReservationRepository;
+        this.expireStockReservationInputPort = expireStockReservationInputPort;
+        this.transactionTemplate = transactionTemplate;
+        this.ttl = ttl;
+        this.expiryExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            var thread = new Thread(runnable, "reservation-expiry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.timingWheel = new HashedTimingWheel(tickMillis, wheelSize,
+                saleId -> this.expiryExecutor.execute(() -> this.expire(saleId)));
+    }
+
+    @Override
+    public void reserve(Long saleId, List<SaleItemVO> items) {
+        var quantities = new TreeMap<Long, Integer>();
+        items.forEach(item -> quantities.merge(item.getProductId(), item.getQuantity(), Integer::sum));
+        this.stockReservationRepository.insert(saleId, quantities, Instant.now().plus(this.ttl));
+        this.timeouts.put(saleId, this.timingWheel.schedule(saleId, this.ttl.toMillis()));
+    }
+
+    @Override
+    public boolean confirm(Long saleId) {
+        this.cancelTimeout(saleId);
+
+        return this.stockReservationRepository.deleteBySaleId(saleId) > 0;
+    }
+
+    @Override
+    public boolean release(Long saleId) {
+        this.cancelTimeout(saleId);
+
+        return this.stockReservationRepository.deleteBySaleId(saleId) > 0;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void scheduleStoredReservations() {
+        var now = Instant.now();
+        var expiries = this.stockReservationRepository.findExpiries();
+        expiries.forEach((saleId, expiresAt) -> this.timeouts.computeIfAbsent(saleId,
+                id -> this.timingWheel.schedule(id, Duration.between(now, expiresAt).toMillis())));
+        log.info("Scheduled expiry of {} stored stock reservations.", expiries.size());
+    }
+
+    @Override
+    public void close() {
+        this.timingWheel.close();
+        this.expiryExecutor.shutdownNow();
+    }
+
+    private void expire(long saleId) {
+        this.timeouts.remove(saleId);
+        try {
+            var items = this.stockReservationRepository.findItemsBySaleId(saleId);
+            if (items.isEmpty()) {
+                return;
+            }
+            var saleVO = new SaleVO();
+            saleVO.setId(saleId);
+            saleVO.setItems(items);
+            this.transactionTemplate.executeWithoutResult(
+                    status -> this.expireStockReservationInputPort.getObject().expire(saleVO));
+        } catch (Exception e) {
+            log.error("Unable to expire stock reservation of sale {}: {}", saleId, e.getMessage());
+        }
+    }
+
+    private void cancelTimeout(Long saleId) {
+        var timeout = this.timeouts.remove(saleId);
+        if (timeout != null) {
+            timeout.cancel();
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.market.inventory.adapters.out.reservation;
+
+import com.market.inventory.application.core.domain.SaleItemVO;
+import com.market.inventory.application.ports.out.StockReservationOutputPort;
+import java.util.List;
+
+/**
+ * Used when reservations are disabled: debited stock is held until the saga ends and
+ * every credit request is honoured, as before reservations existed.
+ */
+public class UntrackedStockReservationAdapter implements StockReservationOutputPort {
+
+    @Override
+    public void reserve(Long saleId, List<SaleItemVO> items) {
+    }
+
+    @Override
+    public boolean confirm(Long saleId) {
+        return true;
+    }
+
+    @Override
+    public boolean release(Long saleId) {
+        return true;
+    }
+}
@@ -0,0 +1,111 @@
+package com.market.inventory.adapters.out.snapshot;
+
+import com.market.inventory.adapters.out.message.StockSnapshotDTO;
+import com.market.inventory.adapters.out.repository.InventoryRepository;
+import com.market.inventory.application.core.domain.InventoryVO;
+import com.market.inventory.application.ports.out.FindInventoriesByProductIdsOutputPort;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Publishes the available stock of products to a compacted topic, so other services
+ * can keep a copy of it without querying this one.
+ *
+ * <p>Stock writes only mark their products as changed. Every publish interval the
+ * marked products are read back through the availability port, so a hot product
+ * debited many times in between is published once, with the quantity it has now.
+ * A periodic full pass republishes every product and covers writes made outside
+ * the service.
+ */
+@Slf4j
+public class StockSnapshotPublisher {
+
+    private final FindInventoriesByProductIdsOutputPort findInventoriesByProductIdsOutputPort;
+    private final InventoryRepository inventoryRepository;
+    private final KafkaTemplate<String, StockSnapshotDTO> kafkaTemplate;
+    private final String topic;
+    private final int batchSize;
+    private final Set<Long> changed = ConcurrentHashMap.newKeySet();
+
+    public StockSnapshotPublisher(FindInventoriesByProductIdsOutputPort findInventoriesByProductIdsOutputPort,
+                                  InventoryRepository inventoryRepository,
+                                  KafkaTemplate<String, StockSnapshotDTO> kafkaTemplate,
+                                  String topic, int batchSize) {
+        this.findInventoriesByProductIdsOutputPort = findInventoriesByProductIdsOutputPort;
+        this.inventoryRepository = inventoryRepository;
+        this.kafkaTemplate = kafkaTemplate;
+        this.topic = topic;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Called once the stock of the products has changed, after the write committed.
+     */
+    public void markChanged(Collection<Long> productIds) {
+        this.changed.addAll(productIds);
+    }
+
+    @Scheduled(fixedDelayString = "${application-config.inventory.snapshots.publish-interval-ms}")
+    public void publishChanged() {
+        while (!this.changed.isEmpty()) {
+            // Taken out before the read, so a write landing after it marks the product again
+            List<Long> productIds = new ArrayList<>(this.batchSize);
+            var iterator = this.changed.iterator();
+            while (iterator.hasNext() && productIds.size() < this.batchSize) {
+                productIds.add(iterator.next());
+                iterator.remove();
+            }
+            try {
+                this.publish(productIds);
+            } catch (Exception e) {
+                this.changed.addAll(productIds);
+                log.error("Unable to publish the stock of {} products, will retry: {}",
+                        productIds.size(), e.getMessage());
+                return;
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${application-config.inventory.snapshots.full-interval-ms}")
+    public void publishAll() {
+        try {
+            var published = 0;
+            var after = 0L;
+            List<Long> productIds;
+            do {
+                productIds = this.inventoryRepository.findProductIdsAfter(after, PageRequest.ofSize(this.batchSize));
+                if (!productIds.isEmpty()) {
+                    this.publish(productIds);
+                    published += productIds.size();
+                    after = productIds.get(productIds.size() - 1);
+                }
+            } while (productIds.size() == this.batchSize);
+            log.info("Published the stock of all {} products to {}", published, this.topic);
+        } catch (Exception e) {
+            log.error("Unable to publish the stock of all products, will retry: {}", e.getMessage());
+        }
+    }
+
+    private void publish(List<Long> productIds) {
+        var inventories = this.findInventoriesByProductIdsOutputPort.find(productIds).stream()
+                .collect(Collectors.toMap(inventory -> inventory.getProductId().longValue(), Function.identity()));
+        for (var productId : productIds) {
+            var inventory = inventories.get(productId);
+            var snapshot = inventory == null ? null : new StockSnapshotDTO(productId, inventory.getQuantity());
+            this.kafkaTemplate.send(this.topic, productId.toString(), snapshot).whenComplete((result, e) -> {
+                if (e != null) {
+                    this.changed.add(productId);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.market.inventory.adapters.out.stock;
+
+import com.market.inventory.adapters.out.cache.InventoryNearCache;
+import com.market.inventory.application.core.domain.SaleItemVO;
+import com.market.inventory.application.ports.out.CreditInventoryOutputPort;
+import com.market.inventory.application.ports.out.DebitInventoryOutputPort;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+public class InMemoryStockAdapter implements DebitInventoryOutputPort, CreditInventoryOutputPort {
+
+    private final StripedStockCounters stripedStockCounters;
+    private final InventoryNearCache inventoryNearCache;
+
+    @Override
+    public boolean debit(Long saleId, List<SaleItemVO> items) {
+        for (int i = 0; i < items.size(); i++) {
+            var item = items.get(i);
+            if (!this.stripedStockCounters.debit(item.getProductId(), item.getQuantity())) {
+                for (int j = 0; j < i; j++) {
+                    this.stripedStockCounters.credit(items.get(j).getProductId(), items.get(j).getQuantity());
+                }
+                return false;
+            }
+        }
+        this.invalidate(items);
+        return true;
+    }
+
+    @Override
+    public boolean credit(Long saleId, List<SaleItemVO> items) {
+        for (var item : items) {
+            if (!this.stripedStockCounters.quantity(item.getProductId()).isPresent()) {
+                return false;
+            }
+        }
+        items.forEach(item -> this.stripedStockCounters.credit(item.getProductId(), item.getQuantity()));
+        this.invalidate(items);
+        return true;
+    }
+
+    private void invalidate(List<SaleItemVO> items) {
+        items.forEach(item -> this.inventoryNearCache.invalidate(item.getProductId()));
+    }
+}
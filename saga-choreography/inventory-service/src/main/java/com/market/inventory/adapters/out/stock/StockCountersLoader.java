@@ -0,0 +1,63 @@
+package com.market.inventory.adapters.out.stock;
+
+import com.market.inventory.adapters.out.repository.InventoryRepository;
+import com.market.inventory.adapters.out.repository.StockJournalCheckpointRepository;
+import java.util.Collection;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.kafka.listener.ConsumerAwareRebalanceListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Fills the in-memory counters the first time the inventory listeners get partitions,
+ * before any record is handed to them. Journal segments left behind by a crash are
+ * replayed into the database first, so the loaded quantities already include them;
+ * a segment at or below the checkpoint was committed before the crash and is only
+ * deleted.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class StockCountersLoader implements ConsumerAwareRebalanceListener {
+
+    private final StripedStockCounters stripedStockCounters;
+    private final StockJournal stockJournal;
+    private final InventoryRepository inventoryRepository;
+    private final StockJournalCheckpointRepository stockJournalCheckpointRepository;
+    private final TransactionTemplate transactionTemplate;
+    private volatile boolean loaded;
+
+    @Override
+    public void onPartitionsAssigned(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        if (!this.loaded) {
+            this.load();
+        }
+    }
+
+    private synchronized void load() {
+        if (this.loaded) {
+            return;
+        }
+        var checkpoint = this.stockJournalCheckpointRepository.findLastSegment(StockJournal.CHECKPOINT);
+        for (var segment : this.stockJournal.recoveredSegments()) {
+            var sequence = StockJournal.sequenceOf(segment);
+            if (sequence > checkpoint) {
+                var deltas = StockJournal.read(segment);
+                log.info("Replaying {} stock deltas from {}.", deltas.size(), segment.getFileName());
+                this.transactionTemplate.executeWithoutResult(status -> {
+                    deltas.forEach(this.inventoryRepository::addQuantity);
+                    this.stockJournalCheckpointRepository.advance(StockJournal.CHECKPOINT, sequence);
+                });
+            } else {
+                log.info("Skipping {}, already applied before the checkpoint.", segment.getFileName());
+            }
+            this.stockJournal.delete(segment);
+        }
+        var inventories = this.inventoryRepository.findAll();
+        inventories.forEach(inventory -> this.stripedStockCounters.load(
+                inventory.getProductId(), inventory.getQuantity() == null ? 0 : inventory.getQuantity()));
+        this.loaded = true;
+        log.info("Loaded stock of {} products into memory.", inventories.size());
+    }
+}
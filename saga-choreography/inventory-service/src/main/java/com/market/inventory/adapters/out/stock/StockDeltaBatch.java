@@ -0,0 +1,18 @@
+package com.market.inventory.adapters.out.stock;
+
+import java.nio.file.Path;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class StockDeltaBatch {
+
+    private final Path segment;
+    private final Map<Long, Integer> deltas;
+
+    public boolean isEmpty() {
+        return this.segment == null && this.deltas.isEmpty();
+    }
+}
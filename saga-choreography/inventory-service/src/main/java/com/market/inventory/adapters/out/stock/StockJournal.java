@@ -0,0 +1,249 @@
+package com.market.inventory.adapters.out.stock;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Local append-only log of every stock change applied in memory. Each record is a
+ * fixed 12 bytes ({@code productId}, {@code delta}). The log is split into numbered
+ * segments; once the flusher has committed a segment's deltas it records the segment
+ * number in the database in the same transaction and deletes the file, so a segment
+ * found on disk at startup is replayed only when its number is above that checkpoint.
+ *
+ * <p>Appends are group-committed: a record is copied into a shared buffer and the
+ * appender then waits for a write that covers it. Whichever appender takes the write
+ * lock first writes everything buffered so far, so concurrent debits on different
+ * stripes share one system call instead of queueing behind one write each.
+ *
+ * <p>A failed write is cut back off the segment and fails every append it covered.
+ * The journal then stays failed, so the counters refuse further changes until the
+ * service is restarted and replays the segments.
+ */
+@Slf4j
+public class StockJournal implements AutoCloseable {
+
+    public static final String CHECKPOINT = "stock";
+
+    private static final String SEGMENT_PREFIX = "stock-journal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final int RECORD_BYTES = Long.BYTES + Integer.BYTES;
+    private static final int INITIAL_BUFFER_BYTES = 64 * RECORD_BYTES;
+
+    private final Path directory;
+    private final List<Path> recoveredSegments;
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private ByteBuffer pending = ByteBuffer.allocate(INITIAL_BUFFER_BYTES);
+    private ByteBuffer writing = ByteBuffer.allocate(INITIAL_BUFFER_BYTES);
+    private long appended;
+    private long written;
+    private long segmentStart;
+    private long sequence;
+    private Path currentSegment;
+    private FileChannel channel;
+    private volatile IOException failure;
+
+    public StockJournal(Path directory, long committedSegment) {
+        this.directory = directory;
+        try {
+            Files.createDirectories(directory);
+            this.recoveredSegments = this.listSegments();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to open the stock journal in " + directory, e);
+        }
+        this.sequence = Math.max(committedSegment,
+                this.recoveredSegments.stream().mapToLong(StockJournal::sequenceOf).max().orElse(0));
+        this.open();
+    }
+
+    /**
+     * Throws if an earlier write failed, so callers can refuse a change before applying
+     * it in memory.
+     */
+    public void ensureWritable() {
+        if (this.failure != null) {
+            throw new UncheckedIOException("The stock journal failed earlier", this.failure);
+        }
+    }
+
+    public void append(long productId, int delta) {
+        long ticket;
+        synchronized (this) {
+            if (this.pending.remaining() < RECORD_BYTES) {
+                this.pending = grow(this.pending);
+            }
+            this.pending.putLong(productId).putInt(delta);
+            ticket = ++this.appended;
+        }
+        this.writeLock.lock();
+        try {
+            if (this.written < ticket) {
+                this.writePending();
+            }
+        } finally {
+            this.writeLock.unlock();
+        }
+    }
+
+    /**
+     * Closes the current segment and starts a new one. Returns the closed segment, or
+     * {@code null} when nothing was written to it.
+     */
+    public Path rollover() {
+        this.writeLock.lock();
+        try {
+            this.writePending();
+            if (this.written == this.segmentStart) {
+                return null;
+            }
+            var closed = this.currentSegment;
+            this.closeChannel();
+            this.open();
+
+            return closed;
+        } finally {
+            this.writeLock.unlock();
+        }
+    }
+
+    public List<Path> recoveredSegments() {
+        return this.recoveredSegments;
+    }
+
+    public void delete(Path segment) {
+        if (segment == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(segment);
+        } catch (IOException e) {
+            log.warn("Unable to delete stock journal segment {}: {}", segment, e.getMessage());
+        }
+    }
+
+    public static Map<Long, Integer> read(Path segment) {
+        Map<Long, Integer> deltas = new HashMap<>();
+        try (var input = new DataInputStream(new BufferedInputStream(Files.newInputStream(segment)))) {
+            while (true) {
+                var productId = input.readLong();
+                var delta = input.readInt();
+                deltas.merge(productId, delta, Integer::sum);
+            }
+        } catch (EOFException e) {
+            return deltas;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read stock journal segment " + segment, e);
+        }
+    }
+
+    public static long sequenceOf(Path segment) {
+        var name = segment.getFileName().toString();
+
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    @Override
+    public void close() {
+        this.writeLock.lock();
+        try {
+            this.writePending();
+            var empty = this.written == this.segmentStart;
+            this.closeChannel();
+            if (empty) {
+                this.delete(this.currentSegment);
+            }
+        } finally {
+            this.writeLock.unlock();
+        }
+    }
+
+    /**
+     * Swaps the buffers and writes out everything appended so far. Must hold the write
+     * lock; appenders keep filling the other buffer meanwhile.
+     */
+    private void writePending() {
+        this.ensureWritable();
+        long upTo;
+        synchronized (this) {
+            var full = this.pending;
+            this.pending = this.writing;
+            this.writing = full;
+            upTo = this.appended;
+        }
+        this.writing.flip();
+        var start = -1L;
+        try {
+            start = this.channel.size();
+            while (this.writing.hasRemaining()) {
+                this.channel.write(this.writing);
+            }
+        } catch (IOException e) {
+            this.failure = e;
+            this.truncate(start);
+            throw new UncheckedIOException("Unable to append to the stock journal", e);
+        } finally {
+            this.writing.clear();
+        }
+        this.written = upTo;
+    }
+
+    private void open() {
+        this.currentSegment = this.directory.resolve(SEGMENT_PREFIX + (++this.sequence) + SEGMENT_SUFFIX);
+        try {
+            this.channel = FileChannel.open(this.currentSegment,
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to open stock journal segment " + this.currentSegment, e);
+        }
+        this.segmentStart = this.written;
+    }
+
+    // Drops a partly written batch, whose appenders all see the failure and undo their change
+    private void truncate(long size) {
+        if (size < 0) {
+            return;
+        }
+        try {
+            this.channel.truncate(size);
+        } catch (IOException e) {
+            log.error("Unable to cut the failed write off stock journal segment {}: {}",
+                    this.currentSegment, e.getMessage());
+        }
+    }
+
+    private void closeChannel() {
+        try {
+            this.channel.close();
+        } catch (IOException e) {
+            log.warn("Unable to close stock journal segment {}: {}", this.currentSegment, e.getMessage());
+        }
+    }
+
+    private List<Path> listSegments() throws IOException {
+        try (Stream<Path> files = Files.list(this.directory)) {
+            return files.filter(path -> path.getFileName().toString().startsWith(SEGMENT_PREFIX))
+                    .sorted((a, b) -> Long.compare(sequenceOf(a), sequenceOf(b)))
+                    .toList();
+        }
+    }
+
+    private static ByteBuffer grow(ByteBuffer buffer) {
+        var grown = ByteBuffer.allocate(buffer.capacity() * 2);
+        buffer.flip();
+
+        return grown.put(buffer);
+    }
+}
@@ -0,0 +1,61 @@
+package com.market.inventory.adapters.out.stock;
+
+import com.market.inventory.adapters.out.repository.InventoryRepository;
+import com.market.inventory.adapters.out.repository.StockJournalCheckpointRepository;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Periodically folds the in-memory stock deltas into {@code inventories}, one
+ * relative update per changed product per interval. The batch's journal segment is
+ * checkpointed in the same transaction, so a crash between the commit and the segment
+ * deletion never replays it. A batch that fails stays queued (together with its
+ * segment) and is retried before newer batches.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class StockWriteBehindFlusher {
+
+    private final StripedStockCounters stripedStockCounters;
+    private final StockJournal stockJournal;
+    private final InventoryRepository inventoryRepository;
+    private final StockJournalCheckpointRepository stockJournalCheckpointRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Deque<StockDeltaBatch> pendingBatches = new ArrayDeque<>();
+
+    @Scheduled(fixedDelayString = "${application-config.inventory.memory.flush-interval-ms}")
+    public synchronized void flush() {
+        var batch = this.stripedStockCounters.drain();
+        if (!batch.isEmpty()) {
+            this.pendingBatches.addLast(batch);
+        }
+        while (!this.pendingBatches.isEmpty()) {
+            var next = this.pendingBatches.peekFirst();
+            try {
+                this.transactionTemplate.executeWithoutResult(status -> {
+                    next.getDeltas().forEach(this.inventoryRepository::addQuantity);
+                    if (next.getSegment() != null) {
+                        this.stockJournalCheckpointRepository.advance(
+                                StockJournal.CHECKPOINT, StockJournal.sequenceOf(next.getSegment()));
+                    }
+                });
+            } catch (Exception e) {
+                log.error("Unable to flush {} stock deltas, will retry: {}", next.getDeltas().size(), e.getMessage());
+                return;
+            }
+            this.stockJournal.delete(next.getSegment());
+            this.pendingBatches.pollFirst();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        this.flush();
+        this.stockJournal.close();
+    }
+}
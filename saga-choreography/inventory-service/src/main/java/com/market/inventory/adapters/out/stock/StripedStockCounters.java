@@ -0,0 +1,220 @@
+package com.market.inventory.adapters.out.stock;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Authoritative per-product stock kept in memory.
+ *
+ * <p>Products are spread over a power-of-two number of stripes. Each stripe is an
+ * open-addressing {@code long -> int} table whose slots are updated with CAS, so a
+ * debit never blocks another debit. The stripe lock is only held exclusively to
+ * insert or grow the table and while {@link #drain()} takes a consistent cut of the
+ * pending deltas for the write-behind flusher.
+ *
+ * <p>A change is journaled after it is applied, under the stripe's read lock, and
+ * undone if the append fails, so memory never holds a change the journal lost. Once
+ * the journal has failed, changes are refused before the counters are touched.
+ */
+public class StripedStockCounters {
+
+    private static final long FREE = Long.MIN_VALUE;
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final Stripe[] stripes;
+    private final int mask;
+    private final StockJournal stockJournal;
+
+    public StripedStockCounters(int stripeCount, StockJournal stockJournal) {
+        var size = Integer.highestOneBit(Math.max(1, stripeCount - 1) << 1);
+        this.stripes = new Stripe[size];
+        for (int i = 0; i < size; i++) {
+            this.stripes[i] = new Stripe();
+        }
+        this.mask = size - 1;
+        this.stockJournal = stockJournal;
+    }
+
+    public void load(long productId, int quantity) {
+        var stripe = this.stripeOf(productId);
+        var stamp = stripe.lock.writeLock();
+        try {
+            var slot = stripe.insert(productId);
+            stripe.quantities.set(slot, quantity);
+        } finally {
+            stripe.lock.unlockWrite(stamp);
+        }
+    }
+
+    public boolean debit(long productId, int quantity) {
+        var stripe = this.stripeOf(productId);
+        var stamp = stripe.lock.readLock();
+        try {
+            var slot = stripe.indexOf(productId);
+            if (slot < 0) {
+                return false;
+            }
+            this.stockJournal.ensureWritable();
+            int current;
+            do {
+                current = stripe.quantities.get(slot);
+                if (current < quantity) {
+                    return false;
+                }
+            } while (!stripe.quantities.compareAndSet(slot, current, current - quantity));
+            this.apply(stripe, slot, productId, -quantity);
+            return true;
+        } finally {
+            stripe.lock.unlockRead(stamp);
+        }
+    }
+
+    public boolean credit(long productId, int quantity) {
+        var stripe = this.stripeOf(productId);
+        var stamp = stripe.lock.readLock();
+        try {
+            var slot = stripe.indexOf(productId);
+            if (slot < 0) {
+                return false;
+            }
+            this.stockJournal.ensureWritable();
+            stripe.quantities.addAndGet(slot, quantity);
+            this.apply(stripe, slot, productId, quantity);
+            return true;
+        } finally {
+            stripe.lock.unlockRead(stamp);
+        }
+    }
+
+    public OptionalInt quantity(long productId) {
+        var stripe = this.stripeOf(productId);
+        var stamp = stripe.lock.readLock();
+        try {
+            var slot = stripe.indexOf(productId);
+
+            return slot < 0 ? OptionalInt.empty() : OptionalInt.of(stripe.quantities.get(slot));
+        } finally {
+            stripe.lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Takes every stripe exclusively, rolls the journal over and hands back the deltas
+     * accumulated since the previous drain. The returned batch and the closed journal
+     * segment describe exactly the same changes; if the rollover fails, the deltas are
+     * kept for the next drain.
+     */
+    public StockDeltaBatch drain() {
+        var stamps = new long[this.stripes.length];
+        for (int i = 0; i < this.stripes.length; i++) {
+            stamps[i] = this.stripes[i].lock.writeLock();
+        }
+        try {
+            var segment = this.stockJournal.rollover();
+            Map<Long, Integer> deltas = new HashMap<>();
+            for (var stripe : this.stripes) {
+                for (int slot = 0; slot < stripe.keys.length; slot++) {
+                    if (stripe.keys[slot] != FREE) {
+                        var delta = stripe.deltas.getAndSet(slot, 0);
+                        if (delta != 0) {
+                            deltas.put(stripe.keys[slot], delta);
+                        }
+                    }
+                }
+            }
+            return new StockDeltaBatch(segment, deltas);
+        } finally {
+            for (int i = this.stripes.length - 1; i >= 0; i--) {
+                this.stripes[i].lock.unlockWrite(stamps[i]);
+            }
+        }
+    }
+
+    // Records a change already made to the quantity; must hold the stripe's read lock
+    private void apply(Stripe stripe, int slot, long productId, int delta) {
+        stripe.deltas.addAndGet(slot, delta);
+        try {
+            this.stockJournal.append(productId, delta);
+        } catch (RuntimeException e) {
+            stripe.deltas.addAndGet(slot, -delta);
+            stripe.quantities.addAndGet(slot, -delta);
+            throw e;
+        }
+    }
+
+    private Stripe stripeOf(long productId) {
+        return this.stripes[spread(productId) & this.mask];
+    }
+
+    private static int spread(long key) {
+        var h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private static final class Stripe {
+
+        private final StampedLock lock = new StampedLock();
+        private long[] keys = newKeys(INITIAL_CAPACITY);
+        private AtomicIntegerArray quantities = new AtomicIntegerArray(INITIAL_CAPACITY);
+        private AtomicIntegerArray deltas = new AtomicIntegerArray(INITIAL_CAPACITY);
+        private int size;
+
+        private int indexOf(long key) {
+            var keyMask = this.keys.length - 1;
+            var slot = (spread(key) >>> 8) & keyMask;
+            while (this.keys[slot] != FREE) {
+                if (this.keys[slot] == key) {
+                    return slot;
+                }
+                slot = (slot + 1) & keyMask;
+            }
+            return -1;
+        }
+
+        private int insert(long key) {
+            var existing = this.indexOf(key);
+            if (existing >= 0) {
+                return existing;
+            }
+            if ((this.size + 1) * 2 > this.keys.length) {
+                this.grow();
+            }
+            var keyMask = this.keys.length - 1;
+            var slot = (spread(key) >>> 8) & keyMask;
+            while (this.keys[slot] != FREE) {
+                slot = (slot + 1) & keyMask;
+            }
+            this.keys[slot] = key;
+            this.size++;
+            return slot;
+        }
+
+        private void grow() {
+            var oldKeys = this.keys;
+            var oldQuantities = this.quantities;
+            var oldDeltas = this.deltas;
+            var capacity = oldKeys.length << 1;
+            this.keys = newKeys(capacity);
+            this.quantities = new AtomicIntegerArray(capacity);
+            this.deltas = new AtomicIntegerArray(capacity);
+            this.size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != FREE) {
+                    var slot = this.insert(oldKeys[i]);
+                    this.quantities.set(slot, oldQuantities.get(i));
+                    this.deltas.set(slot, oldDeltas.get(i));
+                }
+            }
+        }
+
+        private static long[] newKeys(int capacity) {
+            var keys = new long[capacity];
+            Arrays.fill(keys, FREE);
+            return keys;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.market.inventory.application.core.domain;
+
+public class SaleItemVO {
+
+    private Long productId;
+    private Integer quantity;
+
+    public SaleItemVO() {
+    }
+
+    public SaleItemVO(Long productId, Integer quantity) {
+        this.productId = productId;
+        this.quantity = quantity;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public void setProductId(Long productId) {
+        this.productId = productId;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(Integer quantity) {
+        this.quantity = quantity;
+    }
+}
@@ -3,6 +3,7 @@ package com.market.inventory.application.core.domain;
 import com.market.inventory.application.core.domain.enums.SaleStatusEnum;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
 
 public class SaleVO {
 
@@ -13,6 +14,7 @@ public class SaleVO {
     private SaleStatusEnum saleStatus;
     private Integer quantity;
     private LocalDateTime createdAt;
+    private List<SaleItemVO> items;
 
     public SaleVO() {
 
@@ -85,4 +87,19 @@ public class SaleVO {
     public void setCreatedAt(LocalDateTime createdAt) {
         this.createdAt = createdAt;
     }
+
+    /**
+     * Lines of the sale. Events published before multi-line sales existed only carry
+     * {@code productId}/{@code quantity}, which are then read as a single line.
+     */
+    public List<SaleItemVO> getItems() {
+        if ((items == null || items.isEmpty()) && productId != null) {
+            return List.of(new SaleItemVO(productId, quantity));
+        }
+        return items;
+    }
+
+    public void setItems(List<SaleItemVO> items) {
+        this.items = items;
+    }
 }
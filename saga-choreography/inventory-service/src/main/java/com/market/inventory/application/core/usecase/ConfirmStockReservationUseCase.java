@@ -0,0 +1,24 @@
+package com.market.inventory.application.core.usecase;
+
+import com.market.inventory.application.core.domain.SaleVO;
+import com.market.inventory.application.ports.in.ConfirmStockReservationInputPort;
+import com.market.inventory.application.ports.out.StockReservationOutputPort;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+public class ConfirmStockReservationUseCase implements ConfirmStockReservationInputPort {
+
+    private final StockReservationOutputPort stockReservationOutputPort;
+
+    public ConfirmStockReservationUseCase(StockReservationOutputPort stockReservationOutputPort) {
+        this.stockReservationOutputPort = stockReservationOutputPort;
+    }
+
+    @Override
+    public void confirm(SaleVO saleVO) {
+        if (!this.stockReservationOutputPort.confirm(saleVO.getId())) {
+            log.warn("No stock reservation held for sale {}; if it expired, payment-service refunds it on the rollback.",
+                    saleVO.getId());
+        }
+    }
+}
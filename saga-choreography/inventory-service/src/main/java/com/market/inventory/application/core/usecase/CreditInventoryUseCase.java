@@ -3,30 +3,33 @@ package com.market.inventory.application.core.usecase;
 import com.market.inventory.application.core.domain.SaleVO;
 import com.market.inventory.application.core.domain.enums.SaleEventEnum;
 import com.market.inventory.application.ports.in.CreditInventoryInputPort;
-import com.market.inventory.application.ports.in.FindInventoryByProductIdInputPort;
+import com.market.inventory.application.ports.out.CreditInventoryOutputPort;
 import com.market.inventory.application.ports.out.SendToKafkaOutputPort;
-import com.market.inventory.application.ports.out.UpdateInventoryOutputPort;
+import com.market.inventory.application.ports.out.StockReservationOutputPort;
 
 public class CreditInventoryUseCase implements CreditInventoryInputPort {
-    private final FindInventoryByProductIdInputPort findInventoryByProductIdInputPort;
-    private final UpdateInventoryOutputPort updateInventoryOutputPort;
+    private final CreditInventoryOutputPort creditInventoryOutputPort;
+    private final StockReservationOutputPort stockReservationOutputPort;
     private final SendToKafkaOutputPort sendToKafkaOutputPort;
 
     public CreditInventoryUseCase(
-            FindInventoryByProductIdInputPort findInventoryByProductIdInputPort,
-            UpdateInventoryOutputPort updateInventoryOutputPort,
+            CreditInventoryOutputPort creditInventoryOutputPort,
+            StockReservationOutputPort stockReservationOutputPort,
             SendToKafkaOutputPort sendToKafkaOutputPort
     ) {
-        this.findInventoryByProductIdInputPort = findInventoryByProductIdInputPort;
-        this.updateInventoryOutputPort = updateInventoryOutputPort;
+        this.creditInventoryOutputPort = creditInventoryOutputPort;
+        this.stockReservationOutputPort = stockReservationOutputPort;
         this.sendToKafkaOutputPort = sendToKafkaOutputPort;
     }
 
     @Override
     public void credit(SaleVO saleVO) {
-        var inventory = this.findInventoryByProductIdInputPort.find(saleVO.getProductId());
-        inventory.creditQuantity(saleVO.getQuantity());
-        this.updateInventoryOutputPort.update(inventory);
+        if(!this.stockReservationOutputPort.release(saleVO.getId())) {
+            return;
+        }
+        if(!this.creditInventoryOutputPort.credit(saleVO.getId(), saleVO.getItems())) {
+            throw new RuntimeException("Not found inventory by this product.");
+        }
         this.sendToKafkaOutputPort.send(saleVO, SaleEventEnum.ROLLBACK_INVENTORY);
     }
 }
@@ -3,40 +3,51 @@ package com.market.inventory.application.core.usecase;
 import com.market.inventory.application.core.domain.enums.SaleEventEnum;
 import com.market.inventory.application.core.domain.SaleVO;
 import com.market.inventory.application.ports.in.DebitInventoryInputPort;
-import com.market.inventory.application.ports.in.FindInventoryByProductIdInputPort;
+import com.market.inventory.application.ports.out.CreditInventoryOutputPort;
+import com.market.inventory.application.ports.out.DebitInventoryOutputPort;
 import com.market.inventory.application.ports.out.SendToKafkaOutputPort;
-import com.market.inventory.application.ports.out.UpdateInventoryOutputPort;
+import com.market.inventory.application.ports.out.StockReservationOutputPort;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 public class DebitInventoryUseCase implements DebitInventoryInputPort {
 
-    private final FindInventoryByProductIdInputPort findInventoryByProductIdInputPort;
-    private final UpdateInventoryOutputPort updateInventoryOutputPort;
+    private final DebitInventoryOutputPort debitInventoryOutputPort;
+    private final CreditInventoryOutputPort creditInventoryOutputPort;
+    private final StockReservationOutputPort stockReservationOutputPort;
     private final SendToKafkaOutputPort sendToKafkaOutputPort;
 
-    public DebitInventoryUseCase(FindInventoryByProductIdInputPort findInventoryByProductIdInputPort,
-                                 UpdateInventoryOutputPort updateInventoryOutputPort,
+    public DebitInventoryUseCase(DebitInventoryOutputPort debitInventoryOutputPort,
+                                 CreditInventoryOutputPort creditInventoryOutputPort,
+                                 StockReservationOutputPort stockReservationOutputPort,
                                  SendToKafkaOutputPort sendToKafkaOutputPort) {
 
-        this.findInventoryByProductIdInputPort = findInventoryByProductIdInputPort;
-        this.updateInventoryOutputPort = updateInventoryOutputPort;
+        this.debitInventoryOutputPort = debitInventoryOutputPort;
+        this.creditInventoryOutputPort = creditInventoryOutputPort;
+        this.stockReservationOutputPort = stockReservationOutputPort;
         this.sendToKafkaOutputPort = sendToKafkaOutputPort;
     }
 
     @Override
     public void debit(SaleVO saleVO) {
         try {
-            var inventory = this.findInventoryByProductIdInputPort.find(saleVO.getProductId());
-            if(inventory.getQuantity() < saleVO.getQuantity()) {
+            if(!this.debitInventoryOutputPort.debit(saleVO.getId(), saleVO.getItems())) {
                 throw new RuntimeException("Insufficient quantity");
             }
-            inventory.debitQuantity(saleVO.getQuantity());
-            this.updateInventoryOutputPort.update(inventory);
+            this.reserve(saleVO);
             this.sendToKafkaOutputPort.send(saleVO, SaleEventEnum.UPDATED_INVENTORY);
         } catch (Exception e) {
             log.error("An error occurred: {}", e.getMessage());
             this.sendToKafkaOutputPort.send(saleVO, SaleEventEnum.ROLLBACK_INVENTORY);
         }
     }
+
+    private void reserve(SaleVO saleVO) {
+        try {
+            this.stockReservationOutputPort.reserve(saleVO.getId(), saleVO.getItems());
+        } catch (RuntimeException e) {
+            this.creditInventoryOutputPort.credit(saleVO.getId(), saleVO.getItems());
+            throw e;
+        }
+    }
 }
@@ -0,0 +1,39 @@
+package com.market.inventory.application.core.usecase;
+
+import com.market.inventory.application.core.domain.SaleVO;
+import com.market.inventory.application.core.domain.enums.SaleEventEnum;
+import com.market.inventory.application.ports.in.ExpireStockReservationInputPort;
+import com.market.inventory.application.ports.out.CreditInventoryOutputPort;
+import com.market.inventory.application.ports.out.SendToKafkaOutputPort;
+import com.market.inventory.application.ports.out.StockReservationOutputPort;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+public class ExpireStockReservationUseCase implements ExpireStockReservationInputPort {
+
+    private final StockReservationOutputPort stockReservationOutputPort;
+    private final CreditInventoryOutputPort creditInventoryOutputPort;
+    private final SendToKafkaOutputPort sendToKafkaOutputPort;
+
+    public ExpireStockReservationUseCase(
+            StockReservationOutputPort stockReservationOutputPort,
+            CreditInventoryOutputPort creditInventoryOutputPort,
+            SendToKafkaOutputPort sendToKafkaOutputPort
+    ) {
+        this.stockReservationOutputPort = stockReservationOutputPort;
+        this.creditInventoryOutputPort = creditInventoryOutputPort;
+        this.sendToKafkaOutputPort = sendToKafkaOutputPort;
+    }
+
+    @Override
+    public void expire(SaleVO saleVO) {
+        if (!this.stockReservationOutputPort.release(saleVO.getId())) {
+            return;
+        }
+        log.info("Stock reservation of sale {} expired.", saleVO.getId());
+        if (!this.creditInventoryOutputPort.credit(saleVO.getId(), saleVO.getItems())) {
+            throw new RuntimeException("Not found inventory by this product.");
+        }
+        this.sendToKafkaOutputPort.send(saleVO, SaleEventEnum.ROLLBACK_INVENTORY);
+    }
+}
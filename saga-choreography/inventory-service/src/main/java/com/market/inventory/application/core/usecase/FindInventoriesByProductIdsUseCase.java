@@ -0,0 +1,23 @@
+package com.market.inventory.application.core.usecase;
+
+import com.market.inventory.application.core.domain.InventoryVO;
+import com.market.inventory.application.ports.in.FindInventoriesByProductIdsInputPort;
+import com.market.inventory.application.ports.out.FindInventoriesByProductIdsOutputPort;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+
+public class FindInventoriesByProductIdsUseCase implements FindInventoriesByProductIdsInputPort {
+
+    private final FindInventoriesByProductIdsOutputPort findInventoriesByProductIdsOutputPort;
+
+    public FindInventoriesByProductIdsUseCase(FindInventoriesByProductIdsOutputPort findInventoriesByProductIdsOutputPort) {
+        this.findInventoriesByProductIdsOutputPort = findInventoriesByProductIdsOutputPort;
+    }
+
+    @Override
+    public List<InventoryVO> find(List<Long> productIds) {
+
+        return this.findInventoriesByProductIdsOutputPort.find(new LinkedHashSet<>(productIds));
+    }
+}
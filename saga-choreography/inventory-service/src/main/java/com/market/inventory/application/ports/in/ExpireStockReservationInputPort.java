@@ -0,0 +1,8 @@
+package com.market.inventory.application.ports.in;
+
+import com.market.inventory.application.core.domain.SaleVO;
+
+public interface ExpireStockReservationInputPort {
+
+    void expire(SaleVO saleVO);
+}
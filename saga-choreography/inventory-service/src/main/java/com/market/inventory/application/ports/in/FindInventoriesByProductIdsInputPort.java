@@ -0,0 +1,10 @@
+package com.market.inventory.application.ports.in;
+
+import com.market.inventory.application.core.domain.InventoryVO;
+
+import java.util.List;
+
+public interface FindInventoriesByProductIdsInputPort {
+
+    List<InventoryVO> find(List<Long> productIds);
+}
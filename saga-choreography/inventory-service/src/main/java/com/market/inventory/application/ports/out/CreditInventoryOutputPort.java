@@ -0,0 +1,10 @@
+package com.market.inventory.application.ports.out;
+
+import com.market.inventory.application.core.domain.SaleItemVO;
+
+import java.util.List;
+
+public interface CreditInventoryOutputPort {
+
+    boolean credit(Long saleId, List<SaleItemVO> items);
+}
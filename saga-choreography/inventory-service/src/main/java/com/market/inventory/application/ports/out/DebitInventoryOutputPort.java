@@ -0,0 +1,10 @@
+package com.market.inventory.application.ports.out;
+
+import com.market.inventory.application.core.domain.SaleItemVO;
+
+import java.util.List;
+
+public interface DebitInventoryOutputPort {
+
+    boolean debit(Long saleId, List<SaleItemVO> items);
+}
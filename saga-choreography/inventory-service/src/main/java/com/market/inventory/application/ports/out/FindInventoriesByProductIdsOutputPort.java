@@ -0,0 +1,11 @@
+package com.market.inventory.application.ports.out;
+
+import com.market.inventory.application.core.domain.InventoryVO;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface FindInventoriesByProductIdsOutputPort {
+
+    List<InventoryVO> find(Collection<Long> productIds);
+}
@@ -0,0 +1,18 @@
+package com.market.inventory.application.ports.out;
+
+import com.market.inventory.application.core.domain.SaleItemVO;
+
+import java.util.List;
+
+public interface StockReservationOutputPort {
+
+    void reserve(Long saleId, List<SaleItemVO> items);
+
+    boolean confirm(Long saleId);
+
+    /**
+     * Ends the reservation of the sale. Returns {@code true} when the caller has to
+     * credit the stock back, {@code false} when it was already confirmed or released.
+     */
+    boolean release(Long saleId);
+}
@@ -2,7 +2,14 @@ package com.market.inventory.application.ports.out;
 
 import com.market.inventory.application.core.domain.InventoryVO;
 
+import java.util.function.Consumer;
+
 public interface UpdateInventoryOutputPort {
 
-    void update(InventoryVO inventoryVO);
+    /**
+     * Loads the inventory of the product, applies {@code change} and stores the result
+     * as one atomic read-modify-write. {@code change} may run more than once when the
+     * update has to be retried, and may throw to abort it.
+     */
+    void update(Long productId, Consumer<InventoryVO> change);
 }
@@ -0,0 +1,27 @@
+package com.market.inventory.config.aot;
+
+import com.market.inventory.adapters.out.message.SaleMessageDTO;
+import com.market.inventory.adapters.out.message.StockSnapshotDTO;
+import com.market.inventory.config.kafka.CustomDeserializer;
+import com.market.inventory.config.kafka.CustomSerializer;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+/**
+ * Reflection the native image cannot discover from the bean definitions alone. Kafka
+ * instantiates the configured serializer classes itself, and they bind the message
+ * payload with their own {@code ObjectMapper} instead of the Spring-managed one.
+ */
+public class InventoryRuntimeHints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        hints.reflection()
+                .registerType(CustomSerializer.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS)
+                .registerType(CustomDeserializer.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(), SaleMessageDTO.class,
+                StockSnapshotDTO.class);
+    }
+}
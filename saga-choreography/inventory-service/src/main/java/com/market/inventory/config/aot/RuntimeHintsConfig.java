@@ -0,0 +1,9 @@
+package com.market.inventory.config.aot;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+@ImportRuntimeHints(InventoryRuntimeHints.class)
+@Configuration
+public class RuntimeHintsConfig {
+}
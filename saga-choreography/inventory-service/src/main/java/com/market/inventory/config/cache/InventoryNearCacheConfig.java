@@ -0,0 +1,24 @@
+package com.market.inventory.config.cache;
+
+import com.market.inventory.adapters.out.cache.InventoryNearCache;
+import com.market.inventory.adapters.out.snapshot.StockSnapshotPublisher;
+import java.time.Duration;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class InventoryNearCacheConfig {
+
+    @Value("${application-config.inventory.read-cache.maximum-size}")
+    private Long maximumSize;
+
+    @Value("${application-config.inventory.read-cache.ttl-ms}")
+    private Long ttlMillis;
+
+    @Bean
+    public InventoryNearCache inventoryNearCache(ObjectProvider<StockSnapshotPublisher> stockSnapshotPublisher) {
+        return new InventoryNearCache(this.maximumSize, Duration.ofMillis(this.ttlMillis), stockSnapshotPublisher);
+    }
+}
@@ -0,0 +1,29 @@
+package com.market.inventory.config.fault;
+
+import com.market.inventory.adapters.in.actuator.FaultsEndpoint;
+import com.market.inventory.adapters.out.fault.FaultInjectingPortPostProcessor;
+import com.market.inventory.adapters.out.fault.FaultInjector;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(name = "application-config.faults.enabled", havingValue = "true")
+public class FaultInjectionConfig {
+
+    // Static, so the post-processor is registered before the adapters it wraps are created
+    @Bean
+    public static FaultInjector faultInjector() {
+        return new FaultInjector();
+    }
+
+    @Bean
+    public static FaultInjectingPortPostProcessor faultInjectingPortPostProcessor(FaultInjector faultInjector) {
+        return new FaultInjectingPortPostProcessor(faultInjector);
+    }
+
+    @Bean
+    public FaultsEndpoint faultsEndpoint(FaultInjector faultInjector) {
+        return new FaultsEndpoint(faultInjector);
+    }
+}
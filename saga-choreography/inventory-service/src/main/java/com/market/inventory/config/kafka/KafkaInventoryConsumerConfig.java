@@ -1,7 +1,9 @@
 package com.market.inventory.config.kafka;
 
 import com.market.inventory.adapters.out.message.SaleMessageDTO;
+import org.apache.kafka.clients.consumer.CooperativeStickyAssignor;
 import org.apache.kafka.common.serialization.StringDeserializer;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -9,13 +11,18 @@ import org.springframework.kafka.annotation.EnableKafka;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.listener.ConsumerAwareRebalanceListener;
+import org.springframework.util.StringUtils;
 
 import java.util.HashMap;
 import java.util.Map;
 
 import static org.apache.kafka.clients.consumer.ConsumerConfig.AUTO_OFFSET_RESET_CONFIG;
 import static org.apache.kafka.clients.consumer.ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG;
+import static org.apache.kafka.clients.consumer.ConsumerConfig.GROUP_INSTANCE_ID_CONFIG;
 import static org.apache.kafka.clients.consumer.ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG;
+import static org.apache.kafka.clients.consumer.ConsumerConfig.PARTITION_ASSIGNMENT_STRATEGY_CONFIG;
+import static org.apache.kafka.clients.consumer.ConsumerConfig.SESSION_TIMEOUT_MS_CONFIG;
 import static org.apache.kafka.clients.consumer.ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG;
 
 @EnableKafka
@@ -28,6 +35,15 @@ public class KafkaInventoryConsumerConfig {
     @Value("${application-config.kafka.auto-offset-reset}")
     private String autoOffsetReset;
 
+    @Value("${application-config.kafka.consumer.instance-id}")
+    private String instanceId;
+
+    @Value("${application-config.kafka.consumer.session-timeout-ms}")
+    private Integer sessionTimeoutMs;
+
+    @Value("${application-config.kafka.consumer.drain-timeout-ms}")
+    private Long drainTimeoutMs;
+
     @Bean
     public ConsumerFactory<String, SaleMessageDTO> consumerFactory() {
         Map<String, Object> props = new HashMap<>();
@@ -36,14 +52,26 @@ public class KafkaInventoryConsumerConfig {
         props.put(KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
         props.put(VALUE_DESERIALIZER_CLASS_CONFIG, CustomDeserializer.class);
         props.put(AUTO_OFFSET_RESET_CONFIG, this.autoOffsetReset);
+        // Rebalances only move the partitions that change owner; the others keep being consumed
+        props.put(PARTITION_ASSIGNMENT_STRATEGY_CONFIG, CooperativeStickyAssignor.class.getName());
+        props.put(SESSION_TIMEOUT_MS_CONFIG, this.sessionTimeoutMs);
+        if (StringUtils.hasText(this.instanceId)) {
+            props.put(GROUP_INSTANCE_ID_CONFIG, this.instanceId);
+        }
 
         return new DefaultKafkaConsumerFactory<>(props);
     }
 
     @Bean
-    public ConcurrentKafkaListenerContainerFactory<String, SaleMessageDTO> kafkaListenerContainerFactory() {
+    public ConcurrentKafkaListenerContainerFactory<String, SaleMessageDTO> kafkaListenerContainerFactory(
+            ObjectProvider<ConsumerAwareRebalanceListener> rebalanceListener
+    ) {
         ConcurrentKafkaListenerContainerFactory<String, SaleMessageDTO> factory = new ConcurrentKafkaListenerContainerFactory<>();
         factory.setConsumerFactory(consumerFactory());
+        // On shutdown the records of the last poll are still processed and their offsets committed
+        factory.getContainerProperties().setStopImmediate(false);
+        factory.getContainerProperties().setShutdownTimeout(this.drainTimeoutMs);
+        rebalanceListener.ifAvailable(listener -> factory.getContainerProperties().setConsumerRebalanceListener(listener));
 
         return factory;
     }
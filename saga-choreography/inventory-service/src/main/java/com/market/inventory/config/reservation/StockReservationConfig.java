@@ -0,0 +1,37 @@
+package com.market.inventory.config.reservation;
+
+import com.market.inventory.adapters.out.repository.StockReservationRepository;
+import com.market.inventory.adapters.out.reservation.TimedStockReservationAdapter;
+import com.market.inventory.adapters.out.reservation.UntrackedStockReservationAdapter;
+import com.market.inventory.application.ports.in.ExpireStockReservationInputPort;
+import java.time.Duration;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Configuration
+public class StockReservationConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "application-config.inventory.reservations.enabled", havingValue = "true")
+    public TimedStockReservationAdapter timedStockReservationAdapter(
+            StockReservationRepository stockReservationRepository,
+            ObjectProvider<ExpireStockReservationInputPort> expireStockReservationInputPort,
+            TransactionTemplate transactionTemplate,
+            @Value("${application-config.inventory.reservations.ttl-ms}") Long ttlMillis,
+            @Value("${application-config.inventory.reservations.tick-ms}") Long tickMillis,
+            @Value("${application-config.inventory.reservations.wheel-size}") Integer wheelSize
+    ) {
+        return new TimedStockReservationAdapter(stockReservationRepository, expireStockReservationInputPort,
+                transactionTemplate, Duration.ofMillis(ttlMillis), tickMillis, wheelSize);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "application-config.inventory.reservations.enabled", havingValue = "false", matchIfMissing = true)
+    public UntrackedStockReservationAdapter untrackedStockReservationAdapter() {
+        return new UntrackedStockReservationAdapter();
+    }
+}
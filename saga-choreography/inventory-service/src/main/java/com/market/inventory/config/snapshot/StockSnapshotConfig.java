@@ -0,0 +1,65 @@
+package com.market.inventory.config.snapshot;
+
+import com.market.inventory.adapters.out.message.StockSnapshotDTO;
+import com.market.inventory.adapters.out.repository.InventoryRepository;
+import com.market.inventory.adapters.out.snapshot.StockSnapshotPublisher;
+import com.market.inventory.application.ports.out.FindInventoriesByProductIdsOutputPort;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.util.Map;
+
+import static org.apache.kafka.clients.producer.ProducerConfig.BOOTSTRAP_SERVERS_CONFIG;
+
+@Configuration
+@ConditionalOnProperty(name = "application-config.inventory.snapshots.enabled", havingValue = "true")
+public class StockSnapshotConfig {
+
+    @Value("${application-config.kafka.server-url}")
+    private String serverUrl;
+
+    @Value("${application-config.inventory.snapshots.topic}")
+    private String topic;
+
+    @Value("${application-config.inventory.snapshots.partitions}")
+    private Integer partitions;
+
+    @Value("${application-config.inventory.snapshots.batch-size}")
+    private Integer batchSize;
+
+    // Compacted: the topic keeps the latest stock of every product, however old
+    @Bean
+    public NewTopic stockSnapshotTopic() {
+        return TopicBuilder.name(this.topic).partitions(this.partitions).compact().build();
+    }
+
+    @Bean
+    public ProducerFactory<String, StockSnapshotDTO> stockSnapshotProducerFactory() {
+        return new DefaultKafkaProducerFactory<>(Map.of(BOOTSTRAP_SERVERS_CONFIG, this.serverUrl),
+                new StringSerializer(), new JsonSerializer<StockSnapshotDTO>().noTypeInfo());
+    }
+
+    @Bean
+    public KafkaTemplate<String, StockSnapshotDTO> stockSnapshotKafkaTemplate() {
+        return new KafkaTemplate<>(this.stockSnapshotProducerFactory());
+    }
+
+    @Bean
+    public StockSnapshotPublisher stockSnapshotPublisher(
+            FindInventoriesByProductIdsOutputPort findInventoriesByProductIdsOutputPort,
+            InventoryRepository inventoryRepository,
+            KafkaTemplate<String, StockSnapshotDTO> stockSnapshotKafkaTemplate
+    ) {
+        return new StockSnapshotPublisher(findInventoriesByProductIdsOutputPort, inventoryRepository,
+                stockSnapshotKafkaTemplate, this.topic, this.batchSize);
+    }
+}
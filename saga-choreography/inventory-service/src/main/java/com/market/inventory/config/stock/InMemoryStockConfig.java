@@ -0,0 +1,70 @@
+package com.market.inventory.config.stock;
+
+import com.market.inventory.adapters.out.cache.InventoryNearCache;
+import com.market.inventory.adapters.out.repository.InventoryRepository;
+import com.market.inventory.adapters.out.repository.StockJournalCheckpointRepository;
+import com.market.inventory.adapters.out.stock.InMemoryStockAdapter;
+import com.market.inventory.adapters.out.stock.StockCountersLoader;
+import com.market.inventory.adapters.out.stock.StockJournal;
+import com.market.inventory.adapters.out.stock.StockWriteBehindFlusher;
+import com.market.inventory.adapters.out.stock.StripedStockCounters;
+import java.nio.file.Path;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Configuration
+@ConditionalOnProperty(name = "application-config.inventory.stock-store", havingValue = "memory")
+public class InMemoryStockConfig {
+
+    @Value("${application-config.inventory.memory.stripes}")
+    private Integer stripes;
+
+    @Value("${application-config.inventory.memory.journal-dir}")
+    private String journalDir;
+
+    @Bean
+    public StockJournal stockJournal(StockJournalCheckpointRepository stockJournalCheckpointRepository) {
+        return new StockJournal(Path.of(this.journalDir),
+                stockJournalCheckpointRepository.findLastSegment(StockJournal.CHECKPOINT));
+    }
+
+    @Bean
+    public StripedStockCounters stripedStockCounters(StockJournal stockJournal) {
+        return new StripedStockCounters(this.stripes, stockJournal);
+    }
+
+    @Bean
+    public InMemoryStockAdapter inMemoryStockAdapter(
+            StripedStockCounters stripedStockCounters,
+            InventoryNearCache inventoryNearCache
+    ) {
+        return new InMemoryStockAdapter(stripedStockCounters, inventoryNearCache);
+    }
+
+    @Bean
+    public StockWriteBehindFlusher stockWriteBehindFlusher(
+            StripedStockCounters stripedStockCounters,
+            StockJournal stockJournal,
+            InventoryRepository inventoryRepository,
+            StockJournalCheckpointRepository stockJournalCheckpointRepository,
+            TransactionTemplate transactionTemplate
+    ) {
+        return new StockWriteBehindFlusher(stripedStockCounters, stockJournal, inventoryRepository,
+                stockJournalCheckpointRepository, transactionTemplate);
+    }
+
+    @Bean
+    public StockCountersLoader stockCountersLoader(
+            StripedStockCounters stripedStockCounters,
+            StockJournal stockJournal,
+            InventoryRepository inventoryRepository,
+            StockJournalCheckpointRepository stockJournalCheckpointRepository,
+            TransactionTemplate transactionTemplate
+    ) {
+        return new StockCountersLoader(stripedStockCounters, stockJournal, inventoryRepository,
+                stockJournalCheckpointRepository, transactionTemplate);
+    }
+}
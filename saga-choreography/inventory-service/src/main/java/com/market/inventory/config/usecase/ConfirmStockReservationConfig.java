@@ -0,0 +1,17 @@
+package com.market.inventory.config.usecase;
+
+import com.market.inventory.application.core.usecase.ConfirmStockReservationUseCase;
+import com.market.inventory.application.ports.out.StockReservationOutputPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ConfirmStockReservationConfig {
+
+    @Bean
+    public ConfirmStockReservationUseCase confirmStockReservationUseCase(
+            StockReservationOutputPort stockReservationOutputPort
+    ) {
+        return new ConfirmStockReservationUseCase(stockReservationOutputPort);
+    }
+}
@@ -1,9 +1,9 @@
 package com.market.inventory.config.usecase;
 
 import com.market.inventory.adapters.out.SendToKafkaAdapter;
-import com.market.inventory.adapters.out.UpdateInventoryAdapter;
 import com.market.inventory.application.core.usecase.CreditInventoryUseCase;
-import com.market.inventory.application.core.usecase.FindInventoryByProductIdUseCase;
+import com.market.inventory.application.ports.out.CreditInventoryOutputPort;
+import com.market.inventory.application.ports.out.StockReservationOutputPort;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -12,10 +12,10 @@ public class CreditInventoryConfig {
 
     @Bean
     public CreditInventoryUseCase creditInventoryUseCase(
-            FindInventoryByProductIdUseCase findInventoryByProductIdUseCase,
-            UpdateInventoryAdapter updateInventoryAdapter,
+            CreditInventoryOutputPort creditInventoryOutputPort,
+            StockReservationOutputPort stockReservationOutputPort,
             SendToKafkaAdapter sendToKafkaAdapter
     ) {
-        return new CreditInventoryUseCase(findInventoryByProductIdUseCase, updateInventoryAdapter, sendToKafkaAdapter);
+        return new CreditInventoryUseCase(creditInventoryOutputPort, stockReservationOutputPort, sendToKafkaAdapter);
     }
 }
@@ -1,9 +1,10 @@
 package com.market.inventory.config.usecase;
 
 import com.market.inventory.adapters.out.SendToKafkaAdapter;
-import com.market.inventory.adapters.out.UpdateInventoryAdapter;
 import com.market.inventory.application.core.usecase.DebitInventoryUseCase;
-import com.market.inventory.application.core.usecase.FindInventoryByProductIdUseCase;
+import com.market.inventory.application.ports.out.CreditInventoryOutputPort;
+import com.market.inventory.application.ports.out.DebitInventoryOutputPort;
+import com.market.inventory.application.ports.out.StockReservationOutputPort;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -12,11 +13,13 @@ public class DebitInventoryConfig {
 
     @Bean
     public DebitInventoryUseCase debitInventoryUseCase(
-            FindInventoryByProductIdUseCase findInventoryByProductIdUseCase,
-            UpdateInventoryAdapter updateInventoryAdapter,
+            DebitInventoryOutputPort debitInventoryOutputPort,
+            CreditInventoryOutputPort creditInventoryOutputPort,
+            StockReservationOutputPort stockReservationOutputPort,
             SendToKafkaAdapter sendToKafkaAdapter
     ) {
-        return new DebitInventoryUseCase(findInventoryByProductIdUseCase, updateInventoryAdapter, sendToKafkaAdapter);
+        return new DebitInventoryUseCase(debitInventoryOutputPort, creditInventoryOutputPort,
+                stockReservationOutputPort, sendToKafkaAdapter);
 
     }
 }
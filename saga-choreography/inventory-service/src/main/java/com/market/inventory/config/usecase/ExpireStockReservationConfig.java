@@ -0,0 +1,21 @@
+package com.market.inventory.config.usecase;
+
+import com.market.inventory.adapters.out.SendToKafkaAdapter;
+import com.market.inventory.application.core.usecase.ExpireStockReservationUseCase;
+import com.market.inventory.application.ports.out.CreditInventoryOutputPort;
+import com.market.inventory.application.ports.out.StockReservationOutputPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ExpireStockReservationConfig {
+
+    @Bean
+    public ExpireStockReservationUseCase expireStockReservationUseCase(
+            StockReservationOutputPort stockReservationOutputPort,
+            CreditInventoryOutputPort creditInventoryOutputPort,
+            SendToKafkaAdapter sendToKafkaAdapter
+    ) {
+        return new ExpireStockReservationUseCase(stockReservationOutputPort, creditInventoryOutputPort, sendToKafkaAdapter);
+    }
+}
@@ -0,0 +1,17 @@
+package com.market.inventory.config.usecase;
+
+import com.market.inventory.application.core.usecase.FindInventoriesByProductIdsUseCase;
+import com.market.inventory.application.ports.out.FindInventoriesByProductIdsOutputPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class FindInventoriesByProductIdsConfig {
+
+    @Bean
+    public FindInventoriesByProductIdsUseCase findInventoriesByProductIdsUseCase(
+            FindInventoriesByProductIdsOutputPort findInventoriesByProductIdsOutputPort
+    ) {
+        return new FindInventoriesByProductIdsUseCase(findInventoriesByProductIdsOutputPort);
+    }
+}
@@ -0,0 +1,5 @@
+-- InventoryRepository.findByProductId runs on every saga step, so product_id gets
+-- a unique index (one stock row per product) and the Long type the entity maps to.
+
+ALTER TABLE `inventories` MODIFY `product_id` bigint NOT NULL;
+CREATE UNIQUE INDEX `uk_inventories_product_id` ON `inventories` (`product_id`);
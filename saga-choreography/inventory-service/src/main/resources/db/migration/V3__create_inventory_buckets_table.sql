@@ -0,0 +1,13 @@
+-- inventory_db.inventory_buckets definition
+-- Stock of hot products is spread over N bucket rows so concurrent debits lock
+-- different rows. Total availability = inventories.quantity + SUM(bucket quantity).
+
+CREATE TABLE IF NOT EXISTS `inventory_buckets` (
+  `id` bigint NOT NULL AUTO_INCREMENT,
+  `product_id` bigint NOT NULL,
+  `bucket_no` int NOT NULL,
+  `quantity` int NOT NULL,
+  `updated_at` timestamp NULL,
+  PRIMARY KEY (`id`),
+  UNIQUE KEY `uk_inventory_buckets_product_bucket` (`product_id`, `bucket_no`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
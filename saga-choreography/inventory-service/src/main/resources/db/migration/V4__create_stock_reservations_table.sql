@@ -0,0 +1,12 @@
+-- inventory_db.stock_reservations definition
+-- One row per reserved line. Rows are deleted when the sale is confirmed, credited
+-- back or expires; expiry itself is driven by an in-memory timing wheel, the
+-- table only lets the wheel be rebuilt after a restart.
+
+CREATE TABLE IF NOT EXISTS `stock_reservations` (
+  `sale_id` bigint NOT NULL,
+  `product_id` bigint NOT NULL,
+  `quantity` int NOT NULL,
+  `expires_at` timestamp NOT NULL,
+  PRIMARY KEY (`sale_id`, `product_id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
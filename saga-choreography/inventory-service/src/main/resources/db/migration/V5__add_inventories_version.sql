@@ -0,0 +1,3 @@
+-- Whole-row stock updates are version-checked (optimistic locking), see UpdateInventoryAdapter.
+
+ALTER TABLE `inventories` ADD COLUMN `version` bigint NOT NULL DEFAULT 0;
@@ -0,0 +1,11 @@
+-- inventory_db.processed_events definition
+-- One row per (sale, consumed event) already applied; written in the same
+-- transaction as the stock change so a redelivered event is recognised.
+
+CREATE TABLE IF NOT EXISTS `processed_events` (
+  `sale_id` bigint NOT NULL,
+  `event` varchar(32) NOT NULL,
+  `processed_at` timestamp NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  PRIMARY KEY (`sale_id`, `event`),
+  KEY `idx_processed_events_processed_at` (`processed_at`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
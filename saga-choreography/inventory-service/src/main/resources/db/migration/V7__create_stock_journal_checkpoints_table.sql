@@ -0,0 +1,10 @@
+-- inventory_db.stock_journal_checkpoints definition
+-- Highest local stock journal segment whose deltas are already in `inventories`;
+-- advanced in the same transaction as the deltas so a replay never applies twice.
+
+CREATE TABLE IF NOT EXISTS `stock_journal_checkpoints` (
+  `journal` varchar(32) NOT NULL,
+  `last_segment` bigint NOT NULL,
+  `updated_at` timestamp NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  PRIMARY KEY (`journal`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
@@ -0,0 +1,101 @@
+package com.market.inventory.adapters.in.controller;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.market.inventory.adapters.in.controller.mapper.InventoryResponseMapperImpl;
+import com.market.inventory.application.core.domain.InventoryVO;
+import com.market.inventory.application.ports.in.FindInventoriesByProductIdsInputPort;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+class InventoryControllerTest {
+
+    private final FindInventoriesByProductIdsInputPort findInventoriesByProductIdsInputPort =
+            mock(FindInventoriesByProductIdsInputPort.class);
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        this.mockMvc = MockMvcBuilders.standaloneSetup(new InventoryController(
+                this.findInventoriesByProductIdsInputPort, new InventoryResponseMapperImpl())).build();
+    }
+
+    @Test
+    void unchangedQuantityIsRevalidatedWithNotModified() throws Exception {
+        this.stock(1L, 10);
+        var eTag = this.mockMvc.perform(get("/api/v1/inventories/1"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("{\"productId\": 1, \"quantity\": 10}"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        this.mockMvc.perform(get("/api/v1/inventories/1").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void changedQuantityIsSentAgainWithANewETag() throws Exception {
+        this.stock(1L, 10);
+        var eTag = this.mockMvc.perform(get("/api/v1/inventories/1"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        this.stock(1L, 9);
+
+        var newETag = this.mockMvc.perform(get("/api/v1/inventories/1").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(content().json("{\"productId\": 1, \"quantity\": 9}"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertNotEquals(eTag, newETag);
+    }
+
+    @Test
+    void unknownProductIsNotFound() throws Exception {
+        when(this.findInventoriesByProductIdsInputPort.find(List.of(1L))).thenReturn(List.of());
+
+        this.mockMvc.perform(get("/api/v1/inventories/1"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void batchAnswersTheKnownProductsWithAnETag() throws Exception {
+        when(this.findInventoriesByProductIdsInputPort.find(List.of(2L, 1L, 3L)))
+                .thenReturn(List.of(new InventoryVO(2L, 2, 20, null), new InventoryVO(1L, 1, 10, null)));
+
+        this.mockMvc.perform(post("/api/v1/inventories/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"productIds\": [2, 1, 3]}"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(content().json(
+                        "[{\"productId\": 2, \"quantity\": 20}, {\"productId\": 1, \"quantity\": 10}]", true));
+    }
+
+    @Test
+    void batchOfMoreThan500ProductsIsRejected() throws Exception {
+        var productIds = new StringBuilder("1");
+        for (int i = 2; i <= 501; i++) {
+            productIds.append(", ").append(i);
+        }
+
+        this.mockMvc.perform(post("/api/v1/inventories/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"productIds\": [" + productIds + "]}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private void stock(Long productId, int quantity) {
+        when(this.findInventoriesByProductIdsInputPort.find(List.of(productId)))
+                .thenReturn(List.of(new InventoryVO(productId, productId.intValue(), quantity, null)));
+    }
+}
@@ -0,0 +1,112 @@
+package com.market.inventory.adapters.out;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.market.inventory.adapters.out.cache.InventoryNearCache;
+import com.market.inventory.adapters.out.locking.RetryWithJitter;
+import com.market.inventory.adapters.out.repository.InventoryRepository;
+import com.market.inventory.adapters.out.repository.entity.InventoryEntity;
+import com.market.inventory.adapters.out.repository.mapper.InventoryEntityMapperImpl;
+import com.market.inventory.adapters.out.snapshot.StockSnapshotPublisher;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@DataJpaTest(properties = {
+        "spring.test.database.replace=none",
+        "spring.datasource.url=jdbc:h2:mem:update;MODE=MySQL;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop"})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UpdateInventoryAdapterTest {
+
+    private static final Long PRODUCT_ID = 1L;
+    private static final int THREADS = 8;
+    private static final int UPDATES = 200;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        this.inventoryRepository.deleteAll();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"optimistic", "pessimistic"})
+    void concurrentUpdatesOfOneProductAreNeverLost(String strategy) throws Exception {
+        this.inventoryRepository.save(new InventoryEntity(null, PRODUCT_ID, 0, null, null, null));
+        var updateInventoryAdapter = this.updateInventoryAdapter(strategy);
+
+        List<Callable<Void>> updates = new ArrayList<>();
+        for (int i = 0; i < UPDATES; i++) {
+            updates.add(() -> {
+                updateInventoryAdapter.update(PRODUCT_ID, inventoryVO -> inventoryVO.creditQuantity(1));
+                return null;
+            });
+        }
+        var executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (Future<Void> result : executor.invokeAll(updates)) {
+                result.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        var inventory = this.inventoryRepository.findByProductId(PRODUCT_ID).orElseThrow();
+        assertEquals(UPDATES, inventory.getQuantity());
+        assertEquals(UPDATES, inventory.getVersion());
+    }
+
+    @Test
+    void changeThatThrowsLeavesTheRowUntouched() {
+        this.inventoryRepository.save(new InventoryEntity(null, PRODUCT_ID, 5, null, null, null));
+        var updateInventoryAdapter = this.updateInventoryAdapter("optimistic");
+
+        assertThrows(IllegalStateException.class, () -> updateInventoryAdapter.update(PRODUCT_ID, inventoryVO -> {
+            inventoryVO.debitQuantity(3);
+            throw new IllegalStateException("Insufficient stock!");
+        }));
+
+        var inventory = this.inventoryRepository.findByProductId(PRODUCT_ID).orElseThrow();
+        assertEquals(5, inventory.getQuantity());
+        assertEquals(0, inventory.getVersion());
+    }
+
+    private UpdateInventoryAdapter updateInventoryAdapter(String strategy) {
+        var retryWithJitter = new RetryWithJitter();
+        ReflectionTestUtils.setField(retryWithJitter, "maxAttempts", 1_000);
+        ReflectionTestUtils.setField(retryWithJitter, "baseBackoffMillis", 1L);
+        ReflectionTestUtils.setField(retryWithJitter, "maxBackoffMillis", 5L);
+        var updateInventoryAdapter = new UpdateInventoryAdapter(this.inventoryRepository,
+                new InventoryEntityMapperImpl(),
+                new InventoryNearCache(100, Duration.ofMinutes(1),
+                        new StaticListableBeanFactory().getBeanProvider(StockSnapshotPublisher.class)),
+                new TransactionTemplate(this.transactionManager), retryWithJitter);
+        ReflectionTestUtils.setField(updateInventoryAdapter, "strategy", strategy);
+        return updateInventoryAdapter;
+    }
+}
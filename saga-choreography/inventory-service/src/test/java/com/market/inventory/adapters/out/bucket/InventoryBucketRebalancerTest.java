@@ -0,0 +1,163 @@
+package com.market.inventory.adapters.out.bucket;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.market.inventory.adapters.out.CreditInventoryAdapter;
+import com.market.inventory.adapters.out.DebitInventoryAdapter;
+import com.market.inventory.adapters.out.cache.InventoryNearCache;
+import com.market.inventory.adapters.out.repository.InventoryBatchRepository;
+import com.market.inventory.adapters.out.repository.InventoryBucketRepository;
+import com.market.inventory.adapters.out.repository.InventoryRepository;
+import com.market.inventory.adapters.out.repository.entity.InventoryBucketEntity;
+import com.market.inventory.adapters.out.repository.entity.InventoryEntity;
+import com.market.inventory.adapters.out.snapshot.StockSnapshotPublisher;
+import com.market.inventory.application.core.domain.SaleItemVO;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@DataJpaTest(properties = {
+        "spring.test.database.replace=none",
+        "spring.datasource.url=jdbc:h2:mem:buckets;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop"})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class InventoryBucketRebalancerTest {
+
+    private static final Long HOT_PRODUCT_ID = 1L;
+    private static final Long UNKNOWN_PRODUCT_ID = 99L;
+    private static final int BUCKETS = 3;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private InventoryBucketRepository inventoryBucketRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private InventoryBucketRebalancer inventoryBucketRebalancer;
+    private DebitInventoryAdapter debitInventoryAdapter;
+    private CreditInventoryAdapter creditInventoryAdapter;
+
+    @BeforeEach
+    void setUp() {
+        var jdbcTemplate = new JdbcTemplate(this.dataSource);
+        jdbcTemplate.execute("ALTER TABLE inventory_buckets ADD CONSTRAINT IF NOT EXISTS "
+                + "uk_inventory_buckets_product_bucket UNIQUE (product_id, bucket_no)");
+        var inventoryBucketRouter = new InventoryBucketRouter();
+        ReflectionTestUtils.setField(inventoryBucketRouter, "count", BUCKETS);
+        ReflectionTestUtils.setField(inventoryBucketRouter, "hotProductIds", Set.of(HOT_PRODUCT_ID));
+        ReflectionTestUtils.setField(inventoryBucketRouter, "stockStore", "database");
+        var transactionTemplate = new TransactionTemplate(this.transactionManager);
+        var inventoryBatchRepository = new InventoryBatchRepository(jdbcTemplate);
+        var inventoryNearCache = new InventoryNearCache(100, Duration.ofMinutes(1),
+                new StaticListableBeanFactory().getBeanProvider(StockSnapshotPublisher.class));
+        this.inventoryBucketRebalancer = new InventoryBucketRebalancer(inventoryBucketRouter, this.inventoryRepository,
+                this.inventoryBucketRepository, transactionTemplate);
+        this.debitInventoryAdapter = new DebitInventoryAdapter(this.inventoryRepository, inventoryBatchRepository,
+                this.inventoryBucketRepository, inventoryBucketRouter, this.inventoryBucketRebalancer,
+                transactionTemplate, inventoryNearCache);
+        this.creditInventoryAdapter = new CreditInventoryAdapter(inventoryBatchRepository,
+                this.inventoryBucketRepository, inventoryBucketRouter, transactionTemplate, inventoryNearCache);
+        this.inventoryRepository.save(new InventoryEntity(null, HOT_PRODUCT_ID, 10, null, null, null));
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.inventoryBucketRepository.deleteAll();
+        this.inventoryRepository.deleteAll();
+    }
+
+    @Test
+    void rebalanceMovesTheProductStockEvenlyIntoTheBuckets() {
+        this.inventoryBucketRebalancer.rebalanceAll();
+
+        assertEquals(List.of(4, 3, 3), this.bucketQuantities());
+        assertEquals(0, this.productRowQuantity());
+    }
+
+    @Test
+    void rebalanceEvensOutBucketsAfterDebitsAndCredits() {
+        this.inventoryBucketRebalancer.rebalanceAll();
+        assertTrue(this.debitInventoryAdapter.debit(1L, this.line(HOT_PRODUCT_ID, 3)));
+        assertTrue(this.creditInventoryAdapter.credit(2L, this.line(HOT_PRODUCT_ID, 5)));
+
+        this.inventoryBucketRebalancer.rebalanceAll();
+
+        assertEquals(List.of(4, 4, 4), this.bucketQuantities());
+        assertEquals(0, this.productRowQuantity());
+    }
+
+    @Test
+    void debitNoSingleBucketCoversIsTakenAcrossTheBuckets() {
+        this.inventoryBucketRebalancer.rebalanceAll();
+
+        assertTrue(this.debitInventoryAdapter.debit(1L, this.line(HOT_PRODUCT_ID, 8)));
+
+        assertEquals(2, this.totalQuantity());
+    }
+
+    @Test
+    void debitOverTheTotalStockLeavesEveryBucketUntouched() {
+        this.inventoryBucketRebalancer.rebalanceAll();
+
+        assertFalse(this.debitInventoryAdapter.debit(1L, this.line(HOT_PRODUCT_ID, 11)));
+
+        assertEquals(List.of(4, 3, 3), this.bucketQuantities());
+    }
+
+    @Test
+    void creditOfAnUnknownBucketedProductIsRejected() {
+        var inventoryBucketRouter = (InventoryBucketRouter) ReflectionTestUtils.getField(
+                this.creditInventoryAdapter, "inventoryBucketRouter");
+        ReflectionTestUtils.setField(inventoryBucketRouter, "hotProductIds",
+                Set.of(HOT_PRODUCT_ID, UNKNOWN_PRODUCT_ID));
+
+        assertFalse(this.creditInventoryAdapter.credit(1L, this.line(UNKNOWN_PRODUCT_ID, 5)));
+
+        assertEquals(0, this.inventoryBucketRepository.sumQuantityByProductId(UNKNOWN_PRODUCT_ID));
+    }
+
+    private List<SaleItemVO> line(Long productId, int quantity) {
+        return List.of(new SaleItemVO(productId, quantity));
+    }
+
+    private List<Integer> bucketQuantities() {
+        return this.inventoryBucketRepository.findAll().stream()
+                .sorted(Comparator.comparing(InventoryBucketEntity::getBucketNo))
+                .map(InventoryBucketEntity::getQuantity)
+                .toList();
+    }
+
+    private int productRowQuantity() {
+        return this.inventoryRepository.findByProductId(HOT_PRODUCT_ID).orElseThrow().getQuantity();
+    }
+
+    private long totalQuantity() {
+        return this.productRowQuantity() + this.inventoryBucketRepository.sumQuantityByProductId(HOT_PRODUCT_ID);
+    }
+}
@@ -0,0 +1,107 @@
+package com.market.inventory.adapters.out.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import com.market.inventory.adapters.out.snapshot.StockSnapshotPublisher;
+import com.market.inventory.application.core.domain.InventoryVO;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class InventoryNearCacheTest {
+
+    private final Map<Long, Integer> stored = new HashMap<>();
+    private final AtomicInteger loads = new AtomicInteger();
+    private final StockSnapshotPublisher stockSnapshotPublisher = mock(StockSnapshotPublisher.class);
+    private InventoryNearCache inventoryNearCache;
+
+    @BeforeEach
+    void setUp() {
+        var beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("stockSnapshotPublisher", this.stockSnapshotPublisher);
+        this.inventoryNearCache = new InventoryNearCache(100, Duration.ofMinutes(1),
+                beanFactory.getBeanProvider(StockSnapshotPublisher.class));
+        this.stored.put(1L, 10);
+        this.stored.put(2L, 20);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void repeatedReadsAreServedWithoutLoadingAgain() {
+        this.read(1L, 2L);
+        this.read(2L, 1L);
+
+        assertEquals(1, this.loads.get());
+    }
+
+    @Test
+    void onlyMissingProductsAreLoaded() {
+        this.read(1L);
+
+        assertEquals(Map.of(1L, 10, 2L, 20), this.read(1L, 2L));
+        assertEquals(2, this.loads.get());
+    }
+
+    @Test
+    void writeOutsideATransactionIsVisibleOnTheNextRead() {
+        this.read(1L);
+        this.stored.put(1L, 7);
+
+        this.inventoryNearCache.invalidate(1L);
+
+        assertEquals(Map.of(1L, 7), this.read(1L));
+        verify(this.stockSnapshotPublisher).markChanged(Set.of(1L));
+    }
+
+    @Test
+    void readDuringTheWritingTransactionIsEvictedAgainOnCommit() {
+        this.read(1L);
+        TransactionSynchronizationManager.initSynchronization();
+        this.inventoryNearCache.invalidate(1L);
+
+        // A concurrent read reloads the quantity the write has not committed yet
+        assertEquals(Map.of(1L, 10), this.read(1L));
+        verify(this.stockSnapshotPublisher, never()).markChanged(Set.of(1L));
+        this.stored.put(1L, 7);
+        this.commit();
+
+        assertEquals(Map.of(1L, 7), this.read(1L));
+        verify(this.stockSnapshotPublisher).markChanged(Set.of(1L));
+    }
+
+    private Map<Long, Integer> read(Long... productIds) {
+        var quantities = new HashMap<Long, Integer>();
+        this.inventoryNearCache.getAll(List.of(productIds), missing -> {
+            this.loads.incrementAndGet();
+            var inventories = new HashMap<Long, InventoryVO>();
+            missing.forEach(productId -> inventories.put(productId,
+                    new InventoryVO(productId, productId.intValue(), this.stored.get(productId), null)));
+            return inventories;
+        }).forEach((productId, inventory) -> quantities.put(productId, inventory.getQuantity()));
+        return quantities;
+    }
+
+    private void commit() {
+        var synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+    }
+}
@@ -0,0 +1,128 @@
+package com.market.inventory.adapters.out.jdbc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import com.market.inventory.adapters.out.cache.InventoryNearCache;
+import com.market.inventory.adapters.out.locking.RetryWithJitter;
+import com.market.inventory.adapters.out.snapshot.StockSnapshotPublisher;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class JdbcUpdateInventoryAdapterTest {
+
+    private static final Long PRODUCT_ID = 1L;
+    private static final int THREADS = 8;
+    private static final int UPDATES = 200;
+
+    private final StockSnapshotPublisher stockSnapshotPublisher = mock(StockSnapshotPublisher.class);
+    private JdbcTemplate jdbcTemplate;
+    private DriverManagerDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        this.dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + System.nanoTime() + ";MODE=MySQL;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000", "sa", "");
+        this.jdbcTemplate = new JdbcTemplate(this.dataSource);
+        this.jdbcTemplate.execute("CREATE TABLE inventories (id bigint NOT NULL AUTO_INCREMENT, "
+                + "product_id bigint NOT NULL, quantity int, created_at timestamp NOT NULL, updated_at timestamp NULL, "
+                + "version bigint NOT NULL DEFAULT 0, PRIMARY KEY (id))");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"optimistic", "pessimistic"})
+    void concurrentUpdatesOfOneProductAreNeverLost(String strategy) throws Exception {
+        this.stock(0);
+        var jdbcUpdateInventoryAdapter = this.jdbcUpdateInventoryAdapter(strategy);
+
+        List<Callable<Void>> updates = new ArrayList<>();
+        for (int i = 0; i < UPDATES; i++) {
+            updates.add(() -> {
+                jdbcUpdateInventoryAdapter.update(PRODUCT_ID, inventoryVO -> inventoryVO.creditQuantity(1));
+                return null;
+            });
+        }
+        var executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (Future<Void> result : executor.invokeAll(updates)) {
+                result.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(UPDATES, this.column("quantity"));
+        assertEquals(UPDATES, this.column("version"));
+        verify(this.stockSnapshotPublisher, atLeastOnce()).markChanged(Set.of(PRODUCT_ID));
+    }
+
+    @Test
+    void changeThatThrowsLeavesTheRowUntouched() {
+        this.stock(5);
+        var jdbcUpdateInventoryAdapter = this.jdbcUpdateInventoryAdapter("optimistic");
+
+        assertThrows(IllegalStateException.class, () -> jdbcUpdateInventoryAdapter.update(PRODUCT_ID, inventoryVO -> {
+            inventoryVO.debitQuantity(3);
+            throw new IllegalStateException("Insufficient stock!");
+        }));
+
+        assertEquals(5, this.column("quantity"));
+        assertEquals(0, this.column("version"));
+        verify(this.stockSnapshotPublisher, never()).markChanged(Set.of(PRODUCT_ID));
+    }
+
+    @Test
+    void unknownProductIsNotFound() {
+        var jdbcUpdateInventoryAdapter = this.jdbcUpdateInventoryAdapter("pessimistic");
+
+        var e = assertThrows(RuntimeException.class,
+                () -> jdbcUpdateInventoryAdapter.update(PRODUCT_ID, inventoryVO -> inventoryVO.creditQuantity(1)));
+        assertEquals("Not found inventory by this product.", e.getMessage());
+    }
+
+    private void stock(int quantity) {
+        this.jdbcTemplate.update("INSERT INTO inventories (product_id, quantity, created_at) "
+                + "VALUES (?, ?, CURRENT_TIMESTAMP)", PRODUCT_ID, quantity);
+    }
+
+    private int column(String name) {
+        return this.jdbcTemplate.queryForObject("SELECT " + name + " FROM inventories WHERE product_id = ?",
+                Integer.class, PRODUCT_ID);
+    }
+
+    private JdbcUpdateInventoryAdapter jdbcUpdateInventoryAdapter(String strategy) {
+        var retryWithJitter = new RetryWithJitter();
+        ReflectionTestUtils.setField(retryWithJitter, "maxAttempts", 1_000);
+        ReflectionTestUtils.setField(retryWithJitter, "baseBackoffMillis", 1L);
+        ReflectionTestUtils.setField(retryWithJitter, "maxBackoffMillis", 5L);
+        var beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("stockSnapshotPublisher", this.stockSnapshotPublisher);
+        var jdbcUpdateInventoryAdapter = new JdbcUpdateInventoryAdapter(
+                new NamedParameterJdbcTemplate(this.jdbcTemplate),
+                new InventoryNearCache(100, Duration.ofMinutes(1),
+                        beanFactory.getBeanProvider(StockSnapshotPublisher.class)),
+                new TransactionTemplate(new DataSourceTransactionManager(this.dataSource)), retryWithJitter);
+        ReflectionTestUtils.setField(jdbcUpdateInventoryAdapter, "strategy", strategy);
+        return jdbcUpdateInventoryAdapter;
+    }
+}
@@ -0,0 +1,63 @@
+package com.market.inventory.adapters.out.locking;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class RetryWithJitterTest {
+
+    private final AtomicInteger attempts = new AtomicInteger();
+
+    @Test
+    void conflictingAttemptIsRetriedUntilItWins() {
+        var retryWithJitter = retryWithJitter(5);
+
+        var result = retryWithJitter.execute(() -> {
+            if (this.attempts.incrementAndGet() < 3) {
+                throw new OptimisticLockingFailureException("version changed");
+            }
+            return "stored";
+        });
+
+        assertEquals("stored", result);
+        assertEquals(3, this.attempts.get());
+    }
+
+    @Test
+    void givesUpAfterTheMaximumNumberOfAttempts() {
+        var retryWithJitter = retryWithJitter(4);
+
+        var e = assertThrows(RuntimeException.class, () -> retryWithJitter.execute(() -> {
+            this.attempts.incrementAndGet();
+            throw new OptimisticLockingFailureException("version changed");
+        }));
+
+        assertEquals(4, this.attempts.get());
+        assertInstanceOf(OptimisticLockingFailureException.class, e.getCause());
+    }
+
+    @Test
+    void otherFailuresAreNotRetried() {
+        var retryWithJitter = retryWithJitter(5);
+
+        assertThrows(IllegalStateException.class, () -> retryWithJitter.execute(() -> {
+            this.attempts.incrementAndGet();
+            throw new IllegalStateException("Not found inventory by this product.");
+        }));
+
+        assertEquals(1, this.attempts.get());
+    }
+
+    static RetryWithJitter retryWithJitter(int maxAttempts) {
+        var retryWithJitter = new RetryWithJitter();
+        ReflectionTestUtils.setField(retryWithJitter, "maxAttempts", maxAttempts);
+        ReflectionTestUtils.setField(retryWithJitter, "baseBackoffMillis", 1L);
+        ReflectionTestUtils.setField(retryWithJitter, "maxBackoffMillis", 10L);
+        return retryWithJitter;
+    }
+}
@@ -0,0 +1,74 @@
+package com.market.inventory.adapters.out.reservation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class HashedTimingWheelTest {
+
+    private static final long TICK_MILLIS = 10;
+
+    private final BlockingQueue<Long> expired = new LinkedBlockingQueue<>();
+    private HashedTimingWheel timingWheel;
+
+    @AfterEach
+    void tearDown() {
+        this.timingWheel.close();
+    }
+
+    @Test
+    void timeoutLongerThanOneRoundFiresOnlyAfterItsDelay() throws InterruptedException {
+        this.timingWheel = new HashedTimingWheel(TICK_MILLIS, 4, this.expired::add);
+        var scheduledAt = System.nanoTime();
+
+        this.timingWheel.schedule(1L, 150);
+
+        assertEquals(1L, this.expired.poll(5, TimeUnit.SECONDS));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - scheduledAt) >= 150);
+    }
+
+    @Test
+    void timeoutsFireInDeadlineOrder() throws InterruptedException {
+        this.timingWheel = new HashedTimingWheel(TICK_MILLIS, 8, this.expired::add);
+
+        this.timingWheel.schedule(3L, 300);
+        this.timingWheel.schedule(1L, 50);
+        this.timingWheel.schedule(2L, 150);
+
+        assertEquals(1L, this.expired.poll(5, TimeUnit.SECONDS));
+        assertEquals(2L, this.expired.poll(5, TimeUnit.SECONDS));
+        assertEquals(3L, this.expired.poll(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void cancelledTimeoutNeverFires() throws InterruptedException {
+        this.timingWheel = new HashedTimingWheel(TICK_MILLIS, 8, this.expired::add);
+
+        this.timingWheel.schedule(1L, 50).cancel();
+        this.timingWheel.schedule(2L, 150);
+
+        assertEquals(2L, this.expired.poll(5, TimeUnit.SECONDS));
+        assertNull(this.expired.poll(100, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void failingHandlerDoesNotStopTheWheel() throws InterruptedException {
+        this.timingWheel = new HashedTimingWheel(TICK_MILLIS, 8, key -> {
+            if (key == 1L) {
+                throw new IllegalStateException("database down");
+            }
+            this.expired.add(key);
+        });
+
+        this.timingWheel.schedule(1L, 20);
+        this.timingWheel.schedule(2L, 100);
+
+        assertEquals(2L, this.expired.poll(5, TimeUnit.SECONDS));
+    }
+}
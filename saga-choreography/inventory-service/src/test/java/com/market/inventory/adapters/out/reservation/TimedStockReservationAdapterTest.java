@@ -0,0 +1,125 @@
+package com.market.inventory.adapters.out.reservation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.market.inventory.adapters.out.repository.StockReservationRepository;
+import com.market.inventory.application.core.domain.SaleItemVO;
+import com.market.inventory.application.core.domain.enums.SaleEventEnum;
+import com.market.inventory.application.core.usecase.ExpireStockReservationUseCase;
+import com.market.inventory.application.ports.in.ExpireStockReservationInputPort;
+import com.market.inventory.application.ports.out.CreditInventoryOutputPort;
+import com.market.inventory.application.ports.out.SendToKafkaOutputPort;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class TimedStockReservationAdapterTest {
+
+    private static final Duration TTL = Duration.ofMillis(200);
+
+    private final CreditInventoryOutputPort creditInventoryOutputPort = mock(CreditInventoryOutputPort.class);
+    private final SendToKafkaOutputPort sendToKafkaOutputPort = mock(SendToKafkaOutputPort.class);
+    private StockReservationRepository stockReservationRepository;
+    private TimedStockReservationAdapter timedStockReservationAdapter;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        var dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + System.nanoTime() + ";MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        var jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE stock_reservations (sale_id bigint NOT NULL, product_id bigint NOT NULL, "
+                + "quantity int NOT NULL, expires_at timestamp NOT NULL, PRIMARY KEY (sale_id, product_id))");
+        this.stockReservationRepository = new StockReservationRepository(jdbcTemplate);
+        ObjectProvider<ExpireStockReservationInputPort> expireStockReservationInputPort = mock(ObjectProvider.class);
+        this.timedStockReservationAdapter = new TimedStockReservationAdapter(this.stockReservationRepository,
+                expireStockReservationInputPort, new TransactionTemplate(new DataSourceTransactionManager(dataSource)),
+                TTL, 10, 8);
+        when(expireStockReservationInputPort.getObject()).thenReturn(new ExpireStockReservationUseCase(
+                this.timedStockReservationAdapter, this.creditInventoryOutputPort, this.sendToKafkaOutputPort));
+        when(this.creditInventoryOutputPort.credit(anyLong(), anyList())).thenReturn(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.timedStockReservationAdapter.close();
+    }
+
+    @Test
+    void unconfirmedReservationExpiresAndCreditsItsLinesBack() {
+        this.timedStockReservationAdapter.reserve(1L, List.of(new SaleItemVO(6L, 2), new SaleItemVO(6L, 1),
+                new SaleItemVO(8L, 1)));
+
+        verify(this.sendToKafkaOutputPort, timeout(5_000))
+                .send(argThat(sale -> sale.getId() == 1L), eq(SaleEventEnum.ROLLBACK_INVENTORY));
+        verify(this.creditInventoryOutputPort).credit(eq(1L), argThat(items -> this.quantities(items)
+                .equals(Map.of(6L, 3, 8L, 1))));
+        assertTrue(this.stockReservationRepository.findItemsBySaleId(1L).isEmpty());
+    }
+
+    @Test
+    void confirmedReservationNeverExpires() {
+        this.timedStockReservationAdapter.reserve(1L, List.of(new SaleItemVO(6L, 2)));
+
+        assertTrue(this.timedStockReservationAdapter.confirm(1L));
+
+        verify(this.sendToKafkaOutputPort, after(TTL.toMillis() * 3).never()).send(any(), any());
+        verify(this.creditInventoryOutputPort, never()).credit(anyLong(), anyList());
+    }
+
+    @Test
+    void confirmationLosesToAnExpiryThatCommittedFirst() {
+        this.timedStockReservationAdapter.reserve(1L, List.of(new SaleItemVO(6L, 2)));
+        verify(this.sendToKafkaOutputPort, timeout(5_000)).send(any(), eq(SaleEventEnum.ROLLBACK_INVENTORY));
+
+        assertFalse(this.timedStockReservationAdapter.confirm(1L));
+    }
+
+    @Test
+    void releasedReservationIsOnlyReleasedOnce() {
+        this.timedStockReservationAdapter.reserve(1L, List.of(new SaleItemVO(6L, 2)));
+
+        assertTrue(this.timedStockReservationAdapter.release(1L));
+        assertFalse(this.timedStockReservationAdapter.release(1L));
+    }
+
+    @Test
+    void storedReservationsAreRescheduledAfterARestart() {
+        this.stockReservationRepository.insert(1L, Map.of(6L, 2), Instant.now().minusSeconds(1));
+        this.stockReservationRepository.insert(2L, Map.of(8L, 1), Instant.now().plusSeconds(60));
+
+        this.timedStockReservationAdapter.scheduleStoredReservations();
+
+        verify(this.sendToKafkaOutputPort, timeout(5_000))
+                .send(argThat(sale -> sale.getId() == 1L), eq(SaleEventEnum.ROLLBACK_INVENTORY));
+        assertEquals(1, this.stockReservationRepository.findItemsBySaleId(2L).size());
+    }
+
+    private Map<Long, Integer> quantities(List<SaleItemVO> items) {
+        return items.stream().collect(Collectors.toMap(SaleItemVO::getProductId,
+                SaleItemVO::getQuantity, Integer::sum));
+    }
+}
@@ -0,0 +1,70 @@
+package com.market.inventory.adapters.out.stock;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class StockJournalTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void concurrentAppendsLandInTheRolledOverSegment() throws Exception {
+        var threads = 8;
+        var appendsPerThread = 5_000;
+        var journal = new StockJournal(this.directory, 0);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        var start = new CountDownLatch(1);
+        var futures = new ArrayList<Future<?>>();
+        for (int t = 0; t < threads; t++) {
+            long productId = t;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < appendsPerThread; i++) {
+                    journal.append(productId, -1);
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (var future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        var segment = journal.rollover();
+        var deltas = StockJournal.read(segment);
+
+        assertEquals(threads, deltas.size());
+        deltas.values().forEach(delta -> assertEquals(-appendsPerThread, delta));
+        assertEquals((long) threads * appendsPerThread * 12, Files.size(segment));
+        assertNull(journal.rollover());
+        journal.close();
+    }
+
+    @Test
+    void newSegmentsAreNumberedAboveTheCheckpoint() {
+        var journal = new StockJournal(this.directory, 41);
+        journal.append(1L, 5);
+        var segment = journal.rollover();
+        journal.close();
+
+        assertEquals(42, StockJournal.sequenceOf(segment));
+
+        var reopened = new StockJournal(this.directory, 0);
+        assertEquals(1, reopened.recoveredSegments().size());
+        reopened.append(1L, 1);
+        assertEquals(43, StockJournal.sequenceOf(reopened.rollover()));
+        reopened.close();
+    }
+}
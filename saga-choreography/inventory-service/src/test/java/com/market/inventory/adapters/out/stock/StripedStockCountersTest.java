@@ -0,0 +1,43 @@
+package com.market.inventory.adapters.out.stock;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class StripedStockCountersTest {
+
+    private static final long PRODUCT_ID = 7L;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void debitWhoseAppendFailsLeavesTheStockAndLaterChangesAreRefused() throws Exception {
+        var journal = new StockJournal(this.directory, 0);
+        var counters = new StripedStockCounters(4, journal);
+        counters.load(PRODUCT_ID, 10);
+        assertTrue(counters.debit(PRODUCT_ID, 2));
+        // Closing the channel makes the next write fail
+        journal.close();
+
+        assertThrows(UncheckedIOException.class, () -> counters.debit(PRODUCT_ID, 3));
+        assertEquals(8, counters.quantity(PRODUCT_ID).getAsInt());
+
+        assertThrows(UncheckedIOException.class, () -> counters.debit(PRODUCT_ID, 3));
+        assertThrows(UncheckedIOException.class, () -> counters.credit(PRODUCT_ID, 3));
+        assertEquals(8, counters.quantity(PRODUCT_ID).getAsInt());
+
+        // The segment only holds the debit that succeeded, which a restart replays
+        try (var segments = Files.list(this.directory)) {
+            var segment = segments.findFirst().orElseThrow();
+            assertEquals(Map.of(PRODUCT_ID, -2), StockJournal.read(segment));
+        }
+    }
+}
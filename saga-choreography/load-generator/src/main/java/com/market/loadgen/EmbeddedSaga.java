@@ -0,0 +1,95 @@
+package com.market.loadgen;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+
+/**
+ * Runs a Kafka broker and the three services inside this JVM. Each service gets its
+ * own class loader over its plain jar, so its {@code application.yaml} and Flyway
+ * migrations are not mixed up with the other services'. The databases stay external
+ * ({@code compose.test.yml} ones by default).
+ */
+final class EmbeddedSaga implements AutoCloseable {
+
+    private final EmbeddedKafkaKraftBroker broker;
+    private final List<ConfigurableApplicationContext> contexts = new ArrayList<>();
+    private final List<URLClassLoader> classLoaders = new ArrayList<>();
+
+    private EmbeddedSaga(EmbeddedKafkaKraftBroker broker) {
+        this.broker = broker;
+    }
+
+    static EmbeddedSaga start(LoadOptions options) throws Exception {
+        var broker = new EmbeddedKafkaKraftBroker(1, options.partitions, options.topic);
+        broker.afterPropertiesSet();
+        var saga = new EmbeddedSaga(broker);
+        try {
+            var bootstrapServers = broker.getBrokersAsString();
+            saga.startService(options, "sale-service", "com.market.sale.SaleServiceApplication", 8081,
+                    options.saleJdbcUrl, bootstrapServers);
+            saga.startService(options, "inventory-service", "com.market.inventory.InventoryServiceApplication", 8082,
+                    options.inventoryJdbcUrl, bootstrapServers);
+            saga.startService(options, "payment-service", "com.market.payment.PaymentServiceApplication", 8083,
+                    options.paymentJdbcUrl, bootstrapServers);
+        } catch (Exception e) {
+            saga.close();
+            throw e;
+        }
+        return saga;
+    }
+
+    String bootstrapServers() {
+        return this.broker.getBrokersAsString();
+    }
+
+    private void startService(LoadOptions options, String service, String mainClass, int port, String jdbcUrl,
+                              String bootstrapServers) throws Exception {
+        var jar = Path.of(options.servicesDir, service + ".jar");
+        if (!Files.isRegularFile(jar)) {
+            throw new IllegalStateException(jar + " not found; install the service with "
+                    + "-Dspring-boot.repackage.skip=true and rebuild the load generator");
+        }
+        var classLoader = new URLClassLoader(service, new URL[]{jar.toUri().toURL()}, EmbeddedSaga.class.getClassLoader());
+        this.classLoaders.add(classLoader);
+
+        List<String> args = new ArrayList<>();
+        args.add("--server.port=" + port);
+        args.add("--spring.datasource.url=" + jdbcUrl);
+        args.add("--application-config.kafka.server-url=" + bootstrapServers);
+        args.add("--application-config.kafka.topic=" + options.topic);
+        options.serviceProperties.getOrDefault(service, Map.of())
+                .forEach((name, value) -> args.add("--" + name + "=" + value));
+
+        var thread = Thread.currentThread();
+        var previous = thread.getContextClassLoader();
+        thread.setContextClassLoader(classLoader);
+        try {
+            var application = new SpringApplication(new DefaultResourceLoader(classLoader), classLoader.loadClass(mainClass));
+            application.setRegisterShutdownHook(false);
+            this.contexts.add(application.run(args.toArray(String[]::new)));
+            System.out.printf("Started %s on port %d.%n", service, port);
+        } finally {
+            thread.setContextClassLoader(previous);
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (int i = this.contexts.size() - 1; i >= 0; i--) {
+            this.contexts.get(i).close();
+        }
+        for (var classLoader : this.classLoaders) {
+            classLoader.close();
+        }
+        this.broker.destroy();
+    }
+}
@@ -0,0 +1,217 @@
+package com.market.loadgen;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Open-loop load generator for the saga. Sales are posted at a fixed average rate
+ * whatever the response times are (uniform or Poisson arrivals), with Zipf-skewed
+ * products and users. Each sale is followed until its terminal event shows up on the
+ * saga topic, and the end-to-end latencies of FINALIZED and CANCELED sales are
+ * reported as percentiles.
+ *
+ * <pre>
+ * java -jar target/load-generator.jar --rate=200 --duration=120 --seed
+ * java -jar target/load-generator.jar --embedded --rate=200 --seed --partitions=12
+ * </pre>
+ */
+public final class LoadGenerator {
+
+    private final LoadOptions options;
+    private final HttpClient httpClient;
+    private final URI salesUri;
+    private final ZipfSampler products;
+    private final ZipfSampler users;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+    private LoadGenerator(LoadOptions options) {
+        this.options = options;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(options.httpTimeoutMs))
+                .build();
+        this.salesUri = URI.create(options.target + "/api/v1/sales");
+        this.products = new ZipfSampler(options.productFrom, options.productTo, options.productSkew);
+        this.users = new ZipfSampler(options.userFrom, options.userTo, options.userSkew);
+    }
+
+    public static void main(String[] args) throws Exception {
+        var options = LoadOptions.parse(args);
+        EmbeddedSaga embeddedSaga = null;
+        try {
+            if (options.embedded) {
+                embeddedSaga = EmbeddedSaga.start(options);
+                options.bootstrapServers = embeddedSaga.bootstrapServers();
+            }
+            if (options.seed) {
+                Seeder.seed(options);
+            }
+            new LoadGenerator(options).run();
+        } finally {
+            if (embeddedSaga != null) {
+                embeddedSaga.close();
+            }
+        }
+        System.exit(0);
+    }
+
+    private void run() throws Exception {
+        var start = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        var measureFrom = start + TimeUnit.SECONDS.toNanos(this.options.warmupSeconds);
+        var end = measureFrom + TimeUnit.SECONDS.toNanos(this.options.durationSeconds);
+        var tracker = new SagaTracker(measureFrom);
+
+        try (var listener = new SagaEventListener(this.options.bootstrapServers, this.options.topic, tracker)) {
+            listener.start();
+            var progress = Executors.newSingleThreadScheduledExecutor();
+            progress.scheduleAtFixedRate(() -> System.out.printf(
+                    "sent=%d accepted=%d completed=%d in-flight=%d dropped=%d errors=%s%n",
+                    this.sent.sum(), this.accepted.sum(), tracker.completed(), this.inFlight.get(),
+                    this.dropped.sum(), this.errors), 5, 5, TimeUnit.SECONDS);
+            try {
+                System.out.printf("Posting %.1f sales/s to %s: %ds warm-up, %ds measured.%n", this.options.rate,
+                        this.salesUri, this.options.warmupSeconds, this.options.durationSeconds);
+                this.drive(start, end, tracker);
+
+                var drainUntil = System.nanoTime() + TimeUnit.SECONDS.toNanos(this.options.drainSeconds);
+                while ((this.inFlight.get() > 0 || tracker.pending() > 0) && System.nanoTime() < drainUntil) {
+                    Thread.sleep(200);
+                }
+            } finally {
+                progress.shutdownNow();
+            }
+        }
+        this.report(tracker);
+    }
+
+    private void drive(long start, long end, SagaTracker tracker) {
+        var meanIntervalNanos = 1e9 / this.options.rate;
+        var next = start;
+        while (next < end) {
+            var wait = next - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+                continue;
+            }
+            this.send(next, tracker);
+            next += (long) (this.options.poisson
+                    ? -Math.log(1 - ThreadLocalRandom.current().nextDouble()) * meanIntervalNanos
+                    : meanIntervalNanos);
+        }
+    }
+
+    private void send(long intendedNanos, SagaTracker tracker) {
+        if (this.inFlight.get() >= this.options.maxInFlight) {
+            this.dropped.increment();
+            return;
+        }
+        this.inFlight.incrementAndGet();
+        this.sent.increment();
+        var request = HttpRequest.newBuilder(this.salesUri)
+                .timeout(Duration.ofMillis(this.options.httpTimeoutMs))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(this.saleBody()))
+                .build();
+        this.httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+            this.inFlight.decrementAndGet();
+            if (error != null) {
+                this.error(error.getClass().getSimpleName());
+            } else if (response.statusCode() != 201) {
+                this.error("HTTP " + response.statusCode());
+            } else {
+                var location = response.headers().firstValue("Location");
+                if (location.isEmpty()) {
+                    this.error("no Location");
+                    return;
+                }
+                var path = location.get();
+                this.accepted.increment();
+                tracker.accepted(Long.parseLong(path.substring(path.lastIndexOf('/') + 1)), intendedNanos,
+                        System.nanoTime());
+            }
+        });
+    }
+
+    private String saleBody() {
+        var productIds = new LinkedHashSet<Long>();
+        while (productIds.size() < this.options.itemsPerSale) {
+            productIds.add(this.products.next());
+        }
+        var items = new StringBuilder();
+        for (var productId : productIds) {
+            if (!items.isEmpty()) {
+                items.append(',');
+            }
+            items.append("{\"productId\":").append(productId).append(",\"quantity\":").append(this.options.quantity).append('}');
+        }
+        var value = this.options.value.multiply(BigDecimal.valueOf((long) productIds.size() * this.options.quantity));
+
+        return "{\"userId\":" + this.users.next() + ",\"value\":" + value.toPlainString() + ",\"items\":[" + items + "]}";
+    }
+
+    private void error(String kind) {
+        this.errors.computeIfAbsent(kind, key -> new LongAdder()).increment();
+    }
+
+    private void report(SagaTracker tracker) throws IOException {
+        var out = System.out;
+        out.println();
+        out.printf("Sent %d, accepted %d, dropped %d (max-in-flight reached), errors %s, without outcome %d.%n",
+                this.sent.sum(), this.accepted.sum(), this.dropped.sum(), this.errors, tracker.pending());
+        out.printf("%-10s %9s %10s %10s %10s %10s %10s %10s %10s%n",
+                "latency", "count", "per sec", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "mean ms");
+        this.reportLine(out, "accepted", tracker.acceptedLatencies());
+        for (var outcome : SagaTracker.Outcome.values()) {
+            this.reportLine(out, outcome.name().toLowerCase(), tracker.latencies(outcome));
+        }
+
+        if (this.options.hgrmDir != null) {
+            var directory = Files.createDirectories(Path.of(this.options.hgrmDir));
+            this.writeDistribution(directory.resolve("accepted.hgrm"), tracker.acceptedLatencies());
+            for (var outcome : SagaTracker.Outcome.values()) {
+                this.writeDistribution(directory.resolve(outcome.name().toLowerCase() + ".hgrm"), tracker.latencies(outcome));
+            }
+            out.printf("Percentile distributions written to %s.%n", directory.toAbsolutePath());
+        }
+    }
+
+    private void reportLine(PrintStream out, String name, Histogram histogram) {
+        out.printf("%-10s %9d %10.1f %10.2f %10.2f %10.2f %10.2f %10.2f %10.2f%n", name,
+                histogram.getTotalCount(),
+                histogram.getTotalCount() / (double) this.options.durationSeconds,
+                histogram.getValueAtPercentile(50) / 1000.0,
+                histogram.getValueAtPercentile(90) / 1000.0,
+                histogram.getValueAtPercentile(99) / 1000.0,
+                histogram.getValueAtPercentile(99.9) / 1000.0,
+                histogram.getMaxValue() / 1000.0,
+                histogram.getMean() / 1000.0);
+    }
+
+    private void writeDistribution(Path file, Histogram histogram) throws IOException {
+        try (var out = new PrintStream(Files.newOutputStream(file))) {
+            histogram.outputPercentileDistribution(out, 1000.0);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.market.loadgen;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Command line options, given as {@code --name=value} (flags as {@code --name}).
+ * Options prefixed with a service name, e.g.
+ * {@code --payment-service.spring.datasource.hikari.maximum-pool-size=20}, are passed
+ * to that service in embedded mode.
+ */
+final class LoadOptions {
+
+    static final String[] SERVICES = {"sale-service", "inventory-service", "payment-service"};
+
+    String target = "http://localhost:8091";
+    String bootstrapServers = "localhost:9093";
+    String topic = "tp-saga-market";
+
+    double rate = 100;
+    boolean poisson = true;
+    long warmupSeconds = 10;
+    long durationSeconds = 60;
+    long drainSeconds = 30;
+    int maxInFlight = 10_000;
+    long httpTimeoutMs = 5_000;
+
+    long productFrom = 6;
+    long productTo = 10;
+    double productSkew = 1.0;
+    long userFrom = 1;
+    long userTo = 2;
+    double userSkew = 0.8;
+    int itemsPerSale = 1;
+    int quantity = 1;
+    BigDecimal value = new BigDecimal("10.00");
+
+    boolean seed;
+    int seedStock = 1_000_000;
+    BigDecimal seedBalance = new BigDecimal("100000000.00");
+    String saleJdbcUrl = "jdbc:mysql://localhost:3318/sales_db";
+    String inventoryJdbcUrl = "jdbc:mysql://localhost:3319/inventory_db";
+    String paymentJdbcUrl = "jdbc:mysql://localhost:3320/payment_db";
+    String dbUser = "root";
+    String dbPassword = "root";
+
+    boolean embedded;
+    int partitions = 6;
+    String servicesDir = "target/services";
+    final Map<String, Map<String, String>> serviceProperties = new HashMap<>();
+
+    String hgrmDir;
+
+    static LoadOptions parse(String[] args) {
+        Map<String, String> values = new LinkedHashMap<>();
+        for (var arg : args) {
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected argument " + arg);
+            }
+            var separator = arg.indexOf('=');
+            if (separator < 0) {
+                values.put(arg.substring(2), "true");
+            } else {
+                values.put(arg.substring(2, separator), arg.substring(separator + 1));
+            }
+        }
+
+        var options = new LoadOptions();
+        values.forEach((name, value) -> options.set(name, value));
+        if (options.embedded && !values.containsKey("target")) {
+            options.target = "http://localhost:8081";
+        }
+        if (options.itemsPerSale > options.productTo - options.productFrom + 1) {
+            throw new IllegalArgumentException("items-per-sale is larger than the product range");
+        }
+        return options;
+    }
+
+    private void set(String name, String value) {
+        for (var service : SERVICES) {
+            if (name.startsWith(service + ".")) {
+                this.serviceProperties.computeIfAbsent(service, key -> new LinkedHashMap<>())
+                        .put(name.substring(service.length() + 1), value);
+                return;
+            }
+        }
+        switch (name) {
+            case "target" -> this.target = value;
+            case "bootstrap-servers" -> this.bootstrapServers = value;
+            case "topic" -> this.topic = value;
+            case "rate" -> this.rate = Double.parseDouble(value);
+            case "arrival" -> this.poisson = switch (value) {
+                case "poisson" -> true;
+                case "uniform" -> false;
+                default -> throw new IllegalArgumentException("arrival must be poisson or uniform");
+            };
+            case "warmup" -> this.warmupSeconds = Long.parseLong(value);
+            case "duration" -> this.durationSeconds = Long.parseLong(value);
+            case "drain" -> this.drainSeconds = Long.parseLong(value);
+            case "max-in-flight" -> this.maxInFlight = Integer.parseInt(value);
+            case "http-timeout-ms" -> this.httpTimeoutMs = Long.parseLong(value);
+            case "products" -> {
+                var range = range(value);
+                this.productFrom = range[0];
+                this.productTo = range[1];
+            }
+            case "product-skew" -> this.productSkew = Double.parseDouble(value);
+            case "users" -> {
+                var range = range(value);
+                this.userFrom = range[0];
+                this.userTo = range[1];
+            }
+            case "user-skew" -> this.userSkew = Double.parseDouble(value);
+            case "items-per-sale" -> this.itemsPerSale = Integer.parseInt(value);
+            case "quantity" -> this.quantity = Integer.parseInt(value);
+            case "value" -> this.value = new BigDecimal(value);
+            case "seed" -> this.seed = Boolean.parseBoolean(value);
+            case "seed-stock" -> this.seedStock = Integer.parseInt(value);
+            case "seed-balance" -> this.seedBalance = new BigDecimal(value);
+            case "sale-jdbc-url" -> this.saleJdbcUrl = value;
+            case "inventory-jdbc-url" -> this.inventoryJdbcUrl = value;
+            case "payment-jdbc-url" -> this.paymentJdbcUrl = value;
+            case "db-user" -> this.dbUser = value;
+            case "db-password" -> this.dbPassword = value;
+            case "embedded" -> this.embedded = Boolean.parseBoolean(value);
+            case "partitions" -> this.partitions = Integer.parseInt(value);
+            case "services-dir" -> this.servicesDir = value;
+            case "hgrm-dir" -> this.hgrmDir = value;
+            default -> throw new IllegalArgumentException("Unknown option --" + name);
+        }
+    }
+
+    private static long[] range(String value) {
+        var bounds = value.split("-");
+        var from = Long.parseLong(bounds[0]);
+        var to = bounds.length > 1 ? Long.parseLong(bounds[1]) : from;
+        if (to < from) {
+            throw new IllegalArgumentException("Invalid range " + value);
+        }
+        return new long[]{from, to};
+    }
+}
@@ -0,0 +1,100 @@
+package com.market.loadgen;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.WakeupException;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+
+/**
+ * Follows the saga topic from its current end and reports the terminal event of each
+ * sale: {@code VALIDATED_PAYMENT} ends a sale as FINALIZED, {@code ROLLBACK_INVENTORY}
+ * as CANCELED. Partitions are assigned directly, so no consumer group of the services
+ * is joined or rebalanced.
+ */
+final class SagaEventListener implements Runnable, AutoCloseable {
+
+    private final KafkaConsumer<byte[], byte[]> consumer;
+    private final String topic;
+    private final SagaTracker tracker;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Thread thread;
+    private volatile boolean running = true;
+
+    SagaEventListener(String bootstrapServers, String topic, SagaTracker tracker) {
+        this.consumer = new KafkaConsumer<>(Map.of(
+                ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers,
+                ConsumerConfig.GROUP_ID_CONFIG, "load-generator-" + UUID.randomUUID(),
+                ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false,
+                ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class,
+                ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class));
+        this.topic = topic;
+        this.tracker = tracker;
+        this.thread = new Thread(this, "saga-event-listener");
+    }
+
+    /**
+     * Assigns every partition of the topic and moves to its end before returning, so
+     * no event of the run can be missed.
+     */
+    void start() throws InterruptedException {
+        var partitions = this.consumer.partitionsFor(this.topic, Duration.ofSeconds(30));
+        while (partitions == null || partitions.isEmpty()) {
+            Thread.sleep(500);
+            partitions = this.consumer.partitionsFor(this.topic, Duration.ofSeconds(30));
+        }
+        var assignment = partitions.stream().map(info -> new TopicPartition(info.topic(), info.partition())).toList();
+        this.consumer.assign(assignment);
+        this.consumer.seekToEnd(assignment);
+        assignment.forEach(this.consumer::position);
+        this.thread.start();
+    }
+
+    @Override
+    public void run() {
+        try {
+            while (this.running) {
+                for (var record : this.consumer.poll(Duration.ofMillis(100))) {
+                    this.handle(record.value());
+                }
+            }
+        } catch (WakeupException e) {
+            // closing
+        } finally {
+            this.consumer.close();
+        }
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        this.running = false;
+        this.consumer.wakeup();
+        this.thread.join();
+    }
+
+    private void handle(byte[] value) {
+        if (value == null || value.length == 0) {
+            return;
+        }
+        var now = System.nanoTime();
+        try {
+            var message = this.objectMapper.readTree(value);
+            var saleId = message.path("sale").path("id");
+            if (!saleId.canConvertToLong()) {
+                return;
+            }
+            switch (message.path("saleEvent").asText()) {
+                case "VALIDATED_PAYMENT" -> this.tracker.completed(saleId.asLong(), SagaTracker.Outcome.FINALIZED, now);
+                case "ROLLBACK_INVENTORY" -> this.tracker.completed(saleId.asLong(), SagaTracker.Outcome.CANCELED, now);
+                default -> {
+                }
+            }
+        } catch (Exception e) {
+            // not a sale message
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.market.loadgen;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Joins the sale id returned by {@code POST /api/v1/sales} with the terminal saga event
+ * seen on the topic. Either side may come first; the pair is matched atomically in
+ * one map. Latencies are measured from the intended send time of the request, so a
+ * stalled system is charged for the requests it delayed (no coordinated omission),
+ * and recorded in microseconds.
+ */
+final class SagaTracker {
+
+    enum Outcome { FINALIZED, CANCELED }
+
+    private static final long HIGHEST_TRACKABLE_MICROS = 3_600_000_000L;
+
+    private final long measureFromNanos;
+    private final Map<Long, Object> sagas = new ConcurrentHashMap<>();
+    private final Histogram accepted = histogram();
+    private final Histogram finalized = histogram();
+    private final Histogram canceled = histogram();
+    private final LongAdder completed = new LongAdder();
+
+    SagaTracker(long measureFromNanos) {
+        this.measureFromNanos = measureFromNanos;
+    }
+
+    void accepted(long saleId, long intendedNanos, long acceptedNanos) {
+        if (intendedNanos >= this.measureFromNanos) {
+            this.accepted.recordValue(micros(acceptedNanos - intendedNanos));
+        }
+        this.sagas.compute(saleId, (id, existing) -> {
+            if (existing instanceof Completion completion) {
+                this.record(intendedNanos, completion);
+                return null;
+            }
+            return new Started(intendedNanos);
+        });
+    }
+
+    void completed(long saleId, Outcome outcome, long completedNanos) {
+        var completion = new Completion(outcome, completedNanos);
+        this.sagas.compute(saleId, (id, existing) -> {
+            if (existing instanceof Started started) {
+                this.record(started.intendedNanos(), completion);
+                return null;
+            }
+            // Unknown yet (the HTTP response is still on its way) or a duplicate event.
+            return existing == null ? completion : existing;
+        });
+    }
+
+    long completed() {
+        return this.completed.sum();
+    }
+
+    long pending() {
+        return this.sagas.values().stream().filter(Started.class::isInstance).count();
+    }
+
+    Histogram acceptedLatencies() {
+        return this.accepted;
+    }
+
+    Histogram latencies(Outcome outcome) {
+        return outcome == Outcome.FINALIZED ? this.finalized : this.canceled;
+    }
+
+    private void record(long intendedNanos, Completion completion) {
+        this.completed.increment();
+        if (intendedNanos >= this.measureFromNanos) {
+            this.latencies(completion.outcome()).recordValue(micros(completion.nanos() - intendedNanos));
+        }
+    }
+
+    private static long micros(long nanos) {
+        return Math.min(Math.max(0, nanos / 1_000), HIGHEST_TRACKABLE_MICROS);
+    }
+
+    private static Histogram histogram() {
+        return new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+    }
+
+    private record Started(long intendedNanos) {
+    }
+
+    private record Completion(Outcome outcome, long nanos) {
+    }
+}
@@ -0,0 +1,46 @@
+package com.market.loadgen;
+
+import java.sql.DriverManager;
+import java.sql.SQLException;
+
+/**
+ * Gives every product of the run {@code seed-stock} units and every user
+ * {@code seed-balance}, so outcomes reflect contention rather than exhausted seed data.
+ * Products kept in stock buckets or loaded into the in-memory stock store have to be
+ * seeded before inventory-service starts.
+ */
+final class Seeder {
+
+    private Seeder() {
+    }
+
+    static void seed(LoadOptions options) throws SQLException {
+        try (var connection = DriverManager.getConnection(options.inventoryJdbcUrl, options.dbUser, options.dbPassword);
+             var update = connection.prepareStatement("UPDATE inventories SET quantity = ? WHERE product_id = ?");
+             var insert = connection.prepareStatement(
+                     "INSERT INTO inventories (product_id, quantity, created_at) VALUES (?, ?, NOW())")) {
+            for (long productId = options.productFrom; productId <= options.productTo; productId++) {
+                update.setInt(1, options.seedStock);
+                update.setLong(2, productId);
+                if (update.executeUpdate() == 0) {
+                    insert.setLong(1, productId);
+                    insert.setInt(2, options.seedStock);
+                    insert.executeUpdate();
+                }
+            }
+        }
+        try (var connection = DriverManager.getConnection(options.paymentJdbcUrl, options.dbUser, options.dbPassword);
+             var upsert = connection.prepareStatement("INSERT INTO users (id, name, balance, created_at) "
+                     + "VALUES (?, ?, ?, NOW()) ON DUPLICATE KEY UPDATE balance = VALUES(balance)")) {
+            for (long userId = options.userFrom; userId <= options.userTo; userId++) {
+                upsert.setLong(1, userId);
+                upsert.setString(2, "Load user " + userId);
+                upsert.setBigDecimal(3, options.seedBalance);
+                upsert.addBatch();
+            }
+            upsert.executeBatch();
+        }
+        System.out.printf("Seeded products %d-%d with %d units and users %d-%d with %s.%n", options.productFrom,
+                options.productTo, options.seedStock, options.userFrom, options.userTo, options.seedBalance);
+    }
+}
@@ -0,0 +1,37 @@
+package com.market.loadgen;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Draws ids from {@code [from, to]} with Zipf skew: the k-th id is chosen with weight
+ * {@code 1 / k^exponent}. An exponent of 0 is uniform; around 1 a few hot ids take
+ * most of the traffic, as with best-selling products.
+ */
+final class ZipfSampler {
+
+    private final long from;
+    private final double[] cumulative;
+
+    ZipfSampler(long from, long to, double exponent) {
+        this.from = from;
+        var size = Math.toIntExact(to - from + 1);
+        this.cumulative = new double[size];
+        var total = 0.0;
+        for (int k = 0; k < size; k++) {
+            total += 1.0 / Math.pow(k + 1, exponent);
+            this.cumulative[k] = total;
+        }
+        for (int k = 0; k < size; k++) {
+            this.cumulative[k] /= total;
+        }
+    }
+
+    long next() {
+        var index = Arrays.binarySearch(this.cumulative, ThreadLocalRandom.current().nextDouble());
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return this.from + Math.min(index, this.cumulative.length - 1);
+    }
+}
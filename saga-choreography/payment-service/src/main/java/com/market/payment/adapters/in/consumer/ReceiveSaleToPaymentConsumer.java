@@ -1,26 +1,58 @@
 package com.market.payment.adapters.in.consumer;
 
+import com.market.payment.adapters.out.idempotency.ProcessedEventStore;
 import com.market.payment.adapters.out.message.SaleMessageDTO;
 import com.market.payment.application.core.domain.enums.SaleEventEnum;
+import com.market.payment.application.ports.in.AuthorizeSalePaymentInputPort;
 import com.market.payment.application.ports.in.SalePaymentInputPort;
+import java.util.concurrent.CompletableFuture;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
 
+/**
+ * Returns as soon as the authorization is requested. The debit runs when the acquirer
+ * answers, and the offset is committed once the returned future completes, so the
+ * listener thread keeps polling while the acquirer is slow.
+ *
+ * <p>When the acquirer has no room for the authorization at all, the listener throws
+ * and the container's error handler redelivers the record after a back-off, so
+ * consumption slows down instead of failing the sale. An authorized sale that the
+ * rollback already claimed is not paid, and its authorization is voided.
+ */
 @RequiredArgsConstructor
 @Slf4j
 @Component
+@ConditionalOnProperty(name = "application-config.payment.batch.enabled", havingValue = "false", matchIfMissing = true)
 public class ReceiveSaleToPaymentConsumer {
 
+    private final AuthorizeSalePaymentInputPort authorizeSalePaymentInputPort;
     private final SalePaymentInputPort salePaymentInputPort;
+    private final ProcessedEventStore processedEventStore;
 
     @KafkaListener(topics = "${application-config.kafka.topic}", groupId = "${application-config.kafka.consumer.group-id}")
-    public void receive(SaleMessageDTO saleMessageDTO) {
-        if(SaleEventEnum.UPDATED_INVENTORY.equals(saleMessageDTO.getSaleEvent())) {
-            log.info("Beginning of payment.");
-            this.salePaymentInputPort.payment(saleMessageDTO.getSaleVO());
-            log.info("End of payment.");
+    public CompletableFuture<Void> receive(SaleMessageDTO saleMessageDTO) {
+        if(!SaleEventEnum.UPDATED_INVENTORY.equals(saleMessageDTO.getSaleEvent())) {
+            return CompletableFuture.completedFuture(null);
         }
+        log.info("Beginning of payment.");
+        var saleVO = saleMessageDTO.getSaleVO();
+
+        return this.authorizeSalePaymentInputPort.authorize(saleVO).thenAccept(authorized -> {
+            var ran = this.processedEventStore.runOnce(saleVO.getId(), SaleEventEnum.UPDATED_INVENTORY, () -> {
+                if (authorized) {
+                    this.salePaymentInputPort.payment(saleVO);
+                } else {
+                    this.salePaymentInputPort.decline(saleVO);
+                }
+            });
+            if (!ran && authorized
+                    && this.processedEventStore.isProcessed(saleVO.getId(), SaleEventEnum.ROLLBACK_INVENTORY)) {
+                this.authorizeSalePaymentInputPort.voidAuthorization(saleVO);
+            }
+            log.info("End of payment.");
+        });
     }
 }
@@ -0,0 +1,41 @@
+package com.market.payment.adapters.in.consumer;
+
+import com.market.payment.adapters.out.idempotency.ProcessedEventStore;
+import com.market.payment.adapters.out.message.SaleMessageDTO;
+import com.market.payment.application.core.domain.enums.SaleEventEnum;
+import com.market.payment.application.ports.in.RefundSalePaymentInputPort;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Inventory rolls a sale back after a failed payment, but also when its stock
+ * reservation expired before the validated payment reached it. The rollback claims the
+ * sale's {@code UPDATED_INVENTORY} marker: if that succeeds the sale was not paid yet
+ * and never will be, otherwise whatever it paid is refunded. Both run under the same
+ * marker row, so a payment in flight is either refunded or skipped.
+ */
+@RequiredArgsConstructor
+@Slf4j
+@Component
+public class ReceiveSaleToRefundConsumer {
+
+    private final RefundSalePaymentInputPort refundSalePaymentInputPort;
+    private final ProcessedEventStore processedEventStore;
+
+    @KafkaListener(topics = "${application-config.kafka.topic}", groupId = "${application-config.kafka.consumer.refund-group-id}")
+    public void receive(SaleMessageDTO saleMessageDTO) {
+        if (!SaleEventEnum.ROLLBACK_INVENTORY.equals(saleMessageDTO.getSaleEvent())) {
+            return;
+        }
+        var saleVO = saleMessageDTO.getSaleVO();
+        this.processedEventStore.runOnce(saleVO.getId(), SaleEventEnum.ROLLBACK_INVENTORY, () -> {
+            if (this.processedEventStore.claim(saleVO.getId(), SaleEventEnum.UPDATED_INVENTORY)) {
+                log.info("Sale {} rolled back before its payment, it will not be charged.", saleVO.getId());
+            } else {
+                this.refundSalePaymentInputPort.refund(saleVO);
+            }
+        });
+    }
+}
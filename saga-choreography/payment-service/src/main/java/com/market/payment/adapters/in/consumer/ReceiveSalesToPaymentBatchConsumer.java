@@ -0,0 +1,105 @@
+package com.market.payment.adapters.in.consumer;
+
+import com.market.payment.adapters.out.idempotency.ProcessedEventStore;
+import com.market.payment.adapters.out.message.SaleMessageDTO;
+import com.market.payment.application.core.domain.SaleVO;
+import com.market.payment.application.core.domain.enums.SaleEventEnum;
+import com.market.payment.application.ports.in.AuthorizeSalePaymentInputPort;
+import com.market.payment.application.ports.in.SalePaymentBatchInputPort;
+import com.market.payment.application.ports.out.AuthorizationUnavailableException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Pays every {@code UPDATED_INVENTORY} of a poll at once: one transaction for the
+ * whole poll instead of one commit per sale. The authorizations of the poll are
+ * requested concurrently, so the poll waits for the slowest one (bounded by the
+ * authorization timeout) rather than for their sum.
+ *
+ * <p>A poll larger than the acquirer's bulkhead waits for its own authorizations to
+ * free slots. When none are in flight and the acquirer still has no room, the listener
+ * throws and the container pauses and retries the whole poll after a back-off; the
+ * sale id is the acquirer's idempotency key, so the retry does not authorize twice.
+ * Authorized sales that the rollback already claimed are not paid, and their
+ * authorizations are voided.
+ */
+@RequiredArgsConstructor
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "application-config.payment.batch.enabled", havingValue = "true")
+public class ReceiveSalesToPaymentBatchConsumer {
+
+    private final AuthorizeSalePaymentInputPort authorizeSalePaymentInputPort;
+    private final SalePaymentBatchInputPort salePaymentBatchInputPort;
+    private final ProcessedEventStore processedEventStore;
+
+    @KafkaListener(topics = "${application-config.kafka.topic}", groupId = "${application-config.kafka.consumer.group-id}",
+            containerFactory = "batchKafkaListenerContainerFactory")
+    public void receive(List<SaleMessageDTO> saleMessageDTOs) {
+        Map<Long, SaleVO> sales = new LinkedHashMap<>();
+        for (var saleMessageDTO : saleMessageDTOs) {
+            if (SaleEventEnum.UPDATED_INVENTORY.equals(saleMessageDTO.getSaleEvent())) {
+                sales.putIfAbsent(saleMessageDTO.getSaleVO().getId(), saleMessageDTO.getSaleVO());
+            }
+        }
+        if (sales.isEmpty()) {
+            return;
+        }
+        log.info("Beginning of payment of {} sales.", sales.size());
+        Map<Long, CompletableFuture<Boolean>> authorizations = new HashMap<>();
+        sales.forEach((saleId, saleVO) -> authorizations.put(saleId, this.authorize(saleVO, authorizations)));
+        awaitAll(authorizations);
+
+        var saleIds = new ArrayList<>(sales.keySet());
+        var skipped = this.processedEventStore.runOnce(saleIds, SaleEventEnum.UPDATED_INVENTORY, fresh -> {
+            List<SaleVO> authorized = new ArrayList<>();
+            List<SaleVO> declined = new ArrayList<>();
+            for (var saleId : fresh) {
+                (authorizations.get(saleId).join() ? authorized : declined).add(sales.get(saleId));
+            }
+            if (!authorized.isEmpty()) {
+                this.salePaymentBatchInputPort.payment(authorized);
+            }
+            if (!declined.isEmpty()) {
+                this.salePaymentBatchInputPort.decline(declined);
+            }
+        });
+        this.voidRolledBack(skipped, sales, authorizations);
+        log.info("End of payment.");
+    }
+
+    private CompletableFuture<Boolean> authorize(SaleVO saleVO, Map<Long, CompletableFuture<Boolean>> requested) {
+        while (true) {
+            try {
+                return this.authorizeSalePaymentInputPort.authorize(saleVO);
+            } catch (AuthorizationUnavailableException e) {
+                if (requested.values().stream().allMatch(CompletableFuture::isDone)) {
+                    throw e;
+                }
+                awaitAll(requested);
+            }
+        }
+    }
+
+    private void voidRolledBack(Set<Long> skipped, Map<Long, SaleVO> sales,
+                                Map<Long, CompletableFuture<Boolean>> authorizations) {
+        var authorized = skipped.stream().filter(saleId -> authorizations.get(saleId).join()).toList();
+        for (var saleId : this.processedEventStore.findProcessed(authorized, SaleEventEnum.ROLLBACK_INVENTORY)) {
+            this.authorizeSalePaymentInputPort.voidAuthorization(sales.get(saleId));
+        }
+    }
+
+    private static void awaitAll(Map<Long, CompletableFuture<Boolean>> authorizations) {
+        CompletableFuture.allOf(authorizations.values().toArray(CompletableFuture[]::new)).join();
+    }
+}
@@ -0,0 +1,81 @@
+package com.market.payment.adapters.in.controller;
+
+import com.market.payment.adapters.out.authorization.dto.AuthorizationRequestDTO;
+import com.market.payment.adapters.out.authorization.dto.AuthorizationResponseDTO;
+import jakarta.annotation.PreDestroy;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Local stand-in for the acquirer. Answers after a uniformly random latency and fails
+ * or declines at the configured rates. Responses are completed from a scheduler, so
+ * slow answers do not hold servlet threads. Voids always succeed.
+ */
+@RestController
+@RequestMapping("/stub/acquirer")
+@ConditionalOnProperty(name = "application-config.payment.authorization.stub.enabled", havingValue = "true")
+public class StubAcquirerController {
+
+    @Value("${application-config.payment.authorization.stub.min-latency-ms}")
+    private Long minLatencyMs;
+
+    @Value("${application-config.payment.authorization.stub.max-latency-ms}")
+    private Long maxLatencyMs;
+
+    @Value("${application-config.payment.authorization.stub.error-rate}")
+    private Double errorRate;
+
+    @Value("${application-config.payment.authorization.stub.decline-rate}")
+    private Double declineRate;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        var thread = new Thread(runnable, "stub-acquirer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @PostMapping("/authorizations")
+    public CompletableFuture<ResponseEntity<AuthorizationResponseDTO>> authorize(
+            @RequestBody AuthorizationRequestDTO authorizationRequestDTO
+    ) {
+        var random = ThreadLocalRandom.current();
+        var latency = this.minLatencyMs + random.nextLong(Math.max(1, this.maxLatencyMs - this.minLatencyMs + 1));
+        var roll = random.nextDouble();
+
+        CompletableFuture<ResponseEntity<AuthorizationResponseDTO>> response = new CompletableFuture<>();
+        this.scheduler.schedule(() -> {
+            if (roll < this.errorRate) {
+                response.complete(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
+            } else if (roll < this.errorRate + this.declineRate) {
+                response.complete(ResponseEntity.ok(new AuthorizationResponseDTO(false, "Declined by stub acquirer")));
+            } else {
+                response.complete(ResponseEntity.ok(new AuthorizationResponseDTO(true, null)));
+            }
+        }, latency, TimeUnit.MILLISECONDS);
+
+        return response;
+    }
+
+    @DeleteMapping("/authorizations/{saleId}")
+    public ResponseEntity<Void> voidAuthorization(@PathVariable Long saleId) {
+        return ResponseEntity.noContent().build();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        this.scheduler.shutdownNow();
+    }
+}
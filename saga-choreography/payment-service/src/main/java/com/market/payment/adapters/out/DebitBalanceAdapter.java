@@ -0,0 +1,41 @@
+package com.market.payment.adapters.out;
+
+import com.market.payment.adapters.out.repository.UserRepository;
+import com.market.payment.adapters.out.snapshot.BalanceSnapshotPublisher;
+import com.market.payment.application.core.domain.Money;
+import com.market.payment.application.core.domain.PaymentVO;
+import com.market.payment.application.ports.out.DebitBalanceOutputPort;
+import com.market.payment.application.ports.out.SavePaymentOutputPort;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * The balance check and the debit are one conditional {@code UPDATE}, so concurrent
+ * payments of the same user can never overdraw it nor overwrite each other.
+ */
+@RequiredArgsConstructor
+@Component
+@ConditionalOnProperty(name = "application-config.payment.balance-store", havingValue = "row", matchIfMissing = true)
+public class DebitBalanceAdapter implements DebitBalanceOutputPort {
+
+    private final UserRepository userRepository;
+    private final SavePaymentOutputPort savePaymentOutputPort;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectProvider<BalanceSnapshotPublisher> balanceSnapshotPublisher;
+
+    @Override
+    public boolean debit(Long userId, Long saleId, Money amount) {
+        return Boolean.TRUE.equals(this.transactionTemplate.execute(status -> {
+            if (this.userRepository.debitBalance(userId, amount.toBigDecimal()) == 0) {
+                return false;
+            }
+            this.savePaymentOutputPort.save(new PaymentVO(null, userId, saleId, amount, null));
+            this.balanceSnapshotPublisher.ifAvailable(publisher -> publisher.markChanged(List.of(userId)));
+            return true;
+        }));
+    }
+}
@@ -0,0 +1,62 @@
+package com.market.payment.adapters.out;
+
+import com.market.payment.adapters.out.repository.PaymentBatchRepository;
+import com.market.payment.adapters.out.snapshot.BalanceSnapshotPublisher;
+import com.market.payment.application.core.domain.Money;
+import com.market.payment.application.core.domain.PaymentVO;
+import com.market.payment.application.ports.out.DebitBalancesOutputPort;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@RequiredArgsConstructor
+@Component
+@ConditionalOnProperty(name = "application-config.payment.balance-store", havingValue = "row", matchIfMissing = true)
+public class DebitBalancesAdapter implements DebitBalancesOutputPort {
+
+    private final PaymentBatchRepository paymentBatchRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectProvider<BalanceSnapshotPublisher> balanceSnapshotPublisher;
+
+    @Override
+    public Set<Long> debit(List<PaymentVO> payments) {
+        var userIds = new TreeSet<Long>();
+        payments.forEach(payment -> userIds.add(payment.getUserId()));
+
+        return this.transactionTemplate.execute(status -> {
+            var balances = this.paymentBatchRepository.findBalancesForUpdate(userIds);
+
+            Set<Long> accepted = new HashSet<>();
+            List<PaymentVO> acceptedPayments = new ArrayList<>();
+            Map<Long, Money> changedBalances = new HashMap<>();
+            for (var payment : payments) {
+                var balance = balances.get(payment.getUserId());
+                var amount = payment.getValue();
+                if (balance == null || amount.isNegative() || balance.isLessThan(amount)) {
+                    continue;
+                }
+                balance = balance.minus(amount);
+                balances.put(payment.getUserId(), balance);
+                changedBalances.put(payment.getUserId(), balance);
+                accepted.add(payment.getSaleId());
+                acceptedPayments.add(payment);
+            }
+            if (!acceptedPayments.isEmpty()) {
+                this.paymentBatchRepository.updateBalances(changedBalances);
+                this.paymentBatchRepository.insertPayments(acceptedPayments);
+                var changedUserIds = Set.copyOf(changedBalances.keySet());
+                this.balanceSnapshotPublisher.ifAvailable(publisher -> publisher.markChanged(changedUserIds));
+            }
+            return accepted;
+        });
+    }
+}
@@ -0,0 +1,49 @@
+package com.market.payment.adapters.out;
+
+import com.market.payment.adapters.out.repository.PaymentRepository;
+import com.market.payment.adapters.out.repository.UserRepository;
+import com.market.payment.adapters.out.snapshot.BalanceSnapshotPublisher;
+import com.market.payment.application.core.domain.Money;
+import com.market.payment.application.core.domain.PaymentVO;
+import com.market.payment.application.ports.out.RefundPaymentOutputPort;
+import com.market.payment.application.ports.out.SavePaymentOutputPort;
+import java.math.BigDecimal;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Credits the net amount paid for the sale back to {@code users.balance} and records it
+ * as a negative payment, so the payments of a sale always sum to what was kept.
+ */
+@RequiredArgsConstructor
+@Component
+@ConditionalOnProperty(name = "application-config.payment.balance-store", havingValue = "row", matchIfMissing = true)
+public class RefundPaymentAdapter implements RefundPaymentOutputPort {
+
+    private final PaymentRepository paymentRepository;
+    private final UserRepository userRepository;
+    private final SavePaymentOutputPort savePaymentOutputPort;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectProvider<BalanceSnapshotPublisher> balanceSnapshotPublisher;
+
+    @Override
+    public boolean refund(Long saleId) {
+        return Boolean.TRUE.equals(this.transactionTemplate.execute(status -> {
+            for (var paid : this.paymentRepository.sumValueBySaleId(saleId)) {
+                var userId = (Long) paid[0];
+                var value = Money.of((BigDecimal) paid[1]);
+                if (value.compareTo(Money.ZERO) > 0
+                        && this.userRepository.creditBalance(userId, value.toBigDecimal()) > 0) {
+                    this.savePaymentOutputPort.save(new PaymentVO(null, userId, saleId, Money.ZERO.minus(value), null));
+                    this.balanceSnapshotPublisher.ifAvailable(publisher -> publisher.markChanged(List.of(userId)));
+                    return true;
+                }
+            }
+            return false;
+        }));
+    }
+}
@@ -5,10 +5,12 @@ import com.market.payment.adapters.out.repository.mapper.PaymentMapper;
 import com.market.payment.application.core.domain.PaymentVO;
 import com.market.payment.application.ports.out.SavePaymentOutputPort;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
 @RequiredArgsConstructor
 @Component
+@ConditionalOnProperty(name = "application-config.persistence", havingValue = "jpa", matchIfMissing = true)
 public class SavePaymentAdapter implements SavePaymentOutputPort {
 
     private final PaymentRepository paymentRepository;
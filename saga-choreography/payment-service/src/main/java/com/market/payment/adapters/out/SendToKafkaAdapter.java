@@ -4,11 +4,21 @@ import com.market.payment.adapters.out.message.SaleMessageDTO;
 import com.market.payment.application.core.domain.SaleVO;
 import com.market.payment.application.core.domain.enums.SaleEventEnum;
 import com.market.payment.application.ports.out.SendToKafkaOutputPort;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+/**
+ * Never publishes from inside a transaction. Messages sent while {@link #holdUntilDone}
+ * runs are published when it returns and dropped when it throws; otherwise messages
+ * sent in a transaction are published after it commits.
+ */
 @RequiredArgsConstructor
 @Component
 public class SendToKafkaAdapter implements SendToKafkaOutputPort {
@@ -16,10 +26,62 @@ public class SendToKafkaAdapter implements SendToKafkaOutputPort {
     @Value("${application-config.kafka.topic}")
     private String topic;
     private final KafkaTemplate<String, SaleMessageDTO> kafkaTemplate;
+    private final ThreadLocal<List<SaleMessageDTO>> held = new ThreadLocal<>();
 
     @Override
     public void send(SaleVO saleVO, SaleEventEnum event) {
-        var saleMessageDTO = new SaleMessageDTO(saleVO, event);
-        this.kafkaTemplate.send(this.topic, saleVO.getId().toString(), saleMessageDTO);
+        this.sendOrHold(List.of(new SaleMessageDTO(saleVO, event)));
+    }
+
+    @Override
+    public void sendAll(Map<SaleEventEnum, List<SaleVO>> saleVOsByEvent) {
+        List<SaleMessageDTO> messages = new ArrayList<>();
+        saleVOsByEvent.forEach((event, saleVOs) -> saleVOs.forEach(
+                saleVO -> messages.add(new SaleMessageDTO(saleVO, event))));
+        this.sendOrHold(messages);
+    }
+
+    /**
+     * Runs a saga step, which may commit or reject its transaction, and publishes its
+     * messages only once it has completed.
+     */
+    public void holdUntilDone(Runnable step) {
+        if (this.held.get() != null) {
+            step.run();
+            return;
+        }
+        List<SaleMessageDTO> messages = new ArrayList<>();
+        this.held.set(messages);
+        try {
+            step.run();
+        } finally {
+            this.held.remove();
+        }
+        this.publish(messages);
+    }
+
+    private void sendOrHold(List<SaleMessageDTO> messages) {
+        var holding = this.held.get();
+        if (holding != null) {
+            holding.addAll(messages);
+        } else if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish(messages);
+                }
+            });
+        } else {
+            this.publish(messages);
+        }
+    }
+
+    // A batch is flushed so the poll's offsets are only committed once its outcomes are out
+    private void publish(List<SaleMessageDTO> messages) {
+        messages.forEach(message -> this.kafkaTemplate.send(
+                this.topic, message.getSaleVO().getId().toString(), message));
+        if (messages.size() > 1) {
+            this.kafkaTemplate.flush();
+        }
     }
 }
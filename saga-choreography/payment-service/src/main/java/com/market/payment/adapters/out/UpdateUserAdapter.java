@@ -1,23 +1,58 @@
 package com.market.payment.adapters.out;
 
+import com.market.payment.adapters.out.locking.RetryWithJitter;
 import com.market.payment.adapters.out.repository.UserRepository;
 import com.market.payment.adapters.out.repository.mapper.UserEntityMapper;
 import com.market.payment.application.core.domain.UserVO;
 import com.market.payment.application.ports.out.UpdateUserOutputPort;
+import java.util.function.Consumer;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+/**
+ * {@code optimistic}: plain read, version-checked write, retried with jitter when
+ * another transaction updated the user first.
+ * {@code pessimistic}: the user row is read with {@code SELECT ... FOR UPDATE}, so
+ * concurrent updates queue on the row lock instead of failing. It is also used
+ * whenever the caller already holds a transaction, where a retry could not see the
+ * competing write.
+ */
 @RequiredArgsConstructor
 @Component
+@ConditionalOnProperty(name = "application-config.persistence", havingValue = "jpa", matchIfMissing = true)
 public class UpdateUserAdapter implements UpdateUserOutputPort {
 
     private final UserRepository userRepository;
     private final UserEntityMapper userEntityMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final RetryWithJitter retryWithJitter;
+
+    @Value("${application-config.payment.locking.strategy}")
+    private String strategy;
 
     @Override
-    public void update(UserVO userVO) {
-        var userEntity = this.userEntityMapper.userVOToUserEntity(userVO);
+    public void update(Long userId, Consumer<UserVO> change) {
+        if ("pessimistic".equals(this.strategy) || TransactionSynchronizationManager.isActualTransactionActive()) {
+            this.apply(userId, change, true);
+        } else {
+            this.retryWithJitter.execute(() -> this.apply(userId, change, false));
+        }
+    }
+
+    private UserVO apply(Long userId, Consumer<UserVO> change, boolean forUpdate) {
+        return this.transactionTemplate.execute(status -> {
+            var userEntity = (forUpdate ? this.userRepository.findByIdForUpdate(userId) : this.userRepository.findById(userId))
+                    .orElseThrow(() -> new RuntimeException("User not found."));
+            var userVO = this.userEntityMapper.userEntityToUserVO(userEntity);
+            change.accept(userVO);
+            this.userEntityMapper.updateUserEntityFromUserVO(userVO, userEntity);
+            this.userRepository.flush();
 
-        this.userRepository.save(userEntity);
+            return userVO;
+        });
     }
 }
@@ -0,0 +1,75 @@
+package com.market.payment.adapters.out.archive;
+
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Keeps a table partitioned by {@code RANGE (UNIX_TIMESTAMP(created_at))} at one partition
+ * per UTC month. The months ahead are split off {@code p_future}, which is cheap while it
+ * is still empty. A past partition is dropped once it lies wholly before the cutoff and
+ * holds no rows anymore. A table that is not partitioned is left alone.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class MonthlyPartitions {
+
+    private static final String FUTURE_PARTITION = "p_future";
+    private static final DateTimeFormatter PARTITION_NAME = DateTimeFormatter.ofPattern("'p'yyyyMM");
+    private static final String SELECT_PARTITIONS = "SELECT PARTITION_NAME, PARTITION_DESCRIPTION "
+            + "FROM INFORMATION_SCHEMA.PARTITIONS WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? "
+            + "AND PARTITION_NAME IS NOT NULL ORDER BY PARTITION_ORDINAL_POSITION";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String table;
+    private final int monthsAhead;
+
+    public void maintain(Instant now, Instant cutoff) {
+        Map<String, Long> upperBounds = new LinkedHashMap<>();
+        this.jdbcTemplate.query(SELECT_PARTITIONS, rs -> {
+            if (!FUTURE_PARTITION.equals(rs.getString(1))) {
+                upperBounds.put(rs.getString(1), Long.parseLong(rs.getString(2)));
+            }
+        }, this.table);
+        if (upperBounds.isEmpty()) {
+            return;
+        }
+        this.addMonthsAhead(upperBounds.values().stream().max(Long::compare).orElseThrow(), now);
+        this.dropEmptiedBefore(upperBounds, cutoff);
+    }
+
+    private void addMonthsAhead(long lastUpperBound, Instant now) {
+        var until = YearMonth.from(now.atZone(ZoneOffset.UTC)).plusMonths(this.monthsAhead + 1L);
+        var month = YearMonth.from(Instant.ofEpochSecond(lastUpperBound).atZone(ZoneOffset.UTC));
+        while (month.isBefore(until)) {
+            var upperBound = month.plusMonths(1).atDay(1).atStartOfDay(ZoneOffset.UTC).toEpochSecond();
+            var name = PARTITION_NAME.format(month);
+            this.jdbcTemplate.execute("ALTER TABLE " + this.table + " REORGANIZE PARTITION " + FUTURE_PARTITION
+                    + " INTO (PARTITION " + name + " VALUES LESS THAN (" + upperBound + "), "
+                    + "PARTITION " + FUTURE_PARTITION + " VALUES LESS THAN MAXVALUE)");
+            log.info("Added partition {} to {}.", name, this.table);
+            month = month.plusMonths(1);
+        }
+    }
+
+    private void dropEmptiedBefore(Map<String, Long> upperBounds, Instant cutoff) {
+        for (var partition : upperBounds.entrySet()) {
+            if (partition.getValue() > cutoff.getEpochSecond()) {
+                continue;
+            }
+            var name = partition.getKey();
+            var empty = this.jdbcTemplate.queryForList(
+                    "SELECT 1 FROM " + this.table + " PARTITION (" + name + ") LIMIT 1").isEmpty();
+            if (empty) {
+                this.jdbcTemplate.execute("ALTER TABLE " + this.table + " DROP PARTITION " + name);
+                log.info("Dropped emptied partition {} of {}.", name, this.table);
+            }
+        }
+    }
+}
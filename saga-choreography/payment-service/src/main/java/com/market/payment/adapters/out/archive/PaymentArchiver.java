@@ -0,0 +1,74 @@
+package com.market.payment.adapters.out.archive;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Moves payments created before the retention window into {@code payments_archive}, one
+ * bounded batch per transaction and a bounded number of batches per run. A payment is
+ * final once written, so age alone decides. Each run then lets {@link MonthlyPartitions}
+ * add the coming months and drop the partitions the archiving emptied.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class PaymentArchiver {
+
+    private static final String SELECT_EXPIRED = "SELECT id FROM payments WHERE created_at < :cutoff LIMIT :limit";
+    private static final String ARCHIVE_PAYMENTS = "INSERT INTO payments_archive "
+            + "(id, user_id, sale_id, value, created_at) SELECT id, user_id, sale_id, value, created_at "
+            + "FROM payments WHERE id IN (:ids) AND created_at < :cutoff";
+    private static final String DELETE_PAYMENTS = "DELETE FROM payments WHERE id IN (:ids) AND created_at < :cutoff";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final MonthlyPartitions monthlyPartitions;
+    private final Duration retention;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+
+    @Scheduled(fixedDelayString = "${application-config.archive.interval-ms}")
+    public void archive() {
+        try {
+            var now = Instant.now();
+            var cutoff = now.minus(this.retention);
+            var archived = 0;
+            for (int batch = 0; batch < this.maxBatchesPerRun; batch++) {
+                var moved = this.archiveBatch(cutoff);
+                archived += moved;
+                if (moved < this.batchSize) {
+                    break;
+                }
+            }
+            if (archived > 0) {
+                log.info("Archived {} payments created before {}.", archived, cutoff);
+            }
+            this.monthlyPartitions.maintain(now, cutoff);
+        } catch (Exception e) {
+            log.error("Unable to archive payments, will retry: {}", e.getMessage());
+        }
+    }
+
+    private int archiveBatch(Instant cutoff) {
+        var parameters = new MapSqlParameterSource()
+                .addValue("cutoff", Timestamp.from(cutoff))
+                .addValue("limit", this.batchSize);
+        var ids = this.jdbcTemplate.queryForList(SELECT_EXPIRED, parameters, Long.class);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        parameters.addValue("ids", ids);
+        this.transactionTemplate.executeWithoutResult(status -> {
+            this.jdbcTemplate.update(ARCHIVE_PAYMENTS, parameters);
+            this.jdbcTemplate.update(DELETE_PAYMENTS, parameters);
+        });
+
+        return ids.size();
+    }
+}
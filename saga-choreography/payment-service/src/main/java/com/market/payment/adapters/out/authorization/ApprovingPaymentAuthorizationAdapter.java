@@ -0,0 +1,24 @@
+package com.market.payment.adapters.out.authorization;
+
+import com.market.payment.application.core.domain.Money;
+import com.market.payment.application.ports.out.AuthorizePaymentOutputPort;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Used when no acquirer is configured: every payment is authorized, and only the
+ * internal balance decides.
+ */
+public class ApprovingPaymentAuthorizationAdapter implements AuthorizePaymentOutputPort {
+
+    private static final CompletableFuture<Boolean> APPROVED = CompletableFuture.completedFuture(true);
+
+    @Override
+    public CompletableFuture<Boolean> authorize(Long saleId, Long userId, Money amount) {
+        return APPROVED;
+    }
+
+    @Override
+    public void voidAuthorization(Long saleId) {
+        // Nothing was held
+    }
+}
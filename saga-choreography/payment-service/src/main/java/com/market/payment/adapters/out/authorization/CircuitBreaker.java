@@ -0,0 +1,107 @@
+package com.market.payment.adapters.out.authorization;
+
+/**
+ * Count-based circuit breaker. Opens once at least {@code minimumCalls} of the last
+ * {@code windowSize} calls were recorded and the failure rate reaches the threshold;
+ * after {@code openMillis} it lets {@code halfOpenCalls} trial calls through and
+ * closes again only if all of them succeed.
+ */
+public class CircuitBreaker {
+
+    enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final boolean[] window;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long openMillis;
+    private final int halfOpenCalls;
+
+    private State state = State.CLOSED;
+    private int next;
+    private int recorded;
+    private int failures;
+    private long openedAt;
+    private int halfOpenPermits;
+    private int halfOpenSuccesses;
+
+    public CircuitBreaker(int windowSize, int minimumCalls, double failureRateThreshold, long openMillis, int halfOpenCalls) {
+        this.window = new boolean[windowSize];
+        this.minimumCalls = Math.min(minimumCalls, windowSize);
+        this.failureRateThreshold = failureRateThreshold;
+        this.openMillis = openMillis;
+        this.halfOpenCalls = halfOpenCalls;
+    }
+
+    public synchronized boolean tryAcquire() {
+        if (this.state == State.OPEN) {
+            if (System.currentTimeMillis() - this.openedAt < this.openMillis) {
+                return false;
+            }
+            this.state = State.HALF_OPEN;
+            this.halfOpenPermits = this.halfOpenCalls;
+            this.halfOpenSuccesses = 0;
+        }
+        if (this.state == State.HALF_OPEN) {
+            if (this.halfOpenPermits == 0) {
+                return false;
+            }
+            this.halfOpenPermits--;
+        }
+        return true;
+    }
+
+    public synchronized void onSuccess() {
+        if (this.state == State.HALF_OPEN) {
+            if (++this.halfOpenSuccesses == this.halfOpenCalls) {
+                this.close();
+            }
+            return;
+        }
+        this.record(false);
+    }
+
+    public synchronized void onFailure() {
+        if (this.state == State.HALF_OPEN) {
+            this.open();
+            return;
+        }
+        this.record(true);
+        if (this.recorded >= this.minimumCalls && this.failures >= this.failureRateThreshold * this.recorded) {
+            this.open();
+        }
+    }
+
+    synchronized State state() {
+        return this.state;
+    }
+
+    private void record(boolean failed) {
+        if (this.state != State.CLOSED) {
+            return;
+        }
+        if (this.recorded == this.window.length) {
+            if (this.window[this.next]) {
+                this.failures--;
+            }
+        } else {
+            this.recorded++;
+        }
+        this.window[this.next] = failed;
+        if (failed) {
+            this.failures++;
+        }
+        this.next = (this.next + 1) % this.window.length;
+    }
+
+    private void open() {
+        this.state = State.OPEN;
+        this.openedAt = System.currentTimeMillis();
+    }
+
+    private void close() {
+        this.state = State.CLOSED;
+        this.next = 0;
+        this.recorded = 0;
+        this.failures = 0;
+    }
+}
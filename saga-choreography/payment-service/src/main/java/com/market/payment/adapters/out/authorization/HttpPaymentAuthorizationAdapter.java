@@ -0,0 +1,185 @@
+package com.market.payment.adapters.out.authorization;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.market.payment.adapters.out.authorization.dto.AuthorizationRequestDTO;
+import com.market.payment.adapters.out.authorization.dto.AuthorizationResponseDTO;
+import com.market.payment.application.core.domain.Money;
+import com.market.payment.application.ports.out.AuthorizationUnavailableException;
+import com.market.payment.application.ports.out.AuthorizePaymentOutputPort;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Authorizes payments with the acquirer over HTTP without blocking the caller.
+ *
+ * <ul>
+ *   <li>Every call is capped at {@code timeout}, including the response body.</li>
+ *   <li>At most {@code maxConcurrentCalls} calls are in flight. A caller waits up to
+ *   {@code maxWait} for a slot, which throttles the consumer instead of queueing
+ *   without bound, and gets an {@link AuthorizationUnavailableException} after that.</li>
+ *   <li>Errors and timeouts feed a {@link CircuitBreaker}; while it is open, calls are
+ *   refused the same way.</li>
+ *   <li>Results are handed over on a dedicated callback pool, so the work chained on
+ *   them never runs on the HTTP client's threads.</li>
+ * </ul>
+ *
+ * The sale id is sent as {@code Idempotency-Key}, so a redelivered event does not
+ * authorize twice. A void is a {@code DELETE} of the sale's authorization, sent once
+ * the current transaction commits: a step rolled back and redelivered keeps it.
+ */
+@Slf4j
+public class HttpPaymentAuthorizationAdapter implements AuthorizePaymentOutputPort, AutoCloseable {
+
+    private final URI uri;
+    private final Duration timeout;
+    private final long maxWaitMillis;
+    private final Semaphore bulkhead;
+    private final CircuitBreaker circuitBreaker;
+    private final ObjectMapper objectMapper;
+    private final HttpClient httpClient;
+    private final ExecutorService callbackExecutor;
+
+    public HttpPaymentAuthorizationAdapter(
+            URI uri,
+            Duration connectTimeout,
+            Duration timeout,
+            int maxConcurrentCalls,
+            long maxWaitMillis,
+            int callbackThreads,
+            CircuitBreaker circuitBreaker,
+            ObjectMapper objectMapper
+    ) {
+        this.uri = uri;
+        this.timeout = timeout;
+        this.maxWaitMillis = maxWaitMillis;
+        this.bulkhead = new Semaphore(maxConcurrentCalls);
+        this.circuitBreaker = circuitBreaker;
+        this.objectMapper = objectMapper;
+        this.httpClient = HttpClient.newBuilder().connectTimeout(connectTimeout).build();
+        var threads = new AtomicInteger();
+        this.callbackExecutor = Executors.newFixedThreadPool(callbackThreads, runnable -> {
+            var thread = new Thread(runnable, "payment-authorization-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Boolean> authorize(Long saleId, Long userId, Money amount) {
+        try {
+            if (!this.bulkhead.tryAcquire(this.maxWaitMillis, TimeUnit.MILLISECONDS)) {
+                throw new AuthorizationUnavailableException("Too many payment authorizations in flight!");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return CompletableFuture.failedFuture(e);
+        }
+        if (!this.circuitBreaker.tryAcquire()) {
+            this.bulkhead.release();
+            throw new AuthorizationUnavailableException("Payment authorization circuit is open!");
+        }
+
+        CompletableFuture<Boolean> result = new CompletableFuture<>();
+        try {
+            var body = this.objectMapper.writeValueAsBytes(new AuthorizationRequestDTO(saleId, userId, amount.toBigDecimal()));
+            var request = HttpRequest.newBuilder(this.uri)
+                    .timeout(this.timeout)
+                    .header("Content-Type", "application/json")
+                    .header("Idempotency-Key", String.valueOf(saleId))
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                    .build();
+            this.httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                    .orTimeout(this.timeout.toMillis(), TimeUnit.MILLISECONDS)
+                    .thenApply(this::approved)
+                    .whenComplete((approved, error) -> {
+                        this.bulkhead.release();
+                        if (error == null) {
+                            this.circuitBreaker.onSuccess();
+                        } else {
+                            this.circuitBreaker.onFailure();
+                        }
+                        this.handOver(result, approved, error);
+                    });
+        } catch (IOException | RuntimeException e) {
+            this.bulkhead.release();
+            this.circuitBreaker.onFailure();
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+
+    @Override
+    public void voidAuthorization(Long saleId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    sendVoid(saleId);
+                }
+            });
+        } else {
+            this.sendVoid(saleId);
+        }
+    }
+
+    @Override
+    public void close() {
+        this.callbackExecutor.shutdown();
+    }
+
+    private void sendVoid(Long saleId) {
+        var request = HttpRequest.newBuilder(URI.create(this.uri + "/" + saleId))
+                .timeout(this.timeout)
+                .header("Idempotency-Key", String.valueOf(saleId))
+                .DELETE()
+                .build();
+        this.httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, error) -> {
+                    if (error != null || response.statusCode() / 100 != 2) {
+                        log.warn("Unable to void the authorization of sale {}, it will expire: {}", saleId,
+                                error != null ? error.getMessage() : "acquirer answered " + response.statusCode());
+                    }
+                });
+    }
+
+    private boolean approved(HttpResponse<byte[]> response) {
+        if (response.statusCode() / 100 != 2) {
+            throw new RuntimeException("Acquirer answered " + response.statusCode() + "!");
+        }
+        try {
+            var authorization = this.objectMapper.readValue(response.body(), AuthorizationResponseDTO.class);
+            return Boolean.TRUE.equals(authorization.getApproved());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void handOver(CompletableFuture<Boolean> result, Boolean approved, Throwable error) {
+        try {
+            this.callbackExecutor.execute(() -> {
+                if (error == null) {
+                    result.complete(approved);
+                } else {
+                    result.completeExceptionally(error);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            result.completeExceptionally(e);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.market.payment.adapters.out.authorization.dto;
+
+import java.math.BigDecimal;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuthorizationRequestDTO {
+
+    private Long saleId;
+    private Long userId;
+    private BigDecimal amount;
+}
@@ -0,0 +1,14 @@
+package com.market.payment.adapters.out.authorization.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuthorizationResponseDTO {
+
+    private Boolean approved;
+    private String reason;
+}
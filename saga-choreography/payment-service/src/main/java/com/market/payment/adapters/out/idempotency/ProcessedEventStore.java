@@ -0,0 +1,159 @@
+package com.market.payment.adapters.out.idempotency;
+
+import com.market.payment.adapters.out.SendToKafkaAdapter;
+import com.market.payment.adapters.out.repository.ProcessedEventRepository;
+import com.market.payment.application.core.domain.enums.SaleEventEnum;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.UnexpectedRollbackException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Runs a saga step at most once per {@code (saleId, event)}.
+ *
+ * <p>The marker is inserted in the transaction the step's own updates join, so both
+ * commit or roll back together. When the step rejected the event and rolled its
+ * changes back (surfacing as {@link UnexpectedRollbackException}), it has already
+ * sent its failure outcome, so the marker is then recorded on its own.
+ *
+ * <p>The messages a step sends are held back and published only after its marker has
+ * committed, so a rolled back step never announces an outcome that did not happen.
+ *
+ * <p>Events this instance has not seen recently are answered by the Bloom filter
+ * without a lookup; only probable duplicates are checked against the table.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class ProcessedEventStore {
+
+    private static final int PURGE_BATCH_SIZE = 10_000;
+
+    private final ProcessedEventRepository processedEventRepository;
+    private final TimePartitionedBloomFilter processedEventFilter;
+    private final TransactionTemplate transactionTemplate;
+    private final SendToKafkaAdapter sendToKafkaAdapter;
+
+    @Value("${application-config.idempotency.partitions}")
+    private Integer partitions;
+
+    @Value("${application-config.idempotency.window-ms}")
+    private Long windowMillis;
+
+    @Value("${application-config.idempotency.retention-ms}")
+    private Long retentionMillis;
+
+    /**
+     * Returns {@code false} when the event was processed (or claimed) before and the
+     * step was skipped.
+     */
+    public boolean runOnce(Long saleId, SaleEventEnum event, Runnable step) {
+        var key = keyOf(saleId, event.name());
+        if (this.processedEventFilter.mightContain(key) && this.processedEventRepository.exists(saleId, event.name())) {
+            log.info("Skipping {} of sale {}, already processed.", event, saleId);
+            return false;
+        }
+        var ran = new AtomicBoolean();
+        this.sendToKafkaAdapter.holdUntilDone(() -> {
+            try {
+                this.transactionTemplate.executeWithoutResult(status -> {
+                    if (!this.processedEventRepository.insertIfAbsent(saleId, event.name())) {
+                        log.info("Skipping {} of sale {}, already processed.", event, saleId);
+                        return;
+                    }
+                    ran.set(true);
+                    step.run();
+                });
+            } catch (UnexpectedRollbackException e) {
+                this.transactionTemplate.executeWithoutResult(
+                        status -> this.processedEventRepository.insertIfAbsent(saleId, event.name()));
+            }
+        });
+        this.processedEventFilter.put(key);
+        return ran.get();
+    }
+
+    /**
+     * Records {@code event} as processed without running its step, in the caller's
+     * transaction. Returns {@code false} when it was processed (or claimed) before; the
+     * insert waits on a concurrent transaction holding the same marker.
+     */
+    public boolean claim(Long saleId, SaleEventEnum event) {
+        var claimed = this.processedEventRepository.insertIfAbsent(saleId, event.name());
+        this.processedEventFilter.put(keyOf(saleId, event.name()));
+
+        return claimed;
+    }
+
+    /**
+     * Batch variant: hands {@code step} the sale ids not processed before, in one
+     * transaction with their markers. The step must not reject the batch by rolling
+     * back; a failure rolls back the whole batch, which is then redelivered. Returns the
+     * sale ids that were skipped.
+     */
+    public Set<Long> runOnce(List<Long> saleIds, SaleEventEnum event, Consumer<Set<Long>> step) {
+        var fresh = new LinkedHashSet<>(saleIds);
+        Set<Long> skipped = new HashSet<>();
+        var probable = saleIds.stream()
+                .filter(saleId -> this.processedEventFilter.mightContain(keyOf(saleId, event.name())))
+                .toList();
+        this.sendToKafkaAdapter.holdUntilDone(() -> this.transactionTemplate.executeWithoutResult(status -> {
+            if (!probable.isEmpty()) {
+                var processed = this.processedEventRepository.findProcessed(probable, event.name());
+                if (!processed.isEmpty()) {
+                    log.info("Skipping {} of sales {}, already processed.", event, processed);
+                    fresh.removeAll(processed);
+                    skipped.addAll(processed);
+                }
+            }
+            if (!fresh.isEmpty()) {
+                this.processedEventRepository.insertAll(fresh, event.name());
+                step.accept(fresh);
+            }
+        }));
+        fresh.forEach(saleId -> this.processedEventFilter.put(keyOf(saleId, event.name())));
+        return skipped;
+    }
+
+    public boolean isProcessed(Long saleId, SaleEventEnum event) {
+        return this.processedEventRepository.exists(saleId, event.name());
+    }
+
+    public Set<Long> findProcessed(Collection<Long> saleIds, SaleEventEnum event) {
+        return saleIds.isEmpty() ? Set.of() : this.processedEventRepository.findProcessed(saleIds, event.name());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        var since = Instant.now().minus(Duration.ofMillis(this.windowMillis * this.partitions));
+        this.processedEventRepository.forEachSince(since,
+                (saleId, event) -> this.processedEventFilter.put(keyOf(saleId, event)));
+    }
+
+    @Scheduled(fixedDelayString = "${application-config.idempotency.window-ms}")
+    public void purge() {
+        var before = Instant.now().minus(Duration.ofMillis(this.retentionMillis));
+        int deleted;
+        do {
+            deleted = this.processedEventRepository.deleteOlderThan(before, PURGE_BATCH_SIZE);
+        } while (deleted == PURGE_BATCH_SIZE);
+    }
+
+    private static long keyOf(Long saleId, String event) {
+        return saleId * 31 + event.hashCode();
+    }
+}
@@ -0,0 +1,28 @@
+package com.market.payment.adapters.out.jdbc;
+
+import com.market.payment.application.core.domain.PaymentVO;
+import com.market.payment.application.ports.out.SavePaymentOutputPort;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+@RequiredArgsConstructor
+@Component
+@ConditionalOnProperty(name = "application-config.persistence", havingValue = "jdbc")
+public class JdbcSavePaymentAdapter implements SavePaymentOutputPort {
+
+    private static final String INSERT_PAYMENT = "INSERT INTO payments (user_id, sale_id, value, created_at) "
+            + "VALUES (:userId, :saleId, :value, CURRENT_TIMESTAMP)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Override
+    public void save(PaymentVO paymentVO) {
+        this.jdbcTemplate.update(INSERT_PAYMENT, new MapSqlParameterSource()
+                .addValue("userId", paymentVO.getUserId())
+                .addValue("saleId", paymentVO.getSaleId())
+                .addValue("value", paymentVO.getValue().toBigDecimal()));
+    }
+}
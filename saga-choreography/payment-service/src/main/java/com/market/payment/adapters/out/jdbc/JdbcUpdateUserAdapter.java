@@ -0,0 +1,81 @@
+package com.market.payment.adapters.out.jdbc;
+
+import com.market.payment.adapters.out.locking.RetryWithJitter;
+import com.market.payment.application.core.domain.Money;
+import com.market.payment.application.core.domain.UserVO;
+import com.market.payment.application.ports.out.UpdateUserOutputPort;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.function.Consumer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Same locking rules as {@code UpdateUserAdapter}, on plain JDBC. The row is read
+ * straight into a {@link UserVO}, and only the balance is written back, checked
+ * against the version that was read.
+ */
+@RequiredArgsConstructor
+@Component
+@ConditionalOnProperty(name = "application-config.persistence", havingValue = "jdbc")
+public class JdbcUpdateUserAdapter implements UpdateUserOutputPort {
+
+    private static final String SELECT_USER = "SELECT id, name, balance, created_at, version FROM users WHERE id = :id";
+    private static final String UPDATE_BALANCE = "UPDATE users SET balance = :balance, "
+            + "updated_at = CURRENT_TIMESTAMP, version = version + 1 WHERE id = :id AND version = :version";
+    private static final RowMapper<VersionedUser> ROW_MAPPER = (rs, rowNum) -> new VersionedUser(
+            new UserVO(
+                    rs.getLong("id"),
+                    rs.getString("name"),
+                    Money.of(rs.getBigDecimal("balance")),
+                    rs.getObject("created_at", LocalDateTime.class)),
+            rs.getLong("version"));
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final RetryWithJitter retryWithJitter;
+
+    @Value("${application-config.payment.locking.strategy}")
+    private String strategy;
+
+    @Override
+    public void update(Long userId, Consumer<UserVO> change) {
+        if ("pessimistic".equals(this.strategy) || TransactionSynchronizationManager.isActualTransactionActive()) {
+            this.apply(userId, change, true);
+        } else {
+            this.retryWithJitter.execute(() -> this.apply(userId, change, false));
+        }
+    }
+
+    private UserVO apply(Long userId, Consumer<UserVO> change, boolean forUpdate) {
+        return this.transactionTemplate.execute(status -> {
+            var user = this.jdbcTemplate.query(forUpdate ? SELECT_USER + " FOR UPDATE" : SELECT_USER,
+                            Map.of("id", userId), ROW_MAPPER)
+                    .stream()
+                    .findFirst()
+                    .orElseThrow(() -> new RuntimeException("User not found."));
+            var userVO = user.userVO();
+            change.accept(userVO);
+            var updated = this.jdbcTemplate.update(UPDATE_BALANCE, new MapSqlParameterSource()
+                    .addValue("balance", userVO.getBalance().toBigDecimal())
+                    .addValue("id", userVO.getId())
+                    .addValue("version", user.version()));
+            if (updated == 0) {
+                throw new OptimisticLockingFailureException("User " + userId + " was updated concurrently.");
+            }
+
+            return userVO;
+        });
+    }
+
+    private record VersionedUser(UserVO userVO, long version) {
+    }
+}
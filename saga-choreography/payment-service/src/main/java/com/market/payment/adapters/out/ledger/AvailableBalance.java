@@ -0,0 +1,66 @@
+package com.market.payment.adapters.out.ledger;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * In-memory available balance of one user, in cents, with the number of ledger
+ * transactions that changed it and have not completed yet. Every change swaps in a new
+ * immutable state, so a reconciliation can tell from the state it read whether anything
+ * happened in between.
+ */
+final class AvailableBalance {
+
+    private final AtomicReference<State> state;
+
+    AvailableBalance(long balance) {
+        this.state = new AtomicReference<>(new State(balance, 0));
+    }
+
+    /**
+     * Takes {@code amount} if it is covered; the caller must {@link #complete} it.
+     */
+    boolean reserve(long amount) {
+        State current;
+        do {
+            current = this.state.get();
+            if (current.balance() < amount) {
+                return false;
+            }
+        } while (!this.state.compareAndSet(current, new State(current.balance() - amount, current.pending() + 1)));
+        return true;
+    }
+
+    /**
+     * Opens a transaction that only adds to the balance once it commits.
+     */
+    void open() {
+        this.state.updateAndGet(current -> new State(current.balance(), current.pending() + 1));
+    }
+
+    /**
+     * Completes a reserved or opened transaction, adding {@code delta} to the balance.
+     */
+    void complete(long delta) {
+        this.state.updateAndGet(current -> new State(current.balance() + delta, current.pending() - 1));
+    }
+
+    /**
+     * The current state when no transaction is in flight, {@code null} otherwise.
+     */
+    State idle() {
+        var current = this.state.get();
+
+        return current.pending() == 0 ? current : null;
+    }
+
+    /**
+     * Replaces {@code seen} by the stored balance, unless anything changed since it was
+     * read. Returns whether the balance was corrected.
+     */
+    boolean reconcile(State seen, long stored) {
+        return seen.balance() != stored && this.state.compareAndSet(seen, new State(stored, 0));
+    }
+
+    record State(long balance, int pending) {
+    }
+}
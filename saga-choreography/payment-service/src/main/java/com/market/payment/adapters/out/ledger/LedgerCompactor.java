@@ -0,0 +1,39 @@
+package com.market.payment.adapters.out.ledger;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Folds the unfolded user entries into {@code users.balance}. The balance update and
+ * the folded marks commit together, so materialized balance plus unfolded entries
+ * never changes while the compactor runs.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class LedgerCompactor {
+
+    private final LedgerRepository ledgerRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Scheduled(fixedDelayString = "${application-config.payment.ledger.compaction-interval-ms}")
+    public void compact() {
+        try {
+            var folded = this.transactionTemplate.execute(status -> {
+                var lastEntryId = this.ledgerRepository.findLastEntryId();
+                var deltas = this.ledgerRepository.sumUnfoldedForUpdate(lastEntryId);
+                if (deltas.isEmpty()) {
+                    return 0;
+                }
+                this.ledgerRepository.addToBalances(deltas);
+                return this.ledgerRepository.markFolded(lastEntryId);
+            });
+            if (folded != null && folded > 0) {
+                log.debug("Folded {} ledger entries into user balances.", folded);
+            }
+        } catch (Exception e) {
+            log.error("Unable to compact the ledger, will retry: {}", e.getMessage());
+        }
+    }
+}
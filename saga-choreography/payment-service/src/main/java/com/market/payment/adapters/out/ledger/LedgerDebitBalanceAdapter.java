@@ -0,0 +1,192 @@
+package com.market.payment.adapters.out.ledger;
+
+import com.market.payment.adapters.out.repository.PaymentBatchRepository;
+import com.market.payment.adapters.out.snapshot.BalanceSnapshotPublisher;
+import com.market.payment.application.core.domain.Money;
+import com.market.payment.application.core.domain.PaymentVO;
+import com.market.payment.application.ports.out.DebitBalanceOutputPort;
+import com.market.payment.application.ports.out.DebitBalancesOutputPort;
+import com.market.payment.application.ports.out.RefundPaymentOutputPort;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Debits balances by appending to the ledger instead of updating {@code users}.
+ *
+ * <p>The available balance of each user (materialized balance plus unfolded entries)
+ * is loaded once and then kept in memory; a payment reserves its amount with a CAS on
+ * that counter and only then inserts its entries, so concurrent payments of the same
+ * user never wait on a row lock. The reservation is settled when the transaction that
+ * inserted the entries completes, which may be an outer one the debit joined: a
+ * rollback gives the amount back. The counters are only authoritative while a single
+ * payment-service instance is running.
+ *
+ * <p>A refund appends the reversed entries of the sale and adds the amount to the
+ * counter once they are committed.
+ *
+ * <p>Users are marked for the balance snapshots with the transaction that commits
+ * their entries.
+ *
+ * <p>Every {@code reconcile-interval-ms} the counters of users with no payment in
+ * flight are compared with the stored balance, so credits written straight to
+ * {@code users.balance} become available without a restart.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class LedgerDebitBalanceAdapter implements DebitBalanceOutputPort, DebitBalancesOutputPort,
+        RefundPaymentOutputPort {
+
+    private static final int RECONCILE_CHUNK_SIZE = 500;
+
+    private final LedgerRepository ledgerRepository;
+    private final PaymentBatchRepository paymentBatchRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectProvider<BalanceSnapshotPublisher> balanceSnapshotPublisher;
+    private final Map<Long, AvailableBalance> availableBalances = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean debit(Long userId, Long saleId, Money amount) {
+        var payment = new PaymentVO(null, userId, saleId, amount, null);
+
+        return !this.debit(List.of(payment)).isEmpty();
+    }
+
+    @Override
+    public Set<Long> debit(List<PaymentVO> payments) {
+        List<PaymentVO> reserved = new ArrayList<>(payments.size());
+        List<AvailableBalance> balances = new ArrayList<>(payments.size());
+        for (var payment : payments) {
+            var available = this.availableBalance(payment.getUserId());
+            if (available != null && available.reserve(payment.getValue().getMinorUnits())) {
+                reserved.add(payment);
+                balances.add(available);
+            }
+        }
+        if (reserved.isEmpty()) {
+            return Set.of();
+        }
+        Set<Long> accepted = new HashSet<>();
+        Set<Long> userIds = new HashSet<>();
+        reserved.forEach(payment -> {
+            accepted.add(payment.getSaleId());
+            userIds.add(payment.getUserId());
+        });
+        var settled = new AtomicBoolean();
+        try {
+            this.transactionTemplate.executeWithoutResult(status -> {
+                this.settleOnCompletion(reserved, balances, settled);
+                this.ledgerRepository.appendPayments(reserved);
+                this.paymentBatchRepository.insertPayments(reserved);
+                this.balanceSnapshotPublisher.ifAvailable(publisher -> publisher.markChanged(userIds));
+            });
+        } catch (RuntimeException e) {
+            if (!settled.get()) {
+                settle(reserved, balances, false);
+            }
+            throw e;
+        }
+        return accepted;
+    }
+
+    @Override
+    public boolean refund(Long saleId) {
+        return Boolean.TRUE.equals(this.transactionTemplate.execute(status -> {
+            var paid = this.ledgerRepository.findNetPayment(saleId).orElse(null);
+            if (paid == null) {
+                return false;
+            }
+            var refund = new PaymentVO(null, paid.getUserId(), saleId, Money.ZERO.minus(paid.getValue()), null);
+            // A counter loaded later reads the refund from the ledger
+            var available = this.availableBalances.get(paid.getUserId());
+            if (available != null) {
+                available.open();
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        available.complete(status == STATUS_COMMITTED ? paid.getValue().getMinorUnits() : 0);
+                    }
+                });
+            }
+            this.ledgerRepository.appendPayments(List.of(refund));
+            this.paymentBatchRepository.insertPayments(List.of(refund));
+            this.balanceSnapshotPublisher.ifAvailable(publisher -> publisher.markChanged(List.of(paid.getUserId())));
+            return true;
+        }));
+    }
+
+    @Scheduled(fixedDelayString = "${application-config.payment.ledger.reconcile-interval-ms}")
+    public void reconcile() {
+        try {
+            var corrected = 0;
+            List<Long> userIds = new ArrayList<>(this.availableBalances.keySet());
+            for (var from = 0; from < userIds.size(); from += RECONCILE_CHUNK_SIZE) {
+                Map<Long, AvailableBalance.State> idle = new HashMap<>();
+                for (var userId : userIds.subList(from, Math.min(from + RECONCILE_CHUNK_SIZE, userIds.size()))) {
+                    var available = this.availableBalances.get(userId);
+                    var seen = available == null ? null : available.idle();
+                    if (seen != null) {
+                        idle.put(userId, seen);
+                    }
+                }
+                if (idle.isEmpty()) {
+                    continue;
+                }
+                // Read after the states, so every transaction they reflect has committed
+                var stored = this.ledgerRepository.findAvailableBalances(idle.keySet());
+                for (var entry : idle.entrySet()) {
+                    var balance = stored.get(entry.getKey());
+                    if (balance == null) {
+                        this.availableBalances.remove(entry.getKey());
+                    } else if (this.availableBalances.get(entry.getKey())
+                            .reconcile(entry.getValue(), balance.getMinorUnits())) {
+                        corrected++;
+                    }
+                }
+            }
+            if (corrected > 0) {
+                log.info("Reconciled {} available balances with the stored balances.", corrected);
+            }
+        } catch (Exception e) {
+            log.error("Unable to reconcile the available balances, will retry: {}", e.getMessage());
+        }
+    }
+
+    private AvailableBalance availableBalance(Long userId) {
+        return this.availableBalances.computeIfAbsent(userId, id -> this.ledgerRepository.findAvailableBalance(id)
+                .map(balance -> new AvailableBalance(balance.getMinorUnits()))
+                .orElse(null));
+    }
+
+    /**
+     * Registers the settlement with the transaction that will commit the entries, the
+     * debit's own or an outer one it joined.
+     */
+    private void settleOnCompletion(List<PaymentVO> reserved, List<AvailableBalance> balances, AtomicBoolean settled) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                settle(reserved, balances, status != STATUS_ROLLED_BACK);
+            }
+        });
+        settled.set(true);
+    }
+
+    private static void settle(List<PaymentVO> reserved, List<AvailableBalance> balances, boolean kept) {
+        for (var i = 0; i < reserved.size(); i++) {
+            balances.get(i).complete(kept ? 0 : reserved.get(i).getValue().getMinorUnits());
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.market.payment.adapters.out.ledger;
+
+import com.market.payment.application.core.domain.Money;
+import com.market.payment.application.core.domain.PaymentVO;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@RequiredArgsConstructor
+@Repository
+public class LedgerRepository {
+
+    static final String USER_ACCOUNT = "USER";
+    static final String REVENUE_ACCOUNT = "REVENUE";
+    static final long REVENUE_ACCOUNT_ID = 0L;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Materialized balance plus the entries not folded into it yet.
+     */
+    public Optional<Money> findAvailableBalance(Long userId) {
+        var balances = this.jdbcTemplate.query(
+                "SELECT u.balance, (SELECT COALESCE(SUM(e.amount_minor), 0) FROM ledger_entries e "
+                        + "WHERE e.account_type = ? AND e.folded_at IS NULL AND e.account_id = u.id) AS unfolded "
+                        + "FROM users u WHERE u.id = ?",
+                (rs, rowNum) -> {
+                    var balance = rs.getBigDecimal("balance");
+                    var materialized = balance == null ? Money.ZERO : Money.of(balance);
+                    return materialized.plus(Money.ofMinorUnits(rs.getLong("unfolded")));
+                },
+                USER_ACCOUNT, userId);
+
+        return balances.stream().findFirst();
+    }
+
+    /**
+     * {@link #findAvailableBalance} of several users with one query; unknown users are
+     * left out.
+     */
+    public Map<Long, Money> findAvailableBalances(Collection<Long> userIds) {
+        Map<Long, Money> balances = new HashMap<>();
+        List<Object> args = new ArrayList<>(userIds.size() + 1);
+        args.add(USER_ACCOUNT);
+        args.addAll(userIds);
+        var placeholders = String.join(", ", Collections.nCopies(userIds.size(), "?"));
+        this.jdbcTemplate.query(
+                "SELECT u.id, u.balance, (SELECT COALESCE(SUM(e.amount_minor), 0) FROM ledger_entries e "
+                        + "WHERE e.account_type = ? AND e.folded_at IS NULL AND e.account_id = u.id) AS unfolded "
+                        + "FROM users u WHERE u.id IN (" + placeholders + ")",
+                rs -> {
+                    var balance = rs.getBigDecimal("balance");
+                    var materialized = balance == null ? Money.ZERO : Money.of(balance);
+                    balances.put(rs.getLong("id"), materialized.plus(Money.ofMinorUnits(rs.getLong("unfolded"))));
+                },
+                args.toArray());
+
+        return balances;
+    }
+
+    /**
+     * Appends the two entries of every payment with one multi-row insert.
+     */
+    public void appendPayments(List<PaymentVO> payments) {
+        var sql = "INSERT INTO ledger_entries (transaction_id, account_type, account_id, amount_minor) VALUES "
+                + String.join(", ", Collections.nCopies(payments.size() * 2, "(?, ?, ?, ?)"));
+        List<Object> args = new ArrayList<>(payments.size() * 8);
+        for (var payment : payments) {
+            var amount = payment.getValue().getMinorUnits();
+            args.add(payment.getSaleId());
+            args.add(USER_ACCOUNT);
+            args.add(payment.getUserId());
+            args.add(-amount);
+            args.add(payment.getSaleId());
+            args.add(REVENUE_ACCOUNT);
+            args.add(REVENUE_ACCOUNT_ID);
+            args.add(amount);
+        }
+        this.jdbcTemplate.update(sql, args.toArray());
+    }
+
+    /**
+     * Net amount the sale took from its user over all entries, folded or not, as the
+     * payment still to refund.
+     */
+    public Optional<PaymentVO> findNetPayment(Long saleId) {
+        var payments = this.jdbcTemplate.query(
+                "SELECT account_id, -SUM(amount_minor) AS paid FROM ledger_entries "
+                        + "WHERE transaction_id = ? AND account_type = ? GROUP BY account_id HAVING SUM(amount_minor) < 0",
+                (rs, rowNum) -> new PaymentVO(null, rs.getLong("account_id"), saleId,
+                        Money.ofMinorUnits(rs.getLong("paid")), null),
+                saleId, USER_ACCOUNT);
+
+        return payments.stream().findFirst();
+    }
+
+    public Long findLastEntryId() {
+        return this.jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM ledger_entries", Long.class);
+    }
+
+    /**
+     * Sums the unfolded user entries up to {@code lastEntryId} with a locking read, so
+     * entries still being inserted below that id are waited for instead of skipped.
+     */
+    public Map<Long, Long> sumUnfoldedForUpdate(Long lastEntryId) {
+        Map<Long, Long> deltas = new HashMap<>();
+        this.jdbcTemplate.query(
+                "SELECT account_id, SUM(amount_minor) AS delta FROM ledger_entries "
+                        + "WHERE account_type = ? AND folded_at IS NULL AND id <= ? GROUP BY account_id FOR UPDATE",
+                rs -> {
+                    deltas.put(rs.getLong("account_id"), rs.getLong("delta"));
+                },
+                USER_ACCOUNT, lastEntryId);
+
+        return deltas;
+    }
+
+    public void addToBalances(Map<Long, Long> deltas) {
+        List<Object[]> args = new ArrayList<>(deltas.size());
+        deltas.forEach((userId, delta) -> args.add(new Object[]{Money.ofMinorUnits(delta).toBigDecimal(), userId}));
+        this.jdbcTemplate.batchUpdate("UPDATE users SET balance = COALESCE(balance, 0) + ?, "
+                + "updated_at = CURRENT_TIMESTAMP, version = version + 1 WHERE id = ?", args);
+    }
+
+    public int markFolded(Long lastEntryId) {
+        return this.jdbcTemplate.update(
+                "UPDATE ledger_entries SET folded_at = CURRENT_TIMESTAMP "
+                        + "WHERE account_type = ? AND folded_at IS NULL AND id <= ?",
+                USER_ACCOUNT, lastEntryId);
+    }
+}
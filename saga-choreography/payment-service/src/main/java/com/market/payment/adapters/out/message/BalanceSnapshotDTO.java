@@ -0,0 +1,9 @@
+package com.market.payment.adapters.out.message;
+
+/**
+ * Available balance of one user in minor units (cents), keyed by user id on the
+ * compacted snapshot topic. A user that no longer exists is published as a tombstone
+ * (null value).
+ */
+public record BalanceSnapshotDTO(Long userId, Long balanceMinor) {
+}
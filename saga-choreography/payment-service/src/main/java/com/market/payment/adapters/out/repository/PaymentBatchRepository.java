@@ -0,0 +1,59 @@
+package com.market.payment.adapters.out.repository;
+
+import com.market.payment.application.core.domain.Money;
+import com.market.payment.application.core.domain.PaymentVO;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Set-based statements for the batched payment path: one locking read of all the
+ * users of a poll, one batched balance update and one multi-row payments insert.
+ */
+@RequiredArgsConstructor
+@Repository
+public class PaymentBatchRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Locks the users in id order, so concurrent batches cannot deadlock each other.
+     */
+    public Map<Long, Money> findBalancesForUpdate(Collection<Long> userIds) {
+        var sql = "SELECT id, balance FROM users WHERE id IN ("
+                + String.join(", ", Collections.nCopies(userIds.size(), "?")) + ") ORDER BY id FOR UPDATE";
+        Map<Long, Money> balances = new HashMap<>();
+        this.jdbcTemplate.query(sql, rs -> {
+            var balance = rs.getBigDecimal("balance");
+            balances.put(rs.getLong("id"), balance == null ? Money.ZERO : Money.of(balance));
+        }, userIds.toArray());
+
+        return balances;
+    }
+
+    public void updateBalances(Map<Long, Money> balances) {
+        List<Object[]> args = new ArrayList<>(balances.size());
+        balances.forEach((userId, balance) -> args.add(new Object[]{balance.toBigDecimal(), userId}));
+        this.jdbcTemplate.batchUpdate(
+                "UPDATE users SET balance = ?, updated_at = CURRENT_TIMESTAMP, version = version + 1 WHERE id = ?", args);
+    }
+
+    public void insertPayments(List<PaymentVO> payments) {
+        var sql = "INSERT INTO payments (user_id, sale_id, value, created_at) VALUES "
+                + String.join(", ", Collections.nCopies(payments.size(), "(?, ?, ?, CURRENT_TIMESTAMP)"));
+        List<Object> args = new ArrayList<>(payments.size() * 3);
+        payments.forEach(payment -> {
+            args.add(payment.getUserId());
+            args.add(payment.getSaleId());
+            args.add(payment.getValue().toBigDecimal());
+        });
+        this.jdbcTemplate.update(sql, args.toArray());
+    }
+}
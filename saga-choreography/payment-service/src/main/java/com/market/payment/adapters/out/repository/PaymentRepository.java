@@ -1,9 +1,15 @@
 package com.market.payment.adapters.out.repository;
 
 import com.market.payment.adapters.out.repository.entity.PaymentEntity;
+import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface PaymentRepository extends JpaRepository<PaymentEntity, Long> {
+
+    @Query("SELECT p.userId, SUM(p.value) FROM payments p WHERE p.saleId = :saleId GROUP BY p.userId")
+    List<Object[]> sumValueBySaleId(@Param("saleId") Long saleId);
 }
@@ -0,0 +1,73 @@
+package com.market.payment.adapters.out.repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Markers of the events already applied, keyed by {@code (sale_id, event)}. The insert
+ * ignores duplicates instead of failing, so a redelivery never dooms the surrounding
+ * transaction; an affected row count of 0 means the event was seen before.
+ */
+@RequiredArgsConstructor
+@Repository
+public class ProcessedEventRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public boolean insertIfAbsent(Long saleId, String event) {
+        return this.jdbcTemplate.update(
+                "INSERT IGNORE INTO processed_events (sale_id, event, processed_at) VALUES (?, ?, CURRENT_TIMESTAMP)",
+                saleId, event) > 0;
+    }
+
+    public boolean exists(Long saleId, String event) {
+        return Boolean.TRUE.equals(this.jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM processed_events WHERE sale_id = ? AND event = ?)",
+                Boolean.class, saleId, event));
+    }
+
+    public Set<Long> findProcessed(Collection<Long> saleIds, String event) {
+        var sql = "SELECT sale_id FROM processed_events WHERE event = ? AND sale_id IN ("
+                + String.join(", ", Collections.nCopies(saleIds.size(), "?")) + ")";
+        List<Object> args = new ArrayList<>(saleIds.size() + 1);
+        args.add(event);
+        args.addAll(saleIds);
+
+        return new HashSet<>(this.jdbcTemplate.queryForList(sql, Long.class, args.toArray()));
+    }
+
+    public void insertAll(Collection<Long> saleIds, String event) {
+        var sql = "INSERT INTO processed_events (sale_id, event, processed_at) VALUES "
+                + String.join(", ", Collections.nCopies(saleIds.size(), "(?, ?, CURRENT_TIMESTAMP)"));
+        List<Object> args = new ArrayList<>(saleIds.size() * 2);
+        saleIds.forEach(saleId -> {
+            args.add(saleId);
+            args.add(event);
+        });
+        this.jdbcTemplate.update(sql, args.toArray());
+    }
+
+    public void forEachSince(Instant since, BiConsumer<Long, String> consumer) {
+        this.jdbcTemplate.query(
+                "SELECT sale_id, event FROM processed_events WHERE processed_at >= ?",
+                rs -> {
+                    consumer.accept(rs.getLong("sale_id"), rs.getString("event"));
+                },
+                Timestamp.from(since));
+    }
+
+    public int deleteOlderThan(Instant before, int limit) {
+        return this.jdbcTemplate.update(
+                "DELETE FROM processed_events WHERE processed_at < ? LIMIT ?", Timestamp.from(before), limit);
+    }
+}
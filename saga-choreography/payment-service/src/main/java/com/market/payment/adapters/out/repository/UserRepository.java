@@ -1,9 +1,33 @@
 package com.market.payment.adapters.out.repository;
 
 import com.market.payment.adapters.out.repository.entity.UserEntity;
+import jakarta.persistence.LockModeType;
+import java.math.BigDecimal;
+import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 @Repository
 public interface UserRepository extends JpaRepository<UserEntity, Long> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT u FROM users u WHERE u.id = :id")
+    Optional<UserEntity> findByIdForUpdate(@Param("id") Long id);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE users u SET u.balance = u.balance - :amount, u.updatedAt = CURRENT_TIMESTAMP, u.version = u.version + 1 "
+            + "WHERE u.id = :id AND u.balance >= :amount")
+    int debitBalance(@Param("id") Long id, @Param("amount") BigDecimal amount);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE users u SET u.balance = COALESCE(u.balance, 0) + :amount, u.updatedAt = CURRENT_TIMESTAMP, "
+            + "u.version = u.version + 1 WHERE u.id = :id")
+    int creditBalance(@Param("id") Long id, @Param("amount") BigDecimal amount);
 }
@@ -7,6 +7,7 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Version;
 import java.time.LocalDateTime;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -28,6 +29,8 @@ public class UserEntity {
     private LocalDateTime createdAt;
     @Column(columnDefinition = "TIMESTAMP")
     private LocalDateTime updatedAt;
+    @Version
+    private Long version;
 
     @PrePersist
     void onCreate() {
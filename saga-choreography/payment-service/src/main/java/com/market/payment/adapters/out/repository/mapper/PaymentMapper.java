@@ -1,11 +1,17 @@
 package com.market.payment.adapters.out.repository.mapper;
 
 import com.market.payment.adapters.out.repository.entity.PaymentEntity;
+import com.market.payment.application.core.domain.Money;
 import com.market.payment.application.core.domain.PaymentVO;
+import java.math.BigDecimal;
 import org.mapstruct.Mapper;
 
 @Mapper(componentModel = "spring")
 public interface PaymentMapper {
 
     PaymentEntity paymentVOToPaymentEntity(PaymentVO paymentVO);
+
+    default BigDecimal moneyToBigDecimal(Money money) {
+        return money == null ? null : money.toBigDecimal();
+    }
 }
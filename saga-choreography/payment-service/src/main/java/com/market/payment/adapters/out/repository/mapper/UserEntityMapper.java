@@ -1,8 +1,12 @@
 package com.market.payment.adapters.out.repository.mapper;
 
 import com.market.payment.adapters.out.repository.entity.UserEntity;
+import com.market.payment.application.core.domain.Money;
 import com.market.payment.application.core.domain.UserVO;
+import java.math.BigDecimal;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
 
 @Mapper(componentModel = "spring")
 public interface UserEntityMapper {
@@ -10,4 +14,17 @@ public interface UserEntityMapper {
     UserVO userEntityToUserVO(UserEntity userEntity);
     UserEntity userVOToUserEntity(UserVO userVO);
 
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
+    void updateUserEntityFromUserVO(UserVO userVO, @MappingTarget UserEntity userEntity);
+
+    default Money bigDecimalToMoney(BigDecimal value) {
+        return value == null ? null : Money.of(value);
+    }
+
+    default BigDecimal moneyToBigDecimal(Money money) {
+        return money == null ? null : money.toBigDecimal();
+    }
 }
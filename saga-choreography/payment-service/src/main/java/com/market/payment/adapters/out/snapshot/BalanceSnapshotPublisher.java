@@ -0,0 +1,113 @@
+package com.market.payment.adapters.out.snapshot;
+
+import com.market.payment.adapters.out.message.BalanceSnapshotDTO;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Publishes the available balance of users to a compacted topic, so other services
+ * can keep a copy of it without querying this one.
+ *
+ * <p>Debits and refunds only mark their users as changed. Every publish interval the marked users
+ * are read back, so a user paying many times in between is published once, with the
+ * balance they have now. A periodic full pass republishes every user and covers
+ * top-ups and other writes made outside the service.
+ */
+@Slf4j
+public class BalanceSnapshotPublisher {
+
+    private final BalanceSnapshotRepository balanceSnapshotRepository;
+    private final KafkaTemplate<String, BalanceSnapshotDTO> kafkaTemplate;
+    private final String topic;
+    private final int batchSize;
+    private final Set<Long> changed = ConcurrentHashMap.newKeySet();
+
+    public BalanceSnapshotPublisher(
+            BalanceSnapshotRepository balanceSnapshotRepository,
+            KafkaTemplate<String, BalanceSnapshotDTO> kafkaTemplate,
+            String topic,
+            int batchSize
+    ) {
+        this.balanceSnapshotRepository = balanceSnapshotRepository;
+        this.kafkaTemplate = kafkaTemplate;
+        this.topic = topic;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Marks the users once the current transaction commits, or at once outside of one.
+     * Marked earlier, a publish between the write and an outer commit would read the
+     * old balance and nothing would mark the users again.
+     */
+    public void markChanged(Collection<Long> userIds) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    BalanceSnapshotPublisher.this.changed.addAll(userIds);
+                }
+            });
+        } else {
+            this.changed.addAll(userIds);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${application-config.payment.snapshots.publish-interval-ms}")
+    public void publishChanged() {
+        while (!this.changed.isEmpty()) {
+            // Taken out before the read, so a debit landing after it marks the user again
+            List<Long> userIds = new ArrayList<>(this.batchSize);
+            var iterator = this.changed.iterator();
+            while (iterator.hasNext() && userIds.size() < this.batchSize) {
+                userIds.add(iterator.next());
+                iterator.remove();
+            }
+            try {
+                var balances = this.balanceSnapshotRepository.findAvailableBalances(userIds);
+                userIds.forEach(userId -> this.send(userId, balances.get(userId)));
+            } catch (Exception e) {
+                this.changed.addAll(userIds);
+                log.error("Unable to publish the balance of {} users, will retry: {}", userIds.size(), e.getMessage());
+                return;
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${application-config.payment.snapshots.full-interval-ms}")
+    public void publishAll() {
+        try {
+            var published = 0;
+            var after = 0L;
+            Map<Long, Long> balances;
+            do {
+                balances = this.balanceSnapshotRepository.findAvailableBalancesAfter(after, this.batchSize);
+                for (var balance : balances.entrySet()) {
+                    this.send(balance.getKey(), balance.getValue());
+                    after = balance.getKey();
+                }
+                published += balances.size();
+            } while (balances.size() == this.batchSize);
+            log.info("Published the balance of all {} users to {}", published, this.topic);
+        } catch (Exception e) {
+            log.error("Unable to publish the balance of all users, will retry: {}", e.getMessage());
+        }
+    }
+
+    private void send(Long userId, Long balanceMinor) {
+        var snapshot = balanceMinor == null ? null : new BalanceSnapshotDTO(userId, balanceMinor);
+        this.kafkaTemplate.send(this.topic, userId.toString(), snapshot).whenComplete((result, e) -> {
+            if (e != null) {
+                this.changed.add(userId);
+            }
+        });
+    }
+}
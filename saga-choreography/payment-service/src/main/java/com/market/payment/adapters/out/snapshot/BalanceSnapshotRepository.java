@@ -0,0 +1,56 @@
+package com.market.payment.adapters.out.snapshot;
+
+import com.market.payment.application.core.domain.Money;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Reads the available balance of users, the same with either balance store: the
+ * materialized {@code users.balance} plus the ledger entries not folded into it yet,
+ * of which the row store has none.
+ */
+@RequiredArgsConstructor
+@Repository
+public class BalanceSnapshotRepository {
+
+    private static final String SELECT_BALANCES = "SELECT u.id, u.balance, "
+            + "(SELECT COALESCE(SUM(e.amount_minor), 0) FROM ledger_entries e "
+            + "WHERE e.account_type = 'USER' AND e.folded_at IS NULL AND e.account_id = u.id) AS unfolded "
+            + "FROM users u ";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public Map<Long, Long> findAvailableBalances(Collection<Long> userIds) {
+        var placeholders = String.join(", ", Collections.nCopies(userIds.size(), "?"));
+
+        return this.query(SELECT_BALANCES + "WHERE u.id IN (" + placeholders + ")", userIds.toArray());
+    }
+
+    /**
+     * The next {@code limit} users after {@code afterUserId}, in id order.
+     */
+    public Map<Long, Long> findAvailableBalancesAfter(Long afterUserId, int limit) {
+        return this.query(SELECT_BALANCES + "WHERE u.id > ? ORDER BY u.id LIMIT ?", afterUserId, limit);
+    }
+
+    private Map<Long, Long> query(String sql, Object... args) {
+        Map<Long, Long> balances = new LinkedHashMap<>();
+        this.jdbcTemplate.query(sql, rs -> {
+            balances.put(rs.getLong("id"), availableMinorUnits(rs));
+        }, args);
+        return balances;
+    }
+
+    private static long availableMinorUnits(ResultSet rs) throws SQLException {
+        var balance = rs.getBigDecimal("balance");
+        var materialized = balance == null ? Money.ZERO : Money.of(balance);
+        return materialized.plus(Money.ofMinorUnits(rs.getLong("unfolded"))).getMinorUnits();
+    }
+}
@@ -0,0 +1,76 @@
+package com.market.payment.application.core.domain;
+
+import java.math.BigDecimal;
+
+/**
+ * Amount of money as a {@code long} count of minor units (cents), matching the
+ * {@code decimal(38,2)} columns. Arithmetic is overflow-checked and allocation-free
+ * apart from the result object; {@link BigDecimal} is only used at the edges.
+ */
+public final class Money implements Comparable<Money> {
+
+    public static final int SCALE = 2;
+    public static final Money ZERO = new Money(0L);
+
+    private final long minorUnits;
+
+    private Money(long minorUnits) {
+        this.minorUnits = minorUnits;
+    }
+
+    public static Money ofMinorUnits(long minorUnits) {
+        return new Money(minorUnits);
+    }
+
+    /**
+     * @throws ArithmeticException if {@code value} has more than two decimal places or
+     *                             does not fit in a {@code long} of cents
+     */
+    public static Money of(BigDecimal value) {
+        return new Money(value.movePointRight(SCALE).longValueExact());
+    }
+
+    public long getMinorUnits() {
+        return minorUnits;
+    }
+
+    public Money plus(Money other) {
+        return new Money(Math.addExact(this.minorUnits, other.minorUnits));
+    }
+
+    public Money minus(Money other) {
+        return new Money(Math.subtractExact(this.minorUnits, other.minorUnits));
+    }
+
+    public boolean isNegative() {
+        return this.minorUnits < 0;
+    }
+
+    public boolean isLessThan(Money other) {
+        return this.minorUnits < other.minorUnits;
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(this.minorUnits, SCALE);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(this.minorUnits, other.minorUnits);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof Money money && money.minorUnits == this.minorUnits;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(this.minorUnits);
+    }
+
+    @Override
+    public String toString() {
+        return this.toBigDecimal().toPlainString();
+    }
+}
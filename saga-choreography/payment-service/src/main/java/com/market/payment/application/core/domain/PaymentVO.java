@@ -1,6 +1,5 @@
 package com.market.payment.application.core.domain;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 public class PaymentVO {
@@ -8,13 +7,13 @@ public class PaymentVO {
     private Long id;
     private Long userId;
     private Long saleId;
-    private BigDecimal value;
+    private Money value;
     private LocalDateTime createdAt;
 
     public PaymentVO() {
     }
 
-    public PaymentVO(Long id, Long userId, Long saleId, BigDecimal value, LocalDateTime createdAt) {
+    public PaymentVO(Long id, Long userId, Long saleId, Money value, LocalDateTime createdAt) {
         this.id = id;
         this.userId = userId;
         this.saleId = saleId;
@@ -46,11 +45,11 @@ public class PaymentVO {
         this.saleId = saleId;
     }
 
-    public BigDecimal getValue() {
+    public Money getValue() {
         return value;
     }
 
-    public void setValue(BigDecimal value) {
+    public void setValue(Money value) {
         this.value = value;
     }
 
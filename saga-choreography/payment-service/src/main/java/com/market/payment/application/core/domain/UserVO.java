@@ -1,19 +1,18 @@
 package com.market.payment.application.core.domain;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 public class UserVO {
 
     private Long id;
     private String name;
-    private BigDecimal balance;
+    private Money balance;
     private LocalDateTime createdAt;
 
     public UserVO() {
     }
 
-    public UserVO(Long id, String name, BigDecimal balance, LocalDateTime createdAt) {
+    public UserVO(Long id, String name, Money balance, LocalDateTime createdAt) {
         this.id = id;
         this.name = name;
         this.balance = balance;
@@ -36,11 +35,11 @@ public class UserVO {
         this.name = name;
     }
 
-    public BigDecimal getBalance() {
+    public Money getBalance() {
         return balance;
     }
 
-    public void setBalance(BigDecimal balance) {
+    public void setBalance(Money balance) {
         this.balance = balance;
     }
 
@@ -52,7 +51,7 @@ public class UserVO {
         this.createdAt = createdAt;
     }
 
-    public void debitBalance(BigDecimal value) {
-        this.balance = this.balance.subtract(value);
+    public void debitBalance(Money value) {
+        this.balance = this.balance.minus(value);
     }
 }
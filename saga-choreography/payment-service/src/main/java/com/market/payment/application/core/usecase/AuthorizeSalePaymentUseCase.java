@@ -0,0 +1,44 @@
+package com.market.payment.application.core.usecase;
+
+import com.market.payment.application.core.domain.Money;
+import com.market.payment.application.core.domain.SaleVO;
+import com.market.payment.application.ports.in.AuthorizeSalePaymentInputPort;
+import com.market.payment.application.ports.out.AuthorizePaymentOutputPort;
+import java.util.concurrent.CompletableFuture;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+public class AuthorizeSalePaymentUseCase implements AuthorizeSalePaymentInputPort {
+
+    private final AuthorizePaymentOutputPort authorizePaymentOutputPort;
+
+    public AuthorizeSalePaymentUseCase(AuthorizePaymentOutputPort authorizePaymentOutputPort) {
+        this.authorizePaymentOutputPort = authorizePaymentOutputPort;
+    }
+
+    @Override
+    public CompletableFuture<Boolean> authorize(SaleVO saleVO) {
+        Money amount;
+        try {
+            amount = Money.of(saleVO.getValue());
+        } catch (RuntimeException e) {
+            log.error("Invalid value for sale {}: {}", saleVO.getId(), e.getMessage());
+            return CompletableFuture.completedFuture(false);
+        }
+        if (amount.isNegative() || saleVO.getUserId() == null) {
+            return CompletableFuture.completedFuture(false);
+        }
+
+        return this.authorizePaymentOutputPort.authorize(saleVO.getId(), saleVO.getUserId(), amount)
+                .exceptionally(e -> {
+                    log.error("Authorization of sale {} failed: {}", saleVO.getId(), e.getMessage());
+                    return false;
+                });
+    }
+
+    @Override
+    public void voidAuthorization(SaleVO saleVO) {
+        log.info("Voiding the authorization of sale {}.", saleVO.getId());
+        this.authorizePaymentOutputPort.voidAuthorization(saleVO.getId());
+    }
+}
@@ -0,0 +1,23 @@
+package com.market.payment.application.core.usecase;
+
+import com.market.payment.application.core.domain.SaleVO;
+import com.market.payment.application.ports.in.RefundSalePaymentInputPort;
+import com.market.payment.application.ports.out.RefundPaymentOutputPort;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+public class RefundSalePaymentUseCase implements RefundSalePaymentInputPort {
+
+    private final RefundPaymentOutputPort refundPaymentOutputPort;
+
+    public RefundSalePaymentUseCase(RefundPaymentOutputPort refundPaymentOutputPort) {
+        this.refundPaymentOutputPort = refundPaymentOutputPort;
+    }
+
+    @Override
+    public void refund(SaleVO saleVO) {
+        if (this.refundPaymentOutputPort.refund(saleVO.getId())) {
+            log.warn("Sale {} was rolled back after its payment was validated, payment refunded.", saleVO.getId());
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.market.payment.application.core.usecase;
+
+import com.market.payment.application.core.domain.Money;
+import com.market.payment.application.core.domain.PaymentVO;
+import com.market.payment.application.core.domain.SaleVO;
+import com.market.payment.application.core.domain.enums.SaleEventEnum;
+import com.market.payment.application.ports.in.SalePaymentBatchInputPort;
+import com.market.payment.application.ports.out.AuthorizePaymentOutputPort;
+import com.market.payment.application.ports.out.DebitBalancesOutputPort;
+import com.market.payment.application.ports.out.SendToKafkaOutputPort;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+public class SalePaymentBatchUseCase implements SalePaymentBatchInputPort {
+
+    private final DebitBalancesOutputPort debitBalancesOutputPort;
+    private final SendToKafkaOutputPort sendToKafkaOutputPort;
+    private final AuthorizePaymentOutputPort authorizePaymentOutputPort;
+
+    public SalePaymentBatchUseCase(
+            DebitBalancesOutputPort debitBalancesOutputPort,
+            SendToKafkaOutputPort sendToKafkaOutputPort,
+            AuthorizePaymentOutputPort authorizePaymentOutputPort
+    ) {
+        this.debitBalancesOutputPort = debitBalancesOutputPort;
+        this.sendToKafkaOutputPort = sendToKafkaOutputPort;
+        this.authorizePaymentOutputPort = authorizePaymentOutputPort;
+    }
+
+    @Override
+    public void payment(List<SaleVO> saleVOs) {
+        List<PaymentVO> payments = new ArrayList<>(saleVOs.size());
+        for (var saleVO : saleVOs) {
+            try {
+                var amount = Money.of(saleVO.getValue());
+                if (!amount.isNegative() && saleVO.getUserId() != null) {
+                    payments.add(new PaymentVO(null, saleVO.getUserId(), saleVO.getId(), amount, null));
+                }
+            } catch (RuntimeException e) {
+                log.error("Invalid value for sale {}: {}", saleVO.getId(), e.getMessage());
+            }
+        }
+        Set<Long> accepted = payments.isEmpty() ? Set.of() : this.debitBalancesOutputPort.debit(payments);
+
+        Map<SaleEventEnum, List<SaleVO>> outcomes = new EnumMap<>(SaleEventEnum.class);
+        for (var saleVO : saleVOs) {
+            var event = accepted.contains(saleVO.getId()) ? SaleEventEnum.VALIDATED_PAYMENT : SaleEventEnum.FAILED_PAYMENT;
+            if (event == SaleEventEnum.FAILED_PAYMENT) {
+                this.authorizePaymentOutputPort.voidAuthorization(saleVO.getId());
+            }
+            outcomes.computeIfAbsent(event, key -> new ArrayList<>()).add(saleVO);
+        }
+        log.info("Paid {} of {} sales.", accepted.size(), saleVOs.size());
+        this.sendToKafkaOutputPort.sendAll(outcomes);
+    }
+
+    @Override
+    public void decline(List<SaleVO> saleVOs) {
+        log.error("Payment of {} sales was not authorized.", saleVOs.size());
+        this.sendToKafkaOutputPort.sendAll(Map.of(SaleEventEnum.FAILED_PAYMENT, saleVOs));
+    }
+}
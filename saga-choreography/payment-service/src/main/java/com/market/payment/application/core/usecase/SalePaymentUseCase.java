@@ -1,54 +1,52 @@
 package com.market.payment.application.core.usecase;
 
-import com.market.payment.application.core.domain.PaymentVO;
+import com.market.payment.application.core.domain.Money;
 import com.market.payment.application.core.domain.SaleVO;
 import com.market.payment.application.core.domain.enums.SaleEventEnum;
-import com.market.payment.application.ports.in.FindUserByIdInputPort;
 import com.market.payment.application.ports.in.SalePaymentInputPort;
-import com.market.payment.application.ports.out.SavePaymentOutputPort;
+import com.market.payment.application.ports.out.AuthorizePaymentOutputPort;
+import com.market.payment.application.ports.out.DebitBalanceOutputPort;
 import com.market.payment.application.ports.out.SendToKafkaOutputPort;
-import com.market.payment.application.ports.out.UpdateUserOutputPort;
-import java.time.LocalDateTime;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 public class SalePaymentUseCase implements SalePaymentInputPort {
 
-    private final FindUserByIdInputPort findUserByIdInputPort;
-    private final UpdateUserOutputPort updateUserOutputPort;
-    private final SavePaymentOutputPort savePaymentOutputPort;
+    private final DebitBalanceOutputPort debitBalanceOutputPort;
     private final SendToKafkaOutputPort sendToKafkaOutputPort;
+    private final AuthorizePaymentOutputPort authorizePaymentOutputPort;
 
     public SalePaymentUseCase(
-            FindUserByIdInputPort findUserByIdInputPort,
-            UpdateUserOutputPort updateUserOutputPort,
-            SavePaymentOutputPort savePaymentOutputPort,
-            SendToKafkaOutputPort sendToKafkaOutputPort
+            DebitBalanceOutputPort debitBalanceOutputPort,
+            SendToKafkaOutputPort sendToKafkaOutputPort,
+            AuthorizePaymentOutputPort authorizePaymentOutputPort
     ) {
-        this.findUserByIdInputPort = findUserByIdInputPort;
-        this.updateUserOutputPort = updateUserOutputPort;
-        this.savePaymentOutputPort = savePaymentOutputPort;
+        this.debitBalanceOutputPort = debitBalanceOutputPort;
         this.sendToKafkaOutputPort = sendToKafkaOutputPort;
+        this.authorizePaymentOutputPort = authorizePaymentOutputPort;
     }
 
     @Override
     public void payment(SaleVO saleVO) {
         try {
-            var userVO = this.findUserByIdInputPort.find(saleVO.getUserId());
-            if(userVO.getBalance().compareTo(saleVO.getValue()) < 0) {
+            var amount = Money.of(saleVO.getValue());
+            if(amount.isNegative()) {
+                throw new RuntimeException("Invalid sale value!");
+            }
+            if(!this.debitBalanceOutputPort.debit(saleVO.getUserId(), saleVO.getId(), amount)) {
                 throw new RuntimeException("Insufficient funds!");
             }
-            userVO.debitBalance(saleVO.getValue());
-            this.updateUserOutputPort.update(userVO);
-            this.savePaymentOutputPort.save(this.buildPayment(saleVO));
             this.sendToKafkaOutputPort.send(saleVO, SaleEventEnum.VALIDATED_PAYMENT);
         } catch (Exception e) {
             log.error("An error occurred: {}", e.getMessage());
+            this.authorizePaymentOutputPort.voidAuthorization(saleVO.getId());
             this.sendToKafkaOutputPort.send(saleVO, SaleEventEnum.FAILED_PAYMENT);
         }
     }
 
-    private PaymentVO buildPayment(SaleVO saleVO) {
-        return new PaymentVO(null, saleVO.getUserId(), saleVO.getId(), saleVO.getValue(), LocalDateTime.now());
+    @Override
+    public void decline(SaleVO saleVO) {
+        log.error("Payment of sale {} was not authorized.", saleVO.getId());
+        this.sendToKafkaOutputPort.send(saleVO, SaleEventEnum.FAILED_PAYMENT);
     }
 }
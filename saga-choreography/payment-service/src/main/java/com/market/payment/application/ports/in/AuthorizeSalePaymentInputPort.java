@@ -0,0 +1,17 @@
+package com.market.payment.application.ports.in;
+
+import com.market.payment.application.core.domain.SaleVO;
+
+import java.util.concurrent.CompletableFuture;
+
+public interface AuthorizeSalePaymentInputPort {
+
+    /**
+     * Completes with whether the sale may be paid. Throws
+     * {@link com.market.payment.application.ports.out.AuthorizationUnavailableException}
+     * when the acquirer has no room for it yet, so the sale is retried instead of declined.
+     */
+    CompletableFuture<Boolean> authorize(SaleVO saleVO);
+
+    void voidAuthorization(SaleVO saleVO);
+}
@@ -0,0 +1,8 @@
+package com.market.payment.application.ports.in;
+
+import com.market.payment.application.core.domain.SaleVO;
+
+public interface RefundSalePaymentInputPort {
+
+    void refund(SaleVO saleVO);
+}
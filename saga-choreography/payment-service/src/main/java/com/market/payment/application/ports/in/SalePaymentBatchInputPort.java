@@ -0,0 +1,12 @@
+package com.market.payment.application.ports.in;
+
+import com.market.payment.application.core.domain.SaleVO;
+
+import java.util.List;
+
+public interface SalePaymentBatchInputPort {
+
+    void payment(List<SaleVO> saleVOs);
+
+    void decline(List<SaleVO> saleVOs);
+}
@@ -5,4 +5,6 @@ import com.market.payment.application.core.domain.SaleVO;
 public interface SalePaymentInputPort {
 
     void payment(SaleVO saleVO);
+
+    void decline(SaleVO saleVO);
 }
@@ -0,0 +1,13 @@
+package com.market.payment.application.ports.out;
+
+/**
+ * The authorization was not even attempted: every call slot is taken or the acquirer
+ * is known to be failing. It says nothing about the sale, which must be retried later
+ * rather than declined.
+ */
+public class AuthorizationUnavailableException extends RuntimeException {
+
+    public AuthorizationUnavailableException(String message) {
+        super(message);
+    }
+}
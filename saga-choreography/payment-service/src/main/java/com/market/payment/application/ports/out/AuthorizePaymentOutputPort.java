@@ -0,0 +1,22 @@
+package com.market.payment.application.ports.out;
+
+import com.market.payment.application.core.domain.Money;
+
+import java.util.concurrent.CompletableFuture;
+
+public interface AuthorizePaymentOutputPort {
+
+    /**
+     * Asks the acquirer to authorize the amount. Completes with {@code false} when the
+     * acquirer declines, and exceptionally when it could not be reached in time.
+     *
+     * @throws AuthorizationUnavailableException when the call cannot be made right now
+     */
+    CompletableFuture<Boolean> authorize(Long saleId, Long userId, Money amount);
+
+    /**
+     * Releases the amount held by the authorization of a sale that will not be paid.
+     * Best effort: an authorization that is never voided expires at the acquirer.
+     */
+    void voidAuthorization(Long saleId);
+}
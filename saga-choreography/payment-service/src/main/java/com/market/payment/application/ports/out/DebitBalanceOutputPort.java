@@ -0,0 +1,13 @@
+package com.market.payment.application.ports.out;
+
+import com.market.payment.application.core.domain.Money;
+
+public interface DebitBalanceOutputPort {
+
+    /**
+     * Debits {@code amount} from the user's balance and records the payment of the sale
+     * in one transaction. Returns {@code false}, changing nothing, when the user does
+     * not exist or the balance does not cover the amount.
+     */
+    boolean debit(Long userId, Long saleId, Money amount);
+}
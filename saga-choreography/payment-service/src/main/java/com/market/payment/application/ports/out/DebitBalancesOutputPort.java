@@ -0,0 +1,16 @@
+package com.market.payment.application.ports.out;
+
+import com.market.payment.application.core.domain.PaymentVO;
+
+import java.util.List;
+import java.util.Set;
+
+public interface DebitBalancesOutputPort {
+
+    /**
+     * Applies the payments in order, each one only if its user's balance still covers
+     * it, and records the accepted ones, all in one transaction. Returns the sale ids
+     * of the accepted payments.
+     */
+    Set<Long> debit(List<PaymentVO> payments);
+}
@@ -0,0 +1,11 @@
+package com.market.payment.application.ports.out;
+
+public interface RefundPaymentOutputPort {
+
+    /**
+     * Gives the net amount paid for the sale back to its user and records the refund as
+     * a negative payment, in one transaction. Returns {@code false}, changing nothing,
+     * when nothing is left to refund (the sale was declined, never paid or refunded).
+     */
+    boolean refund(Long saleId);
+}
@@ -3,7 +3,12 @@ package com.market.payment.application.ports.out;
 import com.market.payment.application.core.domain.SaleVO;
 import com.market.payment.application.core.domain.enums.SaleEventEnum;
 
+import java.util.List;
+import java.util.Map;
+
 public interface SendToKafkaOutputPort {
 
     void send(SaleVO saleVO, SaleEventEnum saleEvent);
+
+    void sendAll(Map<SaleEventEnum, List<SaleVO>> saleVOsByEvent);
 }
@@ -2,7 +2,14 @@ package com.market.payment.application.ports.out;
 
 import com.market.payment.application.core.domain.UserVO;
 
+import java.util.function.Consumer;
+
 public interface UpdateUserOutputPort {
 
-    void update(UserVO userVO);
+    /**
+     * Loads the user, applies {@code change} and stores the result as one atomic
+     * read-modify-write. {@code change} may run more than once when the update has
+     * to be retried, and may throw to abort it.
+     */
+    void update(Long userId, Consumer<UserVO> change);
 }
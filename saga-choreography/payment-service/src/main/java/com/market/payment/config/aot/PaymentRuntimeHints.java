@@ -0,0 +1,31 @@
+package com.market.payment.config.aot;
+
+import com.market.payment.adapters.out.authorization.dto.AuthorizationRequestDTO;
+import com.market.payment.adapters.out.authorization.dto.AuthorizationResponseDTO;
+import com.market.payment.adapters.out.message.BalanceSnapshotDTO;
+import com.market.payment.adapters.out.message.SaleMessageDTO;
+import com.market.payment.config.kafka.CustomDeserializer;
+import com.market.payment.config.kafka.CustomSerializer;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+/**
+ * Reflection the native image cannot discover from the bean definitions alone. Kafka
+ * instantiates the configured serializer classes itself, and they bind the message
+ * payload with their own {@code ObjectMapper}. The acquirer client writes and reads
+ * its bodies directly with {@code ObjectMapper} rather than through Spring MVC.
+ */
+public class PaymentRuntimeHints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        hints.reflection()
+                .registerType(CustomSerializer.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS)
+                .registerType(CustomDeserializer.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(),
+                SaleMessageDTO.class, AuthorizationRequestDTO.class, AuthorizationResponseDTO.class,
+                BalanceSnapshotDTO.class);
+    }
+}
@@ -0,0 +1,9 @@
+package com.market.payment.config.aot;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+@ImportRuntimeHints(PaymentRuntimeHints.class)
+@Configuration
+public class RuntimeHintsConfig {
+}
@@ -0,0 +1,36 @@
+package com.market.payment.config.archive;
+
+import com.market.payment.adapters.out.archive.MonthlyPartitions;
+import com.market.payment.adapters.out.archive.PaymentArchiver;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Configuration
+@ConditionalOnProperty(name = "application-config.archive.enabled", havingValue = "true")
+public class ArchiveConfig {
+
+    @Value("${application-config.archive.retention-days}")
+    private Long retentionDays;
+
+    @Value("${application-config.archive.batch-size}")
+    private Integer batchSize;
+
+    @Value("${application-config.archive.max-batches-per-run}")
+    private Integer maxBatchesPerRun;
+
+    @Value("${application-config.archive.months-ahead}")
+    private Integer monthsAhead;
+
+    @Bean
+    public PaymentArchiver paymentArchiver(NamedParameterJdbcTemplate jdbcTemplate,
+                                           TransactionTemplate transactionTemplate) {
+        var monthlyPartitions = new MonthlyPartitions(jdbcTemplate.getJdbcTemplate(), "payments", this.monthsAhead);
+        return new PaymentArchiver(jdbcTemplate, transactionTemplate, monthlyPartitions,
+                Duration.ofDays(this.retentionDays), this.batchSize, this.maxBatchesPerRun);
+    }
+}
@@ -0,0 +1,66 @@
+package com.market.payment.config.authorization;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.market.payment.adapters.out.authorization.ApprovingPaymentAuthorizationAdapter;
+import com.market.payment.adapters.out.authorization.CircuitBreaker;
+import com.market.payment.adapters.out.authorization.HttpPaymentAuthorizationAdapter;
+import java.net.URI;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class PaymentAuthorizationConfig {
+
+    @Value("${application-config.payment.authorization.url}")
+    private String url;
+
+    @Value("${application-config.payment.authorization.connect-timeout-ms}")
+    private Long connectTimeoutMs;
+
+    @Value("${application-config.payment.authorization.timeout-ms}")
+    private Long timeoutMs;
+
+    @Value("${application-config.payment.authorization.max-concurrent-calls}")
+    private Integer maxConcurrentCalls;
+
+    @Value("${application-config.payment.authorization.max-wait-ms}")
+    private Long maxWaitMs;
+
+    @Value("${application-config.payment.authorization.callback-threads}")
+    private Integer callbackThreads;
+
+    @Value("${application-config.payment.authorization.circuit-breaker.window-size}")
+    private Integer windowSize;
+
+    @Value("${application-config.payment.authorization.circuit-breaker.minimum-calls}")
+    private Integer minimumCalls;
+
+    @Value("${application-config.payment.authorization.circuit-breaker.failure-rate-threshold}")
+    private Double failureRateThreshold;
+
+    @Value("${application-config.payment.authorization.circuit-breaker.open-ms}")
+    private Long openMs;
+
+    @Value("${application-config.payment.authorization.circuit-breaker.half-open-calls}")
+    private Integer halfOpenCalls;
+
+    @Bean
+    @ConditionalOnProperty(name = "application-config.payment.authorization.mode", havingValue = "http")
+    public HttpPaymentAuthorizationAdapter httpPaymentAuthorizationAdapter(ObjectMapper objectMapper) {
+        var circuitBreaker = new CircuitBreaker(this.windowSize, this.minimumCalls, this.failureRateThreshold,
+                this.openMs, this.halfOpenCalls);
+
+        return new HttpPaymentAuthorizationAdapter(URI.create(this.url), Duration.ofMillis(this.connectTimeoutMs),
+                Duration.ofMillis(this.timeoutMs), this.maxConcurrentCalls, this.maxWaitMs, this.callbackThreads,
+                circuitBreaker, objectMapper);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "application-config.payment.authorization.mode", havingValue = "none", matchIfMissing = true)
+    public ApprovingPaymentAuthorizationAdapter approvingPaymentAuthorizationAdapter() {
+        return new ApprovingPaymentAuthorizationAdapter();
+    }
+}
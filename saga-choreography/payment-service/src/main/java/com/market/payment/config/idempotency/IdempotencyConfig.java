@@ -0,0 +1,29 @@
+package com.market.payment.config.idempotency;
+
+import com.market.payment.adapters.out.idempotency.TimePartitionedBloomFilter;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class IdempotencyConfig {
+
+    @Value("${application-config.idempotency.partitions}")
+    private Integer partitions;
+
+    @Value("${application-config.idempotency.window-ms}")
+    private Long windowMillis;
+
+    @Value("${application-config.idempotency.expected-events-per-window}")
+    private Integer expectedEventsPerWindow;
+
+    @Value("${application-config.idempotency.false-positive-rate}")
+    private Double falsePositiveRate;
+
+    @Bean
+    public TimePartitionedBloomFilter processedEventFilter() {
+        return new TimePartitionedBloomFilter(this.partitions, Duration.ofMillis(this.windowMillis),
+                this.expectedEventsPerWindow, this.falsePositiveRate);
+    }
+}
@@ -1,6 +1,8 @@
 package com.market.payment.config.kafka;
 
 import com.market.payment.adapters.out.message.SaleMessageDTO;
+import com.market.payment.application.ports.out.AuthorizationUnavailableException;
+import org.apache.kafka.clients.consumer.CooperativeStickyAssignor;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -9,6 +11,11 @@ import org.springframework.kafka.annotation.EnableKafka;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.listener.CommonDelegatingErrorHandler;
+import org.springframework.kafka.listener.CommonErrorHandler;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.util.StringUtils;
+import org.springframework.util.backoff.FixedBackOff;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -16,7 +23,11 @@ import java.util.Map;
 import static org.apache.kafka.clients.consumer.ConsumerConfig.AUTO_OFFSET_RESET_CONFIG;
 import static org.apache.kafka.clients.consumer.ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG;
 import static org.apache.kafka.clients.consumer.ConsumerConfig.GROUP_ID_CONFIG;
+import static org.apache.kafka.clients.consumer.ConsumerConfig.GROUP_INSTANCE_ID_CONFIG;
 import static org.apache.kafka.clients.consumer.ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG;
+import static org.apache.kafka.clients.consumer.ConsumerConfig.MAX_POLL_RECORDS_CONFIG;
+import static org.apache.kafka.clients.consumer.ConsumerConfig.PARTITION_ASSIGNMENT_STRATEGY_CONFIG;
+import static org.apache.kafka.clients.consumer.ConsumerConfig.SESSION_TIMEOUT_MS_CONFIG;
 import static org.apache.kafka.clients.consumer.ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG;
 
 @EnableKafka
@@ -29,8 +40,51 @@ public class KafkaPaymentConsumerConfig {
     @Value("${application-config.kafka.auto-offset-reset}")
     private String autoOffsetReset;
 
+    @Value("${application-config.kafka.consumer.instance-id}")
+    private String instanceId;
+
+    @Value("${application-config.kafka.consumer.session-timeout-ms}")
+    private Integer sessionTimeoutMs;
+
+    @Value("${application-config.kafka.consumer.drain-timeout-ms}")
+    private Long drainTimeoutMs;
+
+    @Value("${application-config.payment.batch.max-poll-records}")
+    private Integer batchMaxPollRecords;
+
+    @Value("${application-config.payment.authorization.retry-backoff-ms}")
+    private Long authorizationRetryBackoffMs;
+
     @Bean
     public ConsumerFactory<String, SaleMessageDTO> consumerFactory() {
+        return new DefaultKafkaConsumerFactory<>(this.consumerProps());
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, SaleMessageDTO> kafkaListenerContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, SaleMessageDTO> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(consumerFactory());
+        factory.setCommonErrorHandler(this.errorHandler());
+        this.drainOnShutdown(factory);
+
+        return factory;
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, SaleMessageDTO> batchKafkaListenerContainerFactory() {
+        var props = this.consumerProps();
+        props.put(MAX_POLL_RECORDS_CONFIG, this.batchMaxPollRecords);
+
+        ConcurrentKafkaListenerContainerFactory<String, SaleMessageDTO> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(new DefaultKafkaConsumerFactory<>(props));
+        factory.setBatchListener(true);
+        factory.setCommonErrorHandler(this.errorHandler());
+        this.drainOnShutdown(factory);
+
+        return factory;
+    }
+
+    private Map<String, Object> consumerProps() {
         Map<String, Object> props = new HashMap<>();
 
         props.put(BOOTSTRAP_SERVERS_CONFIG, this.serverUrl);
@@ -38,15 +92,29 @@ public class KafkaPaymentConsumerConfig {
         props.put(KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
         props.put(VALUE_DESERIALIZER_CLASS_CONFIG, CustomDeserializer.class);
         props.put(AUTO_OFFSET_RESET_CONFIG, this.autoOffsetReset);
+        // Rebalances only move the partitions that change owner; the others keep being consumed
+        props.put(PARTITION_ASSIGNMENT_STRATEGY_CONFIG, CooperativeStickyAssignor.class.getName());
+        props.put(SESSION_TIMEOUT_MS_CONFIG, this.sessionTimeoutMs);
+        if (StringUtils.hasText(this.instanceId)) {
+            props.put(GROUP_INSTANCE_ID_CONFIG, this.instanceId);
+        }
 
-        return new DefaultKafkaConsumerFactory<>(props);
+        return props;
     }
 
-    @Bean
-    public ConcurrentKafkaListenerContainerFactory<String, SaleMessageDTO> kafkaListenerContainerFactory() {
-        ConcurrentKafkaListenerContainerFactory<String, SaleMessageDTO> factory = new ConcurrentKafkaListenerContainerFactory<>();
-        factory.setConsumerFactory(consumerFactory());
+    // A sale the acquirer had no room for is retried until it has, holding back the rest of the partition
+    private CommonErrorHandler errorHandler() {
+        var errorHandler = new CommonDelegatingErrorHandler(new DefaultErrorHandler());
+        errorHandler.addDelegate(AuthorizationUnavailableException.class, new DefaultErrorHandler(
+                new FixedBackOff(this.authorizationRetryBackoffMs, FixedBackOff.UNLIMITED_ATTEMPTS)));
+        errorHandler.setCauseChainTraversing(true);
 
-        return factory;
+        return errorHandler;
+    }
+
+    // On shutdown the records (or batch) of the last poll are still processed and their offsets committed
+    private void drainOnShutdown(ConcurrentKafkaListenerContainerFactory<String, SaleMessageDTO> factory) {
+        factory.getContainerProperties().setStopImmediate(false);
+        factory.getContainerProperties().setShutdownTimeout(this.drainTimeoutMs);
     }
 }
@@ -0,0 +1,33 @@
+package com.market.payment.config.ledger;
+
+import com.market.payment.adapters.out.ledger.LedgerCompactor;
+import com.market.payment.adapters.out.ledger.LedgerDebitBalanceAdapter;
+import com.market.payment.adapters.out.ledger.LedgerRepository;
+import com.market.payment.adapters.out.repository.PaymentBatchRepository;
+import com.market.payment.adapters.out.snapshot.BalanceSnapshotPublisher;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Configuration
+@ConditionalOnProperty(name = "application-config.payment.balance-store", havingValue = "ledger")
+public class LedgerConfig {
+
+    @Bean
+    public LedgerDebitBalanceAdapter ledgerDebitBalanceAdapter(
+            LedgerRepository ledgerRepository,
+            PaymentBatchRepository paymentBatchRepository,
+            TransactionTemplate transactionTemplate,
+            ObjectProvider<BalanceSnapshotPublisher> balanceSnapshotPublisher
+    ) {
+        return new LedgerDebitBalanceAdapter(ledgerRepository, paymentBatchRepository, transactionTemplate,
+                balanceSnapshotPublisher);
+    }
+
+    @Bean
+    public LedgerCompactor ledgerCompactor(LedgerRepository ledgerRepository, TransactionTemplate transactionTemplate) {
+        return new LedgerCompactor(ledgerRepository, transactionTemplate);
+    }
+}
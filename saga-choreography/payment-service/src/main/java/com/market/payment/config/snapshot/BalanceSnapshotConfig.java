@@ -0,0 +1,63 @@
+package com.market.payment.config.snapshot;
+
+import com.market.payment.adapters.out.message.BalanceSnapshotDTO;
+import com.market.payment.adapters.out.snapshot.BalanceSnapshotPublisher;
+import com.market.payment.adapters.out.snapshot.BalanceSnapshotRepository;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.util.Map;
+
+import static org.apache.kafka.clients.producer.ProducerConfig.BOOTSTRAP_SERVERS_CONFIG;
+
+@Configuration
+@ConditionalOnProperty(name = "application-config.payment.snapshots.enabled", havingValue = "true")
+public class BalanceSnapshotConfig {
+
+    @Value("${application-config.kafka.server-url}")
+    private String serverUrl;
+
+    @Value("${application-config.payment.snapshots.topic}")
+    private String topic;
+
+    @Value("${application-config.payment.snapshots.partitions}")
+    private Integer partitions;
+
+    @Value("${application-config.payment.snapshots.batch-size}")
+    private Integer batchSize;
+
+    // Compacted: the topic keeps the latest balance of every user, however old
+    @Bean
+    public NewTopic balanceSnapshotTopic() {
+        return TopicBuilder.name(this.topic).partitions(this.partitions).compact().build();
+    }
+
+    @Bean
+    public ProducerFactory<String, BalanceSnapshotDTO> balanceSnapshotProducerFactory() {
+        return new DefaultKafkaProducerFactory<>(Map.of(BOOTSTRAP_SERVERS_CONFIG, this.serverUrl),
+                new StringSerializer(), new JsonSerializer<BalanceSnapshotDTO>().noTypeInfo());
+    }
+
+    @Bean
+    public KafkaTemplate<String, BalanceSnapshotDTO> balanceSnapshotKafkaTemplate() {
+        return new KafkaTemplate<>(this.balanceSnapshotProducerFactory());
+    }
+
+    @Bean
+    public BalanceSnapshotPublisher balanceSnapshotPublisher(
+            BalanceSnapshotRepository balanceSnapshotRepository,
+            KafkaTemplate<String, BalanceSnapshotDTO> balanceSnapshotKafkaTemplate
+    ) {
+        return new BalanceSnapshotPublisher(balanceSnapshotRepository, balanceSnapshotKafkaTemplate, this.topic,
+                this.batchSize);
+    }
+}
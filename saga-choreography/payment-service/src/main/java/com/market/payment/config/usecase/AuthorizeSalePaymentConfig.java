@@ -0,0 +1,15 @@
+package com.market.payment.config.usecase;
+
+import com.market.payment.application.core.usecase.AuthorizeSalePaymentUseCase;
+import com.market.payment.application.ports.out.AuthorizePaymentOutputPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class AuthorizeSalePaymentConfig {
+
+    @Bean
+    public AuthorizeSalePaymentUseCase authorizeSalePaymentUseCase(AuthorizePaymentOutputPort authorizePaymentOutputPort) {
+        return new AuthorizeSalePaymentUseCase(authorizePaymentOutputPort);
+    }
+}
@@ -0,0 +1,15 @@
+package com.market.payment.config.usecase;
+
+import com.market.payment.application.core.usecase.RefundSalePaymentUseCase;
+import com.market.payment.application.ports.out.RefundPaymentOutputPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class RefundSalePaymentConfig {
+
+    @Bean
+    public RefundSalePaymentUseCase refundSalePaymentUseCase(RefundPaymentOutputPort refundPaymentOutputPort) {
+        return new RefundSalePaymentUseCase(refundPaymentOutputPort);
+    }
+}
@@ -0,0 +1,21 @@
+package com.market.payment.config.usecase;
+
+import com.market.payment.adapters.out.SendToKafkaAdapter;
+import com.market.payment.application.core.usecase.SalePaymentBatchUseCase;
+import com.market.payment.application.ports.out.AuthorizePaymentOutputPort;
+import com.market.payment.application.ports.out.DebitBalancesOutputPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class SalePaymentBatchConfig {
+
+    @Bean
+    public SalePaymentBatchUseCase salePaymentBatchUseCase(
+            DebitBalancesOutputPort debitBalancesOutputPort,
+            SendToKafkaAdapter sendToKafkaAdapter,
+            AuthorizePaymentOutputPort authorizePaymentOutputPort
+    ) {
+        return new SalePaymentBatchUseCase(debitBalancesOutputPort, sendToKafkaAdapter, authorizePaymentOutputPort);
+    }
+}
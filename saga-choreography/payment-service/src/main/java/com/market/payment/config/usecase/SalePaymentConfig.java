@@ -1,10 +1,9 @@
 package com.market.payment.config.usecase;
 
-import com.market.payment.adapters.out.SavePaymentAdapter;
 import com.market.payment.adapters.out.SendToKafkaAdapter;
-import com.market.payment.adapters.out.UpdateUserAdapter;
-import com.market.payment.application.core.usecase.FindUserByIdUseCase;
 import com.market.payment.application.core.usecase.SalePaymentUseCase;
+import com.market.payment.application.ports.out.AuthorizePaymentOutputPort;
+import com.market.payment.application.ports.out.DebitBalanceOutputPort;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -13,12 +12,10 @@ public class SalePaymentConfig {
 
     @Bean
     public SalePaymentUseCase salePaymentUseCase(
-            FindUserByIdUseCase findUserByIdUseCase,
-            UpdateUserAdapter updateUserAdapter,
-            SavePaymentAdapter savePaymentAdapter,
-            SendToKafkaAdapter sendToKafkaAdapter
+            DebitBalanceOutputPort debitBalanceOutputPort,
+            SendToKafkaAdapter sendToKafkaAdapter,
+            AuthorizePaymentOutputPort authorizePaymentOutputPort
     ) {
-        return  new SalePaymentUseCase(findUserByIdUseCase, updateUserAdapter, savePaymentAdapter,
-                sendToKafkaAdapter);
+        return  new SalePaymentUseCase(debitBalanceOutputPort, sendToKafkaAdapter, authorizePaymentOutputPort);
     }
 }
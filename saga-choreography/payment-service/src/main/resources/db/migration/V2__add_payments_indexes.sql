@@ -0,0 +1,4 @@
+-- Payments are looked up by sale (saga correlation) and by buyer.
+
+CREATE INDEX `idx_payments_sale_id` ON `payments` (`sale_id`);
+CREATE INDEX `idx_payments_user_id` ON `payments` (`user_id`);
@@ -0,0 +1,3 @@
+-- Balance updates are version-checked (optimistic locking), see UpdateUserAdapter.
+
+ALTER TABLE `users` ADD COLUMN `version` bigint NOT NULL DEFAULT 0;
@@ -0,0 +1,18 @@
+-- payment_db.ledger_entries definition
+-- Double-entry, append-only record of balance movements: every payment writes a
+-- USER entry (-amount) and a REVENUE entry (+amount) sharing the sale id, so the
+-- entries of a transaction always sum to zero. Amounts are in minor units (cents).
+-- folded_at is set once the compactor has added a USER entry into users.balance.
+
+CREATE TABLE IF NOT EXISTS `ledger_entries` (
+  `id` bigint NOT NULL AUTO_INCREMENT,
+  `transaction_id` bigint NOT NULL,
+  `account_type` varchar(16) NOT NULL,
+  `account_id` bigint NOT NULL,
+  `amount_minor` bigint NOT NULL,
+  `created_at` timestamp NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  `folded_at` timestamp NULL,
+  PRIMARY KEY (`id`),
+  KEY `idx_ledger_entries_unfolded` (`account_type`, `folded_at`, `account_id`),
+  KEY `idx_ledger_entries_transaction_id` (`transaction_id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
@@ -0,0 +1,31 @@
+-- Monthly range partitions on payments.created_at. PaymentArchiver moves payments
+-- older than the retention window into the compressed archive table below, adds the
+-- partitions of the coming months and drops the past ones it has emptied.
+-- A partitioned table must have the partitioning column in its primary key.
+
+ALTER TABLE `payments` DROP PRIMARY KEY, ADD PRIMARY KEY (`id`, `created_at`);
+
+-- Bounds are UTC epoch seconds. p_history holds everything before the first of the
+-- month after the migration runs, so the bound is computed here rather than written down;
+-- MonthlyPartitions splits the later months off p_future at runtime.
+SET @history_bound = TIMESTAMPDIFF(SECOND, '1970-01-01 00:00:00',
+  DATE_FORMAT(UTC_TIMESTAMP() + INTERVAL 1 MONTH, '%Y-%m-01'));
+SET @partition_payments = CONCAT('ALTER TABLE `payments` PARTITION BY RANGE (UNIX_TIMESTAMP(`created_at`)) (',
+  'PARTITION `p_history` VALUES LESS THAN (', @history_bound, '), ',
+  'PARTITION `p_future` VALUES LESS THAN MAXVALUE)');
+PREPARE partition_payments FROM @partition_payments;
+EXECUTE partition_payments;
+DEALLOCATE PREPARE partition_payments;
+
+-- payment_db.payments_archive definition
+
+CREATE TABLE IF NOT EXISTS `payments_archive` (
+  `id` bigint NOT NULL,
+  `user_id` bigint DEFAULT NULL,
+  `sale_id` bigint DEFAULT NULL,
+  `value` decimal(38,2) DEFAULT NULL,
+  `created_at` timestamp NOT NULL,
+  `archived_at` timestamp NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  PRIMARY KEY (`id`),
+  KEY `idx_payments_archive_sale_id` (`sale_id`)
+) ENGINE=InnoDB ROW_FORMAT=COMPRESSED KEY_BLOCK_SIZE=8 DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
@@ -0,0 +1,38 @@
+package com.market.payment.adapters.in.actuator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.market.payment.adapters.out.fault.FaultInjector;
+import com.market.payment.adapters.out.fault.FaultRule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+
+class FaultsEndpointTest {
+
+    private final FaultInjector faultInjector = new FaultInjector();
+    private final FaultsEndpoint faultsEndpoint = new FaultsEndpoint(this.faultInjector);
+
+    @BeforeEach
+    void setUp() {
+        this.faultInjector.register("UpdateUserOutputPort");
+    }
+
+    @Test
+    void omittedParametersFallBackToAFixedDelayAndTransientErrors() {
+        var faults = this.faultsEndpoint.configure("UpdateUserOutputPort", 20.0, null, null, null, 0.5, null, null);
+
+        assertEquals(new FaultRule(20, 20, 0, 0, 0.5, FaultRule.ErrorType.TRANSIENT, null),
+                faults.get("UpdateUserOutputPort").rule());
+        assertNull(this.faultsEndpoint.clear("UpdateUserOutputPort").get("UpdateUserOutputPort").rule());
+    }
+
+    @Test
+    void unknownPortIsABadRequest() {
+        assertThrows(InvalidEndpointRequestException.class,
+                () -> this.faultsEndpoint.configure("SendToKafka", null, null, null, null, 1.0, null, null));
+        assertThrows(InvalidEndpointRequestException.class, () -> this.faultsEndpoint.clear("SendToKafka"));
+    }
+}
@@ -0,0 +1,157 @@
+package com.market.payment.adapters.in.consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.market.payment.adapters.out.SendToKafkaAdapter;
+import com.market.payment.adapters.out.idempotency.ProcessedEventStore;
+import com.market.payment.adapters.out.idempotency.TimePartitionedBloomFilter;
+import com.market.payment.adapters.out.message.SaleMessageDTO;
+import com.market.payment.adapters.out.repository.ProcessedEventRepository;
+import com.market.payment.application.core.domain.SaleVO;
+import com.market.payment.application.core.domain.enums.SaleEventEnum;
+import com.market.payment.application.ports.in.AuthorizeSalePaymentInputPort;
+import com.market.payment.application.ports.in.SalePaymentInputPort;
+import com.market.payment.application.ports.out.AuthorizationUnavailableException;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class ReceiveSaleToPaymentConsumerTest {
+
+    private final AuthorizeSalePaymentInputPort authorizeSalePaymentInputPort =
+            mock(AuthorizeSalePaymentInputPort.class);
+    private final SalePaymentInputPort salePaymentInputPort = mock(SalePaymentInputPort.class);
+    private final ExecutorService callbackPool = Executors.newSingleThreadExecutor(
+            runnable -> new Thread(runnable, "authorization-callback"));
+    private ProcessedEventStore processedEventStore;
+    private ReceiveSaleToPaymentConsumer receiveSaleToPaymentConsumer;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        var dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + System.nanoTime() + ";MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        var jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE processed_events (sale_id bigint NOT NULL, event varchar(32) NOT NULL, "
+                + "processed_at timestamp NOT NULL DEFAULT CURRENT_TIMESTAMP, PRIMARY KEY (sale_id, event))");
+        this.processedEventStore = new ProcessedEventStore(new ProcessedEventRepository(jdbcTemplate),
+                new TimePartitionedBloomFilter(2, Duration.ofMinutes(10), 1_000, 0.01),
+                new TransactionTemplate(new DataSourceTransactionManager(dataSource)),
+                new SendToKafkaAdapter(mock(KafkaTemplate.class)));
+        this.receiveSaleToPaymentConsumer = new ReceiveSaleToPaymentConsumer(this.authorizeSalePaymentInputPort,
+                this.salePaymentInputPort, this.processedEventStore);
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.callbackPool.shutdownNow();
+    }
+
+    @Test
+    void authorizedSaleIsPaidOnTheAuthorizationCallbackThread() throws Exception {
+        var sale = sale(1L);
+        this.authorizeOnCallbackPool(sale, true);
+        var paidOn = new AtomicReference<String>();
+        doAnswer(invocation -> {
+            paidOn.set(Thread.currentThread().getName());
+            return null;
+        }).when(this.salePaymentInputPort).payment(sale);
+
+        this.receive(sale, SaleEventEnum.UPDATED_INVENTORY).get(5, TimeUnit.SECONDS);
+
+        assertEquals("authorization-callback", paidOn.get());
+        verify(this.salePaymentInputPort, never()).decline(any());
+        assertTrue(this.processedEventStore.isProcessed(1L, SaleEventEnum.UPDATED_INVENTORY));
+    }
+
+    @Test
+    void declinedSaleIsDeclinedAndNotPaid() throws Exception {
+        var sale = sale(1L);
+        this.authorizeOnCallbackPool(sale, false);
+
+        this.receive(sale, SaleEventEnum.UPDATED_INVENTORY).get(5, TimeUnit.SECONDS);
+
+        verify(this.salePaymentInputPort).decline(sale);
+        verify(this.salePaymentInputPort, never()).payment(any());
+        verify(this.authorizeSalePaymentInputPort, never()).voidAuthorization(any());
+    }
+
+    @Test
+    void saleRolledBackBeforeItsAuthorizationIsNotPaidAndTheAuthorizationIsVoided() throws Exception {
+        var sale = sale(1L);
+        this.processedEventStore.runOnce(1L, SaleEventEnum.ROLLBACK_INVENTORY,
+                () -> this.processedEventStore.claim(1L, SaleEventEnum.UPDATED_INVENTORY));
+        this.authorizeOnCallbackPool(sale, true);
+
+        this.receive(sale, SaleEventEnum.UPDATED_INVENTORY).get(5, TimeUnit.SECONDS);
+
+        verify(this.salePaymentInputPort, never()).payment(any());
+        verify(this.authorizeSalePaymentInputPort).voidAuthorization(sale);
+    }
+
+    @Test
+    void redeliveredAuthorizedSaleIsPaidOnceAndNotVoided() throws Exception {
+        var sale = sale(1L);
+        this.authorizeOnCallbackPool(sale, true);
+
+        this.receive(sale, SaleEventEnum.UPDATED_INVENTORY).get(5, TimeUnit.SECONDS);
+        this.receive(sale, SaleEventEnum.UPDATED_INVENTORY).get(5, TimeUnit.SECONDS);
+
+        verify(this.salePaymentInputPort).payment(sale);
+        verify(this.authorizeSalePaymentInputPort, never()).voidAuthorization(any());
+    }
+
+    @Test
+    void unavailableAcquirerFailsTheListenerSoTheRecordIsRedelivered() {
+        var sale = sale(1L);
+        when(this.authorizeSalePaymentInputPort.authorize(sale))
+                .thenThrow(new AuthorizationUnavailableException("no call slot"));
+
+        assertThrows(AuthorizationUnavailableException.class,
+                () -> this.receive(sale, SaleEventEnum.UPDATED_INVENTORY));
+
+        verify(this.salePaymentInputPort, never()).decline(any());
+        assertFalse(this.processedEventStore.isProcessed(1L, SaleEventEnum.UPDATED_INVENTORY));
+    }
+
+    @Test
+    void otherEventsAreIgnored() throws Exception {
+        this.receive(sale(1L), SaleEventEnum.CREATED_SALE).get(5, TimeUnit.SECONDS);
+
+        verify(this.authorizeSalePaymentInputPort, never()).authorize(any());
+    }
+
+    private void authorizeOnCallbackPool(SaleVO sale, boolean authorized) {
+        when(this.authorizeSalePaymentInputPort.authorize(sale))
+                .thenAnswer(invocation -> CompletableFuture.supplyAsync(() -> authorized, this.callbackPool));
+    }
+
+    private CompletableFuture<Void> receive(SaleVO sale, SaleEventEnum event) {
+        return this.receiveSaleToPaymentConsumer.receive(new SaleMessageDTO(sale, event));
+    }
+
+    private static SaleVO sale(Long id) {
+        return new SaleVO(id, 1L, 1L, BigDecimal.TEN, null, 1, null);
+    }
+}
@@ -0,0 +1,131 @@
+package com.market.payment.adapters.out;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.market.payment.adapters.out.jdbc.JdbcSavePaymentAdapter;
+import com.market.payment.adapters.out.repository.UserRepository;
+import com.market.payment.adapters.out.repository.entity.UserEntity;
+import com.market.payment.adapters.out.snapshot.BalanceSnapshotPublisher;
+import com.market.payment.application.core.domain.Money;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@DataJpaTest(properties = {
+        "spring.test.database.replace=none",
+        "spring.datasource.url=jdbc:h2:mem:debit;MODE=MySQL;NON_KEYWORDS=VALUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop"})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class DebitBalanceAdapterTest {
+
+    private static final int THREADS = 16;
+    private static final int PAYMENTS = 400;
+    private static final Money AMOUNT = Money.ofMinorUnits(250);
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private JdbcTemplate jdbcTemplate;
+    private DebitBalanceAdapter debitBalanceAdapter;
+
+    @BeforeEach
+    void setUp() {
+        this.jdbcTemplate = new JdbcTemplate(this.dataSource);
+        this.debitBalanceAdapter = new DebitBalanceAdapter(this.userRepository,
+                new JdbcSavePaymentAdapter(new NamedParameterJdbcTemplate(this.dataSource)),
+                new TransactionTemplate(this.transactionManager),
+                new StaticListableBeanFactory().getBeanProvider(BalanceSnapshotPublisher.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.jdbcTemplate.update("DELETE FROM payments");
+        this.userRepository.deleteAll();
+    }
+
+    @Test
+    void concurrentDebitsOfOneUserNeverOverdrawIt() throws Exception {
+        // Enough for 100 of the 400 payments
+        var userId = this.createUser(new BigDecimal("250.00"));
+
+        List<Callable<Boolean>> debits = new ArrayList<>();
+        for (long saleId = 1; saleId <= PAYMENTS; saleId++) {
+            var sale = saleId;
+            debits.add(() -> this.debitBalanceAdapter.debit(userId, sale, AMOUNT));
+        }
+        var executor = Executors.newFixedThreadPool(THREADS);
+        var accepted = 0;
+        try {
+            for (Future<Boolean> debit : executor.invokeAll(debits)) {
+                if (debit.get()) {
+                    accepted++;
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(100, accepted);
+        assertEquals(Money.ZERO, this.balanceOf(userId));
+        assertEquals(accepted, this.jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM payments WHERE user_id = ?", Integer.class, userId));
+        assertEquals(new BigDecimal("250.00"), this.jdbcTemplate.queryForObject(
+                "SELECT SUM(value) FROM payments WHERE user_id = ?", BigDecimal.class, userId));
+    }
+
+    @Test
+    void debitThatWouldOverdrawLeavesBalanceAndPaymentsUntouched() {
+        var userId = this.createUser(new BigDecimal("2.00"));
+
+        assertFalse(this.debitBalanceAdapter.debit(userId, 1L, AMOUNT));
+        assertTrue(this.debitBalanceAdapter.debit(userId, 2L, Money.ofMinorUnits(200)));
+
+        assertEquals(Money.ZERO, this.balanceOf(userId));
+        assertEquals(1, this.jdbcTemplate.queryForObject("SELECT COUNT(*) FROM payments", Integer.class));
+    }
+
+    @Test
+    void unknownUserIsNotDebited() {
+        assertFalse(this.debitBalanceAdapter.debit(Long.MAX_VALUE, 1L, AMOUNT));
+    }
+
+    private Long createUser(BigDecimal balance) {
+        var user = new UserEntity();
+        user.setName("test");
+        user.setBalance(balance);
+
+        return this.userRepository.save(user).getId();
+    }
+
+    private Money balanceOf(Long userId) {
+        return Money.of(this.userRepository.findById(userId).orElseThrow().getBalance());
+    }
+}
@@ -0,0 +1,99 @@
+package com.market.payment.adapters.out;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import com.market.payment.adapters.out.repository.PaymentBatchRepository;
+import com.market.payment.adapters.out.snapshot.BalanceSnapshotPublisher;
+import com.market.payment.application.core.domain.Money;
+import com.market.payment.application.core.domain.PaymentVO;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class DebitBalancesAdapterTest {
+
+    private final BalanceSnapshotPublisher balanceSnapshotPublisher = mock(BalanceSnapshotPublisher.class);
+    private JdbcTemplate jdbcTemplate;
+    private DebitBalancesAdapter debitBalancesAdapter;
+
+    @BeforeEach
+    void setUp() {
+        var dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + System.nanoTime() + ";MODE=MySQL;NON_KEYWORDS=VALUE;DB_CLOSE_DELAY=-1", "sa", "");
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.execute("CREATE TABLE users (id bigint NOT NULL, balance decimal(38,2), "
+                + "updated_at timestamp NULL, version bigint NOT NULL DEFAULT 0, PRIMARY KEY (id))");
+        this.jdbcTemplate.execute("CREATE TABLE payments (id bigint NOT NULL AUTO_INCREMENT, user_id bigint, "
+                + "sale_id bigint, value decimal(38,2), created_at timestamp NOT NULL, PRIMARY KEY (id))");
+        this.jdbcTemplate.update("INSERT INTO users (id, balance) VALUES (1, 10.00), (2, 5.00)");
+        var beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("balanceSnapshotPublisher", this.balanceSnapshotPublisher);
+        this.debitBalancesAdapter = new DebitBalancesAdapter(new PaymentBatchRepository(this.jdbcTemplate),
+                new TransactionTemplate(new DataSourceTransactionManager(dataSource)),
+                beanFactory.getBeanProvider(BalanceSnapshotPublisher.class));
+    }
+
+    @Test
+    void paymentsAreAppliedInOrderWhileTheBalanceCoversThem() {
+        var accepted = this.debitBalancesAdapter.debit(List.of(
+                payment(1L, 11L, 600),
+                payment(2L, 21L, 200),
+                payment(1L, 12L, 500),
+                payment(1L, 13L, 400),
+                payment(2L, 22L, 300)));
+
+        assertEquals(Set.of(11L, 21L, 13L, 22L), accepted);
+        assertEquals(new BigDecimal("0.00"), this.balanceOf(1L));
+        assertEquals(new BigDecimal("0.00"), this.balanceOf(2L));
+        assertEquals(List.of(11L, 13L, 21L, 22L), this.jdbcTemplate.queryForList(
+                "SELECT sale_id FROM payments ORDER BY sale_id", Long.class));
+        assertEquals(1, this.versionOf(1L));
+        verify(this.balanceSnapshotPublisher).markChanged(Set.of(1L, 2L));
+    }
+
+    @Test
+    void paymentsOfUnknownUsersAndNegativeAmountsAreRejected() {
+        var accepted = this.debitBalancesAdapter.debit(List.of(
+                payment(3L, 31L, 100),
+                payment(1L, 11L, -100),
+                payment(1L, 12L, 100)));
+
+        assertEquals(Set.of(12L), accepted);
+        assertEquals(new BigDecimal("9.00"), this.balanceOf(1L));
+    }
+
+    @Test
+    void batchWithoutAnAcceptedPaymentWritesNothing() {
+        var accepted = this.debitBalancesAdapter.debit(List.of(payment(2L, 21L, 501)));
+
+        assertTrue(accepted.isEmpty());
+        assertEquals(new BigDecimal("5.00"), this.balanceOf(2L));
+        assertEquals(0, this.versionOf(2L));
+        assertEquals(0, this.jdbcTemplate.queryForObject("SELECT COUNT(*) FROM payments", Integer.class));
+        verify(this.balanceSnapshotPublisher, never()).markChanged(any());
+    }
+
+    private BigDecimal balanceOf(Long userId) {
+        return this.jdbcTemplate.queryForObject("SELECT balance FROM users WHERE id = ?", BigDecimal.class, userId);
+    }
+
+    private long versionOf(Long userId) {
+        return this.jdbcTemplate.queryForObject("SELECT version FROM users WHERE id = ?", Long.class, userId);
+    }
+
+    private static PaymentVO payment(Long userId, Long saleId, long cents) {
+        return new PaymentVO(null, userId, saleId, Money.ofMinorUnits(cents), null);
+    }
+}
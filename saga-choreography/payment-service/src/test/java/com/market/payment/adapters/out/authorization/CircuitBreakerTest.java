@@ -0,0 +1,87 @@
+package com.market.payment.adapters.out.authorization;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class CircuitBreakerTest {
+
+    @Test
+    void staysClosedUntilTheMinimumNumberOfCallsFailed() {
+        var circuitBreaker = new CircuitBreaker(10, 4, 0.5, 60_000, 1);
+
+        for (int i = 0; i < 3; i++) {
+            assertTrue(circuitBreaker.tryAcquire());
+            circuitBreaker.onFailure();
+        }
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.state());
+
+        circuitBreaker.onFailure();
+
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.state());
+        assertFalse(circuitBreaker.tryAcquire());
+    }
+
+    @Test
+    void opensOnTheFailureRateOfTheLastCallsOnly() {
+        var circuitBreaker = new CircuitBreaker(4, 4, 0.5, 60_000, 1);
+        circuitBreaker.onFailure();
+        for (int i = 0; i < 4; i++) {
+            circuitBreaker.onSuccess();
+        }
+
+        circuitBreaker.onFailure();
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.state());
+        circuitBreaker.onFailure();
+
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.state());
+    }
+
+    @Test
+    void letsTrialCallsThroughOnceOpenLongEnoughAndClosesWhenAllSucceed() {
+        var circuitBreaker = this.openCircuitBreaker(0, 2);
+
+        assertTrue(circuitBreaker.tryAcquire());
+        assertTrue(circuitBreaker.tryAcquire());
+        assertFalse(circuitBreaker.tryAcquire());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.state());
+
+        circuitBreaker.onSuccess();
+        circuitBreaker.onSuccess();
+
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.state());
+        assertTrue(circuitBreaker.tryAcquire());
+    }
+
+    @Test
+    void failedTrialCallOpensAgain() {
+        var circuitBreaker = this.openCircuitBreaker(0, 2);
+        assertTrue(circuitBreaker.tryAcquire());
+
+        circuitBreaker.onSuccess();
+        circuitBreaker.onFailure();
+
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.state());
+    }
+
+    @Test
+    void closingForgetsTheFailuresRecordedBeforeOpening() {
+        var circuitBreaker = this.openCircuitBreaker(0, 1);
+        circuitBreaker.tryAcquire();
+        circuitBreaker.onSuccess();
+
+        circuitBreaker.onFailure();
+
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.state());
+    }
+
+    private CircuitBreaker openCircuitBreaker(long openMillis, int halfOpenCalls) {
+        var circuitBreaker = new CircuitBreaker(4, 2, 0.5, openMillis, halfOpenCalls);
+        circuitBreaker.onFailure();
+        circuitBreaker.onFailure();
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.state());
+        return circuitBreaker;
+    }
+}
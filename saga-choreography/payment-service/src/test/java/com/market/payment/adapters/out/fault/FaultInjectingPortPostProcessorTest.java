@@ -0,0 +1,77 @@
+package com.market.payment.adapters.out.fault;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.market.payment.application.core.domain.PaymentVO;
+import com.market.payment.application.ports.out.SavePaymentOutputPort;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.TransientDataAccessResourceException;
+
+class FaultInjectingPortPostProcessorTest {
+
+    private final FaultInjector faultInjector = new FaultInjector();
+    private final FaultInjectingPortPostProcessor postProcessor = new FaultInjectingPortPostProcessor(
+            this.faultInjector);
+
+    @Test
+    void portMethodsOfTheAdapterClassGoThroughTheRule() {
+        var adapter = (RecordingSavePaymentAdapter) this.postProcessor.postProcessAfterInitialization(
+                new RecordingSavePaymentAdapter(), "savePaymentAdapter");
+        var paymentVO = new PaymentVO();
+
+        adapter.save(paymentVO);
+        this.faultInjector.configure("SavePaymentOutputPort",
+                new FaultRule(0, 0, 0, 0, 1, FaultRule.ErrorType.TRANSIENT, null));
+
+        assertThrows(TransientDataAccessResourceException.class, () -> adapter.save(paymentVO));
+        // Methods that are not part of a port are called without the rule
+        assertEquals(List.of(paymentVO), adapter.saved());
+        var faults = this.faultInjector.snapshot().get("SavePaymentOutputPort");
+        assertEquals(2, faults.calls());
+        assertEquals(1, faults.failed());
+    }
+
+    @Test
+    void beanWithoutAnOutputPortIsLeftAlone() {
+        var bean = new ArrayList<String>();
+
+        assertSame(bean, this.postProcessor.postProcessAfterInitialization(bean, "list"));
+        assertEquals(0, this.faultInjector.snapshot().size());
+    }
+
+    @Test
+    void finalAdapterIsProxiedThroughItsPorts() {
+        var proxy = this.postProcessor.postProcessAfterInitialization(new FinalSavePaymentAdapter(), "final");
+        this.faultInjector.configure("all", new FaultRule(0, 0, 0, 0, 1, FaultRule.ErrorType.CONFLICT, null));
+
+        var port = assertInstanceOf(SavePaymentOutputPort.class, proxy);
+        assertThrows(OptimisticLockingFailureException.class, () -> port.save(new PaymentVO()));
+    }
+
+    static class RecordingSavePaymentAdapter implements SavePaymentOutputPort {
+
+        private final List<PaymentVO> saved = new ArrayList<>();
+
+        @Override
+        public void save(PaymentVO paymentVO) {
+            this.saved.add(paymentVO);
+        }
+
+        public List<PaymentVO> saved() {
+            return this.saved;
+        }
+    }
+
+    static final class FinalSavePaymentAdapter implements SavePaymentOutputPort {
+
+        @Override
+        public void save(PaymentVO paymentVO) {
+        }
+    }
+}
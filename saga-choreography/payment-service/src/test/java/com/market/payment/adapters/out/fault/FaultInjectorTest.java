@@ -0,0 +1,89 @@
+package com.market.payment.adapters.out.fault;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.time.Instant;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.TransientDataAccessResourceException;
+
+class FaultInjectorTest {
+
+    private final FaultInjector faultInjector = new FaultInjector();
+
+    @BeforeEach
+    void setUp() {
+        this.faultInjector.register("UpdateUserOutputPort");
+        this.faultInjector.register("SavePaymentOutputPort");
+    }
+
+    @Test
+    void portWithoutARuleOnlyCountsItsCalls() {
+        this.faultInjector.beforeCall("UpdateUserOutputPort");
+        this.faultInjector.beforeCall("UpdateUserOutputPort");
+
+        var faults = this.faultInjector.snapshot().get("UpdateUserOutputPort");
+        assertNull(faults.rule());
+        assertEquals(2, faults.calls());
+        assertEquals(0, faults.delayed() + faults.stalled() + faults.failed());
+    }
+
+    @Test
+    void errorTypeDecidesTheFailureThrown() {
+        this.faultInjector.configure("UpdateUserOutputPort", rule(0, 1, FaultRule.ErrorType.CONFLICT, null));
+        this.faultInjector.configure("SavePaymentOutputPort", rule(0, 1, FaultRule.ErrorType.TRANSIENT, null));
+
+        assertThrows(OptimisticLockingFailureException.class,
+                () -> this.faultInjector.beforeCall("UpdateUserOutputPort"));
+        assertThrows(TransientDataAccessResourceException.class,
+                () -> this.faultInjector.beforeCall("SavePaymentOutputPort"));
+        assertEquals(1, this.faultInjector.snapshot().get("UpdateUserOutputPort").failed());
+    }
+
+    @Test
+    void equalMedianAndP99DelayEveryCallByThatTime() {
+        this.faultInjector.configure("UpdateUserOutputPort", rule(50, 0, FaultRule.ErrorType.TRANSIENT, null));
+
+        var started = System.nanoTime();
+        this.faultInjector.beforeCall("UpdateUserOutputPort");
+
+        assertTrue(Duration.ofNanos(System.nanoTime() - started).toMillis() >= 50);
+        assertEquals(1, this.faultInjector.snapshot().get("UpdateUserOutputPort").delayed());
+    }
+
+    @Test
+    void frozenPortHoldsCallsUntilTheFreezeEnds() {
+        var frozenUntil = Instant.now().plusMillis(100);
+        this.faultInjector.configure("UpdateUserOutputPort", rule(0, 0, FaultRule.ErrorType.TRANSIENT, frozenUntil));
+
+        this.faultInjector.beforeCall("UpdateUserOutputPort");
+
+        assertFalse(Instant.now().isBefore(frozenUntil));
+        assertEquals(1, this.faultInjector.snapshot().get("UpdateUserOutputPort").stalled());
+    }
+
+    @Test
+    void allSetsTheRuleOfEveryPortAndUnknownPortsAreRefused() {
+        assertTrue(this.faultInjector.configure("all", rule(0, 1, FaultRule.ErrorType.TRANSIENT, null)));
+        assertFalse(this.faultInjector.configure("SendToKafkaOutputPort", null));
+
+        assertThrows(TransientDataAccessResourceException.class,
+                () -> this.faultInjector.beforeCall("SavePaymentOutputPort"));
+
+        this.faultInjector.configure("all", null);
+        this.faultInjector.beforeCall("SavePaymentOutputPort");
+        this.faultInjector.beforeCall("SendToKafkaOutputPort");
+        assertEquals(2, this.faultInjector.snapshot().get("SavePaymentOutputPort").calls());
+    }
+
+    private static FaultRule rule(double delayMs, double errorRate, FaultRule.ErrorType errorType,
+                                  Instant frozenUntil) {
+        return new FaultRule(delayMs, delayMs, 0, 0, errorRate, errorType, frozenUntil);
+    }
+}
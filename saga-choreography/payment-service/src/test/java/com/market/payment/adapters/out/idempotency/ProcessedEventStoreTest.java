@@ -0,0 +1,144 @@
+package com.market.payment.adapters.out.idempotency;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.market.payment.adapters.out.SendToKafkaAdapter;
+import com.market.payment.adapters.out.message.SaleMessageDTO;
+import com.market.payment.adapters.out.repository.ProcessedEventRepository;
+import com.market.payment.application.core.domain.SaleVO;
+import com.market.payment.application.core.domain.enums.SaleEventEnum;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class ProcessedEventStoreTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private KafkaTemplate<String, SaleMessageDTO> kafkaTemplate;
+    private SendToKafkaAdapter sendToKafkaAdapter;
+    private ProcessedEventStore processedEventStore;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        var dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + System.nanoTime() + ";MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.execute("CREATE TABLE processed_events (sale_id bigint NOT NULL, event varchar(32) NOT NULL, "
+                + "processed_at timestamp NOT NULL DEFAULT CURRENT_TIMESTAMP, PRIMARY KEY (sale_id, event))");
+        var transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        this.kafkaTemplate = mock(KafkaTemplate.class);
+        this.sendToKafkaAdapter = new SendToKafkaAdapter(this.kafkaTemplate);
+        ReflectionTestUtils.setField(this.sendToKafkaAdapter, "topic", "tp-test");
+        this.processedEventStore = new ProcessedEventStore(new ProcessedEventRepository(this.jdbcTemplate),
+                new TimePartitionedBloomFilter(2, Duration.ofMinutes(10), 1_000, 0.01), transactionTemplate,
+                this.sendToKafkaAdapter);
+    }
+
+    @Test
+    void redeliveredEventRunsItsStepOnce() {
+        var runs = new AtomicInteger();
+
+        this.processedEventStore.runOnce(1L, SaleEventEnum.UPDATED_INVENTORY, runs::incrementAndGet);
+        this.processedEventStore.runOnce(1L, SaleEventEnum.UPDATED_INVENTORY, runs::incrementAndGet);
+        this.processedEventStore.runOnce(1L, SaleEventEnum.ROLLBACK_INVENTORY, runs::incrementAndGet);
+
+        assertEquals(2, runs.get());
+    }
+
+    @Test
+    void messagesAreOnlyPublishedAfterTheStepCommitted() {
+        this.processedEventStore.runOnce(1L, SaleEventEnum.UPDATED_INVENTORY, () -> {
+            assertTrue(TransactionSynchronizationManager.isActualTransactionActive());
+            this.sendToKafkaAdapter.send(sale(1L), SaleEventEnum.VALIDATED_PAYMENT);
+            verify(this.kafkaTemplate, never()).send(anyString(), anyString(), any());
+        });
+
+        verify(this.kafkaTemplate).send(eq("tp-test"), eq("1"), any());
+    }
+
+    @Test
+    void failedStepPublishesNothingAndIsRetried() {
+        assertThrows(IllegalStateException.class,
+                () -> this.processedEventStore.runOnce(1L, SaleEventEnum.UPDATED_INVENTORY, () -> {
+                    this.sendToKafkaAdapter.send(sale(1L), SaleEventEnum.VALIDATED_PAYMENT);
+                    throw new IllegalStateException("database down");
+                }));
+
+        verify(this.kafkaTemplate, never()).send(anyString(), anyString(), any());
+        assertFalse(this.isProcessed(1L, SaleEventEnum.UPDATED_INVENTORY));
+    }
+
+    @Test
+    void rejectedStepKeepsItsMarkerAndPublishesItsOutcome() {
+        var transactionTemplate = (TransactionTemplate) ReflectionTestUtils.getField(
+                this.processedEventStore, "transactionTemplate");
+
+        this.processedEventStore.runOnce(1L, SaleEventEnum.UPDATED_INVENTORY, () -> {
+            transactionTemplate.executeWithoutResult(status -> status.setRollbackOnly());
+            this.sendToKafkaAdapter.send(sale(1L), SaleEventEnum.FAILED_PAYMENT);
+        });
+
+        verify(this.kafkaTemplate).send(eq("tp-test"), eq("1"), any());
+        assertTrue(this.isProcessed(1L, SaleEventEnum.UPDATED_INVENTORY));
+    }
+
+    @Test
+    void batchSkipsProcessedSalesAndPublishesOnce() {
+        this.processedEventStore.runOnce(2L, SaleEventEnum.UPDATED_INVENTORY, () -> { });
+
+        var skipped = this.processedEventStore.runOnce(List.of(1L, 2L, 3L), SaleEventEnum.UPDATED_INVENTORY, fresh -> {
+            assertEquals(List.of(1L, 3L), List.copyOf(fresh));
+            this.sendToKafkaAdapter.sendAll(Map.of(SaleEventEnum.VALIDATED_PAYMENT, List.of(sale(1L), sale(3L))));
+            verify(this.kafkaTemplate, never()).send(anyString(), anyString(), any());
+        });
+
+        assertEquals(Set.of(2L), skipped);
+        verify(this.kafkaTemplate, times(2)).send(eq("tp-test"), anyString(), any());
+        verify(this.kafkaTemplate).flush();
+    }
+
+    @Test
+    void claimSettlesARollbackAgainstAPaymentNotRunYet() {
+        var paid = new AtomicInteger();
+
+        this.processedEventStore.runOnce(1L, SaleEventEnum.ROLLBACK_INVENTORY,
+                () -> assertTrue(this.processedEventStore.claim(1L, SaleEventEnum.UPDATED_INVENTORY)));
+
+        assertFalse(this.processedEventStore.runOnce(1L, SaleEventEnum.UPDATED_INVENTORY, paid::incrementAndGet));
+        assertEquals(0, paid.get());
+        assertTrue(this.processedEventStore.isProcessed(1L, SaleEventEnum.ROLLBACK_INVENTORY));
+    }
+
+    private boolean isProcessed(Long saleId, SaleEventEnum event) {
+        return this.jdbcTemplate.queryForObject("SELECT COUNT(*) FROM processed_events WHERE sale_id = ? AND event = ?",
+                Integer.class, saleId, event.name()) > 0;
+    }
+
+    private static SaleVO sale(Long id) {
+        var saleVO = new SaleVO();
+        saleVO.setId(id);
+        return saleVO;
+    }
+}
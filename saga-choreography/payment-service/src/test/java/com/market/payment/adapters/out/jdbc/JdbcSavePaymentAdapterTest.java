@@ -0,0 +1,32 @@
+package com.market.payment.adapters.out.jdbc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import com.market.payment.application.core.domain.Money;
+import com.market.payment.application.core.domain.PaymentVO;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+class JdbcSavePaymentAdapterTest {
+
+    @Test
+    void paymentIsInsertedWithItsValueInDecimalUnits() {
+        var jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:" + System.nanoTime() + ";MODE=MySQL;NON_KEYWORDS=VALUE;DB_CLOSE_DELAY=-1", "sa", ""));
+        jdbcTemplate.execute("CREATE TABLE payments (id bigint NOT NULL AUTO_INCREMENT, user_id bigint, "
+                + "sale_id bigint, value decimal(38,2), created_at timestamp NOT NULL, PRIMARY KEY (id))");
+
+        new JdbcSavePaymentAdapter(new NamedParameterJdbcTemplate(jdbcTemplate))
+                .save(new PaymentVO(null, 1L, 10L, Money.ofMinorUnits(1250), null));
+
+        assertEquals(Map.of("USER_ID", 1L, "SALE_ID", 10L, "VALUE", new BigDecimal("12.50")),
+                jdbcTemplate.queryForMap("SELECT user_id, sale_id, value FROM payments"));
+        assertNotNull(jdbcTemplate.queryForObject("SELECT created_at FROM payments", LocalDateTime.class));
+    }
+}
@@ -0,0 +1,110 @@
+package com.market.payment.adapters.out.jdbc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.market.payment.adapters.out.locking.RetryWithJitter;
+import com.market.payment.application.core.domain.Money;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class JdbcUpdateUserAdapterTest {
+
+    private static final Long USER_ID = 1L;
+    private static final int THREADS = 8;
+    private static final int UPDATES = 200;
+
+    private JdbcTemplate jdbcTemplate;
+    private NamedParameterJdbcTemplate namedJdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        var dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + System.nanoTime() + ";MODE=MySQL;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000", "sa", "");
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.execute("CREATE TABLE users (id bigint NOT NULL, balance decimal(38,2), name varchar(255), "
+                + "created_at timestamp NOT NULL DEFAULT CURRENT_TIMESTAMP, updated_at timestamp NULL, "
+                + "version bigint NOT NULL DEFAULT 0, PRIMARY KEY (id))");
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(this.jdbcTemplate);
+        this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"optimistic", "pessimistic"})
+    void concurrentDebitsOfOneUserAreNeverLost(String strategy) throws Exception {
+        this.jdbcTemplate.update("INSERT INTO users (id, balance) VALUES (?, 1000.00)", USER_ID);
+        var jdbcUpdateUserAdapter = this.jdbcUpdateUserAdapter(strategy);
+
+        List<Callable<Void>> updates = new ArrayList<>();
+        for (int i = 0; i < UPDATES; i++) {
+            updates.add(() -> {
+                jdbcUpdateUserAdapter.update(USER_ID, userVO -> userVO.debitBalance(Money.ofMinorUnits(125)));
+                return null;
+            });
+        }
+        var executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (Future<Void> result : executor.invokeAll(updates)) {
+                result.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(new BigDecimal("750.00"), this.balance());
+        assertEquals(UPDATES, this.jdbcTemplate.queryForObject("SELECT version FROM users WHERE id = ?",
+                Integer.class, USER_ID));
+    }
+
+    @Test
+    void changeThatThrowsLeavesTheRowUntouched() {
+        this.jdbcTemplate.update("INSERT INTO users (id, balance) VALUES (?, 10.00)", USER_ID);
+        var jdbcUpdateUserAdapter = this.jdbcUpdateUserAdapter("optimistic");
+
+        assertThrows(IllegalStateException.class, () -> jdbcUpdateUserAdapter.update(USER_ID, userVO -> {
+            userVO.debitBalance(Money.ofMinorUnits(300));
+            throw new IllegalStateException("Insufficient funds!");
+        }));
+
+        assertEquals(new BigDecimal("10.00"), this.balance());
+    }
+
+    @Test
+    void unknownUserIsNotFound() {
+        var jdbcUpdateUserAdapter = this.jdbcUpdateUserAdapter("pessimistic");
+
+        var e = assertThrows(RuntimeException.class,
+                () -> jdbcUpdateUserAdapter.update(USER_ID, userVO -> userVO.debitBalance(Money.ofMinorUnits(1))));
+        assertEquals("User not found.", e.getMessage());
+    }
+
+    private BigDecimal balance() {
+        return this.jdbcTemplate.queryForObject("SELECT balance FROM users WHERE id = ?", BigDecimal.class, USER_ID);
+    }
+
+    private JdbcUpdateUserAdapter jdbcUpdateUserAdapter(String strategy) {
+        var retryWithJitter = new RetryWithJitter();
+        ReflectionTestUtils.setField(retryWithJitter, "maxAttempts", 1_000);
+        ReflectionTestUtils.setField(retryWithJitter, "baseBackoffMillis", 1L);
+        ReflectionTestUtils.setField(retryWithJitter, "maxBackoffMillis", 5L);
+        var jdbcUpdateUserAdapter = new JdbcUpdateUserAdapter(this.namedJdbcTemplate, this.transactionTemplate,
+                retryWithJitter);
+        ReflectionTestUtils.setField(jdbcUpdateUserAdapter, "strategy", strategy);
+        return jdbcUpdateUserAdapter;
+    }
+}
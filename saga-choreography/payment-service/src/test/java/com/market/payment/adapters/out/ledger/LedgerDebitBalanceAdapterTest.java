@@ -0,0 +1,146 @@
+package com.market.payment.adapters.out.ledger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.market.payment.adapters.out.message.BalanceSnapshotDTO;
+import com.market.payment.adapters.out.repository.PaymentBatchRepository;
+import com.market.payment.adapters.out.snapshot.BalanceSnapshotRepository;
+import com.market.payment.adapters.out.snapshot.BalanceSnapshotPublisher;
+import com.market.payment.application.core.domain.Money;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class LedgerDebitBalanceAdapterTest {
+
+    private static final long USER_ID = 1L;
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private KafkaTemplate<String, BalanceSnapshotDTO> kafkaTemplate;
+    private BalanceSnapshotPublisher balanceSnapshotPublisher;
+    private LedgerDebitBalanceAdapter ledgerDebitBalanceAdapter;
+
+    @BeforeEach
+    void setUp() {
+        var dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + System.nanoTime() + ";MODE=MySQL;NON_KEYWORDS=VALUE;DB_CLOSE_DELAY=-1", "sa", "");
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.execute("CREATE TABLE users (id bigint NOT NULL, balance decimal(38,2), "
+                + "updated_at timestamp NULL, version bigint NOT NULL DEFAULT 0, PRIMARY KEY (id))");
+        this.jdbcTemplate.execute("CREATE TABLE payments (id bigint NOT NULL AUTO_INCREMENT, user_id bigint, "
+                + "sale_id bigint, value decimal(38,2), created_at timestamp NOT NULL, PRIMARY KEY (id))");
+        this.jdbcTemplate.execute("CREATE TABLE ledger_entries (id bigint NOT NULL AUTO_INCREMENT, "
+                + "transaction_id bigint NOT NULL, account_type varchar(16) NOT NULL, account_id bigint NOT NULL, "
+                + "amount_minor bigint NOT NULL, folded_at timestamp NULL, PRIMARY KEY (id))");
+        this.jdbcTemplate.update("INSERT INTO users (id, balance) VALUES (?, 10.00)", USER_ID);
+        this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        this.kafkaTemplate = mock(KafkaTemplate.class);
+        when(this.kafkaTemplate.send(anyString(), anyString(), any())).thenReturn(new CompletableFuture<>());
+        this.balanceSnapshotPublisher = new BalanceSnapshotPublisher(new BalanceSnapshotRepository(this.jdbcTemplate),
+                this.kafkaTemplate, "balances", 100);
+        var beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("balanceSnapshotPublisher", this.balanceSnapshotPublisher);
+        this.ledgerDebitBalanceAdapter = new LedgerDebitBalanceAdapter(new LedgerRepository(this.jdbcTemplate),
+                new PaymentBatchRepository(this.jdbcTemplate), this.transactionTemplate,
+                beanFactory.getBeanProvider(BalanceSnapshotPublisher.class));
+    }
+
+    @Test
+    void debitRolledBackWithTheOuterTransactionGivesTheAmountBack() {
+        this.transactionTemplate.executeWithoutResult(status -> {
+            assertTrue(this.ledgerDebitBalanceAdapter.debit(USER_ID, 1L, cents(1000)));
+            status.setRollbackOnly();
+        });
+
+        assertEquals(0, this.jdbcTemplate.queryForObject("SELECT COUNT(*) FROM ledger_entries", Integer.class));
+        assertTrue(this.ledgerDebitBalanceAdapter.debit(USER_ID, 2L, cents(1000)));
+        assertFalse(this.ledgerDebitBalanceAdapter.debit(USER_ID, 3L, cents(1)));
+    }
+
+    @Test
+    void debitFailingInsideTheOuterTransactionGivesTheAmountBack() {
+        assertThrows(IllegalStateException.class, () -> this.transactionTemplate.executeWithoutResult(status -> {
+            this.ledgerDebitBalanceAdapter.debit(USER_ID, 1L, cents(600));
+            throw new IllegalStateException("step failed");
+        }));
+
+        assertTrue(this.ledgerDebitBalanceAdapter.debit(USER_ID, 2L, cents(1000)));
+    }
+
+    @Test
+    void userIsMarkedForTheSnapshotOnlyOnceTheOuterTransactionCommits() {
+        this.transactionTemplate.executeWithoutResult(status -> {
+            assertTrue(this.ledgerDebitBalanceAdapter.debit(USER_ID, 1L, cents(100)));
+            status.setRollbackOnly();
+        });
+        this.balanceSnapshotPublisher.publishChanged();
+        verify(this.kafkaTemplate, never()).send(anyString(), anyString(), any());
+
+        this.transactionTemplate.executeWithoutResult(status -> {
+            assertTrue(this.ledgerDebitBalanceAdapter.debit(USER_ID, 2L, cents(100)));
+            this.balanceSnapshotPublisher.publishChanged();
+            verify(this.kafkaTemplate, never()).send(anyString(), anyString(), any());
+        });
+        this.balanceSnapshotPublisher.publishChanged();
+        verify(this.kafkaTemplate).send("balances", "1", new BalanceSnapshotDTO(USER_ID, 900L));
+    }
+
+    @Test
+    void refundIsAvailableOnceCommitted() {
+        assertTrue(this.ledgerDebitBalanceAdapter.debit(USER_ID, 1L, cents(1000)));
+
+        assertTrue(this.ledgerDebitBalanceAdapter.refund(1L));
+
+        assertTrue(this.ledgerDebitBalanceAdapter.debit(USER_ID, 2L, cents(1000)));
+        assertEquals(0L, this.jdbcTemplate.queryForObject(
+                "SELECT SUM(amount_minor) FROM ledger_entries", Long.class));
+    }
+
+    @Test
+    void reconcilePicksUpCreditsMadeOutsideTheLedger() {
+        assertTrue(this.ledgerDebitBalanceAdapter.debit(USER_ID, 1L, cents(1000)));
+        this.jdbcTemplate.update("UPDATE users SET balance = balance + 5.00 WHERE id = ?", USER_ID);
+        assertFalse(this.ledgerDebitBalanceAdapter.debit(USER_ID, 2L, cents(500)));
+
+        this.ledgerDebitBalanceAdapter.reconcile();
+
+        assertTrue(this.ledgerDebitBalanceAdapter.debit(USER_ID, 2L, cents(500)));
+        assertFalse(this.ledgerDebitBalanceAdapter.debit(USER_ID, 3L, cents(1)));
+    }
+
+    @Test
+    void reconcileLeavesBalancesWithPaymentsInFlightAlone() {
+        var balance = new AvailableBalance(1000);
+        assertTrue(balance.reserve(400));
+        assertNull(balance.idle());
+
+        balance.complete(0);
+        var idle = balance.idle();
+        assertTrue(balance.reserve(100));
+
+        assertFalse(balance.reconcile(idle, 2000));
+        balance.complete(0);
+        assertEquals(500, balance.idle().balance());
+    }
+
+    private static Money cents(long cents) {
+        return Money.ofMinorUnits(cents);
+    }
+}
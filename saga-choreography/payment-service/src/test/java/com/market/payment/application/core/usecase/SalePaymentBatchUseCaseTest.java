@@ -0,0 +1,80 @@
+package com.market.payment.application.core.usecase;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.market.payment.application.core.domain.PaymentVO;
+import com.market.payment.application.core.domain.SaleVO;
+import com.market.payment.application.core.domain.enums.SaleEventEnum;
+import com.market.payment.application.core.domain.enums.SaleStatusEnum;
+import com.market.payment.application.ports.out.AuthorizePaymentOutputPort;
+import com.market.payment.application.ports.out.DebitBalancesOutputPort;
+import com.market.payment.application.ports.out.SendToKafkaOutputPort;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+class SalePaymentBatchUseCaseTest {
+
+    private final DebitBalancesOutputPort debitBalancesOutputPort = mock(DebitBalancesOutputPort.class);
+    private final SendToKafkaOutputPort sendToKafkaOutputPort = mock(SendToKafkaOutputPort.class);
+    private final AuthorizePaymentOutputPort authorizePaymentOutputPort = mock(AuthorizePaymentOutputPort.class);
+    private final SalePaymentBatchUseCase salePaymentBatchUseCase = new SalePaymentBatchUseCase(
+            this.debitBalancesOutputPort, this.sendToKafkaOutputPort, this.authorizePaymentOutputPort);
+
+    @Test
+    void acceptedSalesAreValidatedAndTheOthersFailWithTheirAuthorizationVoided() {
+        var paid = sale(1L, 10L, "5.00");
+        var unpaid = sale(2L, 10L, "7.00");
+        when(this.debitBalancesOutputPort.debit(any())).thenReturn(Set.of(1L));
+
+        this.salePaymentBatchUseCase.payment(List.of(paid, unpaid));
+
+        verify(this.sendToKafkaOutputPort).sendAll(Map.of(
+                SaleEventEnum.VALIDATED_PAYMENT, List.of(paid),
+                SaleEventEnum.FAILED_PAYMENT, List.of(unpaid)));
+        verify(this.authorizePaymentOutputPort).voidAuthorization(2L);
+        verify(this.authorizePaymentOutputPort, never()).voidAuthorization(1L);
+    }
+
+    @Test
+    void salesThatCannotBeChargedFailWithoutReachingTheBalances() {
+        var valid = sale(1L, 10L, "5.00");
+        var negative = sale(2L, 10L, "-1.00");
+        var fractionOfACent = sale(3L, 10L, "0.001");
+        var withoutUser = sale(4L, null, "5.00");
+        when(this.debitBalancesOutputPort.debit(any())).thenReturn(Set.of(1L));
+
+        this.salePaymentBatchUseCase.payment(List.of(valid, negative, fractionOfACent, withoutUser));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<PaymentVO>> payments = ArgumentCaptor.forClass(List.class);
+        verify(this.debitBalancesOutputPort).debit(payments.capture());
+        assertEquals(List.of(1L), payments.getValue().stream().map(PaymentVO::getSaleId).toList());
+        verify(this.sendToKafkaOutputPort).sendAll(Map.of(
+                SaleEventEnum.VALIDATED_PAYMENT, List.of(valid),
+                SaleEventEnum.FAILED_PAYMENT, List.of(negative, fractionOfACent, withoutUser)));
+    }
+
+    @Test
+    void batchWithoutAChargeableSaleDoesNotDebit() {
+        var negative = sale(1L, 10L, "-1.00");
+
+        this.salePaymentBatchUseCase.payment(List.of(negative));
+
+        verifyNoInteractions(this.debitBalancesOutputPort);
+        verify(this.sendToKafkaOutputPort).sendAll(Map.of(SaleEventEnum.FAILED_PAYMENT, List.of(negative)));
+    }
+
+    private static SaleVO sale(Long id, Long userId, String value) {
+        return new SaleVO(id, 100L, userId, new BigDecimal(value), SaleStatusEnum.PENDING, 1, null);
+    }
+}
@@ -0,0 +1,109 @@
+package com.market.replay;
+
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.LongAdder;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+
+/**
+ * Replays one partition from {@code startOffset} up to {@code endOffset} with its own
+ * consumer and scratch connection. Messages are keyed by sale id, so every event of a
+ * sale is in this partition: the events of a sale are merged in memory, and the sale is
+ * written once it reaches a terminal event, {@code flush-sales} sales at a time. Sales
+ * still open at the end are written as they are.
+ */
+final class PartitionReplayer implements Callable<Long> {
+
+    private final ReplayOptions options;
+    private final ScratchSchema scratchSchema;
+    private final TopicPartition partition;
+    private final long startOffset;
+    private final long endOffset;
+    private final LongAdder eventsRead;
+    private final SagaMessageReader reader = new SagaMessageReader();
+    private final Map<Long, SaleFacts> open = new HashMap<>();
+    private final List<SaleFacts> closed = new ArrayList<>();
+
+    PartitionReplayer(ReplayOptions options, ScratchSchema scratchSchema, TopicPartition partition, long startOffset,
+                      long endOffset, LongAdder eventsRead) {
+        this.options = options;
+        this.scratchSchema = scratchSchema;
+        this.partition = partition;
+        this.startOffset = startOffset;
+        this.endOffset = endOffset;
+        this.eventsRead = eventsRead;
+    }
+
+    @Override
+    public Long call() throws Exception {
+        if (this.startOffset >= this.endOffset) {
+            return 0L;
+        }
+        long events = 0;
+        try (var consumer = new KafkaConsumer<byte[], byte[]>(Map.of(
+                ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, this.options.bootstrapServers,
+                ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false,
+                ConsumerConfig.MAX_POLL_RECORDS_CONFIG, 10_000,
+                ConsumerConfig.FETCH_MIN_BYTES_CONFIG, 1 << 20,
+                ConsumerConfig.MAX_PARTITION_FETCH_BYTES_CONFIG, 16 << 20,
+                ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class,
+                ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class));
+             var connection = this.scratchSchema.connect()) {
+            connection.setAutoCommit(false);
+            consumer.assign(List.of(this.partition));
+            consumer.seek(this.partition, this.startOffset);
+            var done = false;
+            while (!done) {
+                var records = consumer.poll(Duration.ofMillis(500));
+                var before = events;
+                for (var record : records) {
+                    if (record.offset() >= this.endOffset) {
+                        done = true;
+                        break;
+                    }
+                    this.apply(record.value());
+                    events++;
+                }
+                this.eventsRead.add(events - before);
+                done |= consumer.position(this.partition) >= this.endOffset;
+                if (this.closed.size() >= this.options.flushSales) {
+                    this.flush(connection);
+                }
+            }
+            this.closed.addAll(this.open.values());
+            this.open.clear();
+            this.flush(connection);
+        }
+        return events;
+    }
+
+    private void apply(byte[] value) throws Exception {
+        var message = this.reader.read(value);
+        if (message == null) {
+            return;
+        }
+        var sale = this.open.get(message.saleId);
+        if (sale == null) {
+            sale = message;
+            this.open.put(sale.saleId, sale);
+        } else {
+            sale.events |= message.events;
+        }
+        if ((message.events & SagaEvent.TERMINAL) != 0) {
+            this.closed.add(this.open.remove(sale.saleId));
+        }
+    }
+
+    private void flush(Connection connection) throws Exception {
+        ScratchSchema.write(connection, this.closed);
+        this.closed.clear();
+    }
+}
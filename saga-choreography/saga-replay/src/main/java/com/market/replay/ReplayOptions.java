@@ -0,0 +1,87 @@
+package com.market.replay;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Command line options, given as {@code --name=value}. The replay starts at
+ * {@code --from-offsets} (per partition, the others from the beginning) or at
+ * {@code --from-timestamp}, and ends at {@code --to-timestamp} or at the end offsets
+ * seen when it starts.
+ */
+final class ReplayOptions {
+
+    String bootstrapServers = "localhost:9093";
+    List<String> topics = List.of("tp-saga-market");
+    Instant fromTimestamp;
+    final Map<Integer, Long> fromOffsets = new HashMap<>();
+    Instant toTimestamp;
+    int threads = Runtime.getRuntime().availableProcessors();
+    int flushSales = 50_000;
+
+    String scratchJdbcUrl = "jdbc:mysql://localhost:3318/saga_replay?createDatabaseIfNotExist=true";
+    String saleJdbcUrl = "jdbc:mysql://localhost:3318/sales_db";
+    String inventoryJdbcUrl = "jdbc:mysql://localhost:3319/inventory_db";
+    String paymentJdbcUrl = "jdbc:mysql://localhost:3320/payment_db";
+    String baselineInventoryJdbcUrl;
+    String baselinePaymentJdbcUrl;
+    String dbUser = "root";
+    String dbPassword = "root";
+    int examples = 20;
+
+    static ReplayOptions parse(String[] args) {
+        var options = new ReplayOptions();
+        for (var arg : args) {
+            var separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+            options.set(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        if (options.fromTimestamp != null && !options.fromOffsets.isEmpty()) {
+            throw new IllegalArgumentException("Give either from-timestamp or from-offsets");
+        }
+        if ((options.baselineInventoryJdbcUrl == null) != (options.baselinePaymentJdbcUrl == null)) {
+            throw new IllegalArgumentException("Give both baseline-inventory-jdbc-url and baseline-payment-jdbc-url");
+        }
+        return options;
+    }
+
+    private void set(String name, String value) {
+        switch (name) {
+            case "bootstrap-servers" -> this.bootstrapServers = value;
+            case "topics" -> this.topics = Arrays.stream(value.split(",")).map(String::trim).toList();
+            case "from-timestamp" -> this.fromTimestamp = Instant.parse(value);
+            case "from-offsets" -> {
+                for (var pair : value.split(",")) {
+                    var partitionAndOffset = pair.split(":");
+                    if (partitionAndOffset.length != 2) {
+                        throw new IllegalArgumentException("from-offsets must be partition:offset pairs");
+                    }
+                    this.fromOffsets.put(Integer.parseInt(partitionAndOffset[0].trim()),
+                            Long.parseLong(partitionAndOffset[1].trim()));
+                }
+            }
+            case "to-timestamp" -> this.toTimestamp = Instant.parse(value);
+            case "threads" -> this.threads = Integer.parseInt(value);
+            case "flush-sales" -> this.flushSales = Integer.parseInt(value);
+            case "scratch-jdbc-url" -> this.scratchJdbcUrl = value;
+            case "sale-jdbc-url" -> this.saleJdbcUrl = value;
+            case "inventory-jdbc-url" -> this.inventoryJdbcUrl = value;
+            case "payment-jdbc-url" -> this.paymentJdbcUrl = value;
+            case "baseline-inventory-jdbc-url" -> this.baselineInventoryJdbcUrl = value;
+            case "baseline-payment-jdbc-url" -> this.baselinePaymentJdbcUrl = value;
+            case "db-user" -> this.dbUser = value;
+            case "db-password" -> this.dbPassword = value;
+            case "examples" -> this.examples = Integer.parseInt(value);
+            default -> throw new IllegalArgumentException("Unknown option --" + name);
+        }
+    }
+
+    boolean hasBaseline() {
+        return this.baselineInventoryJdbcUrl != null;
+    }
+}
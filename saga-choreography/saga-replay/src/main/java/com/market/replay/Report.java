@@ -0,0 +1,68 @@
+package com.market.replay;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Totals of the replayed window and, per {@code diff_*} table, how many rows differ
+ * from live with the first few of them.
+ */
+final class Report {
+
+    long sales;
+    long open;
+    long finalizedAndRolledBack;
+    long stockDelta;
+    long balanceDeltaMinor;
+    final List<Section> sections = new ArrayList<>();
+
+    static final class Section {
+
+        final String table;
+        final long differences;
+        final List<String> columns = new ArrayList<>();
+        final List<List<String>> examples = new ArrayList<>();
+
+        Section(String table, long differences) {
+            this.table = table;
+            this.differences = differences;
+        }
+    }
+
+    void print(PrintStream out, boolean baseline) {
+        out.printf("Sales %d, still open at the end %d, both finalized and rolled back %d.%n", this.sales, this.open,
+                this.finalizedAndRolledBack);
+        out.printf("Replayed stock change %d units, balance change %.2f.%n", this.stockDelta,
+                this.balanceDeltaMinor / 100.0);
+        if (!baseline) {
+            out.println("No baseline given, so stock and balances are not compared with live.");
+        }
+        for (var section : this.sections) {
+            out.println();
+            out.printf("%s: %d differences%n", section.table, section.differences);
+            if (section.examples.isEmpty()) {
+                continue;
+            }
+            var widths = new int[section.columns.size()];
+            for (int column = 0; column < widths.length; column++) {
+                widths[column] = section.columns.get(column).length();
+                for (var row : section.examples) {
+                    widths[column] = Math.max(widths[column], row.get(column).length());
+                }
+            }
+            this.printRow(out, section.columns, widths);
+            for (var row : section.examples) {
+                this.printRow(out, row, widths);
+            }
+        }
+    }
+
+    private void printRow(PrintStream out, List<String> values, int[] widths) {
+        var line = new StringBuilder();
+        for (int column = 0; column < widths.length; column++) {
+            line.append(String.format("%" + (widths[column] + 2) + "s", values.get(column)));
+        }
+        out.println(line);
+    }
+}
@@ -0,0 +1,24 @@
+package com.market.replay;
+
+/**
+ * The saga events, each stored as one bit of {@code replay_sales.events}; the bits are
+ * OR-ed together however often an event was delivered. The order is part of the
+ * scratch schema, so new events go at the end.
+ */
+enum SagaEvent {
+
+    CREATED_SALE,
+    UPDATED_INVENTORY,
+    VALIDATED_PAYMENT,
+    ROLLBACK_INVENTORY,
+    FAILED_PAYMENT;
+
+    /**
+     * The events that end a saga: a sale with one of them is not changed by later steps.
+     */
+    static final int TERMINAL = VALIDATED_PAYMENT.bit() | ROLLBACK_INVENTORY.bit();
+
+    int bit() {
+        return 1 << this.ordinal();
+    }
+}
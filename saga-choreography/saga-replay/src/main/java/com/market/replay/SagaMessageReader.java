@@ -0,0 +1,114 @@
+package com.market.replay;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import java.io.IOException;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Reads the few fields the replay needs from a saga message
+ * ({@code {"sale": {"id", "userId", "value", "items": [{"productId", "quantity"}]}, "saleEvent"}})
+ * with the streaming parser, skipping everything else without building a tree.
+ */
+final class SagaMessageReader {
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    /**
+     * The sale of the message with its event as the only one seen, or null if the
+     * message is not a sale event.
+     */
+    SaleFacts read(byte[] value) throws IOException {
+        if (value == null || value.length == 0) {
+            return null;
+        }
+        try (var parser = this.jsonFactory.createParser(value)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            SaleFacts sale = null;
+            SagaEvent event = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                var field = parser.currentName();
+                parser.nextToken();
+                switch (field) {
+                    case "sale" -> sale = this.readSale(parser);
+                    case "saleEvent" -> event = parseEvent(parser.getValueAsString());
+                    default -> parser.skipChildren();
+                }
+            }
+            if (sale == null || event == null) {
+                return null;
+            }
+            sale.events = event.bit();
+            return sale;
+        }
+    }
+
+    private SaleFacts readSale(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return null;
+        }
+        Long saleId = null;
+        long userId = 0;
+        long valueMinor = 0;
+        Map<Long, Integer> quantities = new TreeMap<>();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            var field = parser.currentName();
+            var token = parser.nextToken();
+            if (token == JsonToken.VALUE_NULL) {
+                continue;
+            }
+            switch (field) {
+                case "id" -> saleId = parser.getLongValue();
+                case "userId" -> userId = parser.getLongValue();
+                case "value" -> valueMinor = parser.getDecimalValue().movePointRight(2).longValueExact();
+                case "items" -> this.readItems(parser, quantities);
+                default -> parser.skipChildren();
+            }
+        }
+        if (saleId == null) {
+            return null;
+        }
+        var sale = new SaleFacts(saleId);
+        sale.userId = userId;
+        sale.valueMinor = valueMinor;
+        sale.quantities.putAll(quantities);
+        return sale;
+    }
+
+    private void readItems(JsonParser parser, Map<Long, Integer> quantities) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return;
+        }
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            long productId = 0;
+            int quantity = 0;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                var field = parser.currentName();
+                parser.nextToken();
+                switch (field) {
+                    case "productId" -> productId = parser.getLongValue();
+                    case "quantity" -> quantity = parser.getIntValue();
+                    default -> parser.skipChildren();
+                }
+            }
+            quantities.merge(productId, quantity, Integer::sum);
+        }
+    }
+
+    private static SagaEvent parseEvent(String name) {
+        if (name == null) {
+            return null;
+        }
+        try {
+            return SagaEvent.valueOf(name);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
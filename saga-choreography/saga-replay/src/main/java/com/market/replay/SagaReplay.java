@@ -0,0 +1,139 @@
+package com.market.replay;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+
+/**
+ * Rebuilds what the saga topic says about stock, balances and sale outcomes, and
+ * reports where live state differs. Every partition is read by its own consumer, in
+ * parallel, into a scratch database, and everything after that is set-based SQL
+ * there; no event goes through the services' use cases, so nothing is locked, sent or
+ * changed in live databases. Stock and balances are rebuilt on top of a baseline: the
+ * inventory and payment databases restored from a backup taken at the start of the
+ * replayed window.
+ *
+ * <pre>
+ * java -jar target/saga-replay.jar --from-timestamp=2026-10-01T00:00:00Z
+ * java -jar target/saga-replay.jar --from-offsets=0:120000,1:118500 --threads=12 \
+ *   --baseline-inventory-jdbc-url=jdbc:mysql://localhost:3319/inventory_backup \
+ *   --baseline-payment-jdbc-url=jdbc:mysql://localhost:3320/payment_backup
+ * </pre>
+ */
+public final class SagaReplay {
+
+    private final ReplayOptions options;
+    private final ScratchSchema scratchSchema;
+
+    private SagaReplay(ReplayOptions options) {
+        this.options = options;
+        this.scratchSchema = new ScratchSchema(options);
+    }
+
+    public static void main(String[] args) throws Exception {
+        new SagaReplay(ReplayOptions.parse(args)).run();
+        System.exit(0);
+    }
+
+    private void run() throws Exception {
+        var ranges = this.offsetRanges();
+        var total = ranges.values().stream().mapToLong(range -> range[1] - range[0]).sum();
+        System.out.printf("Replaying %d events from %d partitions of %s into %s.%n", total, ranges.size(),
+                this.options.topics, this.options.scratchJdbcUrl);
+        this.scratchSchema.create();
+
+        var start = System.nanoTime();
+        var eventsRead = new LongAdder();
+        var executor = Executors.newFixedThreadPool(Math.min(this.options.threads, Math.max(1, ranges.size())));
+        var progress = Executors.newSingleThreadScheduledExecutor();
+        progress.scheduleAtFixedRate(() -> {
+            var read = eventsRead.sum();
+            var seconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start));
+            System.out.printf("read=%d of %d (%.0f events/s)%n", read, total, read / (double) seconds);
+        }, 5, 5, TimeUnit.SECONDS);
+        long events = 0;
+        try {
+            List<Future<Long>> results = new ArrayList<>();
+            ranges.forEach((partition, range) -> results.add(executor.submit(new PartitionReplayer(this.options,
+                    this.scratchSchema, partition, range[0], range[1], eventsRead))));
+            for (var result : results) {
+                events += result.get();
+            }
+        } finally {
+            progress.shutdownNow();
+            executor.shutdownNow();
+        }
+        var replayedNanos = System.nanoTime() - start;
+
+        this.scratchSchema.copyLive();
+        var report = this.scratchSchema.diff();
+        var seconds = replayedNanos / 1e9;
+        System.out.println();
+        System.out.printf("Replayed %d events in %.1f s (%.0f events/s); copied live state and compared in %.1f s.%n",
+                events, seconds, events / seconds, (System.nanoTime() - start - replayedNanos) / 1e9);
+        report.print(System.out, this.options.hasBaseline());
+    }
+
+    /**
+     * The {@code [start, end)} offsets to replay of every partition of the topics. The
+     * end is the offset of the first record at {@code to-timestamp}, or the end offset
+     * now, so events produced while replaying are not included.
+     */
+    private Map<TopicPartition, long[]> offsetRanges() {
+        try (var consumer = new KafkaConsumer<byte[], byte[]>(Map.of(
+                ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, this.options.bootstrapServers,
+                ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class,
+                ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class))) {
+            List<TopicPartition> partitions = new ArrayList<>();
+            for (var topic : this.options.topics) {
+                var infos = consumer.partitionsFor(topic);
+                if (infos == null || infos.isEmpty()) {
+                    throw new IllegalArgumentException("Topic " + topic + " not found");
+                }
+                infos.forEach(info -> partitions.add(new TopicPartition(info.topic(), info.partition())));
+            }
+            var beginnings = consumer.beginningOffsets(partitions);
+            var ends = consumer.endOffsets(partitions);
+            var starts = this.atTimestamp(consumer, partitions, this.options.fromTimestamp == null ? null
+                    : this.options.fromTimestamp.toEpochMilli(), ends);
+            var stops = this.atTimestamp(consumer, partitions, this.options.toTimestamp == null ? null
+                    : this.options.toTimestamp.toEpochMilli(), ends);
+
+            Map<TopicPartition, long[]> ranges = new HashMap<>();
+            for (var partition : partitions) {
+                long from;
+                if (starts != null) {
+                    from = starts.get(partition);
+                } else {
+                    from = this.options.fromOffsets.getOrDefault(partition.partition(), beginnings.get(partition));
+                }
+                var to = stops != null ? stops.get(partition) : ends.get(partition);
+                ranges.put(partition, new long[] {Math.max(from, beginnings.get(partition)), to});
+            }
+            return ranges;
+        }
+    }
+
+    private Map<TopicPartition, Long> atTimestamp(KafkaConsumer<byte[], byte[]> consumer,
+                                                  List<TopicPartition> partitions, Long timestamp,
+                                                  Map<TopicPartition, Long> ends) {
+        if (timestamp == null) {
+            return null;
+        }
+        Map<TopicPartition, Long> query = new HashMap<>();
+        partitions.forEach(partition -> query.put(partition, timestamp));
+        Map<TopicPartition, Long> offsets = new HashMap<>();
+        consumer.offsetsForTimes(query).forEach((partition, found) ->
+                offsets.put(partition, found == null ? ends.get(partition) : found.offset()));
+        return offsets;
+    }
+}
@@ -0,0 +1,26 @@
+package com.market.replay;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * What the replayed events of one sale say: who pays how much, the quantity of each
+ * product (repeated products summed, as inventory-service debits them) and which
+ * events were seen.
+ */
+final class SaleFacts {
+
+    final long saleId;
+    long userId;
+    long valueMinor;
+    int events;
+    final Map<Long, Integer> quantities = new TreeMap<>();
+
+    SaleFacts(long saleId) {
+        this.saleId = saleId;
+    }
+
+    boolean has(SagaEvent event) {
+        return (this.events & event.bit()) != 0;
+    }
+}
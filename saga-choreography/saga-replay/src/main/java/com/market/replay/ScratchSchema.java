@@ -0,0 +1,273 @@
+package com.market.replay;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The scratch database the replay writes into. Each replayed sale is one row of
+ * {@code replay_sales}, whose {@code events} bits are OR-ed on a duplicate key, so a
+ * sale flushed twice (or a redelivered event) counts once. Stock and balance deltas,
+ * the expected outcome of every sale and the differences from live are then derived
+ * with set-based SQL, and the {@code diff_*} tables are left behind for inspection.
+ */
+final class ScratchSchema {
+
+    // Keeps each statement well below the 65 535 placeholders MySQL accepts
+    private static final int MAX_ROWS_PER_STATEMENT = 500;
+
+    private static final int UPDATED = SagaEvent.UPDATED_INVENTORY.bit();
+    private static final int VALIDATED = SagaEvent.VALIDATED_PAYMENT.bit();
+    private static final int ROLLBACK = SagaEvent.ROLLBACK_INVENTORY.bit();
+    private static final int FAILED = SagaEvent.FAILED_PAYMENT.bit();
+    private static final int TERMINAL = SagaEvent.TERMINAL;
+
+    // ROLLBACK_INVENTORY credits the stock back only if the sale had been debited: after
+    // FAILED_PAYMENT or an expired reservation, not when the debit itself failed
+    private static final String STOCK_DELTA = "SUM(CASE WHEN s.events & " + UPDATED + " <> 0 THEN -i.quantity "
+            + "ELSE 0 END + CASE WHEN s.events & " + ROLLBACK + " <> 0 AND s.events & " + (UPDATED | FAILED)
+            + " <> 0 THEN i.quantity ELSE 0 END)";
+    private static final String EXPECTED_STATUS = "CASE WHEN s.events & " + ROLLBACK + " <> 0 THEN 3 "
+            + "WHEN s.events & " + VALIDATED + " <> 0 THEN 2 ELSE 1 END";
+
+    private static final List<String> TABLES = List.of("replay_sales", "replay_sale_items", "replay_stock",
+            "replay_balances", "baseline_stock", "baseline_balances", "live_stock", "live_balances", "live_sales",
+            "live_payments", "diff_stock", "diff_balances", "diff_sales");
+
+    private final ReplayOptions options;
+
+    ScratchSchema(ReplayOptions options) {
+        this.options = options;
+    }
+
+    Connection connect() throws SQLException {
+        return DriverManager.getConnection(this.options.scratchJdbcUrl, this.options.dbUser, this.options.dbPassword);
+    }
+
+    void create() throws SQLException {
+        try (var connection = this.connect(); var statement = connection.createStatement()) {
+            for (var table : TABLES) {
+                statement.execute("DROP TABLE IF EXISTS " + table);
+            }
+            statement.execute("CREATE TABLE replay_sales (id bigint NOT NULL, user_id bigint NOT NULL, "
+                    + "value_minor bigint NOT NULL, events int NOT NULL, PRIMARY KEY (id))");
+            statement.execute("CREATE TABLE replay_sale_items (sale_id bigint NOT NULL, product_id bigint NOT NULL, "
+                    + "quantity int NOT NULL, PRIMARY KEY (sale_id, product_id))");
+            for (var prefix : List.of("baseline", "live")) {
+                statement.execute("CREATE TABLE " + prefix + "_stock (product_id bigint NOT NULL, "
+                        + "quantity bigint NOT NULL, PRIMARY KEY (product_id))");
+                statement.execute("CREATE TABLE " + prefix + "_balances (user_id bigint NOT NULL, "
+                        + "balance_minor bigint NOT NULL, PRIMARY KEY (user_id))");
+            }
+            statement.execute("CREATE TABLE live_sales (id bigint NOT NULL, sale_status_id int NOT NULL, "
+                    + "PRIMARY KEY (id))");
+            statement.execute("CREATE TABLE live_payments (sale_id bigint NOT NULL, payments int NOT NULL, "
+                    + "value_minor bigint NOT NULL, PRIMARY KEY (sale_id))");
+        }
+    }
+
+    /**
+     * Writes a batch of replayed sales in one transaction on the caller's connection.
+     */
+    static void write(Connection connection, Collection<SaleFacts> sales) throws SQLException {
+        List<Object[]> saleRows = new ArrayList<>(sales.size());
+        List<Object[]> itemRows = new ArrayList<>(sales.size());
+        for (var sale : sales) {
+            saleRows.add(new Object[] {sale.saleId, sale.userId, sale.valueMinor, sale.events});
+            sale.quantities.forEach((productId, quantity) ->
+                    itemRows.add(new Object[] {sale.saleId, productId, quantity}));
+        }
+        insert(connection, "INSERT INTO replay_sales (id, user_id, value_minor, events) VALUES ",
+                " ON DUPLICATE KEY UPDATE events = events | VALUES(events)", saleRows);
+        insert(connection, "INSERT IGNORE INTO replay_sale_items (sale_id, product_id, quantity) VALUES ", "",
+                itemRows);
+        connection.commit();
+    }
+
+    /**
+     * Copies live state into the scratch schema: stock (bucket rows included), balances
+     * (ledger entries not folded yet included), and the status and payments of the
+     * replayed sales (archived ones included). With a baseline, its stock and balances
+     * are copied the same way.
+     */
+    void copyLive() throws SQLException {
+        if (this.options.hasBaseline()) {
+            this.copy(this.options.baselineInventoryJdbcUrl, stockQuery(), "baseline_stock");
+            this.copy(this.options.baselinePaymentJdbcUrl, balanceQuery(), "baseline_balances");
+        }
+        this.copy(this.options.inventoryJdbcUrl, stockQuery(), "live_stock");
+        this.copy(this.options.paymentJdbcUrl, balanceQuery(), "live_balances");
+
+        long[] range;
+        try (var connection = this.connect(); var statement = connection.createStatement();
+             var rs = statement.executeQuery("SELECT MIN(id), MAX(id) FROM replay_sales")) {
+            rs.next();
+            range = new long[] {rs.getLong(1), rs.getLong(2)};
+        }
+        var between = " WHERE id BETWEEN " + range[0] + " AND " + range[1];
+        this.copy(this.options.saleJdbcUrl, "SELECT id, sale_status_id FROM sales" + between
+                + " UNION ALL SELECT id, sale_status_id FROM sales_archive" + between, "live_sales");
+        var saleBetween = " WHERE sale_id BETWEEN " + range[0] + " AND " + range[1];
+        this.copy(this.options.paymentJdbcUrl, "SELECT sale_id, COUNT(*), CAST(SUM(ROUND(value * 100)) AS SIGNED) "
+                + "FROM (SELECT sale_id, value FROM payments" + saleBetween
+                + " UNION ALL SELECT sale_id, value FROM payments_archive" + saleBetween + ") p GROUP BY sale_id",
+                "live_payments");
+    }
+
+    /**
+     * Derives the replayed state and its differences from live into {@code diff_*}.
+     * Stock and balances are only compared with a baseline; sales still open when the
+     * replay ended are left out of the sale comparison, as live may be further along.
+     */
+    Report diff() throws SQLException {
+        try (var connection = this.connect(); var statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE replay_stock (PRIMARY KEY (product_id)) AS SELECT i.product_id, "
+                    + STOCK_DELTA + " AS delta FROM replay_sales s JOIN replay_sale_items i ON i.sale_id = s.id "
+                    + "GROUP BY i.product_id");
+            statement.execute("CREATE TABLE replay_balances (PRIMARY KEY (user_id)) AS SELECT user_id, "
+                    + "-SUM(value_minor) AS delta_minor FROM replay_sales WHERE events & " + VALIDATED + " <> 0 "
+                    + "GROUP BY user_id");
+            statement.execute("CREATE TABLE diff_sales AS SELECT s.id, " + EXPECTED_STATUS + " AS expected_status, "
+                    + "l.sale_status_id AS live_status, CASE WHEN s.events & " + VALIDATED + " <> 0 THEN 1 ELSE 0 END "
+                    + "AS expected_payments, COALESCE(p.payments, 0) AS live_payments, "
+                    + "CASE WHEN s.events & " + VALIDATED + " <> 0 THEN s.value_minor ELSE 0 END "
+                    + "AS expected_paid_minor, "
+                    + "COALESCE(p.value_minor, 0) AS live_paid_minor "
+                    + "FROM replay_sales s LEFT JOIN live_sales l ON l.id = s.id "
+                    + "LEFT JOIN live_payments p ON p.sale_id = s.id WHERE s.events & " + TERMINAL + " <> 0 HAVING "
+                    + "NOT (expected_status <=> live_status) OR expected_payments <> live_payments "
+                    + "OR expected_paid_minor <> live_paid_minor");
+            if (this.options.hasBaseline()) {
+                statement.execute("CREATE TABLE diff_stock AS SELECT k.product_id, "
+                        + "COALESCE(b.quantity, 0) AS baseline, "
+                        + "COALESCE(d.delta, 0) AS delta, COALESCE(b.quantity, 0) + COALESCE(d.delta, 0) AS rebuilt, "
+                        + "l.quantity AS live FROM (SELECT product_id FROM baseline_stock UNION "
+                        + "SELECT product_id FROM replay_stock UNION SELECT product_id FROM live_stock) k "
+                        + "LEFT JOIN baseline_stock b ON b.product_id = k.product_id "
+                        + "LEFT JOIN replay_stock d ON d.product_id = k.product_id "
+                        + "LEFT JOIN live_stock l ON l.product_id = k.product_id "
+                        + "WHERE NOT (COALESCE(b.quantity, 0) + COALESCE(d.delta, 0) <=> l.quantity)");
+                statement.execute("CREATE TABLE diff_balances AS SELECT k.user_id, "
+                        + "COALESCE(b.balance_minor, 0) AS baseline_minor, COALESCE(d.delta_minor, 0) AS delta_minor, "
+                        + "COALESCE(b.balance_minor, 0) + COALESCE(d.delta_minor, 0) AS rebuilt_minor, "
+                        + "l.balance_minor AS live_minor FROM (SELECT user_id FROM baseline_balances UNION "
+                        + "SELECT user_id FROM replay_balances UNION SELECT user_id FROM live_balances) k "
+                        + "LEFT JOIN baseline_balances b ON b.user_id = k.user_id "
+                        + "LEFT JOIN replay_balances d ON d.user_id = k.user_id "
+                        + "LEFT JOIN live_balances l ON l.user_id = k.user_id "
+                        + "WHERE NOT (COALESCE(b.balance_minor, 0) + COALESCE(d.delta_minor, 0) <=> l.balance_minor)");
+            }
+
+            var report = new Report();
+            report.sales = count(statement, "SELECT COUNT(*) FROM replay_sales");
+            report.open = count(statement, "SELECT COUNT(*) FROM replay_sales WHERE events & " + TERMINAL + " = 0");
+            report.finalizedAndRolledBack = count(statement,
+                    "SELECT COUNT(*) FROM replay_sales WHERE events & " + TERMINAL + " = " + TERMINAL);
+            report.stockDelta = count(statement, "SELECT COALESCE(SUM(delta), 0) FROM replay_stock");
+            report.balanceDeltaMinor = count(statement, "SELECT COALESCE(SUM(delta_minor), 0) FROM replay_balances");
+            report.sections.add(this.section(statement, "diff_sales", "id"));
+            if (this.options.hasBaseline()) {
+                report.sections.add(this.section(statement, "diff_stock", "product_id"));
+                report.sections.add(this.section(statement, "diff_balances", "user_id"));
+            }
+            return report;
+        }
+    }
+
+    private Report.Section section(Statement statement, String table, String key) throws SQLException {
+        var section = new Report.Section(table, count(statement, "SELECT COUNT(*) FROM " + table));
+        try (var rs = statement.executeQuery("SELECT * FROM " + table + " ORDER BY " + key + " LIMIT "
+                + this.options.examples)) {
+            var columns = rs.getMetaData().getColumnCount();
+            for (int column = 1; column <= columns; column++) {
+                section.columns.add(rs.getMetaData().getColumnLabel(column));
+            }
+            while (rs.next()) {
+                var row = new ArrayList<String>(columns);
+                for (int column = 1; column <= columns; column++) {
+                    row.add(String.valueOf(rs.getObject(column)));
+                }
+                section.examples.add(row);
+            }
+        }
+        return section;
+    }
+
+    private static String stockQuery() {
+        return "SELECT i.product_id, COALESCE(i.quantity, 0) + COALESCE((SELECT SUM(b.quantity) "
+                + "FROM inventory_buckets b WHERE b.product_id = i.product_id), 0) FROM inventories i";
+    }
+
+    private static String balanceQuery() {
+        return "SELECT u.id, CAST(ROUND(COALESCE(u.balance, 0) * 100) AS SIGNED) + "
+                + "COALESCE((SELECT SUM(e.amount_minor) FROM ledger_entries e "
+                + "WHERE e.account_type = 'USER' AND e.folded_at IS NULL AND e.account_id = u.id), 0) FROM users u";
+    }
+
+    /**
+     * Streams the rows of {@code query} from another database into a scratch table of
+     * the same column count, in multi-row inserts.
+     */
+    private void copy(String sourceJdbcUrl, String query, String table) throws SQLException {
+        try (var source = DriverManager.getConnection(sourceJdbcUrl, this.options.dbUser, this.options.dbPassword);
+             var target = this.connect();
+             var statement = source.createStatement(ResultSet.TYPE_FORWARD_ONLY,
+                     ResultSet.CONCUR_READ_ONLY)) {
+            target.setAutoCommit(false);
+            // Connector/J streams the result row by row instead of buffering all of it
+            statement.setFetchSize(Integer.MIN_VALUE);
+            try (var rs = statement.executeQuery(query)) {
+                var columns = rs.getMetaData().getColumnCount();
+                var insert = "INSERT INTO " + table + " VALUES ";
+                List<Object[]> rows = new ArrayList<>();
+                while (rs.next()) {
+                    var row = new Object[columns];
+                    for (int column = 0; column < columns; column++) {
+                        row[column] = rs.getObject(column + 1);
+                    }
+                    rows.add(row);
+                    if (rows.size() == MAX_ROWS_PER_STATEMENT) {
+                        insert(target, insert, "", rows);
+                        rows.clear();
+                    }
+                }
+                insert(target, insert, "", rows);
+            }
+            target.commit();
+        }
+    }
+
+    private static void insert(Connection connection, String insert, String suffix, List<Object[]> rows)
+            throws SQLException {
+        if (rows.isEmpty()) {
+            return;
+        }
+        var placeholders = "(" + String.join(", ", Collections.nCopies(rows.get(0).length, "?")) + ")";
+        for (int from = 0; from < rows.size(); from += MAX_ROWS_PER_STATEMENT) {
+            var chunk = rows.subList(from, Math.min(rows.size(), from + MAX_ROWS_PER_STATEMENT));
+            try (var statement = connection.prepareStatement(
+                    insert + String.join(", ", Collections.nCopies(chunk.size(), placeholders)) + suffix)) {
+                int index = 1;
+                for (var row : chunk) {
+                    for (var value : row) {
+                        statement.setObject(index++, value);
+                    }
+                }
+                statement.executeUpdate();
+            }
+        }
+    }
+
+    private static long count(Statement statement, String query) throws SQLException {
+        try (var rs = statement.executeQuery(query)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+}
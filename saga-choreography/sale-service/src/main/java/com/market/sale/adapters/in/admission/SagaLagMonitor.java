@@ -0,0 +1,128 @@
+package com.market.sale.adapters.in.admission;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.clients.admin.OffsetSpec;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Estimates how long a sale created now would take to complete its saga, from the
+ * consumer lag of the saga topic.
+ *
+ * <p>Every saga step is a consumer group reading the whole topic, and each step's event
+ * is appended behind that group's backlog. The estimate is therefore the sum, over the
+ * configured groups, of the time each one needs to work off its lag: lag divided by its
+ * smoothed drain rate, or the time since it last made progress while it is stalled.
+ * The rate is only sampled while the group had work, so idle periods do not lower it.
+ */
+@Slf4j
+public class SagaLagMonitor implements AutoCloseable {
+
+  private static final double RATE_SMOOTHING = 0.3;
+
+  private final Admin admin;
+  private final String topic;
+  private final List<String> consumerGroups;
+  private final long timeoutMillis;
+  private final Map<String, GroupProgress> progress = new HashMap<>();
+  private volatile long estimatedCompletionMillis;
+
+  public SagaLagMonitor(Admin admin, String topic, List<String> consumerGroups, long timeoutMillis) {
+    this.admin = admin;
+    this.topic = topic;
+    this.consumerGroups = consumerGroups;
+    this.timeoutMillis = timeoutMillis;
+  }
+
+  public long estimatedCompletionMillis() {
+    return this.estimatedCompletionMillis;
+  }
+
+  @Scheduled(fixedDelayString = "${application-config.admission.shedding.sample-interval-ms}")
+  public void sample() {
+    try {
+      var partitions = this.admin.describeTopics(List.of(this.topic)).allTopicNames()
+          .get(this.timeoutMillis, TimeUnit.MILLISECONDS)
+          .get(this.topic).partitions().stream()
+          .map(partition -> new TopicPartition(this.topic, partition.partition()))
+          .toList();
+      var endOffsets = this.admin.listOffsets(partitions.stream()
+              .collect(Collectors.toMap(partition -> partition, partition -> OffsetSpec.latest())))
+          .all().get(this.timeoutMillis, TimeUnit.MILLISECONDS);
+      var nowNanos = System.nanoTime();
+
+      var estimateMillis = 0L;
+      for (var group : this.consumerGroups) {
+        var committed = this.admin.listConsumerGroupOffsets(group).partitionsToOffsetAndMetadata()
+            .get(this.timeoutMillis, TimeUnit.MILLISECONDS);
+        var position = 0L;
+        var lag = 0L;
+        for (var partition : partitions) {
+          var offset = committed.get(partition);
+          var consumed = offset == null ? 0 : offset.offset();
+          position += consumed;
+          lag += Math.max(0, endOffsets.get(partition).offset() - consumed);
+        }
+        estimateMillis += this.progress.computeIfAbsent(group, key -> new GroupProgress(nowNanos))
+            .update(nowNanos, position, lag);
+      }
+      this.estimatedCompletionMillis = estimateMillis;
+    } catch (Exception e) {
+      // Without a fresh estimate, admit rather than shed on stale numbers
+      this.estimatedCompletionMillis = 0;
+      log.warn("Could not sample the consumer lag of {}: {}", this.topic, e.toString());
+      if (e instanceof InterruptedException) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  @Override
+  public void close() {
+    this.admin.close(Duration.ofMillis(this.timeoutMillis));
+  }
+
+  private static final class GroupProgress {
+
+    private long sampledAt;
+    private long progressAt;
+    private long position = -1;
+    private long lag;
+    private double recordsPerSecond;
+
+    private GroupProgress(long nowNanos) {
+      this.sampledAt = nowNanos;
+      this.progressAt = nowNanos;
+    }
+
+    private long update(long nowNanos, long position, long lag) {
+      if (this.position >= 0 && this.lag > 0 && nowNanos > this.sampledAt) {
+        var rate = (position - this.position) * 1e9 / (nowNanos - this.sampledAt);
+        this.recordsPerSecond = this.recordsPerSecond == 0
+            ? rate
+            : this.recordsPerSecond + RATE_SMOOTHING * (rate - this.recordsPerSecond);
+      }
+      if (lag == 0 || position > this.position) {
+        this.progressAt = nowNanos;
+      }
+      this.sampledAt = nowNanos;
+      this.position = position;
+      this.lag = lag;
+
+      if (lag == 0) {
+        return 0;
+      }
+      var stalledMillis = TimeUnit.NANOSECONDS.toMillis(nowNanos - this.progressAt);
+      return this.recordsPerSecond > 0
+          ? Math.max((long) (lag * 1000 / this.recordsPerSecond), stalledMillis)
+          : stalledMillis;
+    }
+  }
+}
@@ -0,0 +1,81 @@
+package com.market.sale.adapters.in.admission;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Decides whether a new sale may start a saga. A sale is turned away when the sagas
+ * already in flight would not complete within the SLO, when its user exceeds the
+ * per-user rate, or when the service as a whole exceeds the global rate. The user's
+ * bucket is checked before the global one, so a single busy user does not drain it,
+ * and its token is given back when the global bucket turns the sale away.
+ */
+public class SaleAdmissionControl {
+
+  private final boolean enabled;
+  private final TokenBucket globalBucket;
+  private final Cache<Long, TokenBucket> userBuckets;
+  private final double userRatePerSecond;
+  private final int userBurst;
+  private final SagaLagMonitor sagaLagMonitor;
+  private final long sloMillis;
+
+  /**
+   * @param sagaLagMonitor null to admit regardless of the consumer lag
+   */
+  public SaleAdmissionControl(boolean enabled, TokenBucket globalBucket, Cache<Long, TokenBucket> userBuckets,
+      double userRatePerSecond, int userBurst, SagaLagMonitor sagaLagMonitor, long sloMillis
+  ) {
+    this.enabled = enabled;
+    this.globalBucket = globalBucket;
+    this.userBuckets = userBuckets;
+    this.userRatePerSecond = userRatePerSecond;
+    this.userBurst = userBurst;
+    this.sagaLagMonitor = sagaLagMonitor;
+    this.sloMillis = sloMillis;
+  }
+
+  /**
+   * @return empty if the sale is admitted, otherwise how long the caller should wait
+   *     before retrying
+   */
+  public Optional<Duration> tryAdmit(Long userId) {
+    if (!this.enabled) {
+      return Optional.empty();
+    }
+    if (this.sagaLagMonitor != null) {
+      var excessMillis = this.sagaLagMonitor.estimatedCompletionMillis() - this.sloMillis;
+      if (excessMillis > 0) {
+        return Optional.of(Duration.ofMillis(excessMillis));
+      }
+    }
+    var nowNanos = System.nanoTime();
+    var userBucket = this.userBuckets.get(userId, key -> new TokenBucket(this.userRatePerSecond, this.userBurst));
+    var userWait = userBucket.tryAcquire(nowNanos);
+    if (userWait > 0) {
+      return Optional.of(Duration.ofNanos(userWait));
+    }
+    var globalWait = this.globalBucket.tryAcquire(nowNanos);
+    if (globalWait > 0) {
+      userBucket.release();
+      return Optional.of(Duration.ofNanos(globalWait));
+    }
+    return Optional.empty();
+  }
+
+  /**
+   * Gives back the tokens of a sale admitted by {@link #tryAdmit} that was turned away
+   * before it was created, so the rejection does not count against the user's rate.
+   */
+  public void release(Long userId) {
+    if (!this.enabled) {
+      return;
+    }
+    var userBucket = this.userBuckets.getIfPresent(userId);
+    if (userBucket != null) {
+      userBucket.release();
+    }
+    this.globalBucket.release();
+  }
+}
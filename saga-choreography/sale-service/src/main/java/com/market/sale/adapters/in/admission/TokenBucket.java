@@ -0,0 +1,51 @@
+package com.market.sale.adapters.in.admission;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket holding up to {@code burst} tokens, refilled at {@code ratePerSecond}.
+ *
+ * <p>The whole state is one timestamp: the instant at which the bucket is full again
+ * (the GCRA formulation). Each missing token pushes it one refill interval into the
+ * future, so taking a token is a single CAS and the bucket never needs a refill task.
+ */
+public class TokenBucket {
+
+  private final long intervalNanos;
+  private final long capacityNanos;
+  private final AtomicLong fullAt;
+
+  public TokenBucket(double ratePerSecond, int burst) {
+    this.intervalNanos = Math.max(1, (long) (1_000_000_000L / ratePerSecond));
+    this.capacityNanos = this.intervalNanos * Math.max(1, burst);
+    // Already full for any clock reading taken just before the bucket was created.
+    this.fullAt = new AtomicLong(System.nanoTime() - this.capacityNanos);
+  }
+
+  /**
+   * Takes one token at {@code nowNanos} ({@link System#nanoTime()}).
+   *
+   * @return 0 if a token was taken, otherwise the nanoseconds until one is available
+   */
+  public long tryAcquire(long nowNanos) {
+    while (true) {
+      var current = this.fullAt.get();
+      var next = (current - nowNanos < 0 ? nowNanos : current) + this.intervalNanos;
+      var missing = next - nowNanos;
+      if (missing > this.capacityNanos) {
+        return missing - this.capacityNanos;
+      }
+      if (this.fullAt.compareAndSet(current, next)) {
+        return 0;
+      }
+    }
+  }
+
+  /**
+   * Gives back a token taken by {@link #tryAcquire} that was not used. A bucket that has
+   * refilled in the meantime stays full, since a timestamp in the past means full.
+   */
+  public void release() {
+    this.fullAt.addAndGet(-this.intervalNanos);
+  }
+}
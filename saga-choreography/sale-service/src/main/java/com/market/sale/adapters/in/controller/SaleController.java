@@ -1,17 +1,30 @@
 package com.market.sale.adapters.in.controller;
 
+import com.market.sale.adapters.in.admission.SaleAdmissionControl;
 import com.market.sale.adapters.in.controller.mapper.SaleRequestMapper;
 import com.market.sale.adapters.in.controller.dto.SaleRequestDTO;
+import com.market.sale.adapters.in.groupcommit.GroupCommitSaleCreator;
+import com.market.sale.adapters.in.snapshot.SaleEdgeValidator;
+import com.market.sale.application.core.domain.SaleVO;
 import com.market.sale.application.ports.in.CreateSaleInputPort;
+import com.market.sale.application.ports.in.LookupSaleInputPort;
 import jakarta.validation.Valid;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 @Slf4j
 @RequiredArgsConstructor
@@ -20,13 +33,65 @@ import org.springframework.web.bind.annotation.RestController;
 public class SaleController {
 
   private final CreateSaleInputPort createSaleInputPort;
+  private final LookupSaleInputPort lookupSaleInputPort;
   private final SaleRequestMapper saleRequestMapper;
+  private final SaleAdmissionControl saleAdmissionControl;
+  private final ObjectProvider<GroupCommitSaleCreator> groupCommitSaleCreator;
+  private final ObjectProvider<SaleEdgeValidator> saleEdgeValidator;
 
+  /**
+   * Answers 201 with the new sale id in {@code Location}, so callers can follow the saga
+   * of their sale on the topic. Answers 422 with a problem detail when the replicated
+   * stock and balance snapshots show the saga would cancel the sale, and 429 with
+   * {@code Retry-After} (seconds) when the sale is not admitted; both before anything
+   * is stored or published. With group commit
+   * enabled, the sale is created together with concurrent ones and the request completes
+   * asynchronously; 503 means the group commit queue was full, and the sale's admission
+   * tokens are given back.
+   */
   @PostMapping
-  @ResponseStatus(HttpStatus.CREATED)
-  public void createSale(@Valid @RequestBody SaleRequestDTO saleRequestDTO) {
+  public CompletableFuture<ResponseEntity<Void>> createSale(@Valid @RequestBody SaleRequestDTO saleRequestDTO) {
+    var edgeValidator = this.saleEdgeValidator.getIfAvailable();
+    var rejection = edgeValidator == null ? null : edgeValidator.findRejection(saleRequestDTO).orElse(null);
+    if (rejection != null) {
+      return CompletableFuture.completedFuture(ResponseEntity.of(
+          ProblemDetail.forStatusAndDetail(HttpStatus.UNPROCESSABLE_ENTITY, rejection)).build());
+    }
+    var retryAfter = this.saleAdmissionControl.tryAdmit(saleRequestDTO.getUserId().longValue());
+    if (retryAfter.isPresent()) {
+      var seconds = Math.max(1, (retryAfter.get().toMillis() + 999) / 1000);
+      return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+          .header(HttpHeaders.RETRY_AFTER, String.valueOf(seconds))
+          .build());
+    }
+    var saleVO = this.saleRequestMapper.saleRequestDTOToSaleVO(saleRequestDTO);
+    var location = ServletUriComponentsBuilder.fromCurrentRequest().path("/{id}");
+
+    var groupCommit = this.groupCommitSaleCreator.getIfAvailable();
+    if (groupCommit != null) {
+      try {
+        return groupCommit.submit(saleVO)
+            .thenApply(sale -> ResponseEntity.created(location.buildAndExpand(sale.getId()).toUri()).build());
+      } catch (RejectedExecutionException e) {
+        this.saleAdmissionControl.release(saleRequestDTO.getUserId().longValue());
+        return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, "1")
+            .build());
+      }
+    }
+
     log.info("Creating the sale...");
-    this.createSaleInputPort.create(this.saleRequestMapper.saleRequestDTOToSaleVO(saleRequestDTO));
+    var sale = this.createSaleInputPort.create(saleVO);
     log.info("Sale created with success.");
+
+    return CompletableFuture.completedFuture(ResponseEntity.created(location.buildAndExpand(sale.getId()).toUri()).build());
+  }
+
+  /**
+   * Answers with the sale, from the hot table or, once archived, from the archive.
+   */
+  @GetMapping("/{id}")
+  public ResponseEntity<SaleVO> getSale(@PathVariable Long id) {
+    return ResponseEntity.of(this.lookupSaleInputPort.lookup(id));
   }
 }
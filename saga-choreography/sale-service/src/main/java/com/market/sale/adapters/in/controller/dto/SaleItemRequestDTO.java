@@ -0,0 +1,19 @@
+package com.market.sale.adapters.in.controller.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SaleItemRequestDTO {
+
+  @NotNull
+  private Long productId;
+  @NotNull
+  @Positive
+  private Integer quantity;
+}
@@ -1,7 +1,10 @@
 package com.market.sale.adapters.in.controller.dto;
 
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.AssertTrue;
 import jakarta.validation.constraints.NotNull;
 import java.math.BigDecimal;
+import java.util.List;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -13,10 +16,23 @@ public class SaleRequestDTO {
 
   @NotNull
   private Integer userId;
-  @NotNull
   private Integer productId;
-  @NotNull
   private Integer quantity;
   @NotNull
   private BigDecimal value;
+  @Valid
+  private List<SaleItemRequestDTO> items;
+
+  /**
+   * A sale is either one product ({@code productId} and {@code quantity}) or a list of
+   * {@code items}. Both at once is rejected rather than dropping one of them.
+   */
+  @AssertTrue(message = "either productId and quantity or items must be informed, but not both")
+  private boolean isProductOrItemsInformed() {
+    var productInformed = this.productId != null || this.quantity != null;
+    if (productInformed == (this.items != null)) {
+      return false;
+    }
+    return productInformed ? this.productId != null && this.quantity != null : !this.items.isEmpty();
+  }
 }
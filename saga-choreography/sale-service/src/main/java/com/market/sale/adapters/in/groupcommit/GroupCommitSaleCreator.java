@@ -0,0 +1,164 @@
+package com.market.sale.adapters.in.groupcommit;
+
+import com.market.sale.application.core.domain.SaleVO;
+import com.market.sale.application.ports.in.CreateSalesInputPort;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Group commit of sale creations. Request threads queue their sale and get a future;
+ * each flusher takes the first queued sale, keeps collecting for up to {@code window}
+ * or until {@code maxBatchSize} sales, and creates them all with one call to
+ * {@link CreateSalesInputPort}: one insert transaction and one round of event sends.
+ *
+ * <p>A sale therefore waits at most {@code window} longer than it would alone, plus the
+ * batch ahead of it when all flushers are busy. While one flusher commits, the next
+ * batch is already being collected by another. A sale's future completes once its
+ * group is stored and the broker has acknowledged the group's events.
+ *
+ * <p>When a group fails, its sales are created again one at a time, so a sale the store
+ * rejects fails alone instead of taking its whole group with it.
+ *
+ * <p>On close, queued sales are still created for up to {@code drainTimeout}; those
+ * left after it fail. Submissions hold a read lock that close takes for writing, so a
+ * sale is either queued before the flushers start draining or rejected, never left
+ * behind in the queue.
+ */
+@Slf4j
+public class GroupCommitSaleCreator implements AutoCloseable {
+
+  private static final long IDLE_POLL_MILLIS = 100;
+
+  private final CreateSalesInputPort createSalesInputPort;
+  private final int maxBatchSize;
+  private final long windowNanos;
+  private final Duration drainTimeout;
+  private final BlockingQueue<PendingSale> queue;
+  private final ExecutorService flushers;
+  private final ReadWriteLock submitLock = new ReentrantReadWriteLock();
+  private volatile boolean running = true;
+
+  public GroupCommitSaleCreator(CreateSalesInputPort createSalesInputPort, int maxBatchSize, Duration window,
+      int queueCapacity, int flusherThreads, Duration drainTimeout
+  ) {
+    this.createSalesInputPort = createSalesInputPort;
+    this.maxBatchSize = maxBatchSize;
+    this.windowNanos = window.toNanos();
+    this.drainTimeout = drainTimeout;
+    this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    var threadNumber = new AtomicInteger();
+    this.flushers = Executors.newFixedThreadPool(flusherThreads, runnable -> {
+      var thread = new Thread(runnable, "sale-group-commit-" + threadNumber.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+    for (int i = 0; i < flusherThreads; i++) {
+      this.flushers.execute(this::flushLoop);
+    }
+  }
+
+  /**
+   * @throws RejectedExecutionException when the queue is full or the creator is closing
+   */
+  public CompletableFuture<SaleVO> submit(SaleVO saleVO) {
+    var pending = new PendingSale(saleVO, new CompletableFuture<>());
+    this.submitLock.readLock().lock();
+    try {
+      if (!this.running || !this.queue.offer(pending)) {
+        throw new RejectedExecutionException("Sale group commit is not accepting sales.");
+      }
+    } finally {
+      this.submitLock.readLock().unlock();
+    }
+
+    return pending.result();
+  }
+
+  @Override
+  public void close() throws InterruptedException {
+    this.submitLock.writeLock().lock();
+    try {
+      this.running = false;
+    } finally {
+      this.submitLock.writeLock().unlock();
+    }
+    this.flushers.shutdown();
+    if (!this.flushers.awaitTermination(this.drainTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+      this.flushers.shutdownNow();
+    }
+    List<PendingSale> left = new ArrayList<>();
+    this.queue.drainTo(left);
+    left.forEach(pending -> pending.result().completeExceptionally(
+        new RejectedExecutionException("Sale group commit was closed.")));
+  }
+
+  private void flushLoop() {
+    List<PendingSale> batch = new ArrayList<>(this.maxBatchSize);
+    while (this.running || !this.queue.isEmpty()) {
+      try {
+        var first = this.queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+        if (first == null) {
+          continue;
+        }
+        batch.add(first);
+        this.collect(batch, System.nanoTime() + this.windowNanos);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      } finally {
+        if (!batch.isEmpty()) {
+          this.commit(batch);
+          batch.clear();
+        }
+      }
+    }
+  }
+
+  private void collect(List<PendingSale> batch, long deadline) throws InterruptedException {
+    while (batch.size() < this.maxBatchSize) {
+      this.queue.drainTo(batch, this.maxBatchSize - batch.size());
+      var remaining = deadline - System.nanoTime();
+      if (batch.size() == this.maxBatchSize || remaining <= 0 || !this.running) {
+        return;
+      }
+      var next = this.queue.poll(remaining, TimeUnit.NANOSECONDS);
+      if (next == null) {
+        return;
+      }
+      batch.add(next);
+    }
+  }
+
+  private void commit(List<PendingSale> batch) {
+    try {
+      var created = this.createSalesInputPort.create(batch.stream().map(PendingSale::saleVO).toList());
+      for (int i = 0; i < batch.size(); i++) {
+        batch.get(i).result().complete(created.get(i));
+      }
+    } catch (Exception e) {
+      if (batch.size() == 1) {
+        log.error("Unable to create a sale: {}", e.getMessage());
+        batch.get(0).result().completeExceptionally(e);
+        return;
+      }
+      log.warn("Unable to create a group of {} sales, creating them one at a time: {}", batch.size(),
+          e.getMessage());
+      batch.forEach(pending -> this.commit(List.of(pending)));
+    }
+  }
+
+  private record PendingSale(SaleVO saleVO, CompletableFuture<SaleVO> result) {
+  }
+}
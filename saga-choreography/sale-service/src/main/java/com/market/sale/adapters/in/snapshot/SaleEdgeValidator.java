@@ -0,0 +1,66 @@
+package com.market.sale.adapters.in.snapshot;
+
+import com.market.sale.adapters.in.controller.dto.SaleItemRequestDTO;
+import com.market.sale.adapters.in.controller.dto.SaleRequestDTO;
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Turns away sales that the saga would cancel anyway, judged by the replicated stock
+ * and balance snapshots: a product without enough stock, a user without enough
+ * balance. The saga remains the authoritative check; this only saves the doomed ones
+ * a sales row, three saga hops and a cancellation.
+ *
+ * <p>A snapshot errs towards admitting: nothing is rejected while the replica is more
+ * than {@code maxStaleness} behind, and an id missing from a table is let through,
+ * since a product or user created outside the services is only published by the next
+ * full pass.
+ */
+public class SaleEdgeValidator {
+
+  private final SnapshotReplica snapshotReplica;
+  private final long maxStalenessMillis;
+
+  public SaleEdgeValidator(SnapshotReplica snapshotReplica, long maxStalenessMillis) {
+    this.snapshotReplica = snapshotReplica;
+    this.maxStalenessMillis = maxStalenessMillis;
+  }
+
+  /**
+   * @return empty if the sale may start its saga, otherwise why it would fail
+   */
+  public Optional<String> findRejection(SaleRequestDTO saleRequestDTO) {
+    if (this.snapshotReplica.stalenessMillis() > this.maxStalenessMillis) {
+      return Optional.empty();
+    }
+
+    var stock = this.snapshotReplica.stock();
+    for (var line : quantitiesByProduct(saleRequestDTO).entrySet()) {
+      var available = stock.get(line.getKey());
+      if (available != SnapshotTable.MISSING && available < line.getValue()) {
+        return Optional.of("Product " + line.getKey() + " does not have " + line.getValue() + " in stock");
+      }
+    }
+
+    var balance = this.snapshotReplica.balances().get(saleRequestDTO.getUserId());
+    if (balance != SnapshotTable.MISSING && BigDecimal.valueOf(balance, 2).compareTo(saleRequestDTO.getValue()) < 0) {
+      return Optional.of("User " + saleRequestDTO.getUserId() + " has insufficient funds");
+    }
+    return Optional.empty();
+  }
+
+  // The same lines the saga will debit: the items, or else the single product
+  private static Map<Long, Long> quantitiesByProduct(SaleRequestDTO saleRequestDTO) {
+    Map<Long, Long> quantities = new TreeMap<>();
+    if (saleRequestDTO.getItems() == null || saleRequestDTO.getItems().isEmpty()) {
+      quantities.put(saleRequestDTO.getProductId().longValue(), saleRequestDTO.getQuantity().longValue());
+    } else {
+      for (SaleItemRequestDTO item : saleRequestDTO.getItems()) {
+        quantities.merge(item.getProductId(), item.getQuantity().longValue(), Long::sum);
+      }
+    }
+    return quantities;
+  }
+}
@@ -0,0 +1,191 @@
+package com.market.sale.adapters.in.snapshot;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.TimeoutException;
+import org.apache.kafka.common.errors.WakeupException;
+
+/**
+ * Local copy of the stock and balance snapshots that inventory-service and
+ * payment-service publish to their compacted topics.
+ *
+ * <p>One thread reads every partition of both topics from the beginning, without a
+ * consumer group, and applies each record to a {@link SnapshotTable}: the quantity by
+ * product id and the balance in minor units by user id, a tombstone removes the id.
+ *
+ * <p>Every {@code syncInterval} it takes the end offsets of the partitions and notes
+ * when it has consumed up to them. {@link #stalenessMillis()} is the time since the
+ * last such end-offset read that was then reached: everything published before it is
+ * in the tables. It stays at {@link Long#MAX_VALUE} until the first catch-up, and
+ * grows while the broker cannot be reached.
+ */
+@Slf4j
+public class SnapshotReplica implements AutoCloseable {
+
+  private static final Duration POLL_TIMEOUT = Duration.ofMillis(100);
+  private static final long NEVER = Long.MIN_VALUE;
+
+  private final Consumer<String, String> consumer;
+  private final String stockTopic;
+  private final String balanceTopic;
+  private final long syncIntervalNanos;
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final SnapshotTable stock = new SnapshotTable();
+  private final SnapshotTable balances = new SnapshotTable();
+  private final Thread thread;
+  private volatile boolean running = true;
+  private volatile long syncedAtNanos = NEVER;
+
+  public SnapshotReplica(Consumer<String, String> consumer, String stockTopic, String balanceTopic,
+      Duration syncInterval
+  ) {
+    this.consumer = consumer;
+    this.stockTopic = stockTopic;
+    this.balanceTopic = balanceTopic;
+    this.syncIntervalNanos = syncInterval.toNanos();
+    this.thread = new Thread(this::run, "sale-snapshot-replica");
+    this.thread.setDaemon(true);
+    this.thread.start();
+  }
+
+  /**
+   * Available quantity by product id.
+   */
+  public SnapshotTable stock() {
+    return this.stock;
+  }
+
+  /**
+   * Available balance in minor units (cents) by user id.
+   */
+  public SnapshotTable balances() {
+    return this.balances;
+  }
+
+  public long stalenessMillis() {
+    var syncedAt = this.syncedAtNanos;
+    return syncedAt == NEVER ? Long.MAX_VALUE : TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - syncedAt);
+  }
+
+  private void run() {
+    try {
+      var partitions = this.assign();
+      if (partitions.isEmpty()) {
+        return;
+      }
+      Map<TopicPartition, Long> target = null;
+      var targetAt = 0L;
+      var lastSync = System.nanoTime() - this.syncIntervalNanos;
+      while (this.running) {
+        var now = System.nanoTime();
+        if (target == null && now - lastSync >= this.syncIntervalNanos) {
+          lastSync = now;
+          try {
+            target = this.consumer.endOffsets(partitions, POLL_TIMEOUT.multipliedBy(10));
+            targetAt = now;
+          } catch (WakeupException e) {
+            throw e;
+          } catch (RuntimeException e) {
+            log.debug("Could not read the end offsets of the snapshot topics: {}", e.toString());
+          }
+        }
+
+        this.consumer.poll(POLL_TIMEOUT).forEach(this::apply);
+
+        if (target != null && this.reached(target)) {
+          if (this.syncedAtNanos == NEVER) {
+            log.info("Snapshots caught up: {} products, {} users", this.stock.size(), this.balances.size());
+          }
+          this.syncedAtNanos = targetAt;
+          target = null;
+        }
+      }
+    } catch (WakeupException e) {
+      // Closing
+    } catch (Exception e) {
+      log.error("Snapshot replica stopped, edge validation is off: {}", e.toString());
+    } finally {
+      this.consumer.close();
+    }
+  }
+
+  /**
+   * Waits until both topics exist, as their publishers create them compacted. Returns
+   * no partitions if closed meanwhile.
+   */
+  private List<TopicPartition> assign() throws InterruptedException {
+    var waiting = false;
+    while (this.running) {
+      List<TopicPartition> partitions = new ArrayList<>();
+      try {
+        for (var topic : List.of(this.stockTopic, this.balanceTopic)) {
+          var infos = this.consumer.partitionsFor(topic);
+          if (infos == null || infos.isEmpty()) {
+            partitions = null;
+            break;
+          }
+          for (var info : infos) {
+            partitions.add(new TopicPartition(topic, info.partition()));
+          }
+        }
+      } catch (TimeoutException e) {
+        partitions = null;
+      }
+      if (partitions != null) {
+        this.consumer.assign(partitions);
+        this.consumer.seekToBeginning(partitions);
+        return partitions;
+      }
+      if (!waiting) {
+        waiting = true;
+        log.info("Waiting for the snapshot topics {} and {}", this.stockTopic, this.balanceTopic);
+      }
+      Thread.sleep(TimeUnit.NANOSECONDS.toMillis(this.syncIntervalNanos));
+    }
+    return List.of();
+  }
+
+  private boolean reached(Map<TopicPartition, Long> target) {
+    try {
+      for (var end : target.entrySet()) {
+        if (this.consumer.position(end.getKey(), POLL_TIMEOUT) < end.getValue()) {
+          return false;
+        }
+      }
+      return true;
+    } catch (TimeoutException e) {
+      return false;
+    }
+  }
+
+  private void apply(ConsumerRecord<String, String> record) {
+    try {
+      var id = Long.parseLong(record.key());
+      var stockRecord = this.stockTopic.equals(record.topic());
+      var table = stockRecord ? this.stock : this.balances;
+      if (record.value() == null) {
+        table.remove(id);
+        return;
+      }
+      var value = this.objectMapper.readTree(record.value()).path(stockRecord ? "quantity" : "balanceMinor");
+      table.put(id, value.asLong());
+    } catch (Exception e) {
+      log.warn("Skipping snapshot record {} of {}: {}", record.key(), record.topic(), e.toString());
+    }
+  }
+
+  @Override
+  public void close() throws InterruptedException {
+    this.running = false;
+    this.consumer.wakeup();
+    this.thread.join(TimeUnit.SECONDS.toMillis(5));
+  }
+}
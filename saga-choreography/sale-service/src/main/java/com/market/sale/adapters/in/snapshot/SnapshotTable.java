@@ -0,0 +1,162 @@
+package com.market.sale.adapters.in.snapshot;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Compact {@code long -> long} map with one writer and many readers: two parallel
+ * open-addressing arrays with linear probing, 16 bytes a slot and at least half of
+ * them free, instead of a boxed key, value and entry per mapping.
+ *
+ * <p>Readers do not lock. They probe under an optimistic stamp and only repeat the
+ * lookup under the read lock if the writer changed the table meanwhile. Removal shifts
+ * the following entries back, so the table never holds deleted markers.
+ */
+public class SnapshotTable {
+
+  public static final long MISSING = Long.MIN_VALUE;
+
+  // Keys are ids, which are never negative
+  private static final long FREE = Long.MIN_VALUE;
+  private static final int INITIAL_CAPACITY = 1024;
+
+  private final StampedLock lock = new StampedLock();
+  private long[] keys;
+  private long[] values;
+  private int size;
+
+  public SnapshotTable() {
+    this.keys = newKeys(INITIAL_CAPACITY);
+    this.values = new long[INITIAL_CAPACITY];
+  }
+
+  /**
+   * @return the value of {@code key}, or {@link #MISSING}
+   */
+  public long get(long key) {
+    var stamp = this.lock.tryOptimisticRead();
+    var value = this.find(key);
+    if (!this.lock.validate(stamp)) {
+      stamp = this.lock.readLock();
+      try {
+        value = this.find(key);
+      } finally {
+        this.lock.unlockRead(stamp);
+      }
+    }
+    return value;
+  }
+
+  public int size() {
+    var stamp = this.lock.tryOptimisticRead();
+    var size = this.size;
+    if (!this.lock.validate(stamp)) {
+      stamp = this.lock.readLock();
+      try {
+        size = this.size;
+      } finally {
+        this.lock.unlockRead(stamp);
+      }
+    }
+    return size;
+  }
+
+  public void put(long key, long value) {
+    var stamp = this.lock.writeLock();
+    try {
+      var slot = this.slotOf(key);
+      if (this.keys[slot] == FREE) {
+        if ((this.size + 1) * 2 > this.keys.length) {
+          this.grow();
+          slot = this.slotOf(key);
+        }
+        this.keys[slot] = key;
+        this.size++;
+      }
+      this.values[slot] = value;
+    } finally {
+      this.lock.unlockWrite(stamp);
+    }
+  }
+
+  public void remove(long key) {
+    var stamp = this.lock.writeLock();
+    try {
+      var slot = this.slotOf(key);
+      if (this.keys[slot] == FREE) {
+        return;
+      }
+      var mask = this.keys.length - 1;
+      // Moves back every entry of the probe run that the freed slot would cut off
+      for (int next = (slot + 1) & mask; this.keys[next] != FREE; next = (next + 1) & mask) {
+        var home = index(this.keys[next], mask);
+        var reachable = slot <= next ? slot < home && home <= next : slot < home || home <= next;
+        if (!reachable) {
+          this.keys[slot] = this.keys[next];
+          this.values[slot] = this.values[next];
+          slot = next;
+        }
+      }
+      this.keys[slot] = FREE;
+      this.size--;
+    } finally {
+      this.lock.unlockWrite(stamp);
+    }
+  }
+
+  // May see the table mid-write; the caller validates the stamp before trusting the result
+  private long find(long key) {
+    var keys = this.keys;
+    var values = this.values;
+    if (keys.length != values.length) {
+      return MISSING;
+    }
+    var mask = keys.length - 1;
+    var slot = index(key, mask);
+    for (int probes = 0; probes < keys.length; probes++) {
+      var current = keys[slot];
+      if (current == key) {
+        return values[slot];
+      }
+      if (current == FREE) {
+        return MISSING;
+      }
+      slot = (slot + 1) & mask;
+    }
+    return MISSING;
+  }
+
+  // The slot holding key, or the free slot where it belongs
+  private int slotOf(long key) {
+    var mask = this.keys.length - 1;
+    var slot = index(key, mask);
+    while (this.keys[slot] != FREE && this.keys[slot] != key) {
+      slot = (slot + 1) & mask;
+    }
+    return slot;
+  }
+
+  private void grow() {
+    var oldKeys = this.keys;
+    var oldValues = this.values;
+    this.keys = newKeys(oldKeys.length * 2);
+    this.values = new long[oldKeys.length * 2];
+    for (int i = 0; i < oldKeys.length; i++) {
+      if (oldKeys[i] != FREE) {
+        var slot = this.slotOf(oldKeys[i]);
+        this.keys[slot] = oldKeys[i];
+        this.values[slot] = oldValues[i];
+      }
+    }
+  }
+
+  private static int index(long key, int mask) {
+    return (int) ((key * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+  }
+
+  private static long[] newKeys(int capacity) {
+    var keys = new long[capacity];
+    Arrays.fill(keys, FREE);
+    return keys;
+  }
+}
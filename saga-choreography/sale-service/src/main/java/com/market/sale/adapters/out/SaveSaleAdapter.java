@@ -5,10 +5,12 @@ import com.market.sale.adapters.out.repository.mapper.SaleEntityMapper;
 import com.market.sale.application.core.domain.SaleVO;
 import com.market.sale.application.ports.out.SaveSaleOutputPort;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
 @RequiredArgsConstructor
 @Component
+@ConditionalOnProperty(name = "application-config.persistence", havingValue = "jpa", matchIfMissing = true)
 public class SaveSaleAdapter implements SaveSaleOutputPort {
 
   private final SaleRepository saleRepository;
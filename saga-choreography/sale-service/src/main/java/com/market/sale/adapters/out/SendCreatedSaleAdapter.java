@@ -4,6 +4,8 @@ import com.market.sale.adapters.out.message.SaleMessageDTO;
 import com.market.sale.application.core.domain.SaleVO;
 import com.market.sale.application.core.domain.enums.SaleEventEnum;
 import com.market.sale.application.ports.out.SendCreatedSaleOutputPort;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.core.KafkaTemplate;
@@ -22,4 +24,13 @@ public class SendCreatedSaleAdapter implements SendCreatedSaleOutputPort {
     var saleMessageDTO = new SaleMessageDTO(saleVO, saleEvent);
     this.kafkaTemplate.send(this.topic, saleVO.getId().toString(), saleMessageDTO);
   }
+
+  @Override
+  public void sendAll(List<SaleVO> saleVOs, SaleEventEnum saleEvent) {
+    var sends = saleVOs.stream()
+        .map(saleVO -> this.kafkaTemplate.send(this.topic, saleVO.getId().toString(),
+            new SaleMessageDTO(saleVO, saleEvent)))
+        .toArray(CompletableFuture[]::new);
+    CompletableFuture.allOf(sends).join();
+  }
 }
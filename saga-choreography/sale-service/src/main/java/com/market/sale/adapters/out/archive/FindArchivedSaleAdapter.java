@@ -0,0 +1,47 @@
+package com.market.sale.adapters.out.archive;
+
+import com.market.sale.application.core.domain.SaleItemVO;
+import com.market.sale.application.core.domain.SaleVO;
+import com.market.sale.application.core.domain.enums.SaleStatusEnum;
+import com.market.sale.application.ports.out.FindArchivedSaleByIdOutputPort;
+import java.util.Map;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+@RequiredArgsConstructor
+@Component
+public class FindArchivedSaleAdapter implements FindArchivedSaleByIdOutputPort {
+
+  private static final String SELECT_SALE = "SELECT id, product_id, user_id, value, sale_status_id, quantity, "
+      + "created_at FROM sales_archive WHERE id = :id";
+  private static final String SELECT_ITEMS = "SELECT id, product_id, quantity FROM sale_items_archive "
+      + "WHERE sale_id = :id ORDER BY id";
+
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+
+  @Override
+  public Optional<SaleVO> find(Long id) {
+    var parameters = Map.of("id", id);
+    var sales = this.jdbcTemplate.query(SELECT_SALE, parameters, (rs, rowNum) -> new SaleVO(
+        rs.getLong("id"),
+        rs.getLong("product_id"),
+        rs.getLong("user_id"),
+        rs.getBigDecimal("value"),
+        SaleStatusEnum.findById(rs.getInt("sale_status_id")),
+        rs.getInt("quantity"),
+        rs.getTimestamp("created_at").toLocalDateTime()));
+    if (sales.isEmpty()) {
+      return Optional.empty();
+    }
+    var sale = sales.get(0);
+    sale.setItems(this.jdbcTemplate.query(SELECT_ITEMS, parameters, (rs, rowNum) -> {
+      var item = new SaleItemVO(rs.getLong("product_id"), rs.getInt("quantity"));
+      item.setId(rs.getLong("id"));
+      return item;
+    }));
+
+    return Optional.of(sale);
+  }
+}
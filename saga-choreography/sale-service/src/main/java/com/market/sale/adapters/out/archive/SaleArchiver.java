@@ -0,0 +1,88 @@
+package com.market.sale.adapters.out.archive;
+
+import com.market.sale.application.core.domain.enums.SaleStatusEnum;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Moves closed sales (finalized or canceled, both final) created before the retention
+ * window into {@code sales_archive}, their items into {@code sale_items_archive}, one
+ * bounded batch per transaction and a bounded number of batches per run. Pending sales
+ * stay, however old. Each run then lets {@link MonthlyPartitions} add the coming months
+ * and drop the partitions the archiving emptied, so the hot table only ever spans the
+ * retention window.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class SaleArchiver {
+
+  private static final List<Integer> CLOSED =
+      List.of(SaleStatusEnum.FINALIZED.getId(), SaleStatusEnum.CANCELED.getId());
+  private static final String SELECT_CLOSED = "SELECT id FROM sales "
+      + "WHERE sale_status_id IN (:closed) AND created_at < :cutoff LIMIT :limit";
+  private static final String ARCHIVE_SALES = "INSERT INTO sales_archive "
+      + "(id, product_id, user_id, value, sale_status_id, quantity, created_at, updated_at) "
+      + "SELECT id, product_id, user_id, value, sale_status_id, quantity, created_at, updated_at "
+      + "FROM sales WHERE id IN (:ids) AND created_at < :cutoff";
+  private static final String ARCHIVE_ITEMS = "INSERT INTO sale_items_archive (id, sale_id, product_id, quantity) "
+      + "SELECT id, sale_id, product_id, quantity FROM sale_items WHERE sale_id IN (:ids)";
+  private static final String DELETE_ITEMS = "DELETE FROM sale_items WHERE sale_id IN (:ids)";
+  private static final String DELETE_SALES = "DELETE FROM sales WHERE id IN (:ids) AND created_at < :cutoff";
+
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final MonthlyPartitions monthlyPartitions;
+  private final Duration retention;
+  private final int batchSize;
+  private final int maxBatchesPerRun;
+
+  @Scheduled(fixedDelayString = "${application-config.archive.interval-ms}")
+  public void archive() {
+    try {
+      var now = Instant.now();
+      var cutoff = now.minus(this.retention);
+      var archived = 0;
+      for (int batch = 0; batch < this.maxBatchesPerRun; batch++) {
+        var moved = this.archiveBatch(cutoff);
+        archived += moved;
+        if (moved < this.batchSize) {
+          break;
+        }
+      }
+      if (archived > 0) {
+        log.info("Archived {} closed sales created before {}.", archived, cutoff);
+      }
+      this.monthlyPartitions.maintain(now, cutoff);
+    } catch (Exception e) {
+      log.error("Unable to archive sales, will retry: {}", e.getMessage());
+    }
+  }
+
+  private int archiveBatch(Instant cutoff) {
+    var parameters = new MapSqlParameterSource()
+        .addValue("closed", CLOSED)
+        .addValue("cutoff", Timestamp.from(cutoff))
+        .addValue("limit", this.batchSize);
+    var ids = this.jdbcTemplate.queryForList(SELECT_CLOSED, parameters, Long.class);
+    if (ids.isEmpty()) {
+      return 0;
+    }
+    parameters.addValue("ids", ids);
+    this.transactionTemplate.executeWithoutResult(status -> {
+      this.jdbcTemplate.update(ARCHIVE_SALES, parameters);
+      this.jdbcTemplate.update(ARCHIVE_ITEMS, parameters);
+      this.jdbcTemplate.update(DELETE_ITEMS, parameters);
+      this.jdbcTemplate.update(DELETE_SALES, parameters);
+    });
+
+    return ids.size();
+  }
+}
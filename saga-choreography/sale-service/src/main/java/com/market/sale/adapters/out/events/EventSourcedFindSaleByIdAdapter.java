@@ -0,0 +1,41 @@
+package com.market.sale.adapters.out.events;
+
+import com.market.sale.adapters.out.FindSaleByIdAdapter;
+import com.market.sale.application.core.domain.SaleVO;
+import com.market.sale.application.core.domain.enums.SaleStatusEnum;
+import com.market.sale.application.ports.out.FindSaleByIdOutputPort;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+/**
+ * Rebuilds a sale from its events, so a saga step never waits for the projection. A sale
+ * created before the switch to events has no creation event; it is read from
+ * {@code sales} and the transitions appended since are applied on top.
+ */
+@RequiredArgsConstructor
+@Primary
+@Component
+@ConditionalOnProperty(name = "application-config.sale.store", havingValue = "events")
+public class EventSourcedFindSaleByIdAdapter implements FindSaleByIdOutputPort {
+
+  private final SaleEventRepository saleEventRepository;
+  private final FindSaleByIdAdapter findSaleByIdAdapter;
+
+  @Override
+  public Optional<SaleVO> find(Long id) {
+    var events = this.saleEventRepository.findBySaleId(id);
+    var created = events.stream().filter(event -> event.saleStatus() == SaleStatusEnum.PENDING).findFirst();
+    var sale = created.isPresent()
+        ? Optional.of(this.saleEventRepository.toSaleVO(created.get()))
+        : this.findSaleByIdAdapter.find(id);
+    events.stream()
+        .filter(event -> event.saleStatus() != SaleStatusEnum.PENDING)
+        .reduce((first, second) -> second)
+        .ifPresent(last -> sale.ifPresent(saleVO -> saleVO.setSaleStatus(last.saleStatus())));
+
+    return sale;
+  }
+}
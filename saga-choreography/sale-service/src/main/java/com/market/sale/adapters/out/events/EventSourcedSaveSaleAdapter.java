@@ -0,0 +1,36 @@
+package com.market.sale.adapters.out.events;
+
+import com.market.sale.application.core.domain.SaleVO;
+import com.market.sale.application.ports.out.SaveSaleOutputPort;
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+/**
+ * Saves a sale by appending its transition: the creation of a new sale (one not stored
+ * yet, {@code createdAt} unset) or the status an existing one moved to. Nothing is
+ * updated in place; {@code SaleProjector} brings {@code sales} up to date.
+ */
+@RequiredArgsConstructor
+@Primary
+@Component
+@ConditionalOnProperty(name = "application-config.sale.store", havingValue = "events")
+public class EventSourcedSaveSaleAdapter implements SaveSaleOutputPort {
+
+  private final SaleEventRepository saleEventRepository;
+
+  @Override
+  public SaleVO save(SaleVO saleVO) {
+    if (saleVO.getCreatedAt() == null) {
+      this.saleEventRepository.appendCreated(List.of(saleVO));
+      saleVO.setCreatedAt(LocalDateTime.now());
+    } else {
+      this.saleEventRepository.appendTransition(saleVO.getId(), saleVO.getSaleStatus());
+    }
+
+    return saleVO;
+  }
+}
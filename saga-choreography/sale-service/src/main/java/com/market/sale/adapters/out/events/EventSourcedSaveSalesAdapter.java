@@ -0,0 +1,31 @@
+package com.market.sale.adapters.out.events;
+
+import com.market.sale.application.core.domain.SaleVO;
+import com.market.sale.application.ports.out.SaveSalesOutputPort;
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+/**
+ * Appends the creation events of a group of new sales with one multi-row insert.
+ */
+@RequiredArgsConstructor
+@Primary
+@Component
+@ConditionalOnProperty(name = "application-config.sale.store", havingValue = "events")
+public class EventSourcedSaveSalesAdapter implements SaveSalesOutputPort {
+
+  private final SaleEventRepository saleEventRepository;
+
+  @Override
+  public List<SaleVO> saveAll(List<SaleVO> saleVOs) {
+    this.saleEventRepository.appendCreated(saleVOs);
+    var createdAt = LocalDateTime.now();
+    saleVOs.forEach(saleVO -> saleVO.setCreatedAt(createdAt));
+
+    return saleVOs;
+  }
+}
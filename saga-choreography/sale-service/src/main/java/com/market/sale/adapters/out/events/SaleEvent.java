@@ -0,0 +1,11 @@
+package com.market.sale.adapters.out.events;
+
+import com.market.sale.application.core.domain.enums.SaleStatusEnum;
+import java.time.LocalDateTime;
+
+/**
+ * One saga transition of a sale: the status it moved to and when. Only the creation
+ * ({@code PENDING}) carries a payload, the sale as it was created.
+ */
+public record SaleEvent(Long id, Long saleId, SaleStatusEnum saleStatus, String payload, LocalDateTime occurredAt) {
+}
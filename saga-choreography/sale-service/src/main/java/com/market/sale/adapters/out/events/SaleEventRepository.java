@@ -0,0 +1,167 @@
+package com.market.sale.adapters.out.events;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.market.sale.application.core.domain.SaleVO;
+import com.market.sale.application.core.domain.enums.SaleStatusEnum;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * The append-only {@code sale_events} table, and the position and gaps of the projector
+ * that maintains {@code sales} from it. A sale reaches each status at most once, so
+ * appending a transition that is already stored (a redelivered saga event) changes
+ * nothing.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Repository
+public class SaleEventRepository {
+
+  static final String SALES_PROJECTION = "sales";
+
+  // Keeps each statement well below the 65 535 placeholders MySQL accepts
+  private static final int MAX_ROWS_PER_STATEMENT = 500;
+  private static final String INSERT_EVENTS = "INSERT INTO sale_events (sale_id, sale_status_id, payload) VALUES ";
+  private static final String EVENT_COLUMNS =
+      "SELECT id, sale_id, sale_status_id, payload, occurred_at FROM sale_events ";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final ObjectMapper objectMapper;
+
+  public void appendCreated(List<SaleVO> saleVOs) {
+    List<Object[]> rows = new ArrayList<>(saleVOs.size());
+    for (var saleVO : saleVOs) {
+      rows.add(new Object[] {saleVO.getId(), SaleStatusEnum.PENDING.getId(), this.toPayload(saleVO)});
+    }
+    for (int from = 0; from < rows.size(); from += MAX_ROWS_PER_STATEMENT) {
+      var chunk = rows.subList(from, Math.min(rows.size(), from + MAX_ROWS_PER_STATEMENT));
+      this.jdbcTemplate.update(INSERT_EVENTS + String.join(", ", Collections.nCopies(chunk.size(), "(?, ?, ?)")),
+          chunk.stream().flatMap(Arrays::stream).toArray());
+    }
+  }
+
+  public void appendTransition(Long saleId, SaleStatusEnum saleStatus) {
+    try {
+      this.jdbcTemplate.update(INSERT_EVENTS + "(?, ?, NULL)", saleId, saleStatus.getId());
+    } catch (DuplicateKeyException e) {
+      // Not INSERT IGNORE, which would also hide errors other than the duplicate
+      log.debug("Sale {} already reached status {}", saleId, saleStatus);
+    }
+  }
+
+  public List<SaleEvent> findBySaleId(Long saleId) {
+    return this.jdbcTemplate.query(EVENT_COLUMNS + "WHERE sale_id = ? ORDER BY id", SaleEventRepository::toEvent,
+        saleId);
+  }
+
+  /**
+   * Events after {@code afterId}, in append order.
+   */
+  public List<SaleEvent> findAfter(long afterId, int limit) {
+    return this.jdbcTemplate.query(EVENT_COLUMNS + "WHERE id > ? ORDER BY id LIMIT ?", SaleEventRepository::toEvent,
+        afterId, limit);
+  }
+
+  /**
+   * Events whose ids the projector passed over and that have become visible since.
+   */
+  public List<SaleEvent> findInProjectionGaps(int limit) {
+    return this.jdbcTemplate.query("SELECT e.id, e.sale_id, e.sale_status_id, e.payload, e.occurred_at "
+            + "FROM sale_events e JOIN sale_projection_gaps g ON g.event_id = e.id WHERE g.name = ? "
+            + "ORDER BY e.id LIMIT ?", SaleEventRepository::toEvent, SALES_PROJECTION, limit);
+  }
+
+  /**
+   * The latest event of each sale, projected or not.
+   */
+  public List<SaleEvent> findLatest(Collection<Long> saleIds) {
+    List<Long> ids = new ArrayList<>(saleIds);
+    List<SaleEvent> latest = new ArrayList<>(ids.size());
+    for (int from = 0; from < ids.size(); from += MAX_ROWS_PER_STATEMENT) {
+      var chunk = ids.subList(from, Math.min(ids.size(), from + MAX_ROWS_PER_STATEMENT));
+      var placeholders = String.join(", ", Collections.nCopies(chunk.size(), "?"));
+      latest.addAll(this.jdbcTemplate.query(EVENT_COLUMNS + "WHERE id IN (SELECT MAX(id) FROM sale_events "
+              + "WHERE sale_id IN (" + placeholders + ") GROUP BY sale_id)",
+          SaleEventRepository::toEvent, chunk.toArray()));
+    }
+    return latest;
+  }
+
+  /**
+   * Reads the projector position and locks it until the transaction ends, so that two
+   * instances never project the same events concurrently.
+   */
+  public long lockProjectionPosition() {
+    return this.jdbcTemplate.queryForObject(
+        "SELECT last_event_id FROM sale_projections WHERE name = ? FOR UPDATE", Long.class, SALES_PROJECTION);
+  }
+
+  public void saveProjectionPosition(long lastEventId) {
+    this.jdbcTemplate.update("UPDATE sale_projections SET last_event_id = ?, updated_at = CURRENT_TIMESTAMP(3) "
+        + "WHERE name = ?", lastEventId, SALES_PROJECTION);
+  }
+
+  public void addProjectionGaps(List<Long> eventIds, Timestamp foundAt) {
+    this.jdbcTemplate.batchUpdate("INSERT INTO sale_projection_gaps (name, event_id, found_at) VALUES (?, ?, ?)",
+        eventIds.stream().map(id -> new Object[] {SALES_PROJECTION, id, foundAt}).toList());
+  }
+
+  public void removeProjectionGaps(List<Long> eventIds) {
+    for (int from = 0; from < eventIds.size(); from += MAX_ROWS_PER_STATEMENT) {
+      var chunk = eventIds.subList(from, Math.min(eventIds.size(), from + MAX_ROWS_PER_STATEMENT));
+      List<Object> parameters = new ArrayList<>(chunk.size() + 1);
+      parameters.add(SALES_PROJECTION);
+      parameters.addAll(chunk);
+      this.jdbcTemplate.update("DELETE FROM sale_projection_gaps WHERE name = ? AND event_id IN ("
+          + String.join(", ", Collections.nCopies(chunk.size(), "?")) + ")", parameters.toArray());
+    }
+  }
+
+  /**
+   * Forgets the gaps found before {@code foundBefore}, whose inserts were rolled back.
+   */
+  public int expireProjectionGaps(Timestamp foundBefore) {
+    return this.jdbcTemplate.update("DELETE FROM sale_projection_gaps WHERE name = ? AND found_at < ?",
+        SALES_PROJECTION, foundBefore);
+  }
+
+  /**
+   * The sale as created, from the payload of its creation event.
+   */
+  public SaleVO toSaleVO(SaleEvent created) {
+    try {
+      var saleVO = this.objectMapper.readValue(created.payload(), SaleVO.class);
+      saleVO.setSaleStatus(SaleStatusEnum.PENDING);
+      saleVO.setCreatedAt(created.occurredAt());
+      return saleVO;
+    } catch (JsonProcessingException e) {
+      throw new RuntimeException("Unreadable creation event of sale " + created.saleId() + ".", e);
+    }
+  }
+
+  private String toPayload(SaleVO saleVO) {
+    try {
+      return this.objectMapper.writeValueAsString(saleVO);
+    } catch (JsonProcessingException e) {
+      throw new RuntimeException("Unable to write the creation event of sale " + saleVO.getId() + ".", e);
+    }
+  }
+
+  private static SaleEvent toEvent(ResultSet rs, int rowNum) throws SQLException {
+    return new SaleEvent(rs.getLong("id"), rs.getLong("sale_id"),
+        SaleStatusEnum.findById(rs.getInt("sale_status_id")), rs.getString("payload"),
+        rs.getTimestamp("occurred_at").toLocalDateTime());
+  }
+}
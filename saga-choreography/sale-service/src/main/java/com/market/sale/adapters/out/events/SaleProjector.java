@@ -0,0 +1,135 @@
+package com.market.sale.adapters.out.events;
+
+import com.market.sale.application.core.domain.enums.SaleStatusEnum;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Maintains {@code sales} and {@code sale_items} from {@code sale_events}. Each batch of
+ * events after the stored position is applied in one transaction that also moves the
+ * position: the creations as multi-row inserts, then every sale of the batch takes the
+ * status of its latest event in one batched update. A run keeps going while batches
+ * come back full.
+ *
+ * <p>An event id is taken before its insert commits, so the ids a batch skips over are
+ * recorded as gaps next to the position. Every batch also applies the gap events that
+ * have become visible since, and a gap still empty after {@code gapTimeout} is taken
+ * for a rolled-back insert and forgotten. Re-applying a sale changes nothing, whatever
+ * order its events became visible in. {@code sale_events} is only ever read.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class SaleProjector {
+
+  // Keeps each statement well below the 65 535 placeholders MySQL accepts
+  private static final int MAX_ROWS_PER_STATEMENT = 500;
+  private static final String INSERT_SALES = "INSERT IGNORE INTO sales "
+      + "(id, product_id, user_id, value, sale_status_id, quantity, created_at) VALUES ";
+  private static final String SALE_ROW = "(?, ?, ?, ?, ?, ?, ?)";
+  private static final String INSERT_ITEMS =
+      "INSERT IGNORE INTO sale_items (id, sale_id, product_id, quantity) VALUES ";
+  private static final String ITEM_ROW = "(?, ?, ?, ?)";
+  private static final String UPDATE_STATUS = "UPDATE sales SET sale_status_id = ?, updated_at = ? WHERE id = ?";
+
+  private final SaleEventRepository saleEventRepository;
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final int batchSize;
+  private final Duration gapTimeout;
+
+  @Scheduled(fixedDelayString = "${application-config.sale.projector.interval-ms}")
+  public void project() {
+    try {
+      int read;
+      do {
+        read = this.transactionTemplate.execute(status -> this.projectBatch());
+      } while (read == this.batchSize);
+    } catch (Exception e) {
+      log.error("Unable to project sale events, will retry: {}", e.getMessage());
+    }
+  }
+
+  /**
+   * @return the number of events read after the position
+   */
+  private int projectBatch() {
+    var position = this.saleEventRepository.lockProjectionPosition();
+    var now = Instant.now();
+    this.saleEventRepository.expireProjectionGaps(Timestamp.from(now.minus(this.gapTimeout)));
+    var filled = this.saleEventRepository.findInProjectionGaps(this.batchSize);
+    var fresh = this.saleEventRepository.findAfter(position, this.batchSize);
+    List<SaleEvent> events = new ArrayList<>(filled);
+    events.addAll(fresh);
+    if (events.isEmpty()) {
+      return 0;
+    }
+
+    List<Object[]> saleRows = new ArrayList<>();
+    List<Object[]> itemRows = new ArrayList<>();
+    Set<Long> saleIds = new LinkedHashSet<>();
+    for (var event : events) {
+      saleIds.add(event.saleId());
+      if (event.saleStatus() == SaleStatusEnum.PENDING) {
+        var saleVO = this.saleEventRepository.toSaleVO(event);
+        saleRows.add(new Object[] {saleVO.getId(), saleVO.getProductId(), saleVO.getUserId(), saleVO.getValue(),
+            SaleStatusEnum.PENDING.getId(), saleVO.getQuantity(), Timestamp.valueOf(event.occurredAt())});
+        for (var item : saleVO.getItems()) {
+          itemRows.add(new Object[] {item.getId(), saleVO.getId(), item.getProductId(), item.getQuantity()});
+        }
+      }
+    }
+    this.insertRows(INSERT_SALES, SALE_ROW, saleRows);
+    this.insertRows(INSERT_ITEMS, ITEM_ROW, itemRows);
+    List<Object[]> transitions = new ArrayList<>();
+    for (var latest : this.saleEventRepository.findLatest(saleIds)) {
+      if (latest.saleStatus() != SaleStatusEnum.PENDING) {
+        transitions.add(new Object[] {latest.saleStatus().getId(), Timestamp.valueOf(latest.occurredAt()),
+            latest.saleId()});
+      }
+    }
+    if (!transitions.isEmpty()) {
+      this.jdbcTemplate.batchUpdate(UPDATE_STATUS, transitions);
+    }
+    this.saleEventRepository.removeProjectionGaps(filled.stream().map(SaleEvent::id).toList());
+    if (!fresh.isEmpty()) {
+      this.saleEventRepository.addProjectionGaps(skippedIds(position, fresh), Timestamp.from(now));
+      this.saleEventRepository.saveProjectionPosition(fresh.get(fresh.size() - 1).id());
+    }
+    log.debug("Projected {} sale events.", events.size());
+
+    return fresh.size();
+  }
+
+  // The ids between the position and the events read after it that are not among them
+  private static List<Long> skippedIds(long position, List<SaleEvent> fresh) {
+    List<Long> skipped = new ArrayList<>();
+    var expected = position + 1;
+    for (var event : fresh) {
+      for (var id = expected; id < event.id(); id++) {
+        skipped.add(id);
+      }
+      expected = event.id() + 1;
+    }
+    return skipped;
+  }
+
+  private void insertRows(String insert, String row, List<Object[]> rows) {
+    for (int from = 0; from < rows.size(); from += MAX_ROWS_PER_STATEMENT) {
+      var chunk = rows.subList(from, Math.min(rows.size(), from + MAX_ROWS_PER_STATEMENT));
+      this.jdbcTemplate.update(insert + String.join(", ", Collections.nCopies(chunk.size(), row)),
+          chunk.stream().flatMap(Arrays::stream).toArray());
+    }
+  }
+}
@@ -0,0 +1,112 @@
+package com.market.sale.adapters.out.fault;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.TransientDataAccessResourceException;
+
+/**
+ * The fault rules of the decorated output ports, by port name, and what they did so
+ * far. A port without a rule costs one map lookup per call.
+ */
+public class FaultInjector {
+
+  // 99th percentile of the standard normal distribution
+  private static final double Z_99 = 2.3263;
+
+  private final Map<String, Port> ports = new ConcurrentHashMap<>();
+
+  public void register(String port) {
+    this.ports.computeIfAbsent(port, name -> new Port());
+  }
+
+  /**
+   * Replaces the rule of a port, or of every port for {@code all}. Returns false if
+   * no such port is decorated.
+   */
+  public boolean configure(String port, FaultRule rule) {
+    if ("all".equals(port)) {
+      this.ports.values().forEach(state -> state.rule = rule);
+      return true;
+    }
+    var state = this.ports.get(port);
+    if (state == null) {
+      return false;
+    }
+    state.rule = rule;
+    return true;
+  }
+
+  public Map<String, PortFaults> snapshot() {
+    var snapshot = new TreeMap<String, PortFaults>();
+    this.ports.forEach((name, state) -> snapshot.put(name, new PortFaults(state.rule, state.calls.sum(),
+        state.delayed.sum(), state.stalled.sum(), state.failed.sum())));
+    return snapshot;
+  }
+
+  /**
+   * Applies the rule of {@code port} to the calling thread before the call goes on.
+   */
+  public void beforeCall(String port) {
+    var state = this.ports.get(port);
+    if (state == null) {
+      return;
+    }
+    state.calls.increment();
+    var rule = state.rule;
+    if (rule == null) {
+      return;
+    }
+    var random = ThreadLocalRandom.current();
+    if (rule.frozenUntil() != null) {
+      // Rounded up, so that no call goes on before the freeze is over
+      var frozen = Duration.between(Instant.now(), rule.frozenUntil()).plusNanos(999_999).toMillis();
+      if (frozen > 0) {
+        state.stalled.increment();
+        sleep(frozen);
+      }
+    }
+    if (rule.stallRate() > 0 && random.nextDouble() < rule.stallRate()) {
+      state.stalled.increment();
+      sleep(rule.stallMs());
+    }
+    if (rule.delayMs() > 0) {
+      state.delayed.increment();
+      var sigma = rule.delayP99Ms() > rule.delayMs() ? Math.log(rule.delayP99Ms() / rule.delayMs()) / Z_99 : 0;
+      sleep(Math.round(rule.delayMs() * Math.exp(sigma * random.nextGaussian())));
+    }
+    if (rule.errorRate() > 0 && random.nextDouble() < rule.errorRate()) {
+      state.failed.increment();
+      var message = "Fault injected into " + port;
+      throw rule.errorType() == FaultRule.ErrorType.CONFLICT
+          ? new OptimisticLockingFailureException(message)
+          : new TransientDataAccessResourceException(message);
+    }
+  }
+
+  private static void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new TransientDataAccessResourceException("Interrupted during an injected delay", e);
+    }
+  }
+
+  public record PortFaults(FaultRule rule, long calls, long delayed, long stalled, long failed) {
+  }
+
+  private static final class Port {
+
+    private volatile FaultRule rule;
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder delayed = new LongAdder();
+    private final LongAdder stalled = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+  }
+}
@@ -0,0 +1,29 @@
+package com.market.sale.adapters.out.id;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Moves the id generator past every stored sale and item id, archived and not yet
+ * projected ones included, so a node whose clock is behind after a restart still never
+ * reuses an id. Runs when the generator bean is made, before anything can take an id.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class SaleIdFloorLoader {
+
+  private static final String MAX_STORED_ID = "SELECT GREATEST("
+      + "(SELECT COALESCE(MAX(id), 0) FROM sales), (SELECT COALESCE(MAX(id), 0) FROM sale_items), "
+      + "(SELECT COALESCE(MAX(id), 0) FROM sales_archive), (SELECT COALESCE(MAX(id), 0) FROM sale_items_archive), "
+      + "(SELECT COALESCE(MAX(sale_id), 0) FROM sale_events))";
+
+  private final SnowflakeIdGenerator snowflakeIdGenerator;
+  private final JdbcTemplate jdbcTemplate;
+
+  public void advancePastStoredIds() {
+    var maxStoredId = this.jdbcTemplate.queryForObject(MAX_STORED_ID, Long.class);
+    this.snowflakeIdGenerator.advancePast(maxStoredId);
+    log.info("Sale ids start after stored id {}.", maxStoredId);
+  }
+}
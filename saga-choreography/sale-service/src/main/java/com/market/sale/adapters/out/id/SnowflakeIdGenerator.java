@@ -0,0 +1,60 @@
+package com.market.sale.adapters.out.id;
+
+import com.market.sale.application.ports.out.GenerateIdOutputPort;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Time-ordered 64-bit ids: 41 bits of milliseconds since {@code epoch}, 10 bits of node
+ * id and a 12-bit sequence. Ids of one node are strictly increasing, and ids of all
+ * nodes roughly follow creation time, so inserts append to the clustered index.
+ *
+ * <p>The last timestamp and sequence share one {@link AtomicLong}, so an id costs one
+ * CAS. The timestamp is a logical clock that never goes backwards: when the wall clock
+ * is behind it (more than 4096 ids in a millisecond, or the clock was stepped back),
+ * the sequence simply carries into the next millisecond instead of waiting or failing.
+ * {@link #advancePast(long)} lifts that clock above ids stored before a restart, which
+ * covers a clock that is behind after the restart.
+ */
+public class SnowflakeIdGenerator implements GenerateIdOutputPort {
+
+  private static final int NODE_BITS = 10;
+  private static final int SEQUENCE_BITS = 12;
+  private static final int MAX_NODE_ID = (1 << NODE_BITS) - 1;
+  private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+  private final long epochMillis;
+  private final long nodeBits;
+  // (milliseconds since epoch << SEQUENCE_BITS) | sequence of the last id
+  private final AtomicLong last = new AtomicLong();
+
+  public SnowflakeIdGenerator(int nodeId, Instant epoch) {
+    if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+      throw new IllegalArgumentException("Node id must be between 0 and " + MAX_NODE_ID + ", was " + nodeId + ".");
+    }
+    this.epochMillis = epoch.toEpochMilli();
+    this.nodeBits = (long) nodeId << SEQUENCE_BITS;
+  }
+
+  @Override
+  public long nextId() {
+    var now = (System.currentTimeMillis() - this.epochMillis) << SEQUENCE_BITS;
+    long previous;
+    long next;
+    do {
+      previous = this.last.get();
+      next = Math.max(now, previous + 1);
+    } while (!this.last.compareAndSet(previous, next));
+
+    return ((next >>> SEQUENCE_BITS) << (NODE_BITS + SEQUENCE_BITS)) | this.nodeBits | (next & SEQUENCE_MASK);
+  }
+
+  /**
+   * Makes every later id of this node greater than {@code id}, whichever node made it.
+   */
+  public void advancePast(long id) {
+    var timestamp = id >>> (NODE_BITS + SEQUENCE_BITS);
+    var floor = (timestamp << SEQUENCE_BITS) | SEQUENCE_MASK;
+    this.last.accumulateAndGet(floor, Math::max);
+  }
+}
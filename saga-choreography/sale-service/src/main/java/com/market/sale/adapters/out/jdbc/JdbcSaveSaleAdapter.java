@@ -0,0 +1,76 @@
+package com.market.sale.adapters.out.jdbc;
+
+import com.market.sale.application.core.domain.SaleVO;
+import com.market.sale.application.ports.out.SaveSaleOutputPort;
+import java.time.LocalDateTime;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * A new sale, one not stored yet ({@code createdAt} unset), is one insert plus one batched
+ * insert of its items, all with the ids the use case assigned. An existing sale is a
+ * single {@code UPDATE}, without the {@code SELECT} that merging the detached entity costs
+ * on the JPA path. Items are written together with a new sale only.
+ */
+@RequiredArgsConstructor
+@Component
+@ConditionalOnProperty(name = "application-config.persistence", havingValue = "jdbc")
+public class JdbcSaveSaleAdapter implements SaveSaleOutputPort {
+
+  private static final String INSERT_SALE = "INSERT INTO sales "
+      + "(id, product_id, user_id, value, sale_status_id, quantity, created_at) "
+      + "VALUES (:id, :productId, :userId, :value, :saleStatusId, :quantity, :createdAt)";
+  private static final String UPDATE_SALE = "UPDATE sales SET product_id = :productId, user_id = :userId, "
+      + "value = :value, sale_status_id = :saleStatusId, quantity = :quantity, updated_at = CURRENT_TIMESTAMP "
+      + "WHERE id = :id";
+  private static final String INSERT_ITEM = "INSERT INTO sale_items (id, sale_id, product_id, quantity) "
+      + "VALUES (:id, :saleId, :productId, :quantity)";
+
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+
+  @Override
+  public SaleVO save(SaleVO saleVO) {
+    return this.transactionTemplate.execute(status -> {
+      if (saleVO.getCreatedAt() == null) {
+        this.insert(saleVO);
+      } else if (this.jdbcTemplate.update(UPDATE_SALE, saleParameters(saleVO)) == 0) {
+        throw new RuntimeException("Sale not found.");
+      }
+
+      return saleVO;
+    });
+  }
+
+  private void insert(SaleVO saleVO) {
+    saleVO.setCreatedAt(LocalDateTime.now());
+    this.jdbcTemplate.update(INSERT_SALE, saleParameters(saleVO));
+    if (saleVO.getItems() == null || saleVO.getItems().isEmpty()) {
+      return;
+    }
+    var batch = saleVO.getItems().stream()
+        .map(item -> new MapSqlParameterSource()
+            .addValue("id", item.getId())
+            .addValue("saleId", saleVO.getId())
+            .addValue("productId", item.getProductId())
+            .addValue("quantity", item.getQuantity()))
+        .toArray(SqlParameterSource[]::new);
+    this.jdbcTemplate.batchUpdate(INSERT_ITEM, batch);
+  }
+
+  private static MapSqlParameterSource saleParameters(SaleVO saleVO) {
+    return new MapSqlParameterSource()
+        .addValue("id", saleVO.getId())
+        .addValue("productId", saleVO.getProductId())
+        .addValue("userId", saleVO.getUserId())
+        .addValue("value", saleVO.getValue())
+        .addValue("saleStatusId", saleVO.getSaleStatus().getId())
+        .addValue("quantity", saleVO.getQuantity())
+        .addValue("createdAt", saleVO.getCreatedAt());
+  }
+}
@@ -0,0 +1,72 @@
+package com.market.sale.adapters.out.jdbc;
+
+import com.market.sale.application.core.domain.SaleVO;
+import com.market.sale.application.ports.out.SaveSalesOutputPort;
+import java.sql.PreparedStatement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.SqlTypeValue;
+import org.springframework.jdbc.core.StatementCreatorUtils;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Stores a group of new sales with one multi-row {@code INSERT} for the sales and one for
+ * all their items, in a single transaction, using the ids the use case assigned. Used by
+ * the group commit of sale creations with either persistence adapter.
+ */
+@RequiredArgsConstructor
+@Component
+public class JdbcSaveSalesAdapter implements SaveSalesOutputPort {
+
+  // Keeps each statement well below the 65 535 placeholders MySQL accepts
+  private static final int MAX_ROWS_PER_STATEMENT = 500;
+  private static final String INSERT_SALES = "INSERT INTO sales "
+      + "(id, product_id, user_id, value, sale_status_id, quantity, created_at) VALUES ";
+  private static final String SALE_ROW = "(?, ?, ?, ?, ?, ?, ?)";
+  private static final String INSERT_ITEMS = "INSERT INTO sale_items (id, sale_id, product_id, quantity) VALUES ";
+  private static final String ITEM_ROW = "(?, ?, ?, ?)";
+
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+
+  @Override
+  public List<SaleVO> saveAll(List<SaleVO> saleVOs) {
+    return this.transactionTemplate.execute(status -> {
+      var createdAt = LocalDateTime.now();
+      List<Object[]> saleRows = new ArrayList<>(saleVOs.size());
+      List<Object[]> itemRows = new ArrayList<>();
+      for (var saleVO : saleVOs) {
+        saleVO.setCreatedAt(createdAt);
+        saleRows.add(new Object[] {saleVO.getId(), saleVO.getProductId(), saleVO.getUserId(), saleVO.getValue(),
+            saleVO.getSaleStatus().getId(), saleVO.getQuantity(), createdAt});
+        for (var item : saleVO.getItems()) {
+          itemRows.add(new Object[] {item.getId(), saleVO.getId(), item.getProductId(), item.getQuantity()});
+        }
+      }
+      this.insertRows(INSERT_SALES, SALE_ROW, saleRows);
+      this.insertRows(INSERT_ITEMS, ITEM_ROW, itemRows);
+
+      return saleVOs;
+    });
+  }
+
+  private void insertRows(String insert, String row, List<Object[]> rows) {
+    for (int from = 0; from < rows.size(); from += MAX_ROWS_PER_STATEMENT) {
+      var chunk = rows.subList(from, Math.min(rows.size(), from + MAX_ROWS_PER_STATEMENT));
+      var sql = insert + String.join(", ", Collections.nCopies(chunk.size(), row));
+      this.jdbcTemplate.getJdbcTemplate().update(sql, (PreparedStatement statement) -> {
+        var index = 1;
+        for (var values : chunk) {
+          for (var value : values) {
+            StatementCreatorUtils.setParameterValue(statement, index++, SqlTypeValue.TYPE_UNKNOWN, value);
+          }
+        }
+      });
+    }
+  }
+}
@@ -1,26 +1,30 @@
 package com.market.sale.adapters.out.repository.entity;
 
+import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.OneToMany;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
 
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity(name = "sales")
-public class SaleEntity {
+public class SaleEntity implements Persistable<Long> {
 
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
   private Long id;
   private Integer productId;
   private Integer userId;
@@ -31,6 +35,15 @@ public class SaleEntity {
   private LocalDateTime createdAt;
   @Column(columnDefinition = "TIMESTAMP")
   private LocalDateTime updatedAt;
+  @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
+  @JoinColumn(name = "sale_id", nullable = false)
+  private List<SaleItemEntity> items = new ArrayList<>();
+
+  // The id is assigned before saving, so a sale without a creation time is new and save() persists it without a SELECT
+  @Override
+  public boolean isNew() {
+    return this.createdAt == null;
+  }
 
   @PrePersist
   void onCreate() {
@@ -0,0 +1,22 @@
+package com.market.sale.adapters.out.repository.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity(name = "sale_items")
+public class SaleItemEntity {
+
+  @Id
+  private Long id;
+  @Column(nullable = false)
+  private Long productId;
+  @Column(nullable = false)
+  private Integer quantity;
+}
@@ -0,0 +1,40 @@
+package com.market.sale.application.core.domain;
+
+public class SaleItemVO {
+
+  private Long id;
+  private Long productId;
+  private Integer quantity;
+
+  public SaleItemVO() {
+  }
+
+  public SaleItemVO(Long productId, Integer quantity) {
+    this.productId = productId;
+    this.quantity = quantity;
+  }
+
+  public Long getId() {
+    return id;
+  }
+
+  public void setId(Long id) {
+    this.id = id;
+  }
+
+  public Long getProductId() {
+    return productId;
+  }
+
+  public void setProductId(Long productId) {
+    this.productId = productId;
+  }
+
+  public Integer getQuantity() {
+    return quantity;
+  }
+
+  public void setQuantity(Integer quantity) {
+    this.quantity = quantity;
+  }
+}
@@ -3,6 +3,7 @@ package com.market.sale.application.core.domain;
 import com.market.sale.application.core.domain.enums.SaleStatusEnum;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
 
 public class SaleVO {
 
@@ -13,6 +14,7 @@ public class SaleVO {
   private SaleStatusEnum saleStatus;
   private Integer quantity;
   private LocalDateTime createdAt;
+  private List<SaleItemVO> items;
 
   public SaleVO() {
 
@@ -86,4 +88,12 @@ public class SaleVO {
   public void setCreatedAt(LocalDateTime createdAt) {
     this.createdAt = createdAt;
   }
+
+  public List<SaleItemVO> getItems() {
+    return items;
+  }
+
+  public void setItems(List<SaleItemVO> items) {
+    this.items = items;
+  }
 }
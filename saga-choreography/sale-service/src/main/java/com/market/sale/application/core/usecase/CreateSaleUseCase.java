@@ -1,27 +1,44 @@
 package com.market.sale.application.core.usecase;
 
+import com.market.sale.application.core.domain.SaleItemVO;
 import com.market.sale.application.core.domain.SaleVO;
 import com.market.sale.application.core.domain.enums.SaleEventEnum;
 import com.market.sale.application.core.domain.enums.SaleStatusEnum;
 import com.market.sale.application.ports.in.CreateSaleInputPort;
+import com.market.sale.application.ports.out.GenerateIdOutputPort;
 import com.market.sale.application.ports.out.SaveSaleOutputPort;
 import com.market.sale.application.ports.out.SendCreatedSaleOutputPort;
+import java.util.List;
 
 public class CreateSaleUseCase implements CreateSaleInputPort {
 
   private final SaveSaleOutputPort saveSaleOutputPort;
   private final SendCreatedSaleOutputPort sendCreatedSaleOutputPort;
+  private final GenerateIdOutputPort generateIdOutputPort;
 
   public CreateSaleUseCase(SaveSaleOutputPort saveSaleOutputPort,
-      SendCreatedSaleOutputPort sendCreatedSaleOutputPort) {
+      SendCreatedSaleOutputPort sendCreatedSaleOutputPort, GenerateIdOutputPort generateIdOutputPort) {
     this.saveSaleOutputPort = saveSaleOutputPort;
     this.sendCreatedSaleOutputPort = sendCreatedSaleOutputPort;
+    this.generateIdOutputPort = generateIdOutputPort;
   }
 
   @Override
-  public void create(SaleVO saleVO) {
+  public SaleVO create(SaleVO saleVO) {
     saleVO.setSaleStatus(SaleStatusEnum.PENDING);
+    if (saleVO.getItems() == null || saleVO.getItems().isEmpty()) {
+      saleVO.setItems(List.of(new SaleItemVO(saleVO.getProductId(), saleVO.getQuantity())));
+    }
+    this.assignIds(saleVO);
     var saleResponse = this.saveSaleOutputPort.save(saleVO);
     this.sendCreatedSaleOutputPort.send(saleResponse, SaleEventEnum.CREATED_SALE);
+
+    return saleResponse;
+  }
+
+  // Ids are known before the insert, so the sale and its items are stored without waiting for generated keys
+  private void assignIds(SaleVO saleVO) {
+    saleVO.setId(this.generateIdOutputPort.nextId());
+    saleVO.getItems().forEach(item -> item.setId(this.generateIdOutputPort.nextId()));
   }
 }
@@ -0,0 +1,41 @@
+package com.market.sale.application.core.usecase;
+
+import com.market.sale.application.core.domain.SaleItemVO;
+import com.market.sale.application.core.domain.SaleVO;
+import com.market.sale.application.core.domain.enums.SaleEventEnum;
+import com.market.sale.application.core.domain.enums.SaleStatusEnum;
+import com.market.sale.application.ports.in.CreateSalesInputPort;
+import com.market.sale.application.ports.out.GenerateIdOutputPort;
+import com.market.sale.application.ports.out.SaveSalesOutputPort;
+import com.market.sale.application.ports.out.SendCreatedSaleOutputPort;
+import java.util.List;
+
+public class CreateSalesUseCase implements CreateSalesInputPort {
+
+  private final SaveSalesOutputPort saveSalesOutputPort;
+  private final SendCreatedSaleOutputPort sendCreatedSaleOutputPort;
+  private final GenerateIdOutputPort generateIdOutputPort;
+
+  public CreateSalesUseCase(SaveSalesOutputPort saveSalesOutputPort,
+      SendCreatedSaleOutputPort sendCreatedSaleOutputPort, GenerateIdOutputPort generateIdOutputPort) {
+    this.saveSalesOutputPort = saveSalesOutputPort;
+    this.sendCreatedSaleOutputPort = sendCreatedSaleOutputPort;
+    this.generateIdOutputPort = generateIdOutputPort;
+  }
+
+  @Override
+  public List<SaleVO> create(List<SaleVO> saleVOs) {
+    for (var saleVO : saleVOs) {
+      saleVO.setSaleStatus(SaleStatusEnum.PENDING);
+      if (saleVO.getItems() == null || saleVO.getItems().isEmpty()) {
+        saleVO.setItems(List.of(new SaleItemVO(saleVO.getProductId(), saleVO.getQuantity())));
+      }
+      saleVO.setId(this.generateIdOutputPort.nextId());
+      saleVO.getItems().forEach(item -> item.setId(this.generateIdOutputPort.nextId()));
+    }
+    var saleResponses = this.saveSalesOutputPort.saveAll(saleVOs);
+    this.sendCreatedSaleOutputPort.sendAll(saleResponses, SaleEventEnum.CREATED_SALE);
+
+    return saleResponses;
+  }
+}
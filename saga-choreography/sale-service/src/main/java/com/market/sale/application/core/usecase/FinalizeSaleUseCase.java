@@ -22,6 +22,10 @@ public class FinalizeSaleUseCase implements FinalizeSaleInputPort {
   @Override
   public void finalize(SaleVO saleVO) {
     var saleResponse = this.findSaleByIdInputPort.find(saleVO.getId());
+    // A rollback (expired stock reservation) already canceled it; payment-service refunds it
+    if (SaleStatusEnum.CANCELED.equals(saleResponse.getSaleStatus())) {
+      return;
+    }
     saleResponse.setSaleStatus(SaleStatusEnum.FINALIZED);
     this.saveSaleOutputPort.save(saleResponse);
   }
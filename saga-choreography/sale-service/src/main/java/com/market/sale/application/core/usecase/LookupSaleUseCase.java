@@ -0,0 +1,24 @@
+package com.market.sale.application.core.usecase;
+
+import com.market.sale.application.core.domain.SaleVO;
+import com.market.sale.application.ports.in.LookupSaleInputPort;
+import com.market.sale.application.ports.out.FindArchivedSaleByIdOutputPort;
+import com.market.sale.application.ports.out.FindSaleByIdOutputPort;
+import java.util.Optional;
+
+public class LookupSaleUseCase implements LookupSaleInputPort {
+
+  private final FindSaleByIdOutputPort findSaleByIdOutputPort;
+  private final FindArchivedSaleByIdOutputPort findArchivedSaleByIdOutputPort;
+
+  public LookupSaleUseCase(FindSaleByIdOutputPort findSaleByIdOutputPort,
+      FindArchivedSaleByIdOutputPort findArchivedSaleByIdOutputPort) {
+    this.findSaleByIdOutputPort = findSaleByIdOutputPort;
+    this.findArchivedSaleByIdOutputPort = findArchivedSaleByIdOutputPort;
+  }
+
+  @Override
+  public Optional<SaleVO> lookup(final Long id) {
+    return this.findSaleByIdOutputPort.find(id).or(() -> this.findArchivedSaleByIdOutputPort.find(id));
+  }
+}
@@ -4,5 +4,5 @@ import com.market.sale.application.core.domain.SaleVO;
 
 public interface CreateSaleInputPort {
 
-  void create(SaleVO saleVO);
+  SaleVO create(SaleVO saleVO);
 }
@@ -0,0 +1,12 @@
+package com.market.sale.application.ports.in;
+
+import com.market.sale.application.core.domain.SaleVO;
+import java.util.List;
+
+public interface CreateSalesInputPort {
+
+  /**
+   * Creates all sales together and returns them in the same order, with their ids.
+   */
+  List<SaleVO> create(List<SaleVO> saleVOs);
+}
@@ -0,0 +1,13 @@
+package com.market.sale.application.ports.in;
+
+import com.market.sale.application.core.domain.SaleVO;
+import java.util.Optional;
+
+/**
+ * Read-only lookup of any sale, archived ones included. The saga steps keep using
+ * {@link FindSaleByIdInputPort}, which only sees the sales they may still change.
+ */
+public interface LookupSaleInputPort {
+
+  Optional<SaleVO> lookup(final Long id);
+}
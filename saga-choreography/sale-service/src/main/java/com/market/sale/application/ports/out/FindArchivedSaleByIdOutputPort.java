@@ -0,0 +1,12 @@
+package com.market.sale.application.ports.out;
+
+import com.market.sale.application.core.domain.SaleVO;
+import java.util.Optional;
+
+/**
+ * Closed sales moved out of the hot table once they are older than the retention window.
+ */
+public interface FindArchivedSaleByIdOutputPort {
+
+  Optional<SaleVO> find(Long id);
+}
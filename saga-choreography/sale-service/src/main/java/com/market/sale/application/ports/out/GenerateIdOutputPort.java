@@ -0,0 +1,10 @@
+package com.market.sale.application.ports.out;
+
+public interface GenerateIdOutputPort {
+
+  /**
+   * A new id, unique across instances and greater than every id this instance handed
+   * out before.
+   */
+  long nextId();
+}
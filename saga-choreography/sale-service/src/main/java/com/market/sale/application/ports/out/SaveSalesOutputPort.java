@@ -0,0 +1,13 @@
+package com.market.sale.application.ports.out;
+
+import com.market.sale.application.core.domain.SaleVO;
+import java.util.List;
+
+public interface SaveSalesOutputPort {
+
+  /**
+   * Inserts new sales and their items in one transaction: either all are stored or
+   * none. Returns them in the same order, with their ids set.
+   */
+  List<SaleVO> saveAll(List<SaleVO> saleVOs);
+}
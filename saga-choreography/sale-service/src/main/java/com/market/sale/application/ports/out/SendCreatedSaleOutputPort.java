@@ -2,8 +2,17 @@ package com.market.sale.application.ports.out;
 
 import com.market.sale.application.core.domain.SaleVO;
 import com.market.sale.application.core.domain.enums.SaleEventEnum;
+import java.util.List;
 
 public interface SendCreatedSaleOutputPort {
 
   void send(SaleVO saleVO, SaleEventEnum saleEvent);
+
+  /**
+   * Sends the events of a group of sales. Adapters that send asynchronously return only
+   * once all of them were acknowledged, and throw if any of them failed.
+   */
+  default void sendAll(List<SaleVO> saleVOs, SaleEventEnum saleEvent) {
+    saleVOs.forEach(saleVO -> this.send(saleVO, saleEvent));
+  }
 }
@@ -0,0 +1,77 @@
+package com.market.sale.config.admission;
+
+import static org.apache.kafka.clients.admin.AdminClientConfig.BOOTSTRAP_SERVERS_CONFIG;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.market.sale.adapters.in.admission.SagaLagMonitor;
+import com.market.sale.adapters.in.admission.SaleAdmissionControl;
+import com.market.sale.adapters.in.admission.TokenBucket;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import org.apache.kafka.clients.admin.Admin;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class AdmissionConfig {
+
+  @Value("${application-config.kafka.server-url}")
+  private String serverUrl;
+
+  @Value("${application-config.kafka.topic}")
+  private String topic;
+
+  @Value("${application-config.admission.enabled}")
+  private Boolean enabled;
+
+  @Value("${application-config.admission.global.rate-per-second}")
+  private Double globalRatePerSecond;
+
+  @Value("${application-config.admission.global.burst}")
+  private Integer globalBurst;
+
+  @Value("${application-config.admission.per-user.rate-per-second}")
+  private Double userRatePerSecond;
+
+  @Value("${application-config.admission.per-user.burst}")
+  private Integer userBurst;
+
+  @Value("${application-config.admission.per-user.maximum-users}")
+  private Long maximumUsers;
+
+  @Value("${application-config.admission.per-user.idle-ms}")
+  private Long userIdleMs;
+
+  @Value("${application-config.admission.shedding.slo-ms}")
+  private Long sloMs;
+
+  @Value("${application-config.admission.shedding.consumer-groups}")
+  private List<String> consumerGroups;
+
+  @Value("${application-config.admission.shedding.sample-interval-ms}")
+  private Long sampleIntervalMs;
+
+  @Bean
+  public SaleAdmissionControl saleAdmissionControl(ObjectProvider<SagaLagMonitor> sagaLagMonitor) {
+    // An idle user's bucket is full again, so evicting it loses nothing
+    var userBuckets = Caffeine.newBuilder()
+        .maximumSize(this.maximumUsers)
+        .expireAfterAccess(Duration.ofMillis(this.userIdleMs))
+        .<Long, TokenBucket>build();
+
+    return new SaleAdmissionControl(this.enabled, new TokenBucket(this.globalRatePerSecond, this.globalBurst),
+        userBuckets, this.userRatePerSecond, this.userBurst, sagaLagMonitor.getIfAvailable(), this.sloMs);
+  }
+
+  @Bean
+  @ConditionalOnProperty(name = "application-config.admission.shedding.enabled", havingValue = "true")
+  public SagaLagMonitor sagaLagMonitor() {
+    var admin = Admin.create(Map.<String, Object>of(BOOTSTRAP_SERVERS_CONFIG, this.serverUrl));
+
+    return new SagaLagMonitor(admin, this.topic, this.consumerGroups, this.sampleIntervalMs);
+  }
+}
@@ -0,0 +1,9 @@
+package com.market.sale.config.aot;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+@ImportRuntimeHints(SaleRuntimeHints.class)
+@Configuration
+public class RuntimeHintsConfig {
+}
@@ -0,0 +1,25 @@
+package com.market.sale.config.aot;
+
+import com.market.sale.adapters.out.message.SaleMessageDTO;
+import com.market.sale.config.kafka.CustomDeserializer;
+import com.market.sale.config.kafka.CustomSerializer;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+/**
+ * Reflection the native image cannot discover from the bean definitions alone. Kafka
+ * instantiates the configured serializer classes itself, and they bind the message
+ * payload with their own {@code ObjectMapper} instead of the Spring-managed one.
+ */
+public class SaleRuntimeHints implements RuntimeHintsRegistrar {
+
+  @Override
+  public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+    hints.reflection()
+        .registerType(CustomSerializer.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS)
+        .registerType(CustomDeserializer.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+    new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(), SaleMessageDTO.class);
+  }
+}
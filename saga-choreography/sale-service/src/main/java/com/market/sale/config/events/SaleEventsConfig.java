@@ -0,0 +1,32 @@
+package com.market.sale.config.events;
+
+import com.market.sale.adapters.out.events.SaleEventRepository;
+import com.market.sale.adapters.out.events.SaleProjector;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Configuration
+@ConditionalOnProperty(name = "application-config.sale.store", havingValue = "events")
+public class SaleEventsConfig {
+
+  @Value("${application-config.sale.projector.batch-size}")
+  private Integer batchSize;
+
+  @Value("${application-config.sale.projector.gap-timeout-ms}")
+  private Long gapTimeoutMs;
+
+  @Bean
+  public SaleProjector saleProjector(
+      SaleEventRepository saleEventRepository,
+      JdbcTemplate jdbcTemplate,
+      TransactionTemplate transactionTemplate
+  ) {
+    return new SaleProjector(saleEventRepository, jdbcTemplate, transactionTemplate, this.batchSize,
+        Duration.ofMillis(this.gapTimeoutMs));
+  }
+}
@@ -0,0 +1,35 @@
+package com.market.sale.config.groupcommit;
+
+import com.market.sale.adapters.in.groupcommit.GroupCommitSaleCreator;
+import com.market.sale.application.ports.in.CreateSalesInputPort;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(name = "application-config.sale.group-commit.enabled", havingValue = "true")
+public class GroupCommitConfig {
+
+  @Value("${application-config.sale.group-commit.max-batch-size}")
+  private Integer maxBatchSize;
+
+  @Value("${application-config.sale.group-commit.window-ms}")
+  private Long windowMs;
+
+  @Value("${application-config.sale.group-commit.queue-capacity}")
+  private Integer queueCapacity;
+
+  @Value("${application-config.sale.group-commit.flusher-threads}")
+  private Integer flusherThreads;
+
+  @Value("${application-config.sale.group-commit.drain-timeout-ms}")
+  private Long drainTimeoutMs;
+
+  @Bean
+  public GroupCommitSaleCreator groupCommitSaleCreator(CreateSalesInputPort createSalesInputPort) {
+    return new GroupCommitSaleCreator(createSalesInputPort, this.maxBatchSize, Duration.ofMillis(this.windowMs),
+        this.queueCapacity, this.flusherThreads, Duration.ofMillis(this.drainTimeoutMs));
+  }
+}
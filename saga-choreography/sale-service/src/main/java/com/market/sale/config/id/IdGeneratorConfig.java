@@ -0,0 +1,27 @@
+package com.market.sale.config.id;
+
+import com.market.sale.adapters.out.id.SaleIdFloorLoader;
+import com.market.sale.adapters.out.id.SnowflakeIdGenerator;
+import java.time.Instant;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@Configuration
+public class IdGeneratorConfig {
+
+  @Value("${application-config.sale.id.node-id}")
+  private Integer nodeId;
+
+  @Value("${application-config.sale.id.epoch}")
+  private String epoch;
+
+  @Bean
+  public SnowflakeIdGenerator snowflakeIdGenerator(JdbcTemplate jdbcTemplate) {
+    var snowflakeIdGenerator = new SnowflakeIdGenerator(this.nodeId, Instant.parse(this.epoch));
+    // Here rather than once the app is ready, as Tomcat and the listeners take ids before that
+    new SaleIdFloorLoader(snowflakeIdGenerator, jdbcTemplate).advancePastStoredIds();
+    return snowflakeIdGenerator;
+  }
+}
@@ -2,6 +2,7 @@ package com.market.sale.config.kafka;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 
+import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.market.sale.adapters.out.message.SaleMessageDTO;
@@ -15,6 +16,7 @@ public class CustomDeserializer implements Deserializer<SaleMessageDTO> {
   @Override
   public SaleMessageDTO deserialize(String topic, byte[] data) {
     this.objectMapper.registerModule(new JavaTimeModule());
+    this.objectMapper.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
     try {
       if (data == null || data.length == 0) {
         return null;
@@ -2,12 +2,16 @@ package com.market.sale.config.kafka;
 
 import static org.apache.kafka.clients.consumer.ConsumerConfig.AUTO_OFFSET_RESET_CONFIG;
 import static org.apache.kafka.clients.consumer.ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG;
+import static org.apache.kafka.clients.consumer.ConsumerConfig.GROUP_INSTANCE_ID_CONFIG;
 import static org.apache.kafka.clients.consumer.ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG;
+import static org.apache.kafka.clients.consumer.ConsumerConfig.PARTITION_ASSIGNMENT_STRATEGY_CONFIG;
+import static org.apache.kafka.clients.consumer.ConsumerConfig.SESSION_TIMEOUT_MS_CONFIG;
 import static org.apache.kafka.clients.consumer.ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG;
 
 import com.market.sale.adapters.out.message.SaleMessageDTO;
 import java.util.HashMap;
 import java.util.Map;
+import org.apache.kafka.clients.consumer.CooperativeStickyAssignor;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -16,6 +20,7 @@ import org.springframework.kafka.annotation.EnableKafka;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.util.StringUtils;
 
 @EnableKafka
 @Configuration
@@ -27,6 +32,15 @@ public class KafkaSaleConsumerConfig {
   @Value("${application-config.kafka.auto-offset-reset}")
   private String autoOffsetReset;
 
+  @Value("${application-config.kafka.consumer.instance-id}")
+  private String instanceId;
+
+  @Value("${application-config.kafka.consumer.session-timeout-ms}")
+  private Integer sessionTimeoutMs;
+
+  @Value("${application-config.kafka.consumer.drain-timeout-ms}")
+  private Long drainTimeoutMs;
+
   @Bean
   public ConsumerFactory<String, SaleMessageDTO> consumerFactory() {
     Map<String, Object> props = new HashMap<>();
@@ -35,6 +49,12 @@ public class KafkaSaleConsumerConfig {
     props.put(KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
     props.put(VALUE_DESERIALIZER_CLASS_CONFIG, CustomDeserializer.class);
     props.put(AUTO_OFFSET_RESET_CONFIG, this.autoOffsetReset);
+    // Rebalances only move the partitions that change owner; the others keep being consumed
+    props.put(PARTITION_ASSIGNMENT_STRATEGY_CONFIG, CooperativeStickyAssignor.class.getName());
+    props.put(SESSION_TIMEOUT_MS_CONFIG, this.sessionTimeoutMs);
+    if (StringUtils.hasText(this.instanceId)) {
+      props.put(GROUP_INSTANCE_ID_CONFIG, this.instanceId);
+    }
 
     return new DefaultKafkaConsumerFactory<>(props);
   }
@@ -43,6 +63,9 @@ public class KafkaSaleConsumerConfig {
   public ConcurrentKafkaListenerContainerFactory<String, SaleMessageDTO> kafkaListenerContainerFactory() {
     ConcurrentKafkaListenerContainerFactory<String, SaleMessageDTO> factory = new ConcurrentKafkaListenerContainerFactory<>();
     factory.setConsumerFactory(consumerFactory());
+    // On shutdown the records of the last poll are still processed and their offsets committed
+    factory.getContainerProperties().setStopImmediate(false);
+    factory.getContainerProperties().setShutdownTimeout(this.drainTimeoutMs);
 
     return factory;
   }
@@ -0,0 +1,56 @@
+package com.market.sale.config.snapshot;
+
+import static org.apache.kafka.clients.consumer.ConsumerConfig.ALLOW_AUTO_CREATE_TOPICS_CONFIG;
+import static org.apache.kafka.clients.consumer.ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG;
+import static org.apache.kafka.clients.consumer.ConsumerConfig.CLIENT_ID_CONFIG;
+import static org.apache.kafka.clients.consumer.ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG;
+
+import com.market.sale.adapters.in.snapshot.SaleEdgeValidator;
+import com.market.sale.adapters.in.snapshot.SnapshotReplica;
+import java.time.Duration;
+import java.util.Map;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(name = "application-config.edge-validation.enabled", havingValue = "true")
+public class EdgeValidationConfig {
+
+  @Value("${application-config.kafka.server-url}")
+  private String serverUrl;
+
+  @Value("${application-config.edge-validation.stock-topic}")
+  private String stockTopic;
+
+  @Value("${application-config.edge-validation.balance-topic}")
+  private String balanceTopic;
+
+  @Value("${application-config.edge-validation.sync-interval-ms}")
+  private Long syncIntervalMs;
+
+  @Value("${application-config.edge-validation.max-staleness-ms}")
+  private Long maxStalenessMs;
+
+  @Bean
+  public SnapshotReplica snapshotReplica() {
+    // No group: every instance reads all partitions, and never commits a position
+    var consumer = new KafkaConsumer<>(Map.<String, Object>of(
+        BOOTSTRAP_SERVERS_CONFIG, this.serverUrl,
+        CLIENT_ID_CONFIG, "sale-snapshot-replica",
+        ENABLE_AUTO_COMMIT_CONFIG, false,
+        // Left to the publishers, which create them compacted
+        ALLOW_AUTO_CREATE_TOPICS_CONFIG, false
+    ), new StringDeserializer(), new StringDeserializer());
+
+    return new SnapshotReplica(consumer, this.stockTopic, this.balanceTopic, Duration.ofMillis(this.syncIntervalMs));
+  }
+
+  @Bean
+  public SaleEdgeValidator saleEdgeValidator(SnapshotReplica snapshotReplica) {
+    return new SaleEdgeValidator(snapshotReplica, this.maxStalenessMs);
+  }
+}
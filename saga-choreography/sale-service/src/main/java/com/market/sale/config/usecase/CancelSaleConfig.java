@@ -1,8 +1,8 @@
 package com.market.sale.config.usecase;
 
-import com.market.sale.adapters.out.SaveSaleAdapter;
 import com.market.sale.application.core.usecase.CancelSaleUseCase;
 import com.market.sale.application.core.usecase.FindSaleByIdUseCase;
+import com.market.sale.application.ports.out.SaveSaleOutputPort;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -12,8 +12,8 @@ public class CancelSaleConfig {
   @Bean
   public CancelSaleUseCase cancelSaleUseCase(
       FindSaleByIdUseCase findSaleByIdUseCase,
-      SaveSaleAdapter saveSaleAdapter
+      SaveSaleOutputPort saveSaleOutputPort
   ) {
-    return new CancelSaleUseCase(findSaleByIdUseCase, saveSaleAdapter);
+    return new CancelSaleUseCase(findSaleByIdUseCase, saveSaleOutputPort);
   }
 }
@@ -1,8 +1,9 @@
 package com.market.sale.config.usecase;
 
-import com.market.sale.adapters.out.SaveSaleAdapter;
 import com.market.sale.adapters.out.SendCreatedSaleAdapter;
+import com.market.sale.adapters.out.id.SnowflakeIdGenerator;
 import com.market.sale.application.core.usecase.CreateSaleUseCase;
+import com.market.sale.application.ports.out.SaveSaleOutputPort;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -11,10 +12,11 @@ public class CreateSaleConfig {
 
   @Bean
   public CreateSaleUseCase createSaleUseCase(
-      SaveSaleAdapter saveSaleAdapter,
-      SendCreatedSaleAdapter sendCreatedSaleAdapter
+      SaveSaleOutputPort saveSaleOutputPort,
+      SendCreatedSaleAdapter sendCreatedSaleAdapter,
+      SnowflakeIdGenerator snowflakeIdGenerator
   ) {
 
-    return new CreateSaleUseCase(saveSaleAdapter, sendCreatedSaleAdapter);
+    return new CreateSaleUseCase(saveSaleOutputPort, sendCreatedSaleAdapter, snowflakeIdGenerator);
   }
 }
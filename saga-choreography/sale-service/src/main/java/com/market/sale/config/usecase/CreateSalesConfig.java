@@ -0,0 +1,22 @@
+package com.market.sale.config.usecase;
+
+import com.market.sale.adapters.out.SendCreatedSaleAdapter;
+import com.market.sale.adapters.out.id.SnowflakeIdGenerator;
+import com.market.sale.application.core.usecase.CreateSalesUseCase;
+import com.market.sale.application.ports.out.SaveSalesOutputPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class CreateSalesConfig {
+
+  @Bean
+  public CreateSalesUseCase createSalesUseCase(
+      SaveSalesOutputPort saveSalesOutputPort,
+      SendCreatedSaleAdapter sendCreatedSaleAdapter,
+      SnowflakeIdGenerator snowflakeIdGenerator
+  ) {
+
+    return new CreateSalesUseCase(saveSalesOutputPort, sendCreatedSaleAdapter, snowflakeIdGenerator);
+  }
+}
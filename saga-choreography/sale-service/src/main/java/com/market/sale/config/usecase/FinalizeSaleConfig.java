@@ -1,8 +1,8 @@
 package com.market.sale.config.usecase;
 
-import com.market.sale.adapters.out.SaveSaleAdapter;
 import com.market.sale.application.core.usecase.FinalizeSaleUseCase;
 import com.market.sale.application.core.usecase.FindSaleByIdUseCase;
+import com.market.sale.application.ports.out.SaveSaleOutputPort;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -12,9 +12,9 @@ public class FinalizeSaleConfig {
   @Bean
   public FinalizeSaleUseCase finalizeSaleUseCase(
       FindSaleByIdUseCase findSaleByIdUseCase,
-      SaveSaleAdapter saveSaleAdapter
+      SaveSaleOutputPort saveSaleOutputPort
   ) {
 
-    return new FinalizeSaleUseCase(findSaleByIdUseCase, saveSaleAdapter);
+    return new FinalizeSaleUseCase(findSaleByIdUseCase, saveSaleOutputPort);
   }
 }
@@ -1,7 +1,7 @@
 package com.market.sale.config.usecase;
 
-import com.market.sale.adapters.out.FindSaleByIdAdapter;
 import com.market.sale.application.core.usecase.FindSaleByIdUseCase;
+import com.market.sale.application.ports.out.FindSaleByIdOutputPort;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -9,8 +9,8 @@ import org.springframework.context.annotation.Configuration;
 public class FindSaleByIdConfig {
 
   @Bean
-  public FindSaleByIdUseCase findSaleByIdUseCase(FindSaleByIdAdapter findSaleByIdAdapter) {
+  public FindSaleByIdUseCase findSaleByIdUseCase(FindSaleByIdOutputPort findSaleByIdOutputPort) {
 
-    return new FindSaleByIdUseCase(findSaleByIdAdapter);
+    return new FindSaleByIdUseCase(findSaleByIdOutputPort);
   }
 }
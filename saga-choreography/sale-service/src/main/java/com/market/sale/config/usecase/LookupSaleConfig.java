@@ -0,0 +1,20 @@
+package com.market.sale.config.usecase;
+
+import com.market.sale.adapters.out.archive.FindArchivedSaleAdapter;
+import com.market.sale.application.core.usecase.LookupSaleUseCase;
+import com.market.sale.application.ports.out.FindSaleByIdOutputPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class LookupSaleConfig {
+
+  @Bean
+  public LookupSaleUseCase lookupSaleUseCase(
+      FindSaleByIdOutputPort findSaleByIdOutputPort,
+      FindArchivedSaleAdapter findArchivedSaleAdapter
+  ) {
+
+    return new LookupSaleUseCase(findSaleByIdOutputPort, findArchivedSaleAdapter);
+  }
+}
@@ -0,0 +1,13 @@
+-- sales_db.sales definition
+
+CREATE TABLE IF NOT EXISTS `sales` (
+  `id` bigint NOT NULL AUTO_INCREMENT,
+  `product_id` int DEFAULT NULL,
+  `user_id` int DEFAULT NULL,
+  `value` decimal(38,2) DEFAULT NULL,
+  `sale_status_id` int DEFAULT NULL,
+  `quantity` int DEFAULT NULL,
+  `created_at` timestamp NOT NULL,
+  `updated_at` timestamp NULL,
+  PRIMARY KEY (`id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
@@ -0,0 +1,4 @@
+-- Sales are looked up by status (pending sagas) and by buyer.
+
+CREATE INDEX `idx_sales_sale_status_id` ON `sales` (`sale_status_id`, `created_at`);
+CREATE INDEX `idx_sales_user_id` ON `sales` (`user_id`);
@@ -0,0 +1,11 @@
+-- sales_db.sale_items definition
+
+CREATE TABLE IF NOT EXISTS `sale_items` (
+  `id` bigint NOT NULL AUTO_INCREMENT,
+  `sale_id` bigint NOT NULL,
+  `product_id` bigint NOT NULL,
+  `quantity` int NOT NULL,
+  PRIMARY KEY (`id`),
+  KEY `idx_sale_items_sale_id` (`sale_id`),
+  CONSTRAINT `fk_sale_items_sale_id` FOREIGN KEY (`sale_id`) REFERENCES `sales` (`id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
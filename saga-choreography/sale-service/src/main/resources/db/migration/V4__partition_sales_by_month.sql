@@ -0,0 +1,54 @@
+-- Monthly range partitions on sales.created_at. SaleArchiver moves closed sales older
+-- than the retention window into the compressed archive tables below, adds the
+-- partitions of the coming months and drops the past ones it has emptied.
+-- A partitioned table must have the partitioning column in its primary key and can
+-- neither have nor be the target of a foreign key.
+
+-- The key is looked up by table, as a schema first created by Hibernate named it differently
+SET @fk_sale_items_sale_id = (SELECT CONSTRAINT_NAME FROM INFORMATION_SCHEMA.REFERENTIAL_CONSTRAINTS
+  WHERE CONSTRAINT_SCHEMA = DATABASE() AND TABLE_NAME = 'sale_items' AND REFERENCED_TABLE_NAME = 'sales' LIMIT 1);
+SET @drop_fk = IF(@fk_sale_items_sale_id IS NULL, 'DO 0',
+  CONCAT('ALTER TABLE `sale_items` DROP FOREIGN KEY `', @fk_sale_items_sale_id, '`'));
+PREPARE drop_fk FROM @drop_fk;
+EXECUTE drop_fk;
+DEALLOCATE PREPARE drop_fk;
+
+ALTER TABLE `sales` DROP PRIMARY KEY, ADD PRIMARY KEY (`id`, `created_at`);
+
+-- Bounds are UTC epoch seconds. p_history holds everything before the first of the
+-- month after the migration runs, so the bound is computed here rather than written down;
+-- MonthlyPartitions splits the later months off p_future at runtime.
+SET @history_bound = TIMESTAMPDIFF(SECOND, '1970-01-01 00:00:00',
+  DATE_FORMAT(UTC_TIMESTAMP() + INTERVAL 1 MONTH, '%Y-%m-01'));
+SET @partition_sales = CONCAT('ALTER TABLE `sales` PARTITION BY RANGE (UNIX_TIMESTAMP(`created_at`)) (',
+  'PARTITION `p_history` VALUES LESS THAN (', @history_bound, '), ',
+  'PARTITION `p_future` VALUES LESS THAN MAXVALUE)');
+PREPARE partition_sales FROM @partition_sales;
+EXECUTE partition_sales;
+DEALLOCATE PREPARE partition_sales;
+
+-- sales_db.sales_archive definition
+
+CREATE TABLE IF NOT EXISTS `sales_archive` (
+  `id` bigint NOT NULL,
+  `product_id` int DEFAULT NULL,
+  `user_id` int DEFAULT NULL,
+  `value` decimal(38,2) DEFAULT NULL,
+  `sale_status_id` int DEFAULT NULL,
+  `quantity` int DEFAULT NULL,
+  `created_at` timestamp NOT NULL,
+  `updated_at` timestamp NULL,
+  `archived_at` timestamp NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  PRIMARY KEY (`id`)
+) ENGINE=InnoDB ROW_FORMAT=COMPRESSED KEY_BLOCK_SIZE=8 DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
+-- sales_db.sale_items_archive definition
+
+CREATE TABLE IF NOT EXISTS `sale_items_archive` (
+  `id` bigint NOT NULL,
+  `sale_id` bigint NOT NULL,
+  `product_id` bigint NOT NULL,
+  `quantity` int NOT NULL,
+  PRIMARY KEY (`id`),
+  KEY `idx_sale_items_archive_sale_id` (`sale_id`)
+) ENGINE=InnoDB ROW_FORMAT=COMPRESSED KEY_BLOCK_SIZE=8 DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
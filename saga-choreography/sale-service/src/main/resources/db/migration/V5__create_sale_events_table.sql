@@ -0,0 +1,26 @@
+-- sales_db.sale_events definition
+-- Append-only saga transitions of each sale (application-config.sale.store=events):
+-- one row per status reached, the creation (PENDING) carrying the sale as JSON.
+-- occurred_at has millisecond precision, for the timings of each saga step.
+
+CREATE TABLE IF NOT EXISTS `sale_events` (
+  `id` bigint NOT NULL AUTO_INCREMENT,
+  `sale_id` bigint NOT NULL,
+  `sale_status_id` int NOT NULL,
+  `payload` json NULL,
+  `occurred_at` timestamp(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3),
+  PRIMARY KEY (`id`),
+  UNIQUE KEY `uk_sale_events_sale_id_status` (`sale_id`, `sale_status_id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
+-- sales_db.sale_projections definition
+-- Last event applied to the sales table by SaleProjector.
+
+CREATE TABLE IF NOT EXISTS `sale_projections` (
+  `name` varchar(32) NOT NULL,
+  `last_event_id` bigint NOT NULL,
+  `updated_at` timestamp(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3),
+  PRIMARY KEY (`name`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
+INSERT IGNORE INTO `sale_projections` (`name`, `last_event_id`) VALUES ('sales', 0);
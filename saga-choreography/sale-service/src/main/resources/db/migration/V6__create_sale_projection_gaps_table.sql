@@ -0,0 +1,12 @@
+-- sales_db.sale_projection_gaps definition
+-- Event ids SaleProjector passed over below its position. An AUTO_INCREMENT id is taken
+-- before its insert commits, so such an event may still become visible; the projector
+-- applies it then, and forgets the gap once the id has been missing for the gap timeout
+-- (its insert was rolled back). sale_events itself is never updated.
+
+CREATE TABLE IF NOT EXISTS `sale_projection_gaps` (
+  `name` varchar(32) NOT NULL,
+  `event_id` bigint NOT NULL,
+  `found_at` timestamp(3) NOT NULL,
+  PRIMARY KEY (`name`, `event_id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
@@ -0,0 +1,79 @@
+package com.market.sale.adapters.in.admission;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+
+class SaleAdmissionControlTest {
+
+  private static final double SLOW_RATE = 0.001;
+
+  private final Cache<Long, TokenBucket> userBuckets = Caffeine.newBuilder().build();
+
+  @Test
+  void userOverItsRateIsTurnedAwayWhileOthersAreAdmitted() {
+    var admissionControl = this.admissionControl(true, new TokenBucket(1000, 100), 2, null);
+
+    assertEquals(Optional.empty(), admissionControl.tryAdmit(1L));
+    assertEquals(Optional.empty(), admissionControl.tryAdmit(1L));
+    var retryAfter = admissionControl.tryAdmit(1L);
+
+    assertTrue(retryAfter.isPresent() && retryAfter.get().toSeconds() > 0);
+    assertEquals(Optional.empty(), admissionControl.tryAdmit(2L));
+  }
+
+  @Test
+  void globalRejectionGivesTheUserTokenBack() {
+    var admissionControl = this.admissionControl(true, new TokenBucket(SLOW_RATE, 1), 1, null);
+    assertEquals(Optional.empty(), admissionControl.tryAdmit(1L));
+
+    assertTrue(admissionControl.tryAdmit(2L).isPresent());
+
+    assertEquals(0, this.userBuckets.getIfPresent(2L).tryAcquire(System.nanoTime()));
+  }
+
+  @Test
+  void releasedSaleDoesNotCountAgainstTheRates() {
+    var admissionControl = this.admissionControl(true, new TokenBucket(SLOW_RATE, 1), 1, null);
+    assertEquals(Optional.empty(), admissionControl.tryAdmit(1L));
+    assertTrue(admissionControl.tryAdmit(1L).isPresent());
+
+    admissionControl.release(1L);
+
+    assertEquals(Optional.empty(), admissionControl.tryAdmit(1L));
+  }
+
+  @Test
+  void lagOverTheSloTurnsAwayWithTheExcessAsWait() {
+    var sagaLagMonitor = mock(SagaLagMonitor.class);
+    when(sagaLagMonitor.estimatedCompletionMillis()).thenReturn(3_500L);
+    var admissionControl = this.admissionControl(true, new TokenBucket(1000, 100), 10, sagaLagMonitor);
+
+    assertEquals(Optional.of(Duration.ofMillis(1_500)), admissionControl.tryAdmit(1L));
+    assertEquals(null, this.userBuckets.getIfPresent(1L));
+  }
+
+  @Test
+  void disabledControlAdmitsEverySale() {
+    var admissionControl = this.admissionControl(false, new TokenBucket(SLOW_RATE, 1), 1, null);
+
+    for (int i = 0; i < 5; i++) {
+      assertEquals(Optional.empty(), admissionControl.tryAdmit(1L));
+    }
+    admissionControl.release(1L);
+  }
+
+  private SaleAdmissionControl admissionControl(boolean enabled, TokenBucket globalBucket, int userBurst,
+      SagaLagMonitor sagaLagMonitor
+  ) {
+    return new SaleAdmissionControl(enabled, globalBucket, this.userBuckets, SLOW_RATE, userBurst,
+        sagaLagMonitor, 2_000);
+  }
+}
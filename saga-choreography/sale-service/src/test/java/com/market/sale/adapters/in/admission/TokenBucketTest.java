@@ -0,0 +1,67 @@
+package com.market.sale.adapters.in.admission;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+class TokenBucketTest {
+
+  private static final long INTERVAL_NANOS = 100_000_000L;
+
+  @Test
+  void fullBucketGivesItsBurstThenTheWaitForTheNextToken() {
+    var bucket = new TokenBucket(10, 3);
+    var now = System.nanoTime();
+
+    assertEquals(0, bucket.tryAcquire(now));
+    assertEquals(0, bucket.tryAcquire(now));
+    assertEquals(0, bucket.tryAcquire(now));
+    assertEquals(INTERVAL_NANOS, bucket.tryAcquire(now));
+  }
+
+  @Test
+  void oneTokenIsBackAfterOneInterval() {
+    var bucket = new TokenBucket(10, 3);
+    var now = System.nanoTime();
+    for (int i = 0; i < 3; i++) {
+      bucket.tryAcquire(now);
+    }
+
+    assertEquals(0, bucket.tryAcquire(now + INTERVAL_NANOS));
+    assertEquals(INTERVAL_NANOS, bucket.tryAcquire(now + INTERVAL_NANOS));
+  }
+
+  @Test
+  void releasedTokenCanBeTakenAgain() {
+    var bucket = new TokenBucket(10, 1);
+    var now = System.nanoTime();
+    assertEquals(0, bucket.tryAcquire(now));
+
+    bucket.release();
+
+    assertEquals(0, bucket.tryAcquire(now));
+    assertEquals(INTERVAL_NANOS, bucket.tryAcquire(now));
+  }
+
+  @Test
+  void releasingIntoAFullBucketDoesNotRaiseItsBurst() {
+    var bucket = new TokenBucket(10, 2);
+    bucket.release();
+    bucket.release();
+    var now = System.nanoTime();
+
+    assertEquals(0, bucket.tryAcquire(now));
+    assertEquals(0, bucket.tryAcquire(now));
+    assertEquals(INTERVAL_NANOS, bucket.tryAcquire(now));
+  }
+
+  @Test
+  void idleBucketRefillsOnlyUpToItsBurst() {
+    var bucket = new TokenBucket(10, 2);
+    var later = System.nanoTime() + 100 * INTERVAL_NANOS;
+
+    assertEquals(0, bucket.tryAcquire(later));
+    assertEquals(0, bucket.tryAcquire(later));
+    assertEquals(INTERVAL_NANOS, bucket.tryAcquire(later));
+  }
+}
@@ -0,0 +1,123 @@
+package com.market.sale.adapters.in.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.market.sale.adapters.in.admission.SaleAdmissionControl;
+import com.market.sale.adapters.in.controller.mapper.SaleRequestMapperImpl;
+import com.market.sale.adapters.in.groupcommit.GroupCommitSaleCreator;
+import com.market.sale.adapters.in.snapshot.SaleEdgeValidator;
+import com.market.sale.application.core.domain.SaleItemVO;
+import com.market.sale.application.core.domain.SaleVO;
+import com.market.sale.application.ports.in.CreateSaleInputPort;
+import com.market.sale.application.ports.in.LookupSaleInputPort;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+class SaleControllerTest {
+
+  private static final String SINGLE_PRODUCT_SALE = """
+      {"userId": 7, "productId": 1, "quantity": 2, "value": 10.00}""";
+  private static final String MULTI_ITEM_SALE = """
+      {"userId": 7, "value": 25.00, "items": [{"productId": 6, "quantity": 2}, {"productId": 8, "quantity": 1}]}""";
+  private static final String MIXED_SALE = """
+      {"userId": 7, "productId": 1, "quantity": 2, "value": 25.00, "items": [{"productId": 6, "quantity": 2}]}""";
+
+  private final CreateSaleInputPort createSaleInputPort = mock(CreateSaleInputPort.class);
+  private final SaleAdmissionControl saleAdmissionControl = mock(SaleAdmissionControl.class);
+  private final GroupCommitSaleCreator groupCommitSaleCreator = mock(GroupCommitSaleCreator.class);
+  private MockMvc mockMvc;
+
+  @BeforeEach
+  @SuppressWarnings("unchecked")
+  void setUp() {
+    ObjectProvider<GroupCommitSaleCreator> groupCommit = mock(ObjectProvider.class);
+    when(groupCommit.getIfAvailable()).thenReturn(this.groupCommitSaleCreator);
+    ObjectProvider<SaleEdgeValidator> edgeValidator = mock(ObjectProvider.class);
+    when(this.saleAdmissionControl.tryAdmit(any())).thenReturn(Optional.empty());
+    this.mockMvc = MockMvcBuilders.standaloneSetup(new SaleController(this.createSaleInputPort,
+        mock(LookupSaleInputPort.class), new SaleRequestMapperImpl(), this.saleAdmissionControl, groupCommit,
+        edgeValidator)).build();
+  }
+
+  @Test
+  void singleProductSaleIsCreatedWithItsProduct() throws Exception {
+    var created = this.createdSales();
+
+    this.create(SINGLE_PRODUCT_SALE).andExpect(status().isCreated());
+
+    var sale = created.getValue();
+    assertEquals(1L, sale.getProductId());
+    assertEquals(2, sale.getQuantity());
+    assertNull(sale.getItems());
+  }
+
+  @Test
+  void multiItemSaleIsCreatedWithAllItsItems() throws Exception {
+    var created = this.createdSales();
+
+    this.create(MULTI_ITEM_SALE).andExpect(status().isCreated());
+
+    var sale = created.getValue();
+    assertNull(sale.getProductId());
+    assertEquals(List.of(6L, 8L), sale.getItems().stream().map(SaleItemVO::getProductId).toList());
+    assertEquals(List.of(2, 1), sale.getItems().stream().map(SaleItemVO::getQuantity).toList());
+  }
+
+  @Test
+  void saleWithBothAProductAndItemsIsRejected() throws Exception {
+    this.mockMvc.perform(post("/api/v1/sales")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(MIXED_SALE))
+        .andExpect(status().isBadRequest());
+
+    verify(this.saleAdmissionControl, never()).tryAdmit(any());
+    verify(this.groupCommitSaleCreator, never()).submit(any());
+  }
+
+  @Test
+  void saleTurnedAwayByTheGroupCommitGetsItsAdmissionTokensBack() throws Exception {
+    when(this.groupCommitSaleCreator.submit(any())).thenThrow(new RejectedExecutionException("full"));
+
+    this.create(SINGLE_PRODUCT_SALE)
+        .andExpect(status().isServiceUnavailable())
+        .andExpect(header().string("Retry-After", "1"));
+    verify(this.saleAdmissionControl).release(7L);
+  }
+
+  private ArgumentCaptor<SaleVO> createdSales() {
+    var captor = ArgumentCaptor.forClass(SaleVO.class);
+    when(this.groupCommitSaleCreator.submit(captor.capture())).thenAnswer(invocation -> {
+      SaleVO sale = invocation.getArgument(0);
+      sale.setId(42L);
+      return CompletableFuture.completedFuture(sale);
+    });
+    return captor;
+  }
+
+  private ResultActions create(String content) throws Exception {
+    var result = this.mockMvc.perform(post("/api/v1/sales")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content(content)).andReturn();
+    return this.mockMvc.perform(asyncDispatch(result));
+  }
+}
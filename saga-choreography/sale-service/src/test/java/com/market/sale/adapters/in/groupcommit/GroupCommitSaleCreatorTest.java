@@ -0,0 +1,114 @@
+package com.market.sale.adapters.in.groupcommit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.market.sale.application.core.domain.SaleVO;
+import com.market.sale.application.ports.in.CreateSalesInputPort;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class GroupCommitSaleCreatorTest {
+
+  private static final long BAD_USER_ID = -1L;
+
+  private final List<Integer> groupSizes = new CopyOnWriteArrayList<>();
+  private final AtomicLong ids = new AtomicLong();
+  private GroupCommitSaleCreator groupCommitSaleCreator;
+
+  @AfterEach
+  void tearDown() throws InterruptedException {
+    this.groupCommitSaleCreator.close();
+  }
+
+  @Test
+  void salesArrivingWithinTheWindowAreCreatedTogether() throws Exception {
+    this.groupCommitSaleCreator = this.creator(this::createAll, Duration.ofMillis(200));
+
+    var results = this.submit(10, -1);
+
+    for (var result : results) {
+      assertTrue(result.get(5, TimeUnit.SECONDS).getId() > 0);
+    }
+    assertEquals(10, this.groupSizes.stream().mapToInt(Integer::intValue).sum());
+    assertTrue(this.groupSizes.size() < 10);
+  }
+
+  @Test
+  void failingSaleFailsAloneWhileTheRestOfItsGroupIsCreated() throws Exception {
+    this.groupCommitSaleCreator = this.creator(this::createAll, Duration.ofMillis(200));
+
+    var results = this.submit(6, 3);
+
+    for (int i = 0; i < results.size(); i++) {
+      if (i == 3) {
+        var failed = results.get(i);
+        assertThrows(ExecutionException.class, () -> failed.get(5, TimeUnit.SECONDS));
+      } else {
+        assertTrue(results.get(i).get(5, TimeUnit.SECONDS).getId() > 0);
+      }
+    }
+  }
+
+  @Test
+  void closeCreatesTheQueuedSalesAndRejectsLaterOnes() throws Exception {
+    this.groupCommitSaleCreator = this.creator(sales -> {
+      sleep(50);
+      return this.createAll(sales);
+    }, Duration.ofMillis(1));
+    var results = this.submit(20, -1);
+
+    this.groupCommitSaleCreator.close();
+
+    for (var result : results) {
+      assertTrue(result.isDone());
+      assertTrue(result.get().getId() > 0);
+    }
+    assertThrows(RejectedExecutionException.class, () -> this.groupCommitSaleCreator.submit(sale(1L)));
+  }
+
+  private GroupCommitSaleCreator creator(CreateSalesInputPort createSalesInputPort, Duration window) {
+    return new GroupCommitSaleCreator(createSalesInputPort, 64, window, 100, 1, Duration.ofSeconds(10));
+  }
+
+  private List<CompletableFuture<SaleVO>> submit(int count, int bad) {
+    List<CompletableFuture<SaleVO>> results = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      results.add(this.groupCommitSaleCreator.submit(sale(i == bad ? BAD_USER_ID : i + 1L)));
+    }
+    return results;
+  }
+
+  // Like the store, fails the whole group if any of its sales is rejected
+  private List<SaleVO> createAll(List<SaleVO> sales) {
+    this.groupSizes.add(sales.size());
+    if (sales.stream().anyMatch(sale -> sale.getUserId() == BAD_USER_ID)) {
+      throw new IllegalStateException("Rejected by the store");
+    }
+    sales.forEach(sale -> sale.setId(this.ids.incrementAndGet()));
+    return sales;
+  }
+
+  private static SaleVO sale(Long userId) {
+    return new SaleVO(null, 1L, userId, BigDecimal.TEN, null, 1, null);
+  }
+
+  private static void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
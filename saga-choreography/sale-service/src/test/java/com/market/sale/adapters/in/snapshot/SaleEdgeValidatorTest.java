@@ -0,0 +1,79 @@
+package com.market.sale.adapters.in.snapshot;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.market.sale.adapters.in.controller.dto.SaleItemRequestDTO;
+import com.market.sale.adapters.in.controller.dto.SaleRequestDTO;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SaleEdgeValidatorTest {
+
+  private static final long MAX_STALENESS_MILLIS = 5_000;
+
+  private final SnapshotReplica snapshotReplica = mock(SnapshotReplica.class);
+  private final SnapshotTable stock = new SnapshotTable();
+  private final SnapshotTable balances = new SnapshotTable();
+  private final SaleEdgeValidator saleEdgeValidator = new SaleEdgeValidator(this.snapshotReplica,
+      MAX_STALENESS_MILLIS);
+
+  @BeforeEach
+  void setUp() {
+    when(this.snapshotReplica.stock()).thenReturn(this.stock);
+    when(this.snapshotReplica.balances()).thenReturn(this.balances);
+    when(this.snapshotReplica.stalenessMillis()).thenReturn(100L);
+    this.stock.put(1L, 3L);
+    this.stock.put(2L, 10L);
+    this.balances.put(7L, 1_000L);
+  }
+
+  @Test
+  void saleThatStockAndBalanceCoverIsAdmitted() {
+    assertEquals(Optional.empty(), this.saleEdgeValidator.findRejection(product(1, 3, "10.00")));
+  }
+
+  @Test
+  void productWithoutEnoughStockIsRejected() {
+    assertEquals(Optional.of("Product 1 does not have 4 in stock"),
+        this.saleEdgeValidator.findRejection(product(1, 4, "1.00")));
+  }
+
+  @Test
+  void itemsOfTheSameProductAreAddedUpBeforeTheStockCheck() {
+    var saleRequestDTO = new SaleRequestDTO(7, null, null, new BigDecimal("1.00"), List.of(
+        new SaleItemRequestDTO(2L, 4), new SaleItemRequestDTO(1L, 2), new SaleItemRequestDTO(1L, 2)));
+
+    assertEquals(Optional.of("Product 1 does not have 4 in stock"),
+        this.saleEdgeValidator.findRejection(saleRequestDTO));
+  }
+
+  @Test
+  void userWithoutEnoughBalanceIsRejected() {
+    assertEquals(Optional.of("User 7 has insufficient funds"),
+        this.saleEdgeValidator.findRejection(product(1, 1, "10.01")));
+  }
+
+  @Test
+  void idsMissingFromTheSnapshotsAreAdmitted() {
+    var saleRequestDTO = new SaleRequestDTO(8, 9, 1_000, new BigDecimal("1000000.00"), null);
+
+    assertEquals(Optional.empty(), this.saleEdgeValidator.findRejection(saleRequestDTO));
+  }
+
+  @Test
+  void nothingIsRejectedWhileTheReplicaIsStale() {
+    when(this.snapshotReplica.stalenessMillis()).thenReturn(MAX_STALENESS_MILLIS + 1);
+
+    assertTrue(this.saleEdgeValidator.findRejection(product(1, 100, "1000.00")).isEmpty());
+  }
+
+  private static SaleRequestDTO product(int productId, int quantity, String value) {
+    return new SaleRequestDTO(7, productId, quantity, new BigDecimal(value), null);
+  }
+}
@@ -0,0 +1,81 @@
+package com.market.sale.adapters.in.snapshot;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SnapshotReplicaTest {
+
+  private static final String STOCK_TOPIC = "stock-snapshots";
+  private static final String BALANCE_TOPIC = "balance-snapshots";
+  private static final TopicPartition STOCK = new TopicPartition(STOCK_TOPIC, 0);
+  private static final TopicPartition BALANCE = new TopicPartition(BALANCE_TOPIC, 0);
+
+  private final MockConsumer<String, String> consumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+  private SnapshotReplica snapshotReplica;
+
+  @BeforeEach
+  void setUp() {
+    this.consumer.updatePartitions(STOCK_TOPIC, List.of(new PartitionInfo(STOCK_TOPIC, 0, null, null, null)));
+    this.consumer.updatePartitions(BALANCE_TOPIC, List.of(new PartitionInfo(BALANCE_TOPIC, 0, null, null, null)));
+    this.consumer.updateBeginningOffsets(Map.of(STOCK, 0L, BALANCE, 0L));
+    // The topics already hold records that the replica has not read yet
+    this.consumer.updateEndOffsets(Map.of(STOCK, 3L, BALANCE, 1L));
+  }
+
+  @AfterEach
+  void tearDown() throws InterruptedException {
+    this.snapshotReplica.close();
+  }
+
+  @Test
+  void tablesHoldTheLatestRecordPerIdOnceCaughtUpWithTheTopics() throws InterruptedException {
+    this.snapshotReplica = new SnapshotReplica(this.consumer, STOCK_TOPIC, BALANCE_TOPIC, Duration.ofMillis(10));
+    await(() -> !this.consumer.assignment().isEmpty());
+    assertEquals(Long.MAX_VALUE, this.snapshotReplica.stalenessMillis());
+
+    this.consumer.addRecord(new ConsumerRecord<>(STOCK_TOPIC, 0, 0L, "1", "{\"productId\":1,\"quantity\":5}"));
+    this.consumer.addRecord(new ConsumerRecord<>(STOCK_TOPIC, 0, 1L, "2", "{\"productId\":2,\"quantity\":8}"));
+    this.consumer.addRecord(new ConsumerRecord<>(STOCK_TOPIC, 0, 2L, "2", null));
+    this.consumer.addRecord(new ConsumerRecord<>(BALANCE_TOPIC, 0, 0L, "7", "{\"userId\":7,\"balanceMinor\":1250}"));
+    await(() -> this.snapshotReplica.stalenessMillis() < Long.MAX_VALUE);
+
+    assertEquals(5L, this.snapshotReplica.stock().get(1L));
+    assertEquals(SnapshotTable.MISSING, this.snapshotReplica.stock().get(2L));
+    assertEquals(1250L, this.snapshotReplica.balances().get(7L));
+  }
+
+  @Test
+  void unreadableRecordIsSkipped() throws InterruptedException {
+    this.consumer.updateEndOffsets(Map.of(STOCK, 2L, BALANCE, 0L));
+    this.snapshotReplica = new SnapshotReplica(this.consumer, STOCK_TOPIC, BALANCE_TOPIC, Duration.ofMillis(10));
+    await(() -> !this.consumer.assignment().isEmpty());
+
+    this.consumer.addRecord(new ConsumerRecord<>(STOCK_TOPIC, 0, 0L, "not-an-id", "{\"quantity\":5}"));
+    this.consumer.addRecord(new ConsumerRecord<>(STOCK_TOPIC, 0, 1L, "3", "{\"quantity\":4}"));
+    await(() -> this.snapshotReplica.stalenessMillis() < Long.MAX_VALUE);
+
+    assertEquals(1, this.snapshotReplica.stock().size());
+    assertEquals(4L, this.snapshotReplica.stock().get(3L));
+  }
+
+  private static void await(BooleanSupplier condition) throws InterruptedException {
+    var deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+    while (!condition.getAsBoolean()) {
+      assertTrue(System.nanoTime() < deadline, "Timed out waiting for the replica");
+      Thread.sleep(10);
+    }
+  }
+}
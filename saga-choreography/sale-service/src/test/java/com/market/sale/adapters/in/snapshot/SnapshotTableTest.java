@@ -0,0 +1,85 @@
+package com.market.sale.adapters.in.snapshot;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class SnapshotTableTest {
+
+  private final SnapshotTable snapshotTable = new SnapshotTable();
+
+  @Test
+  void putOverwritesAndRemoveForgets() {
+    this.snapshotTable.put(1L, 10L);
+    this.snapshotTable.put(1L, 0L);
+    this.snapshotTable.put(2L, 20L);
+    this.snapshotTable.remove(2L);
+    this.snapshotTable.remove(3L);
+
+    assertEquals(0L, this.snapshotTable.get(1L));
+    assertEquals(SnapshotTable.MISSING, this.snapshotTable.get(2L));
+    assertEquals(1, this.snapshotTable.size());
+  }
+
+  @Test
+  void matchesAMapThroughGrowthAndRemovals() {
+    Map<Long, Long> expected = new HashMap<>();
+    var random = new Random(42);
+    for (int i = 0; i < 200_000; i++) {
+      // Few distinct keys, so that probe runs collide, wrap and get removed from often
+      long key = random.nextInt(5_000);
+      if (random.nextInt(3) == 0) {
+        this.snapshotTable.remove(key);
+        expected.remove(key);
+      } else {
+        this.snapshotTable.put(key, i);
+        expected.put(key, (long) i);
+      }
+    }
+
+    assertEquals(expected.size(), this.snapshotTable.size());
+    for (long key = 0; key < 5_000; key++) {
+      assertEquals(expected.getOrDefault(key, SnapshotTable.MISSING), this.snapshotTable.get(key));
+    }
+  }
+
+  @Test
+  void readersNeverSeeAValueTheWriterDidNotStore() throws InterruptedException {
+    var running = new AtomicBoolean(true);
+    var wrong = new AtomicLong();
+    var readers = new Thread[4];
+    for (int r = 0; r < readers.length; r++) {
+      readers[r] = new Thread(() -> {
+        var random = new Random();
+        while (running.get()) {
+          long key = random.nextInt(50_000);
+          var value = this.snapshotTable.get(key);
+          if (value != SnapshotTable.MISSING && value != key * 3) {
+            wrong.incrementAndGet();
+          }
+        }
+      });
+      readers[r].start();
+    }
+
+    for (long key = 0; key < 50_000; key++) {
+      this.snapshotTable.put(key, key * 3);
+      if (key % 3 == 0) {
+        this.snapshotTable.remove(key / 2);
+      }
+    }
+    running.set(false);
+    for (var reader : readers) {
+      reader.join();
+    }
+
+    assertEquals(0, wrong.get());
+    assertTrue(this.snapshotTable.size() > 0);
+  }
+}
@@ -0,0 +1,67 @@
+package com.market.sale.adapters.out;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.market.sale.adapters.out.message.SaleMessageDTO;
+import com.market.sale.application.core.domain.SaleVO;
+import com.market.sale.application.core.domain.enums.SaleEventEnum;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class SendCreatedSaleAdapterTest {
+
+  private final CompletableFuture<SendResult<String, SaleMessageDTO>> first = new CompletableFuture<>();
+  private final CompletableFuture<SendResult<String, SaleMessageDTO>> second = new CompletableFuture<>();
+  private SendCreatedSaleAdapter sendCreatedSaleAdapter;
+
+  @BeforeEach
+  @SuppressWarnings("unchecked")
+  void setUp() {
+    KafkaTemplate<String, SaleMessageDTO> kafkaTemplate = mock(KafkaTemplate.class);
+    when(kafkaTemplate.send(eq("sales"), eq("1"), any())).thenReturn(this.first);
+    when(kafkaTemplate.send(eq("sales"), eq("2"), any())).thenReturn(this.second);
+    this.sendCreatedSaleAdapter = new SendCreatedSaleAdapter(kafkaTemplate);
+    ReflectionTestUtils.setField(this.sendCreatedSaleAdapter, "topic", "sales");
+  }
+
+  @Test
+  void sendAllReturnsOnceEverySendIsAcknowledged() throws Exception {
+    var sent = CompletableFuture.runAsync(() -> this.sendCreatedSaleAdapter.sendAll(
+        List.of(sale(1L), sale(2L)), SaleEventEnum.CREATED_SALE));
+
+    this.first.complete(null);
+    Thread.sleep(50);
+    assertFalse(sent.isDone());
+
+    this.second.complete(null);
+    sent.get(5, TimeUnit.SECONDS);
+    assertTrue(sent.isDone());
+  }
+
+  @Test
+  void sendAllThrowsWhenAnySendFails() {
+    this.first.complete(null);
+    this.second.completeExceptionally(new IllegalStateException("broker down"));
+
+    assertThrows(CompletionException.class, () -> this.sendCreatedSaleAdapter.sendAll(
+        List.of(sale(1L), sale(2L)), SaleEventEnum.CREATED_SALE));
+  }
+
+  private static SaleVO sale(Long id) {
+    return new SaleVO(id, 1L, 1L, BigDecimal.TEN, null, 1, null);
+  }
+}
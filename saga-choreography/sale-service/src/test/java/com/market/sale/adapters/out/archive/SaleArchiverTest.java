@@ -0,0 +1,95 @@
+package com.market.sale.adapters.out.archive;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import com.market.sale.application.core.domain.SaleVO;
+import com.market.sale.application.core.domain.enums.SaleStatusEnum;
+import com.market.sale.application.core.usecase.LookupSaleUseCase;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class SaleArchiverTest {
+
+  private static final Duration RETENTION = Duration.ofDays(90);
+
+  private JdbcTemplate jdbcTemplate;
+  private MonthlyPartitions monthlyPartitions;
+  private SaleArchiver saleArchiver;
+  private LookupSaleUseCase lookupSaleUseCase;
+
+  @BeforeEach
+  void setUp() {
+    var dataSource = new DriverManagerDataSource(
+        "jdbc:h2:mem:" + System.nanoTime() + ";MODE=MySQL;NON_KEYWORDS=VALUE;DB_CLOSE_DELAY=-1", "sa", "");
+    this.jdbcTemplate = new JdbcTemplate(dataSource);
+    for (var table : new String[] {"sales", "sales_archive"}) {
+      this.jdbcTemplate.execute("CREATE TABLE " + table + " (id bigint NOT NULL, product_id int, user_id int, "
+          + "value decimal(38,2), sale_status_id int, quantity int, created_at timestamp NOT NULL, "
+          + "updated_at timestamp NULL, archived_at timestamp NOT NULL DEFAULT CURRENT_TIMESTAMP, PRIMARY KEY (id))");
+    }
+    for (var table : new String[] {"sale_items", "sale_items_archive"}) {
+      this.jdbcTemplate.execute("CREATE TABLE " + table + " (id bigint NOT NULL, sale_id bigint NOT NULL, "
+          + "product_id bigint NOT NULL, quantity int NOT NULL, PRIMARY KEY (id))");
+    }
+    var namedJdbcTemplate = new NamedParameterJdbcTemplate(this.jdbcTemplate);
+    this.monthlyPartitions = mock(MonthlyPartitions.class);
+    var transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    this.saleArchiver = new SaleArchiver(namedJdbcTemplate, transactionTemplate, this.monthlyPartitions, RETENTION,
+        2, 10);
+    this.lookupSaleUseCase = new LookupSaleUseCase(this::findHot, new FindArchivedSaleAdapter(namedJdbcTemplate));
+  }
+
+  @Test
+  void closedSaleOlderThanTheRetentionIsArchivedAndStillFoundById() {
+    var old = Instant.now().minus(RETENTION).minus(Duration.ofDays(1));
+    this.insertSale(1L, SaleStatusEnum.FINALIZED, old);
+    this.insertSale(2L, SaleStatusEnum.CANCELED, old);
+    this.insertSale(3L, SaleStatusEnum.FINALIZED, old);
+    this.insertSale(4L, SaleStatusEnum.PENDING, old);
+    this.insertSale(5L, SaleStatusEnum.FINALIZED, Instant.now());
+
+    this.saleArchiver.archive();
+
+    assertEquals(2, this.jdbcTemplate.queryForObject("SELECT COUNT(*) FROM sales", Integer.class));
+    assertEquals(3, this.jdbcTemplate.queryForObject("SELECT COUNT(*) FROM sales_archive", Integer.class));
+    assertEquals(2, this.jdbcTemplate.queryForObject("SELECT COUNT(*) FROM sale_items", Integer.class));
+    verify(this.monthlyPartitions).maintain(any(), any());
+
+    var archived = this.lookupSaleUseCase.lookup(1L).orElseThrow();
+    assertEquals(SaleStatusEnum.FINALIZED, archived.getSaleStatus());
+    assertEquals(1, archived.getItems().size());
+    assertEquals(11L, archived.getItems().get(0).getProductId());
+    assertEquals(SaleStatusEnum.PENDING, this.lookupSaleUseCase.lookup(4L).orElseThrow().getSaleStatus());
+    assertTrue(this.lookupSaleUseCase.lookup(6L).isEmpty());
+  }
+
+  private void insertSale(Long id, SaleStatusEnum status, Instant createdAt) {
+    this.jdbcTemplate.update("INSERT INTO sales (id, product_id, user_id, value, sale_status_id, quantity, created_at) "
+        + "VALUES (?, 11, 1, 10.00, ?, 1, ?)", id, status.getId(), Timestamp.from(createdAt));
+    this.jdbcTemplate.update("INSERT INTO sale_items (id, sale_id, product_id, quantity) VALUES (?, ?, 11, 1)",
+        id * 10, id);
+  }
+
+  // Stands in for the JPA adapter over the hot table
+  private Optional<SaleVO> findHot(Long id) {
+    return this.jdbcTemplate.query("SELECT id, sale_status_id FROM sales WHERE id = ?", (rs, rowNum) -> {
+      var sale = new SaleVO();
+      sale.setId(rs.getLong(1));
+      sale.setSaleStatus(SaleStatusEnum.findById(rs.getInt(2)));
+      return sale;
+    }, id).stream().findFirst();
+  }
+}
@@ -0,0 +1,134 @@
+package com.market.sale.adapters.out.events;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.market.sale.application.core.domain.SaleItemVO;
+import com.market.sale.application.core.domain.SaleVO;
+import com.market.sale.application.core.domain.enums.SaleStatusEnum;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class SaleProjectorTest {
+
+  private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+  private JdbcTemplate jdbcTemplate;
+  private TransactionTemplate transactionTemplate;
+  private SaleProjector saleProjector;
+
+  @BeforeEach
+  void setUp() {
+    var dataSource = new DriverManagerDataSource(
+        "jdbc:h2:mem:" + System.nanoTime() + ";MODE=MySQL;NON_KEYWORDS=VALUE;DB_CLOSE_DELAY=-1", "sa", "");
+    this.jdbcTemplate = new JdbcTemplate(dataSource);
+    this.jdbcTemplate.execute("CREATE TABLE sales (id bigint NOT NULL, product_id int, user_id int, "
+        + "value decimal(38,2), sale_status_id int, quantity int, created_at timestamp NOT NULL, "
+        + "updated_at timestamp NULL, PRIMARY KEY (id, created_at))");
+    this.jdbcTemplate.execute("CREATE TABLE sale_items (id bigint NOT NULL, sale_id bigint NOT NULL, "
+        + "product_id bigint NOT NULL, quantity int NOT NULL, PRIMARY KEY (id))");
+    this.jdbcTemplate.execute("CREATE TABLE sale_events (id bigint NOT NULL AUTO_INCREMENT, sale_id bigint NOT NULL, "
+        + "sale_status_id int NOT NULL, payload text NULL, "
+        + "occurred_at timestamp(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3), PRIMARY KEY (id), "
+        + "UNIQUE KEY (sale_id, sale_status_id))");
+    this.jdbcTemplate.execute("CREATE TABLE sale_projections (name varchar(32) NOT NULL, "
+        + "last_event_id bigint NOT NULL, updated_at timestamp(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3), "
+        + "PRIMARY KEY (name))");
+    this.jdbcTemplate.execute("CREATE TABLE sale_projection_gaps (name varchar(32) NOT NULL, event_id bigint NOT NULL, "
+        + "found_at timestamp(3) NOT NULL, PRIMARY KEY (name, event_id))");
+    this.jdbcTemplate.update("INSERT INTO sale_projections (name, last_event_id) VALUES ('sales', 0)");
+    this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    this.saleProjector = this.projector(Duration.ofMinutes(5));
+  }
+
+  @Test
+  void eventCommittedAfterHigherIdsWereProjectedIsStillProjected() throws Exception {
+    this.appendCreated(10L, 1L);
+    this.saleProjector.project();
+
+    // Its id was taken before the one above, but its insert committed after the run
+    this.appendCreated(5L, 2L);
+    this.saleProjector.project();
+
+    assertEquals(SaleStatusEnum.PENDING, this.statusOf(1L));
+    assertEquals(SaleStatusEnum.PENDING, this.statusOf(2L));
+    assertEquals(2, this.jdbcTemplate.queryForObject("SELECT COUNT(*) FROM sale_items", Integer.class));
+    assertEquals(8, this.gaps());
+  }
+
+  @Test
+  void gapStillEmptyAfterTheTimeoutIsForgotten() throws Exception {
+    this.saleProjector = this.projector(Duration.ZERO);
+    this.appendCreated(3L, 1L);
+    this.saleProjector.project();
+    assertEquals(2, this.gaps());
+
+    Thread.sleep(5);
+    this.saleProjector.project();
+
+    assertEquals(0, this.gaps());
+    assertEquals(3L, this.jdbcTemplate.queryForObject(
+        "SELECT last_event_id FROM sale_projections WHERE name = 'sales'", Long.class));
+  }
+
+  @Test
+  void saleKeepsItsLatestStatusWhateverOrderItsEventsAppearIn() throws Exception {
+    this.appendCreated(1L, 1L);
+    this.appendTransition(3L, 1L, SaleStatusEnum.CANCELED);
+    this.saleProjector.project();
+
+    this.appendTransition(2L, 1L, SaleStatusEnum.FINALIZED);
+    this.saleProjector.project();
+
+    assertEquals(SaleStatusEnum.CANCELED, this.statusOf(1L));
+  }
+
+  @Test
+  void runsKeepGoingWhileBatchesComeBackFull() throws Exception {
+    for (long saleId = 1; saleId <= 5; saleId++) {
+      this.appendCreated(saleId, saleId);
+      this.appendTransition(saleId + 5, saleId, SaleStatusEnum.FINALIZED);
+    }
+
+    this.saleProjector.project();
+    this.saleProjector.project();
+
+    assertEquals(5, this.jdbcTemplate.queryForObject(
+        "SELECT COUNT(*) FROM sales WHERE sale_status_id = ?", Integer.class, SaleStatusEnum.FINALIZED.getId()));
+    assertEquals(0, this.gaps());
+  }
+
+  private SaleProjector projector(Duration gapTimeout) {
+    return new SaleProjector(new SaleEventRepository(this.jdbcTemplate, this.objectMapper), this.jdbcTemplate,
+        this.transactionTemplate, 2, gapTimeout);
+  }
+
+  private int gaps() {
+    return this.jdbcTemplate.queryForObject("SELECT COUNT(*) FROM sale_projection_gaps", Integer.class);
+  }
+
+  private void appendCreated(Long eventId, Long saleId) throws Exception {
+    var saleVO = new SaleVO(saleId, 7L, 3L, new BigDecimal("10.00"), null, 1, null);
+    var item = new SaleItemVO(7L, 1);
+    item.setId(saleId * 1000);
+    saleVO.setItems(List.of(item));
+    this.jdbcTemplate.update("INSERT INTO sale_events (id, sale_id, sale_status_id, payload) VALUES (?, ?, ?, ?)",
+        eventId, saleId, SaleStatusEnum.PENDING.getId(), this.objectMapper.writeValueAsString(saleVO));
+  }
+
+  private void appendTransition(Long eventId, Long saleId, SaleStatusEnum saleStatus) {
+    this.jdbcTemplate.update("INSERT INTO sale_events (id, sale_id, sale_status_id) VALUES (?, ?, ?)",
+        eventId, saleId, saleStatus.getId());
+  }
+
+  private SaleStatusEnum statusOf(Long saleId) {
+    return SaleStatusEnum.findById(this.jdbcTemplate.queryForObject(
+        "SELECT sale_status_id FROM sales WHERE id = ?", Integer.class, saleId));
+  }
+}
@@ -0,0 +1,36 @@
+package com.market.sale.adapters.out.id;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Instant;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+class SaleIdFloorLoaderTest {
+
+  private static final Instant EPOCH = Instant.parse("2024-01-01T00:00:00Z");
+
+  @Test
+  void generatorStartsAfterTheHighestIdOfEveryTable() {
+    var jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+        "jdbc:h2:mem:" + System.nanoTime() + ";MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", ""));
+    for (var table : new String[] {"sales", "sale_items", "sales_archive", "sale_items_archive"}) {
+      jdbcTemplate.execute("CREATE TABLE " + table + " (id bigint NOT NULL, PRIMARY KEY (id))");
+    }
+    jdbcTemplate.execute("CREATE TABLE sale_events (id bigint NOT NULL AUTO_INCREMENT, sale_id bigint NOT NULL, "
+        + "PRIMARY KEY (id))");
+    // Ids of a node whose clock was a day ahead: only the archive and the event log hold them
+    var ahead = new SnowflakeIdGenerator(3, EPOCH.minusSeconds(86_400));
+    var archived = ahead.nextId();
+    var unprojected = ahead.nextId();
+    jdbcTemplate.update("INSERT INTO sales (id) VALUES (?)", new SnowflakeIdGenerator(3, EPOCH).nextId());
+    jdbcTemplate.update("INSERT INTO sales_archive (id) VALUES (?)", archived);
+    jdbcTemplate.update("INSERT INTO sale_events (sale_id) VALUES (?)", unprojected);
+
+    var generator = new SnowflakeIdGenerator(3, EPOCH);
+    new SaleIdFloorLoader(generator, jdbcTemplate).advancePastStoredIds();
+
+    assertTrue(generator.nextId() > unprojected);
+  }
+}
@@ -0,0 +1,76 @@
+package com.market.sale.adapters.out.id;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.Test;
+
+class SnowflakeIdGeneratorTest {
+
+  private static final Instant EPOCH = Instant.parse("2024-01-01T00:00:00Z");
+
+  @Test
+  void idsOfOneNodeAreStrictlyIncreasingAndCarryTheNodeId() {
+    var generator = new SnowflakeIdGenerator(5, EPOCH);
+
+    var previous = generator.nextId();
+    // More than one millisecond's worth of sequence
+    for (int i = 0; i < 20_000; i++) {
+      var next = generator.nextId();
+      assertTrue(next > previous);
+      assertEquals(5, (next >>> 12) & 1023);
+      previous = next;
+    }
+  }
+
+  @Test
+  void concurrentCallersNeverGetTheSameId() throws Exception {
+    var generator = new SnowflakeIdGenerator(1, EPOCH);
+    List<Callable<List<Long>>> callers = new ArrayList<>();
+    for (int t = 0; t < 8; t++) {
+      callers.add(() -> {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+          ids.add(generator.nextId());
+        }
+        return ids;
+      });
+    }
+    var executor = Executors.newFixedThreadPool(8);
+    var ids = new HashSet<Long>();
+    try {
+      for (var future : executor.invokeAll(callers)) {
+        ids.addAll(future.get());
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    assertEquals(80_000, ids.size());
+  }
+
+  @Test
+  void idsAfterAdvancingPastAStoredIdAreGreaterEvenWithTheClockBehind() {
+    // Made by another node an hour ahead of this one's clock
+    var ahead = new SnowflakeIdGenerator(1000, EPOCH.minusSeconds(3600));
+    var stored = ahead.nextId();
+    var generator = new SnowflakeIdGenerator(0, EPOCH);
+    assertTrue(generator.nextId() < stored);
+
+    generator.advancePast(stored);
+
+    assertTrue(generator.nextId() > stored);
+  }
+
+  @Test
+  void nodeIdOutOfRangeIsRejected() {
+    assertThrows(IllegalArgumentException.class, () -> new SnowflakeIdGenerator(1024, EPOCH));
+  }
+}
@@ -0,0 +1,99 @@
+package com.market.sale.adapters.out.jdbc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.market.sale.application.core.domain.SaleItemVO;
+import com.market.sale.application.core.domain.SaleVO;
+import com.market.sale.application.core.domain.enums.SaleStatusEnum;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class JdbcSaveSaleAdapterTest {
+
+  private JdbcTemplate jdbcTemplate;
+  private JdbcSaveSaleAdapter jdbcSaveSaleAdapter;
+
+  @BeforeEach
+  void setUp() {
+    var dataSource = new DriverManagerDataSource(
+        "jdbc:h2:mem:" + System.nanoTime() + ";MODE=MySQL;NON_KEYWORDS=VALUE;DB_CLOSE_DELAY=-1", "sa", "");
+    this.jdbcTemplate = new JdbcTemplate(dataSource);
+    this.jdbcTemplate.execute("CREATE TABLE sales (id bigint NOT NULL, product_id int, user_id int, "
+        + "value decimal(38,2), sale_status_id int, quantity int, created_at timestamp NOT NULL, "
+        + "updated_at timestamp NULL, PRIMARY KEY (id))");
+    this.jdbcTemplate.execute("CREATE TABLE sale_items (id bigint NOT NULL, sale_id bigint NOT NULL, "
+        + "product_id bigint NOT NULL, quantity int NOT NULL, PRIMARY KEY (id), "
+        + "FOREIGN KEY (sale_id) REFERENCES sales (id))");
+    this.jdbcSaveSaleAdapter = new JdbcSaveSaleAdapter(new NamedParameterJdbcTemplate(this.jdbcTemplate),
+        new TransactionTemplate(new DataSourceTransactionManager(dataSource)));
+  }
+
+  @Test
+  void newSaleIsInsertedWithItsItemsUnderTheAssignedIds() {
+    var saleVO = new SaleVO(10L, null, 7L, new BigDecimal("12.50"), SaleStatusEnum.PENDING, null, null);
+    saleVO.setItems(List.of(item(101L, 1L, 2), item(102L, 2L, 3)));
+
+    this.jdbcSaveSaleAdapter.save(saleVO);
+
+    assertNotNull(saleVO.getCreatedAt());
+    assertEquals(Map.of("ID", 10L, "USER_ID", 7, "VALUE", new BigDecimal("12.50"),
+            "SALE_STATUS_ID", SaleStatusEnum.PENDING.getId()),
+        this.jdbcTemplate.queryForMap("SELECT id, user_id, value, sale_status_id FROM sales"));
+    assertEquals(List.of(
+            Map.of("ID", 101L, "SALE_ID", 10L, "PRODUCT_ID", 1L, "QUANTITY", 2),
+            Map.of("ID", 102L, "SALE_ID", 10L, "PRODUCT_ID", 2L, "QUANTITY", 3)),
+        this.jdbcTemplate.queryForList("SELECT id, sale_id, product_id, quantity FROM sale_items ORDER BY id"));
+  }
+
+  @Test
+  void storedSaleIsUpdatedInPlaceWithoutTouchingItsItems() {
+    var saleVO = new SaleVO(10L, 1L, 7L, new BigDecimal("12.50"), SaleStatusEnum.PENDING, 2, null);
+    saleVO.setItems(List.of(item(101L, 1L, 2)));
+    this.jdbcSaveSaleAdapter.save(saleVO);
+
+    saleVO.setSaleStatus(SaleStatusEnum.FINALIZED);
+    saleVO.setItems(List.of());
+    this.jdbcSaveSaleAdapter.save(saleVO);
+
+    assertEquals(SaleStatusEnum.FINALIZED.getId(),
+        this.jdbcTemplate.queryForObject("SELECT sale_status_id FROM sales WHERE id = 10", Integer.class));
+    assertNotNull(this.jdbcTemplate.queryForObject("SELECT updated_at FROM sales WHERE id = 10",
+        LocalDateTime.class));
+    assertEquals(1, this.jdbcTemplate.queryForObject("SELECT COUNT(*) FROM sale_items", Integer.class));
+  }
+
+  @Test
+  void updateOfAnUnknownSaleFails() {
+    var saleVO = new SaleVO(10L, 1L, 7L, BigDecimal.TEN, SaleStatusEnum.CANCELED, 1, LocalDateTime.now());
+
+    assertThrows(RuntimeException.class, () -> this.jdbcSaveSaleAdapter.save(saleVO));
+    assertEquals(0, this.jdbcTemplate.queryForObject("SELECT COUNT(*) FROM sales", Integer.class));
+  }
+
+  @Test
+  void itemThatCannotBeStoredRollsTheSaleBack() {
+    var saleVO = new SaleVO(10L, null, 7L, BigDecimal.TEN, SaleStatusEnum.PENDING, null, null);
+    saleVO.setItems(List.of(item(101L, 1L, 2), item(101L, 2L, 3)));
+
+    assertThrows(RuntimeException.class, () -> this.jdbcSaveSaleAdapter.save(saleVO));
+    assertEquals(0, this.jdbcTemplate.queryForObject("SELECT COUNT(*) FROM sales", Integer.class));
+    assertEquals(0, this.jdbcTemplate.queryForObject("SELECT COUNT(*) FROM sale_items", Integer.class));
+  }
+
+  private static SaleItemVO item(Long id, Long productId, int quantity) {
+    var item = new SaleItemVO(productId, quantity);
+    item.setId(id);
+    return item;
+  }
+}
@@ -0,0 +1,37 @@
+#!/bin/bash
+
+# ========================================
+# Saga Pattern - Hot Path Benchmarks
+# ========================================
+# Builds the services as plain jars, runs the in-process JMH benchmarks with the
+# GC profiler and writes the results to bench-results/<commit>.json.
+#
+#   scripts/bench-hot-paths.sh                       # run and save the results
+#   scripts/bench-hot-paths.sh bench-results/abc.json  # also compare against a baseline
+
+set -e
+
+ROOT_DIR="$(cd "$(dirname "$0")/.." && pwd)"
+SAGA_DIR="$ROOT_DIR/saga-choreography"
+RESULTS_DIR="$ROOT_DIR/bench-results"
+BENCHMARKS="${BENCHMARKS:-SaleMessageSerdeBenchmark|EntityMapperBenchmark|SaleStatusLookupBenchmark|SagaUseCaseBenchmark|MoneyArithmeticBenchmark}"
+TOLERANCE_PERCENT="${TOLERANCE_PERCENT:-10}"
+BASELINE="$1"
+
+for service in sale-service inventory-service payment-service; do
+    echo "Installing $service..."
+    (cd "$SAGA_DIR/$service" && mvn -B -q clean install -DskipTests -Dspring-boot.repackage.skip=true)
+done
+
+echo "Building benchmarks..."
+(cd "$SAGA_DIR/benchmarks" && mvn -B -q clean package)
+
+mkdir -p "$RESULTS_DIR"
+RESULT="$RESULTS_DIR/$(git -C "$ROOT_DIR" rev-parse --short HEAD).json"
+java -jar "$SAGA_DIR/benchmarks/target/benchmarks.jar" "$BENCHMARKS" -prof gc -rf json -rff "$RESULT"
+echo "Results saved to $RESULT"
+
+if [ -n "$BASELINE" ]; then
+    java -cp "$SAGA_DIR/benchmarks/target/benchmarks.jar" com.market.benchmark.ResultDiff \
+        "$BASELINE" "$RESULT" "$TOLERANCE_PERCENT"
+fi